@@ -9,6 +9,11 @@ error_reporting(0);
 header('Content-Type: application/json');
 header('Access-Control-Allow-Origin: *');
 
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
 // Include database connection
 $dbPath = __DIR__ . '/../../config/database.php';
 if (file_exists($dbPath)) {
@@ -30,6 +35,30 @@ if (!isset($conn) || $conn->connect_error) {
     exit;
 }
 
+// status / exclude_status / fields / mode=counts
+require_once __DIR__ . '/../includes/booking_query.php';
+$status_clause = booking_status_clause($conn);
+$fields = booking_fields();
+
+// Counters only (admin stats): no rows at all
+if (booking_counts_requested()) {
+    booking_send_counts(booking_counts($conn, "1 = 1" . $status_clause), $conn);
+    $conn->close();
+    exit;
+}
+
+// Optional keyset paging: limit plus the (booking_date, booking_id) of the last row already
+// shown as before_created_at/before_id. Without limit the whole list is returned as before.
+$limit = isset($_GET['limit']) ? max(1, min(100, (int)$_GET['limit'])) : null;
+$before_created_at = !empty($_GET['before_created_at']) ? $_GET['before_created_at'] : null;
+$before_id = isset($_GET['before_id']) ? (int)$_GET['before_id'] : PHP_INT_MAX;
+
+$where = "WHERE 1 = 1" . $status_clause;
+$paged = $limit !== null && $before_created_at !== null;
+if ($paged) {
+    $where .= " AND (b.created_at < ? OR (b.created_at = ? AND b.booking_id < ?))";
+}
+
 // Prepare SQL query
 // Fetch bookings with status 'Pending' or 'In Progress'
 // Join with operators and machines table to get names
@@ -54,9 +83,19 @@ $sql = "SELECT
         LEFT JOIN users u ON b.user_id = u.user_id
         LEFT JOIN operators o ON b.operator_id = o.operator_id
         LEFT JOIN machines m ON b.machine_id = m.machine_id
-        ORDER BY b.created_at DESC";
+        $where
+        ORDER BY b.created_at DESC, b.booking_id DESC";
 
-$result = $conn->query($sql);
+if ($limit !== null) {
+    // One extra row tells whether another page exists
+    $sql .= " LIMIT " . ($limit + 1);
+}
+
+$stmt = $conn->prepare($sql);
+if ($stmt && $paged) {
+    $stmt->bind_param("ssi", $before_created_at, $before_created_at, $before_id);
+}
+$result = ($stmt && $stmt->execute()) ? $stmt->get_result() : false;
 
 if ($result) {
     $bookings = [];
@@ -64,14 +103,21 @@ if ($result) {
         // Ensure numeric types are converted properly if needed
         $row['total_hours'] = (int)$row['total_hours'];
         $row['total_amount'] = (float)$row['total_amount'];
-        $bookings[] = $row;
+        $bookings[] = booking_project($row, $fields);
     }
 
-    echo json_encode([
+    $response = [
         'success' => true,
         'message' => 'Bookings retrieved successfully',
         'data' => $bookings
-    ]);
+    ];
+
+    if ($limit !== null) {
+        $response['has_more'] = count($bookings) > $limit;
+        $response['data'] = array_slice($bookings, 0, $limit);
+    }
+
+    echo json_encode($response);
 } else {
     echo json_encode([
         'success' => false,
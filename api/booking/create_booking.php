@@ -0,0 +1,87 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Robust database include (handles both dev and prod/xampp file structures)
+$dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
+$dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
+
+if (file_exists($dbPath1)) {
+    include_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    include_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+require_once __DIR__ . '/../includes/pricing.php';
+
+// Body: the app's Booking (user_id, operator_id, machine_id, duration, duration_minutes,
+// total_amount, location, status)
+$input = json_decode(file_get_contents('php://input'), true);
+$user_id = isset($input['user_id']) ? (int) $input['user_id'] : 0;
+$operator_id = isset($input['operator_id']) ? (int) $input['operator_id'] : 0;
+$machine_id = isset($input['machine_id']) ? (int) $input['machine_id'] : 0;
+if ($user_id <= 0 || $machine_id <= 0) {
+    echo json_encode(['success' => false, 'message' => 'User ID and machine ID are required']);
+    exit;
+}
+
+$minutes = isset($input['duration_minutes']) ? (int) $input['duration_minutes']
+    : pricing_duration_minutes(isset($input['duration']) ? $input['duration'] : null);
+if ($minutes <= 0) {
+    echo json_encode(['success' => false, 'message' => 'Work duration is required']);
+    exit;
+}
+
+$stmt = $conn->prepare("SELECT price_per_hour FROM machines WHERE machine_id = ?");
+$stmt->bind_param("i", $machine_id);
+$stmt->execute();
+$machine = $stmt->get_result()->fetch_assoc();
+$stmt->close();
+if (!$machine) {
+    echo json_encode(['success' => false, 'message' => 'Machine not found']);
+    exit;
+}
+
+// The app priced this from its cached pricing table; the price it shows must be the one charged
+$quote = pricing_quote($machine['price_per_hour'], $minutes);
+if (isset($input['total_amount']) && !pricing_verify($quote, $input['total_amount'])) {
+    echo json_encode([
+        'success' => false,
+        'message' => 'The price has changed, please review the booking',
+        'expected_amount' => $quote['total'] / 100
+    ]);
+    exit;
+}
+
+$amount = $quote['total'] / 100;
+$hours = round($quote['billed_minutes'] / 60, 2);
+$location = isset($input['location']) ? $input['location'] : '';
+$status = isset($input['status']) && $input['status'] !== '' ? $input['status'] : 'PENDING';
+
+$stmt = $conn->prepare("INSERT INTO bookings (user_id, operator_id, machine_id, status, amount, hours, location, created_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, NOW())");
+$stmt->bind_param("iiisdds", $user_id, $operator_id, $machine_id, $status, $amount, $hours, $location);
+if ($stmt->execute()) {
+    echo json_encode([
+        'success' => true,
+        'message' => 'Booking created',
+        'booking_id' => $stmt->insert_id,
+        'total_amount' => $amount
+    ]);
+} else {
+    echo json_encode(['success' => false, 'message' => 'Failed to create booking: ' . $stmt->error]);
+}
+$stmt->close();
+
+$conn->close();
+?>
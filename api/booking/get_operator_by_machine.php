@@ -0,0 +1,80 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
+// Robust database include (handles both dev and prod/xampp file structures)
+$dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
+$dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
+
+if (file_exists($dbPath1)) {
+    include_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    include_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+// Body: {"machine_id": 12, "latitude": 13.08, "longitude": 80.27}; the position is optional
+require_once __DIR__ . '/../includes/operator_geo.php';
+
+$input = json_decode(file_get_contents('php://input'), true);
+$machine_id = isset($input['machine_id']) ? (int) $input['machine_id'] : 0;
+if ($machine_id <= 0) {
+    echo json_encode(['success' => false, 'message' => 'Machine ID is required']);
+    exit;
+}
+
+$stmt = $conn->prepare("SELECT * FROM machines WHERE machine_id = ?");
+$stmt->bind_param("i", $machine_id);
+$stmt->execute();
+$machine = $stmt->get_result()->fetch_assoc();
+$stmt->close();
+if (!$machine) {
+    echo json_encode(['success' => false, 'message' => 'Machine not found']);
+    exit;
+}
+
+$operator = null;
+
+// Nearest available operator for this kind of machine
+if (isset($input['latitude'], $input['longitude']) && operator_geo_supported($conn)) {
+    $type = isset($machine['type']) ? $machine['type'] : (isset($machine['equipment_type']) ? $machine['equipment_type'] : '');
+    $nearest = nearest_operators($conn, $input['latitude'], $input['longitude'], $type, 1);
+    if (!empty($nearest)) {
+        $operator = $nearest[0];
+    }
+}
+
+// Otherwise (or nobody nearby) the machine's own operator
+if ($operator === null && !empty($machine['operator_id'])) {
+    $stmt = $conn->prepare("SELECT * FROM operators WHERE operator_id = ?");
+    $stmt->bind_param("i", $machine['operator_id']);
+    $stmt->execute();
+    $operator = $stmt->get_result()->fetch_assoc();
+    $stmt->close();
+    if ($operator) {
+        unset($operator['password']);
+    }
+}
+
+if ($operator) {
+    echo json_encode(['success' => true, 'data' => $operator]);
+} else {
+    echo json_encode(['success' => false, 'message' => 'No operator available for this machine']);
+}
+
+$conn->close();
+?>
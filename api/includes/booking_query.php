@@ -0,0 +1,92 @@
+<?php
+/**
+ * Shared list options for the booking endpoints
+ * File: api/includes/booking_query.php
+ *
+ * Lets the app ask for exactly what a screen shows instead of whole histories:
+ *   status=completed,cancelled      only bookings in these statuses (case-insensitive)
+ *   exclude_status=completed,...    all bookings except these statuses
+ *   fields=booking_id,status        only these keys in each returned row
+ *   mode=counts                     no rows, just {total, by_status}
+ */
+
+function booking_status_list($param) {
+    $statuses = [];
+    if (empty($_GET[$param])) {
+        return $statuses;
+    }
+    foreach (explode(',', $_GET[$param]) as $status) {
+        $status = strtolower(trim($status));
+        if ($status !== '') {
+            $statuses[] = $status;
+        }
+    }
+    return $statuses;
+}
+
+/**
+ * " AND ..." condition for the status/exclude_status parameters, values escaped for $conn.
+ */
+function booking_status_clause($conn, $column = 'b.status') {
+    $clause = '';
+    foreach (['status' => 'IN', 'exclude_status' => 'NOT IN'] as $param => $operator) {
+        $statuses = booking_status_list($param);
+        if (empty($statuses)) {
+            continue;
+        }
+        $quoted = array_map(function ($status) use ($conn) {
+            return "'" . $conn->real_escape_string($status) . "'";
+        }, $statuses);
+        $clause .= " AND LOWER($column) $operator (" . implode(',', $quoted) . ")";
+    }
+    return $clause;
+}
+
+/**
+ * Requested row keys as a lookup array, or null for all of them.
+ */
+function booking_fields() {
+    if (empty($_GET['fields'])) {
+        return null;
+    }
+    return array_flip(array_map('trim', explode(',', $_GET['fields'])));
+}
+
+function booking_project($row, $fields) {
+    return $fields === null ? $row : array_intersect_key($row, $fields);
+}
+
+function booking_counts_requested() {
+    return isset($_GET['mode']) && $_GET['mode'] === 'counts';
+}
+
+/**
+ * Counts per status for the bookings matching $where (a condition on alias b built by the caller).
+ * Returns null when the query fails.
+ */
+function booking_counts($conn, $where) {
+    $result = $conn->query("SELECT LOWER(b.status) AS status, COUNT(*) AS n
+                            FROM bookings b
+                            WHERE $where
+                            GROUP BY LOWER(b.status)");
+    if (!$result) {
+        return null;
+    }
+    $total = 0;
+    $by_status = [];
+    while ($row = $result->fetch_assoc()) {
+        $by_status[$row['status'] !== null ? $row['status'] : ''] = (int)$row['n'];
+        $total += (int)$row['n'];
+    }
+    // Object even when empty, so the app always gets a JSON map
+    return ['total' => $total, 'by_status' => (object)$by_status];
+}
+
+function booking_send_counts($counts, $conn) {
+    if ($counts === null) {
+        echo json_encode(['success' => false, 'message' => 'Failed to count bookings: ' . $conn->error]);
+    } else {
+        echo json_encode(['success' => true, 'message' => 'Booking counts retrieved successfully', 'data' => $counts]);
+    }
+}
+?>
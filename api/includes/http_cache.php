@@ -0,0 +1,81 @@
+<?php
+/**
+ * HTTP validators for GET endpoints whose answer rarely changes
+ * File: api/includes/http_cache.php
+ *
+ * The response gets an ETag (hash of the exact body) and, when known, Last-Modified, with
+ * "Cache-Control: private, no-cache": the app's HTTP cache keeps the body and asks again
+ * every time with If-None-Match / If-Modified-Since. While nothing changed the answer is a
+ * bodyless 304 and the app reuses its stored copy.
+ *
+ *   http_cache_send_json($response, $last_modified);   // instead of echo json_encode(...)
+ *
+ * An endpoint that can tell its version before running the expensive query can call
+ * http_cache_not_modified(http_cache_etag($version), ...) first and exit when it is true.
+ */
+
+/**
+ * Weak ETag for the given content (weak, so it survives gzip by the web server).
+ */
+function http_cache_etag($content) {
+    return 'W/"' . md5($content) . '"';
+}
+
+/**
+ * Sends the validators. When the request already holds this version, also sends a 304
+ * and returns true: the caller must not output a body.
+ *
+ * @param string      $etag          from http_cache_etag()
+ * @param string|null $last_modified database time (e.g. MAX(last_updated)), or null
+ */
+function http_cache_not_modified($etag, $last_modified = null) {
+    header('Cache-Control: private, no-cache');
+    header('ETag: ' . $etag);
+    $modified_at = $last_modified !== null ? strtotime($last_modified) : false;
+    if ($modified_at !== false) {
+        header('Last-Modified: ' . gmdate('D, d M Y H:i:s', $modified_at) . ' GMT');
+    }
+
+    // If-None-Match wins over If-Modified-Since when both are sent
+    $not_modified = false;
+    if (isset($_SERVER['HTTP_IF_NONE_MATCH'])) {
+        foreach (explode(',', $_SERVER['HTTP_IF_NONE_MATCH']) as $candidate) {
+            $candidate = trim($candidate);
+            if ($candidate === '*' || http_cache_same_tag($candidate, $etag)) {
+                $not_modified = true;
+                break;
+            }
+        }
+    } elseif ($modified_at !== false && isset($_SERVER['HTTP_IF_MODIFIED_SINCE'])) {
+        $since = strtotime($_SERVER['HTTP_IF_MODIFIED_SINCE']);
+        $not_modified = $since !== false && $modified_at <= $since;
+    }
+
+    if ($not_modified) {
+        // Nothing may follow a 304, not even an empty gzip stream
+        while (ob_get_level() > 0) {
+            ob_end_clean();
+        }
+        http_response_code(304);
+    }
+    return $not_modified;
+}
+
+/**
+ * Echoes $response as JSON with validators, or a 304 when the client holds the same body.
+ */
+function http_cache_send_json($response, $last_modified = null) {
+    $body = json_encode($response);
+    if (!http_cache_not_modified(http_cache_etag($body), $last_modified)) {
+        echo $body;
+    }
+}
+
+// Weak comparison: W/"x" and "x" (as changed by some proxies) are the same tag
+function http_cache_same_tag($a, $b) {
+    $strip = function ($tag) {
+        return strpos($tag, 'W/') === 0 ? substr($tag, 2) : $tag;
+    };
+    return $strip($a) === $strip($b);
+}
+?>
@@ -0,0 +1,111 @@
+<?php
+/**
+ * Nearest-operator search
+ * File: api/includes/operator_geo.php
+ *
+ * Operators carry latitude/longitude (api/migrations/add_operators_location.sql). A search
+ * first narrows to a bounding box around the point, which idx_operators_lat_lon serves as
+ * an index range, then orders that box by great-circle distance. The box starts small and
+ * doubles until it holds k operators or reaches the maximum radius, so a dense city costs
+ * one small range scan and a remote site a few.
+ *
+ * Positions are written by operator/update_location.php (the operator app sends its own).
+ * Until an operator has one they are only found by the area text in search_operators.php.
+ */
+
+require_once __DIR__ . '/schema.php';
+
+define('OPERATOR_GEO_START_KM', 10);
+define('OPERATOR_GEO_MAX_KM', 100);
+
+function operator_geo_supported($conn) {
+    return db_has_column($conn, 'operators', 'latitude');
+}
+
+/**
+ * WHERE condition shared by both searches: available operators listing $machine_type (any
+ * when empty) who hold no accepted or running booking on $date (any format strtotime() or
+ * the app's "dd MMM yyyy" reads; ignored when empty or unreadable).
+ */
+function operator_search_clause($conn, $machine_type, $date = null) {
+    $clause = "(o.status IS NULL OR LOWER(o.status) = 'available')";
+    if ($machine_type !== null && $machine_type !== '') {
+        $type = $conn->real_escape_string(strtolower($machine_type));
+        $clause .= " AND LOWER(o.machines) LIKE '%$type%'";
+    }
+
+    $day = operator_search_day($date);
+    if ($day !== null) {
+        // A booking is dated by created_at (what the app shows as booking_date)
+        $clause .= " AND NOT EXISTS (SELECT 1 FROM bookings b
+                        WHERE b.operator_id = o.operator_id
+                          AND LOWER(b.status) IN ('accepted', 'active', 'in_progress')
+                          AND b.created_at >= '$day' AND b.created_at < '$day' + INTERVAL 1 DAY)";
+    }
+    return $clause;
+}
+
+// Requested day as Y-m-d, or null
+function operator_search_day($date) {
+    if ($date === null || trim($date) === '') {
+        return null;
+    }
+    $parsed = DateTime::createFromFormat('!d M Y', trim($date));
+    if ($parsed === false) {
+        $time = strtotime($date);
+        return $time !== false ? date('Y-m-d', $time) : null;
+    }
+    return $parsed->format('Y-m-d');
+}
+
+/**
+ * Up to $k operators matching operator_search_clause(), nearest first, each with
+ * distance_km. Returns an empty array when nothing is within the maximum radius.
+ */
+function nearest_operators($conn, $lat, $lon, $machine_type, $k, $date = null, $max_km = OPERATOR_GEO_MAX_KM) {
+    $lat = (float) $lat;
+    $lon = (float) $lon;
+    $k = max(1, min(50, (int) $k));
+    $filter = operator_search_clause($conn, $machine_type, $date);
+
+    $distance = "(6371 * 2 * ASIN(SQRT(
+                    POWER(SIN(RADIANS(o.latitude - $lat) / 2), 2) +
+                    COS(RADIANS($lat)) * COS(RADIANS(o.latitude)) *
+                    POWER(SIN(RADIANS(o.longitude - $lon) / 2), 2))))";
+
+    $radius = OPERATOR_GEO_START_KM;
+    while (true) {
+        // Bounding box of the radius; longitude degrees shrink with latitude
+        $dlat = $radius / 111.19;
+        $dlon = $radius / (111.19 * max(0.01, cos(deg2rad($lat))));
+
+        $sql = "SELECT o.*, $distance AS distance_km
+                FROM operators o
+                WHERE o.latitude BETWEEN " . ($lat - $dlat) . " AND " . ($lat + $dlat) . "
+                  AND o.longitude BETWEEN " . ($lon - $dlon) . " AND " . ($lon + $dlon) . "
+                  AND $filter
+                HAVING distance_km <= $radius
+                ORDER BY distance_km ASC
+                LIMIT $k";
+
+        $result = $conn->query($sql);
+        if (!$result) {
+            return [];
+        }
+        $operators = [];
+        while ($row = $result->fetch_assoc()) {
+            unset($row['password']);
+            $row['latitude'] = (float) $row['latitude'];
+            $row['longitude'] = (float) $row['longitude'];
+            $row['distance_km'] = round((float) $row['distance_km'], 2);
+            $operators[] = $row;
+        }
+
+        // Enough nearby, or already searched as far as allowed
+        if (count($operators) >= $k || $radius >= $max_km) {
+            return $operators;
+        }
+        $radius = min($max_km, $radius * 2);
+    }
+}
+?>
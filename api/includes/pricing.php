@@ -0,0 +1,93 @@
+<?php
+/**
+ * Booking price rules and quotes
+ * File: api/includes/pricing.php
+ *
+ * The app computes estimates itself from the pricing table (user/get_pricing.php) with the
+ * same arithmetic as pricing_quote() (PriceEstimator.java), so both sides must change
+ * together. booking/create_booking.php quotes again and refuses a total that does not match.
+ */
+
+require_once __DIR__ . '/schema.php';
+
+define('PRICING_TAX_RATE', 0.18);          // GST on usage and fees
+define('PRICING_MINIMUM_MINUTES', 60);     // shortest duration charged
+define('PRICING_INCREMENT_MINUTES', 15);   // durations are rounded up to this
+define('PRICING_BOOKING_FEE', 0);          // flat fee per booking, rupees
+define('PRICING_TOLERANCE_PAISE', 100);    // rounding slack for totals from older apps
+
+function pricing_rules() {
+    return [
+        'tax_rate' => PRICING_TAX_RATE,
+        'minimum_minutes' => PRICING_MINIMUM_MINUTES,
+        'billing_increment_minutes' => PRICING_INCREMENT_MINUTES,
+        'booking_fee' => PRICING_BOOKING_FEE
+    ];
+}
+
+/**
+ * Version of the whole pricing table: latest last_updated, row count and price sum (so a
+ * price change shows even where last_updated is not maintained), plus the rules.
+ */
+function pricing_version($conn) {
+    $latest = db_has_column($conn, 'machines', 'last_updated') ? "MAX(last_updated)" : "NULL";
+    $v = $conn->query("SELECT $latest AS latest, COUNT(*) AS total, SUM(price_per_hour) AS prices FROM machines");
+    if (!$v) {
+        return null;
+    }
+    $row = $v->fetch_assoc();
+    return ($row['latest'] !== null ? $row['latest'] : '') . '#' . $row['total'] . '#' . $row['prices']
+        . '#' . substr(md5(json_encode(pricing_rules())), 0, 8);
+}
+
+/**
+ * Minutes in "2 Hours 30 Min" or "02:30"; -1 when there is no duration in it.
+ */
+function pricing_duration_minutes($duration) {
+    if ($duration === null || $duration === '') {
+        return -1;
+    }
+    if (preg_match('/^\s*(\d{1,2}):(\d{2})\s*$/', $duration, $m)) {
+        return (int) $m[1] * 60 + (int) $m[2];
+    }
+    $total = -1;
+    if (preg_match('/(\d+)\s*hour/i', $duration, $m)) {
+        $total = (int) $m[1] * 60;
+    }
+    if (preg_match('/(\d+)\s*min/i', $duration, $m)) {
+        $total = max($total, 0) + (int) $m[1];
+    }
+    return $total;
+}
+
+/**
+ * Quote in paise for $minutes of a machine at $price_per_hour.
+ */
+function pricing_quote($price_per_hour, $minutes) {
+    $billed = 0;
+    if ($minutes > 0) {
+        $inc = max(1, PRICING_INCREMENT_MINUTES);
+        $billed = max(PRICING_MINIMUM_MINUTES, (int) (ceil($minutes / $inc) * $inc));
+    }
+    if ($billed == 0) {
+        return ['billed_minutes' => 0, 'usage' => 0, 'fee' => 0, 'tax' => 0, 'total' => 0];
+    }
+    $usage = (int) round((float) $price_per_hour * 100 * $billed / 60);
+    $fee = (int) round(PRICING_BOOKING_FEE * 100);
+    $tax = (int) round(($usage + $fee) * PRICING_TAX_RATE);
+    return [
+        'billed_minutes' => $billed,
+        'usage' => $usage,
+        'fee' => $fee,
+        'tax' => $tax,
+        'total' => $usage + $fee + $tax
+    ];
+}
+
+/**
+ * Whether a total sent by the app (rupees) matches the quote.
+ */
+function pricing_verify($quote, $total_amount) {
+    return abs((int) round((float) $total_amount * 100) - $quote['total']) <= PRICING_TOLERANCE_PAISE;
+}
+?>
@@ -0,0 +1,69 @@
+<?php
+/**
+ * Optional-column checks
+ * File: api/includes/schema.php
+ *
+ * Some endpoints use columns added by api/migrations (bookings.updated_at,
+ * machines.last_updated, operators.latitude/longitude) and keep working without them.
+ * A table's column names are looked up once and kept in APCu, when installed, for
+ * SCHEMA_CACHE_TTL seconds, and for the rest of the request either way, instead of a
+ * SHOW COLUMNS on every call. A migration therefore takes effect within the TTL.
+ *
+ *   if (db_has_column($conn, 'bookings', 'updated_at')) { ... }
+ *   $present = db_existing_columns($conn, 'operators', ['name', 'latitude']);
+ */
+
+define('SCHEMA_CACHE_TTL', 300);
+
+/**
+ * Column names of $table, or null when they cannot be read (not cached then).
+ */
+function db_columns($conn, $table) {
+    static $known = [];
+
+    // __DIR__ keeps two deployments on one PHP server apart
+    $key = 'schema:' . __DIR__ . ':' . $table;
+    if (isset($known[$key])) {
+        return $known[$key];
+    }
+
+    $apcu = function_exists('apcu_fetch') && ini_get('apc.enabled');
+    if ($apcu) {
+        $cached = apcu_fetch($key, $found);
+        if ($found && is_array($cached)) {
+            return $known[$key] = $cached;
+        }
+    }
+
+    $result = $conn->query("SHOW COLUMNS FROM `" . $conn->real_escape_string($table) . "`");
+    if (!$result) {
+        return null;
+    }
+    $columns = [];
+    while ($row = $result->fetch_assoc()) {
+        $columns[] = $row['Field'];
+    }
+
+    if ($apcu) {
+        apcu_store($key, $columns, SCHEMA_CACHE_TTL);
+    }
+    return $known[$key] = $columns;
+}
+
+function db_has_column($conn, $table, $column) {
+    $columns = db_columns($conn, $table);
+    return $columns !== null && in_array($column, $columns, true);
+}
+
+/**
+ * The names of $wanted that $table has, in the order given. All of them when the
+ * table's columns cannot be read, so the query reports the real error.
+ */
+function db_existing_columns($conn, $table, array $wanted) {
+    $columns = db_columns($conn, $table);
+    if ($columns === null) {
+        return $wanted;
+    }
+    return array_values(array_intersect($wanted, $columns));
+}
+?>
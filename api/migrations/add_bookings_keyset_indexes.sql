@@ -0,0 +1,5 @@
+-- Indexes behind the keyset paging (before_created_at/before_id + limit) of
+-- admin/get_live_bookings.php and operator/get_earnings.php, so each page is an
+-- index range scan instead of a sort of the whole bookings table.
+CREATE INDEX idx_bookings_created ON bookings (created_at, booking_id);
+CREATE INDEX idx_bookings_operator_created ON bookings (operator_id, created_at, booking_id);
@@ -0,0 +1,7 @@
+-- Track when a booking row last changed, so the app can sync only what changed
+-- (get_user_bookings.php / get_earnings.php accept updated_since once this exists).
+ALTER TABLE bookings
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_bookings_user_updated ON bookings (user_id, updated_at);
+CREATE INDEX idx_bookings_operator_updated ON bookings (operator_id, updated_at);
@@ -0,0 +1,3 @@
+-- Serve one machine category and its catalog version (MAX(last_updated), COUNT(*))
+-- from the index alone (user/get_machines.php?category_id=...).
+CREATE INDEX idx_machines_category_updated ON machines (category_id, last_updated);
@@ -0,0 +1,7 @@
+-- Operator positions for nearest-operator search (api/includes/operator_geo.php).
+-- The bounding-box filter is a range on latitude, narrowed by longitude within the index.
+ALTER TABLE operators
+    ADD COLUMN latitude DECIMAL(9,6) NULL,
+    ADD COLUMN longitude DECIMAL(9,6) NULL;
+
+CREATE INDEX idx_operators_lat_lon ON operators (latitude, longitude);
@@ -0,0 +1,122 @@
+<?php
+/**
+ * Operator Booking Events (Long-Poll) API Endpoint
+ * File: api/operator/events.php
+ *
+ * Holds the request until the operator's bookings change or the timeout expires.
+ * The client sends back the last 'version' it received as 'since'.
+ *
+ * Parameters: operator_id (required), since (optional), timeout (optional, seconds, max 30)
+ */
+
+// Set headers
+error_reporting(0);
+header('Content-Type: application/json');
+header('Access-Control-Allow-Origin: *');
+header('Cache-Control: no-store');
+
+// Include database connection
+$dbPath1 = __DIR__ . '/../../config/database.php';
+$dbPath2 = __DIR__ . '/../../database.php';
+
+if (file_exists($dbPath1)) {
+    require_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    require_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+// Check database connection
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+// Check parameters
+if (!isset($_GET['operator_id'])) {
+    echo json_encode(['success' => false, 'message' => 'Operator ID is required']);
+    exit;
+}
+
+$operator_id = $_GET['operator_id'];
+$since = isset($_GET['since']) ? $_GET['since'] : null;
+$timeout = isset($_GET['timeout']) ? (int)$_GET['timeout'] : 25;
+$timeout = max(0, min($timeout, 30));
+
+set_time_limit($timeout + 10);
+// Do not block other requests of the same PHP session while waiting
+if (session_status() === PHP_SESSION_ACTIVE) {
+    session_write_close();
+}
+
+require_once __DIR__ . '/../includes/schema.php';
+
+// Version of the operator's bookings: changes whenever a booking is added, removed or updated.
+// With bookings.updated_at (api/migrations/add_bookings_updated_at.sql) this is read from the
+// (operator_id, updated_at) index alone; without it every row is checksummed.
+if (db_has_column($conn, 'bookings', 'updated_at')) {
+    $sql = "SELECT 
+                COUNT(*) AS total,
+                COALESCE(MAX(b.updated_at), '') AS latest,
+                0 AS checksum
+            FROM bookings b
+            WHERE b.operator_id = ?";
+} else {
+    $sql = "SELECT 
+                COUNT(*) AS total,
+                COALESCE(MAX(b.created_at), '') AS latest,
+                COALESCE(SUM(CRC32(CONCAT_WS(':', b.booking_id, b.status, b.acceptance))), 0) AS checksum
+            FROM bookings b
+            WHERE b.operator_id = ?";
+}
+
+$stmt = $conn->prepare($sql);
+if (!$stmt) {
+    echo json_encode([
+        'success' => false,
+        'message' => 'Failed to prepare query: ' . $conn->error
+    ]);
+    $conn->close();
+    exit;
+}
+$stmt->bind_param("s", $operator_id);
+
+$deadline = time() + $timeout;
+$version = null;
+// Seconds between checks: 1, 2, then every 4, so a held request runs ~8 queries, not 25
+$interval = 1;
+
+while (true) {
+    $stmt->execute();
+    $result = $stmt->get_result();
+    if (!$result) {
+        echo json_encode([
+            'success' => false,
+            'message' => 'Failed to retrieve data: ' . $stmt->error
+        ]);
+        $stmt->close();
+        $conn->close();
+        exit;
+    }
+    $row = $result->fetch_assoc();
+    $version = md5($row['total'] . '|' . $row['latest'] . '|' . $row['checksum']);
+
+    if ($since === null || $since !== $version || time() >= $deadline) {
+        break;
+    }
+    sleep(min($interval, max(1, $deadline - time())));
+    $interval = min($interval * 2, 4);
+}
+
+$stmt->close();
+
+echo json_encode([
+    'success' => true,
+    'changed' => $since !== null && $since !== $version,
+    'version' => $version
+]);
+
+$conn->close();
+?>
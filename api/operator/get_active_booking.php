@@ -0,0 +1,108 @@
+<?php
+/**
+ * Get Operator's Active Booking API Endpoint
+ * File: api/operator/get_active_booking.php
+ *
+ * Returns the operator's current job (status active or in_progress), or data = null.
+ * Replaces downloading every operator booking just to find this one row.
+ */
+
+// Set headers
+error_reporting(0);
+header('Content-Type: application/json');
+header('Access-Control-Allow-Origin: *');
+
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
+// Include database connection
+$dbPath1 = __DIR__ . '/../../config/database.php';
+$dbPath2 = __DIR__ . '/../../database.php';
+
+if (file_exists($dbPath1)) {
+    require_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    require_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+// Check database connection
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+// Check parameters
+if (!isset($_GET['operator_id'])) {
+    echo json_encode(['success' => false, 'message' => 'Operator ID is required']);
+    exit;
+}
+
+$operator_id = $_GET['operator_id'];
+
+// Newest active job only
+$sql = "SELECT 
+            b.booking_id,
+            b.user_id,
+            b.operator_id,
+            b.machine_id,
+            b.created_at as booking_date,
+            b.hours as total_hours,
+            b.amount as total_amount,
+            b.status,
+            b.location,
+            u.name as user_name,
+            u.phone as user_phone,
+            o.name as operator_name,
+            o.phone as operator_phone,
+            m.name as machine_model,
+            m.type as machine_type,
+            m.image as machine_image
+        FROM bookings b
+        LEFT JOIN users u ON b.user_id = u.user_id
+        LEFT JOIN operators o ON b.operator_id = o.operator_id
+        LEFT JOIN machines m ON b.machine_id = m.machine_id
+        WHERE b.operator_id = ?
+          AND LOWER(b.status) IN ('active', 'in_progress')
+        ORDER BY b.created_at DESC, b.booking_id DESC
+        LIMIT 1";
+
+$stmt = $conn->prepare($sql);
+
+if ($stmt) {
+    $stmt->bind_param("s", $operator_id);
+    $stmt->execute();
+    $result = $stmt->get_result();
+
+    if ($result) {
+        $row = $result->fetch_assoc();
+        if ($row) {
+            $row['total_hours'] = (int)$row['total_hours'];
+            $row['total_amount'] = (float)$row['total_amount'];
+        }
+
+        echo json_encode([
+            'success' => true,
+            'message' => $row ? 'Active booking found' : 'No active booking',
+            'data' => $row ? $row : null
+        ]);
+    } else {
+        echo json_encode([
+            'success' => false,
+            'message' => 'Failed to retrieve data: ' . $stmt->error
+        ]);
+    }
+    $stmt->close();
+} else {
+    echo json_encode([
+        'success' => false,
+        'message' => 'Failed to prepare query: ' . $conn->error
+    ]);
+}
+
+$conn->close();
+?>
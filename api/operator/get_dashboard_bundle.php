@@ -0,0 +1,202 @@
+<?php
+/**
+ * Operator Dashboard Bundle API Endpoint
+ * File: api/operator/get_dashboard_bundle.php
+ *
+ * Everything the operator screens poll, in one request on one connection:
+ *   profile         the operator's OperatorProfile columns (as get_dashboard.php)
+ *   pending         booking requests waiting for an answer (as get_pending_bookings.php)
+ *   active_booking  the current job or null (as get_active_booking.php)
+ *   earnings        first page of booking history (as get_earnings.php with status + limit)
+ *
+ * Each section comes with a version token (<section>_version). The client sends back the
+ * tokens it already has as profile_version, pending_version, active_booking_version and
+ * earnings_version; a section whose token still matches is left out, only its version is sent.
+ *
+ * Parameters: operator_id (required), earnings_status (optional, comma separated,
+ * default completed,cancelled,rejected,declined), earnings_limit (optional, default 20, max 100)
+ */
+
+// Set headers
+error_reporting(0);
+header('Content-Type: application/json');
+header('Access-Control-Allow-Origin: *');
+
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
+// Include database connection
+$dbPath1 = __DIR__ . '/../../config/database.php';
+$dbPath2 = __DIR__ . '/../../database.php';
+
+if (file_exists($dbPath1)) {
+    require_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    require_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+// Check database connection
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+// Check parameters
+if (!isset($_GET['operator_id'])) {
+    echo json_encode(['success' => false, 'message' => 'Operator ID is required']);
+    exit;
+}
+
+$operator_id = $_GET['operator_id'];
+
+require_once __DIR__ . '/../includes/booking_query.php';
+require_once __DIR__ . '/../includes/schema.php';
+$earnings_statuses = booking_status_list('earnings_status');
+if (empty($earnings_statuses)) {
+    $earnings_statuses = ['completed', 'cancelled', 'rejected', 'declined'];
+}
+$earnings_limit = isset($_GET['earnings_limit']) ? max(1, min(100, (int)$_GET['earnings_limit'])) : 20;
+
+function bundle_fail($conn, $message) {
+    echo json_encode(['success' => false, 'message' => $message]);
+    $conn->close();
+    exit;
+}
+
+// Same columns as the single-feed booking endpoints
+$booking_select = "SELECT
+            b.booking_id,
+            b.user_id,
+            b.operator_id,
+            b.machine_id,
+            b.created_at as booking_date,
+            b.hours as total_hours,
+            b.amount as total_amount,
+            b.status,
+            b.location,
+            u.name as user_name,
+            u.phone as user_phone,
+            o.name as operator_name,
+            o.phone as operator_phone,
+            m.name as machine_model,
+            m.type as machine_type,
+            m.image as machine_image
+        FROM bookings b
+        LEFT JOIN users u ON b.user_id = u.user_id
+        LEFT JOIN operators o ON b.operator_id = o.operator_id
+        LEFT JOIN machines m ON b.machine_id = m.machine_id";
+
+function bundle_booking_rows($stmt) {
+    $stmt->execute();
+    $result = $stmt->get_result();
+    if (!$result) {
+        return null;
+    }
+    $rows = [];
+    while ($row = $result->fetch_assoc()) {
+        $row['total_hours'] = (int)$row['total_hours'];
+        $row['total_amount'] = (float)$row['total_amount'];
+        $rows[] = $row;
+    }
+    return $rows;
+}
+
+// Profile: the columns OperatorProfile maps that this database has (no password, nothing
+// the app would download and drop), checked against the schema
+$profile_columns = 'o.' . implode(', o.', db_existing_columns($conn, 'operators', [
+    'operator_id', 'name', 'phone', 'email', 'address', 'experience_years', 'total_bookings',
+    'rating', 'machines', 'profile_image', 'status', 'license_number', 'license_expiry',
+    'latitude', 'longitude'
+]));
+$stmt = $conn->prepare("SELECT $profile_columns FROM operators o WHERE o.operator_id = ?");
+if (!$stmt) {
+    bundle_fail($conn, 'Failed to prepare query: ' . $conn->error);
+}
+$stmt->bind_param("s", $operator_id);
+$stmt->execute();
+$result = $stmt->get_result();
+$profile = $result ? $result->fetch_assoc() : null;
+$stmt->close();
+if (!$profile) {
+    bundle_fail($conn, 'Operator not found');
+}
+
+// Pending requests and the active job in one pass: both are the operator's open bookings
+$stmt = $conn->prepare($booking_select . "
+        WHERE b.operator_id = ?
+          AND LOWER(b.status) IN ('pending', 'active', 'in_progress')
+        ORDER BY b.created_at DESC, b.booking_id DESC");
+if (!$stmt) {
+    bundle_fail($conn, 'Failed to prepare query: ' . $conn->error);
+}
+$stmt->bind_param("s", $operator_id);
+$open = bundle_booking_rows($stmt);
+$stmt->close();
+if ($open === null) {
+    bundle_fail($conn, 'Failed to retrieve bookings');
+}
+
+$pending = [];
+$active_booking = null;
+foreach ($open as $row) {
+    if (strtolower($row['status']) === 'pending') {
+        $pending[] = $row;
+    } elseif ($active_booking === null) {
+        // Newest first, so the first one is the current job
+        $active_booking = $row;
+    }
+}
+
+// Earnings: first page of the history, one extra row tells whether there is more
+$quoted = array_map(function ($status) use ($conn) {
+    return "'" . $conn->real_escape_string($status) . "'";
+}, $earnings_statuses);
+$stmt = $conn->prepare($booking_select . "
+        WHERE b.operator_id = ?
+          AND LOWER(b.status) IN (" . implode(',', $quoted) . ")
+        ORDER BY b.created_at DESC, b.booking_id DESC
+        LIMIT " . ($earnings_limit + 1));
+if (!$stmt) {
+    bundle_fail($conn, 'Failed to prepare query: ' . $conn->error);
+}
+$stmt->bind_param("s", $operator_id);
+$earnings = bundle_booking_rows($stmt);
+$stmt->close();
+if ($earnings === null) {
+    bundle_fail($conn, 'Failed to retrieve earnings');
+}
+$earnings_has_more = count($earnings) > $earnings_limit;
+$earnings = array_slice($earnings, 0, $earnings_limit);
+
+// Sections the client already has are sent as their version only
+$data = [];
+$sections = [
+    'profile' => $profile,
+    'pending' => $pending,
+    'active_booking' => $active_booking,
+    'earnings' => $earnings
+];
+foreach ($sections as $name => $value) {
+    // has_more belongs to the earnings page
+    $version = md5(json_encode($name === 'earnings' ? [$value, $earnings_has_more] : $value));
+    $known = isset($_GET[$name . '_version']) ? $_GET[$name . '_version'] : null;
+    if ($known !== $version) {
+        $data[$name] = $value;
+    }
+    $data[$name . '_version'] = $version;
+}
+$data['earnings_has_more'] = $earnings_has_more;
+
+echo json_encode([
+    'success' => true,
+    'message' => 'Dashboard data retrieved successfully',
+    'data' => $data
+]);
+
+$conn->close();
+?>
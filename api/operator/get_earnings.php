@@ -9,6 +9,11 @@ error_reporting(0);
 header('Content-Type: application/json');
 header('Access-Control-Allow-Origin: *');
 
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
 // Include database connection
 // Try different paths depending on where the file is relative to 'config'
 $dbPath1 = __DIR__ . '/../../config/database.php';
@@ -37,6 +42,38 @@ if (!isset($_GET['operator_id'])) {
 
 $operator_id = $_GET['operator_id'];
 
+// status / exclude_status / fields / mode=counts
+require_once __DIR__ . '/../includes/booking_query.php';
+require_once __DIR__ . '/../includes/schema.php';
+$operator_scope = "b.operator_id = '" . $conn->real_escape_string($operator_id) . "'";
+$status_clause = booking_status_clause($conn);
+$fields = booking_fields();
+
+// Counters only: no rows at all
+if (booking_counts_requested()) {
+    booking_send_counts(booking_counts($conn, $operator_scope . $status_clause), $conn);
+    $conn->close();
+    exit;
+}
+
+// Incremental sync: only possible once bookings.updated_at exists
+// (see api/migrations/add_bookings_updated_at.sql)
+$has_updated_at = db_has_column($conn, 'bookings', 'updated_at');
+
+// Optional keyset paging: limit plus the (booking_date, booking_id) of the last row already
+// shown as before_created_at/before_id. Paged responses are plain pages (no sync metadata).
+$limit = isset($_GET['limit']) ? max(1, min(100, (int)$_GET['limit'])) : null;
+$before_created_at = ($limit !== null && !empty($_GET['before_created_at'])) ? $_GET['before_created_at'] : null;
+$before_id = isset($_GET['before_id']) ? (int)$_GET['before_id'] : PHP_INT_MAX;
+
+$updated_since = ($has_updated_at && $limit === null && !empty($_GET['updated_since'])) ? $_GET['updated_since'] : null;
+$sync_time = null;
+if ($has_updated_at && $limit === null) {
+    // Taken from the database clock before reading, so no change can slip between syncs
+    $now = $conn->query("SELECT NOW() AS now");
+    $sync_time = $now ? $now->fetch_assoc()['now'] : null;
+}
+
 // Prepare SQL query using prepared statement for security
 $sql = "SELECT 
             b.booking_id,
@@ -54,18 +91,32 @@ $sql = "SELECT
             o.phone as operator_phone,
             m.name as machine_model,
             m.type as machine_type,
-            m.image as machine_image
+            m.image as machine_image" . ($has_updated_at ? ",
+            b.updated_at" : "") . "
         FROM bookings b
         LEFT JOIN users u ON b.user_id = u.user_id
         LEFT JOIN operators o ON b.operator_id = o.operator_id
         LEFT JOIN machines m ON b.machine_id = m.machine_id
-        WHERE b.operator_id = ?
-        ORDER BY b.created_at DESC";
+        WHERE b.operator_id = ?" . $status_clause
+        . ($updated_since !== null ? " AND b.updated_at >= ?" : "")
+        . ($before_created_at !== null ? " AND (b.created_at < ? OR (b.created_at = ? AND b.booking_id < ?))" : "") . "
+        ORDER BY b.created_at DESC, b.booking_id DESC";
+
+if ($limit !== null) {
+    // One extra row tells whether another page exists
+    $sql .= " LIMIT " . ($limit + 1);
+}
 
 $stmt = $conn->prepare($sql);
 
 if ($stmt) {
-    $stmt->bind_param("s", $operator_id);
+    if ($updated_since !== null) {
+        $stmt->bind_param("ss", $operator_id, $updated_since);
+    } elseif ($before_created_at !== null) {
+        $stmt->bind_param("sssi", $operator_id, $before_created_at, $before_created_at, $before_id);
+    } else {
+        $stmt->bind_param("s", $operator_id);
+    }
     $stmt->execute();
     $result = $stmt->get_result();
 
@@ -75,14 +126,31 @@ if ($stmt) {
             // Ensure numeric types are converted properly if needed
             $row['total_hours'] = (int)$row['total_hours'];
             $row['total_amount'] = (float)$row['total_amount'];
-            $bookings[] = $row;
+            $bookings[] = booking_project($row, $fields);
         }
 
-        echo json_encode([
+        $response = [
             'success' => true,
             'message' => 'Earnings data retrieved successfully',
             'data' => $bookings // The app expects 'data' or 'dataList' depending on Gson adapter, but ApiResponse usually uses 'data' for list generic
-        ]);
+        ];
+
+        if ($limit !== null) {
+            $response['has_more'] = count($bookings) > $limit;
+            $response['data'] = array_slice($bookings, 0, $limit);
+        }
+
+        if ($sync_time !== null) {
+            // Client sends sync_time back as updated_since; total lets it notice deleted rows
+            $count = $conn->prepare("SELECT COUNT(*) AS total FROM bookings b WHERE b.operator_id = ?" . $status_clause);
+            $count->bind_param("s", $operator_id);
+            $count->execute();
+            $response['sync_time'] = $sync_time;
+            $response['total'] = (int)$count->get_result()->fetch_assoc()['total'];
+            $count->close();
+        }
+
+        echo json_encode($response);
     } else {
         echo json_encode([
             'success' => false,
@@ -0,0 +1,66 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
+// Robust database include (handles both dev and prod/xampp file structures)
+$dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
+$dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
+
+if (file_exists($dbPath1)) {
+    include_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    include_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+// latitude/longitude: nearest operators first
+require_once __DIR__ . '/../includes/operator_geo.php';
+
+$machine_type = isset($_GET['machine_type']) ? trim($_GET['machine_type']) : '';
+$location = isset($_GET['location']) ? trim($_GET['location']) : '';
+$date = isset($_GET['date']) ? trim($_GET['date']) : '';
+$limit = isset($_GET['limit']) ? max(1, min(50, (int) $_GET['limit'])) : 10;
+
+$operators = [];
+if (isset($_GET['latitude'], $_GET['longitude']) && $_GET['latitude'] !== '' && $_GET['longitude'] !== ''
+        && operator_geo_supported($conn)) {
+    $operators = nearest_operators($conn, $_GET['latitude'], $_GET['longitude'], $machine_type, $limit, $date);
+}
+
+if (empty($operators)) {
+    // No position, or no positioned operator nearby: available operators by area text
+    $where = operator_search_clause($conn, $machine_type, $date);
+    if ($location !== '') {
+        $where .= " AND o.address LIKE '%" . $conn->real_escape_string($location) . "%'";
+    }
+    $result = $conn->query("SELECT o.* FROM operators o WHERE $where ORDER BY o.rating DESC LIMIT $limit");
+    if ($result) {
+        while ($row = $result->fetch_assoc()) {
+            unset($row['password']);
+            $operators[] = $row;
+        }
+    }
+}
+
+if (empty($operators)) {
+    echo json_encode(['success' => true, 'message' => 'No operators found', 'data_list' => []]);
+} else {
+    echo json_encode(['success' => true, 'data_list' => $operators]);
+}
+
+$conn->close();
+?>
@@ -0,0 +1,61 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Robust database include (handles both dev and prod/xampp file structures)
+$dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
+$dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
+
+if (file_exists($dbPath1)) {
+    include_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    include_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+// Position used by the nearest-operator search (api/includes/operator_geo.php)
+require_once __DIR__ . '/../includes/operator_geo.php';
+
+// Body: operator_id, latitude, longitude (the app's OperatorProfile)
+$input = json_decode(file_get_contents('php://input'), true);
+$operator_id = isset($input['operator_id']) ? (int) $input['operator_id'] : 0;
+if ($operator_id <= 0 || !isset($input['latitude'], $input['longitude'])
+        || !is_numeric($input['latitude']) || !is_numeric($input['longitude'])) {
+    echo json_encode(['success' => false, 'message' => 'Operator ID, latitude and longitude are required']);
+    exit;
+}
+
+$latitude = (float) $input['latitude'];
+$longitude = (float) $input['longitude'];
+if ($latitude < -90 || $latitude > 90 || $longitude < -180 || $longitude > 180) {
+    echo json_encode(['success' => false, 'message' => 'Invalid position']);
+    exit;
+}
+
+if (!operator_geo_supported($conn)) {
+    // api/migrations/add_operators_location.sql not applied yet
+    http_response_code(503);
+    echo json_encode(['success' => false, 'message' => 'Operator locations are not enabled']);
+    exit;
+}
+
+$stmt = $conn->prepare("UPDATE operators SET latitude = ?, longitude = ? WHERE operator_id = ?");
+$stmt->bind_param("ddi", $latitude, $longitude, $operator_id);
+if ($stmt->execute()) {
+    echo json_encode(['success' => true, 'message' => 'Location updated']);
+} else {
+    echo json_encode(['success' => false, 'message' => 'Failed to update location: ' . $stmt->error]);
+}
+$stmt->close();
+
+$conn->close();
+?>
@@ -0,0 +1,123 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Multipart image upload. The app streams the JPEG from disk (no Base64 in JSON).
+// Profile pictures are linked here: the stored path is written to users.profile_picture or
+// operators.profile_image of owner_id, so the profile update scripts need no change.
+// A license photo has no row yet; its path is returned and sent with the license form
+// (machine_image_1_path, next to the legacy Base64 machine_image_1).
+//
+// POST fields: type (user_profile | operator_profile | license), owner_id, image (file)
+
+// type -> folder under the web root
+$folders = [
+    'user_profile'     => 'uploads/profiles',
+    'operator_profile' => 'uploads/operators',
+    'license'          => 'uploads/licenses'
+];
+// type -> row the stored path is written to (table, column, key)
+$owners = [
+    'user_profile'     => ['users', 'profile_picture', 'user_id'],
+    'operator_profile' => ['operators', 'profile_image', 'operator_id']
+];
+$maxBytes = 10 * 1024 * 1024;
+
+if ($_SERVER['REQUEST_METHOD'] !== 'POST') {
+    http_response_code(405);
+    echo json_encode(['success' => false, 'message' => 'POST required']);
+    exit;
+}
+
+$type = isset($_POST['type']) ? $_POST['type'] : '';
+$ownerId = isset($_POST['owner_id']) ? intval($_POST['owner_id']) : 0;
+
+if (!isset($folders[$type])) {
+    echo json_encode(['success' => false, 'message' => 'Invalid upload type']);
+    exit;
+}
+
+if (!isset($_FILES['image']) || $_FILES['image']['error'] !== UPLOAD_ERR_OK) {
+    $code = isset($_FILES['image']) ? $_FILES['image']['error'] : -1;
+    // Partial uploads are reported as a server error so the app retries them
+    if ($code === UPLOAD_ERR_PARTIAL) {
+        http_response_code(503);
+    }
+    echo json_encode(['success' => false, 'message' => 'No image received (error ' . $code . ')']);
+    exit;
+}
+
+$file = $_FILES['image'];
+if ($file['size'] <= 0 || $file['size'] > $maxBytes) {
+    echo json_encode(['success' => false, 'message' => 'Image must be between 1 byte and 10 MB']);
+    exit;
+}
+
+// Only accept real JPEG/PNG images
+$info = @getimagesize($file['tmp_name']);
+if ($info === false || !in_array($info[2], [IMAGETYPE_JPEG, IMAGETYPE_PNG])) {
+    echo json_encode(['success' => false, 'message' => 'File is not a valid image']);
+    exit;
+}
+$extension = $info[2] === IMAGETYPE_PNG ? 'png' : 'jpg';
+
+$relativeDir = $folders[$type];
+$targetDir = __DIR__ . '/../../' . $relativeDir;
+if (!is_dir($targetDir) && !mkdir($targetDir, 0755, true)) {
+    http_response_code(500);
+    echo json_encode(['success' => false, 'message' => 'Upload folder not writable']);
+    exit;
+}
+
+$fileName = $type . '_' . $ownerId . '_' . time() . '_' . bin2hex(random_bytes(4)) . '.' . $extension;
+$relativePath = $relativeDir . '/' . $fileName;
+
+if (!move_uploaded_file($file['tmp_name'], $targetDir . '/' . $fileName)) {
+    http_response_code(500);
+    echo json_encode(['success' => false, 'message' => 'Failed to store image']);
+    exit;
+}
+
+if (isset($owners[$type]) && $ownerId > 0) {
+    $dbPath1 = __DIR__ . '/../../config/database.php';
+    $dbPath2 = __DIR__ . '/../../database.php';
+    if (file_exists($dbPath1)) {
+        include_once $dbPath1;
+    } elseif (file_exists($dbPath2)) {
+        include_once $dbPath2;
+    }
+    if (!isset($conn) || $conn->connect_error) {
+        http_response_code(503);
+        echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+        exit;
+    }
+
+    list($table, $column, $key) = $owners[$type];
+    $stmt = $conn->prepare("UPDATE $table SET $column = ? WHERE $key = ?");
+    if (!$stmt) {
+        http_response_code(500);
+        echo json_encode(['success' => false, 'message' => 'Failed to prepare query: ' . $conn->error]);
+        exit;
+    }
+    $stmt->bind_param("si", $relativePath, $ownerId);
+    $linked = $stmt->execute();
+    $stmt->close();
+    $conn->close();
+    if (!$linked) {
+        http_response_code(500);
+        echo json_encode(['success' => false, 'message' => 'Failed to save image on the profile']);
+        exit;
+    }
+}
+
+echo json_encode([
+    'success' => true,
+    'message' => 'Image uploaded',
+    'data' => [
+        'path' => $relativePath,
+        'size' => $file['size']
+    ]
+]);
+?>
@@ -0,0 +1,103 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
+// Robust database include (handles both dev and prod/xampp file structures)
+$dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
+$dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
+
+if (file_exists($dbPath1)) {
+    include_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    include_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+require_once __DIR__ . '/../includes/schema.php';
+
+// Optional: only one category (1 = JCB, 2 = Excavator, 3 = Dozer)
+$where = "";
+if (isset($_GET['category_id']) && $_GET['category_id'] !== '') {
+    $category_id = (int) $_GET['category_id'];
+    $where = " WHERE m.category_id = $category_id";
+}
+
+// Catalog version: latest last_updated plus the row count, so a deleted machine changes it too
+// (idx_machines_category_updated in api/migrations/add_machines_category_index.sql covers this)
+$catalog_version = null;
+$catalog_latest = null;
+if (db_has_column($conn, 'machines', 'last_updated')) {
+    $v = $conn->query("SELECT MAX(m.last_updated) AS latest, COUNT(*) AS total FROM machines m" . $where);
+    if ($v) {
+        $row = $v->fetch_assoc();
+        $catalog_latest = $row['latest'];
+        $catalog_version = ($row['latest'] !== null ? $row['latest'] : '') . '#' . $row['total'];
+    }
+}
+
+// Older app builds send the version they hold: no rows needed. Current builds send no
+// version and revalidate with If-None-Match below instead.
+if ($catalog_version !== null && isset($_GET['last_updated']) && $_GET['last_updated'] === $catalog_version) {
+    echo json_encode([
+        'success' => true,
+        'not_modified' => true,
+        'catalog_version' => $catalog_version
+    ]);
+    exit;
+}
+
+// HTTP validators: the catalog version identifies the body, so a 304 needs no row query
+require_once __DIR__ . '/../includes/http_cache.php';
+if ($catalog_version !== null
+        && http_cache_not_modified(http_cache_etag('machines|' . $where . '|' . $catalog_version), $catalog_latest)) {
+    $conn->close();
+    exit;
+}
+
+$result = $conn->query("SELECT m.* FROM machines m" . $where . " ORDER BY m.machine_id ASC");
+if (!$result) {
+    echo json_encode(['success' => false, 'message' => 'Query failed: ' . $conn->error]);
+    exit;
+}
+
+$machines = [];
+while ($row = $result->fetch_assoc()) {
+    $row['machine_id'] = (int) $row['machine_id'];
+    if (isset($row['category_id'])) {
+        $row['category_id'] = (int) $row['category_id'];
+    }
+    if (isset($row['price_per_hour'])) {
+        $row['price_per_hour'] = (float) $row['price_per_hour'];
+    }
+    $machines[] = $row;
+}
+
+$response = [
+    'success' => true,
+    'data' => $machines,
+    'catalog_version' => $catalog_version
+];
+if ($catalog_version !== null) {
+    // Validators already sent
+    echo json_encode($response);
+} else {
+    // No last_updated column: validate on the body itself
+    http_cache_send_json($response);
+}
+
+$conn->close();
+?>
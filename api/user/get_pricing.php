@@ -0,0 +1,80 @@
+<?php
+header("Access-Control-Allow-Origin: *");
+header("Content-Type: application/json; charset=UTF-8");
+error_reporting(E_ALL);
+ini_set('display_errors', 0); // Turn off HTML error display
+
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
+// Robust database include (handles both dev and prod/xampp file structures)
+$dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
+$dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
+
+if (file_exists($dbPath1)) {
+    include_once $dbPath1;
+} elseif (file_exists($dbPath2)) {
+    include_once $dbPath2;
+} else {
+    echo json_encode(['success' => false, 'message' => 'Database configuration not found']);
+    exit;
+}
+
+if (!isset($conn) || $conn->connect_error) {
+    echo json_encode(['success' => false, 'message' => 'Database connection failed']);
+    exit;
+}
+
+require_once __DIR__ . '/../includes/pricing.php';
+
+$pricing_version = pricing_version($conn);
+
+// Older app builds send the version they hold: nothing to send. Current builds send no
+// version and revalidate with If-None-Match below instead.
+if ($pricing_version !== null && isset($_GET['version']) && $_GET['version'] === $pricing_version) {
+    echo json_encode([
+        'success' => true,
+        'not_modified' => true,
+        'pricing_version' => $pricing_version
+    ]);
+    exit;
+}
+
+// HTTP validators: the pricing version identifies the body, so a 304 needs no row query
+require_once __DIR__ . '/../includes/http_cache.php';
+if ($pricing_version !== null && http_cache_not_modified(http_cache_etag('pricing|' . $pricing_version))) {
+    $conn->close();
+    exit;
+}
+
+// Only what the estimates and the booking screens show
+$result = $conn->query("SELECT * FROM machines ORDER BY machine_id ASC");
+if (!$result) {
+    echo json_encode(['success' => false, 'message' => 'Query failed: ' . $conn->error]);
+    exit;
+}
+
+$keep = ['machine_id', 'category_id', 'model_name', 'machine_model', 'model', 'type', 'equipment_type',
+         'price_per_hour', 'image', 'machine_image_1', 'last_updated'];
+$machines = [];
+while ($row = $result->fetch_assoc()) {
+    $machine = array_intersect_key($row, array_flip($keep));
+    $machine['machine_id'] = (int) $row['machine_id'];
+    if (isset($row['category_id'])) {
+        $machine['category_id'] = (int) $row['category_id'];
+    }
+    $machine['price_per_hour'] = isset($row['price_per_hour']) ? (float) $row['price_per_hour'] : 0;
+    $machines[] = $machine;
+}
+
+echo json_encode([
+    'success' => true,
+    'data' => $machines,
+    'rules' => pricing_rules(),
+    'pricing_version' => $pricing_version
+]);
+
+$conn->close();
+?>
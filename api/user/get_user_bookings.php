@@ -4,6 +4,11 @@ header("Content-Type: application/json; charset=UTF-8");
 error_reporting(E_ALL);
 ini_set('display_errors', 0); // Turn off HTML error display
 
+// Compress the JSON when the client sends Accept-Encoding: gzip
+if (!ini_get('zlib.output_compression')) {
+    ob_start('ob_gzhandler');
+}
+
 // Robust database include (handles both dev and prod/xampp file structures)
 $dbPath1 = __DIR__ . '/../../config/database.php'; // XAMPP standard
 $dbPath2 = __DIR__ . '/../../database.php';        // Project root fallback
@@ -24,6 +29,10 @@ if (!isset($conn) || $conn->connect_error) {
     exit;
 }
 
+// status / exclude_status / fields / mode=counts
+require_once __DIR__ . '/../includes/booking_query.php';
+require_once __DIR__ . '/../includes/schema.php';
+
 if (isset($_GET['user_id'])) {
     $user_id = $conn->real_escape_string($_GET['user_id']);
     
@@ -31,6 +40,32 @@ if (isset($_GET['user_id'])) {
     $log_entry = date('Y-m-d H:i:s') . " - Request for user_id: " . $user_id . "\n";
     file_put_contents('debug_log.txt', $log_entry, FILE_APPEND);
 
+    // Counters only (dashboard stats): no rows at all
+    if (booking_counts_requested()) {
+        booking_send_counts(booking_counts($conn, "b.user_id = '$user_id'" . booking_status_clause($conn)), $conn);
+        exit;
+    }
+
+    $status_clause = booking_status_clause($conn);
+    $fields = booking_fields();
+
+    // Incremental sync: only possible once bookings.updated_at exists
+    // (see api/migrations/add_bookings_updated_at.sql)
+    $has_updated_at = db_has_column($conn, 'bookings', 'updated_at');
+    $sync_time = null;
+    $since_clause = "";
+    $updated_select = "";
+    if ($has_updated_at) {
+        // Taken from the database clock before reading, so no change can slip between syncs
+        $now = $conn->query("SELECT NOW() AS now");
+        $sync_time = $now ? $now->fetch_assoc()['now'] : null;
+        $updated_select = ", b.updated_at";
+        if (!empty($_GET['updated_since'])) {
+            $updated_since = $conn->real_escape_string($_GET['updated_since']);
+            $since_clause = " AND b.updated_at >= '$updated_since'";
+        }
+    }
+
     $query = "SELECT 
                 b.booking_id, 
                 b.user_id, 
@@ -48,12 +83,13 @@ if (isset($_GET['user_id'])) {
                 o.phone as operator_phone, 
                 m.name as machine_model, 
                 m.machine_type, 
-                m.image as machine_image 
+                m.image as machine_image
+                $updated_select
               FROM bookings b
               LEFT JOIN users u ON b.user_id = u.user_id
               LEFT JOIN operators o ON b.operator_id = o.operator_id
               LEFT JOIN machines m ON b.machine_id = m.machine_id
-              WHERE b.user_id = '$user_id'
+              WHERE b.user_id = '$user_id'$since_clause$status_clause
               ORDER BY b.created_at DESC";
 
     $result = $conn->query($query);
@@ -93,10 +129,11 @@ if (isset($_GET['user_id'])) {
                 "operator_phone" => $row['operator_phone'],
                 "machine_model" => $row['machine_model'],
                 "machine_type" => $row['machine_type'],
-                "machine_image" => $row['machine_image']
+                "machine_image" => $row['machine_image'],
+                "updated_at" => isset($row['updated_at']) ? $row['updated_at'] : null
             );
 
-            array_push($bookings_arr["data"], $booking_item);
+            array_push($bookings_arr["data"], booking_project($booking_item, $fields));
         }
         $bookings_arr["success"] = true;
         $bookings_arr["message"] = "Bookings found.";
@@ -104,6 +141,13 @@ if (isset($_GET['user_id'])) {
         $bookings_arr["success"] = true; // Still success, just empty list
         $bookings_arr["message"] = "No bookings found.";
     }
+
+    if ($sync_time !== null) {
+        // Client sends sync_time back as updated_since; total lets it notice deleted rows
+        $count = $conn->query("SELECT COUNT(*) AS total FROM bookings b WHERE b.user_id = '$user_id'$status_clause");
+        $bookings_arr["sync_time"] = $sync_time;
+        $bookings_arr["total"] = $count ? (int)$count->fetch_assoc()['total'] : null;
+    }
 } else {
     $bookings_arr = array();
     $bookings_arr["success"] = false;
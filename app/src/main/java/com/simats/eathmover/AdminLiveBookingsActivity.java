@@ -11,23 +11,22 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.adapters.EndlessScrollListener;
 import com.simats.eathmover.models.Booking;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.BookingPager;
+import com.simats.eathmover.utils.BookingRepository;
 
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class AdminLiveBookingsActivity extends AppCompatActivity {
 
     private static final String TAG = "AdminLiveBookings";
     private ProgressBar progressBar;
     private androidx.recyclerview.widget.RecyclerView recyclerView;
     private com.simats.eathmover.adapters.BookingAdapter adapter;
+    private BookingPager pager;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,6 +50,26 @@ public class AdminLiveBookingsActivity extends AppCompatActivity {
         // Setup RecyclerView
         recyclerView = findViewById(R.id.recycler_view_bookings);
         recyclerView.setLayoutManager(new androidx.recyclerview.widget.LinearLayoutManager(this));
+
+        // Older bookings are fetched page by page as the list is scrolled
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        pager = new BookingPager(apiService::getLiveBookingsPage, new BookingPager.Listener() {
+            @Override
+            public void onBookingsChanged(List<Booking> bookings) {
+                populateBookings(bookings);
+            }
+
+            @Override
+            public void onPageError(String message) {
+                Log.e(TAG, "Error loading more bookings: " + message);
+            }
+        });
+        recyclerView.addOnScrollListener(new EndlessScrollListener() {
+            @Override
+            public void onLoadMore() {
+                pager.loadNextPage();
+            }
+        });
         
         // Load live bookings from API
         loadLiveBookings();
@@ -60,41 +79,26 @@ public class AdminLiveBookingsActivity extends AppCompatActivity {
     }
 
     private void loadLiveBookings() {
+        // Spinner until the first list arrives; the last stored list arrives almost immediately
         if (progressBar != null) progressBar.setVisibility(View.VISIBLE);
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Booking>>> call = apiService.getLiveBookings();
-
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
+        BookingRepository.getInstance(this).loadLiveBookings(new BookingRepository.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
+            public void onBookingsLoaded(List<Booking> firstPage) {
                 if (progressBar != null) progressBar.setVisibility(View.GONE);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    if (apiResponse.isSuccess()) {
-                        List<Booking> bookings = apiResponse.getData();
-                        if (bookings != null && !bookings.isEmpty()) {
-                            populateBookings(bookings);
-                        } else {
-                            Toast.makeText(AdminLiveBookingsActivity.this, "No live bookings found", Toast.LENGTH_SHORT).show();
-                        }
-                    } else {
-                        Toast.makeText(AdminLiveBookingsActivity.this,
-                            apiResponse.getMessage() != null ? apiResponse.getMessage() : "Failed to load bookings",
-                            Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load bookings: " + response.code());
-                    Toast.makeText(AdminLiveBookingsActivity.this, "Failed to load bookings: " + response.message(), Toast.LENGTH_SHORT).show();
-                }
+                pager.submitFirstPage(firstPage);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
+            public void onSyncFinished(boolean success, String message) {
                 if (progressBar != null) progressBar.setVisibility(View.GONE);
-                Log.e(TAG, "Error loading bookings: " + t.getMessage());
-                Toast.makeText(AdminLiveBookingsActivity.this, "Network error (List): " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                if (!success) {
+                    Log.e(TAG, "Error loading bookings: " + message);
+                    Toast.makeText(AdminLiveBookingsActivity.this,
+                        message != null ? message : "Failed to load bookings", Toast.LENGTH_SHORT).show();
+                } else if (adapter == null || adapter.getItemCount() == 0) {
+                    Toast.makeText(AdminLiveBookingsActivity.this, "No live bookings found", Toast.LENGTH_SHORT).show();
+                }
             }
         });
     }
@@ -104,11 +108,17 @@ public class AdminLiveBookingsActivity extends AppCompatActivity {
             adapter = new com.simats.eathmover.adapters.BookingAdapter(this, bookings);
             recyclerView.setAdapter(adapter);
         } else {
-            adapter.updateList(bookings);
+            adapter.submitList(bookings);
         }
         Log.d(TAG, "Loaded " + bookings.size() + " bookings");
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (pager != null) pager.cancel();
+    }
+
     private void setupBottomNavigation() {
         BottomNavigationView bottomNav = findViewById(R.id.bottom_navigation_admin);
         if (bottomNav != null) {
@@ -42,7 +42,7 @@ public class AdminLoginActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_login);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         // Setup toolbar
         Toolbar toolbar = findViewById(R.id.toolbar_admin_login);
@@ -19,6 +19,7 @@ import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Machine;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.PricingEngine;
 
 import java.text.NumberFormat;
 import java.util.List;
@@ -279,6 +280,8 @@ public class AdminMachinePricingActivity extends AppCompatActivity {
                         Toast.makeText(AdminMachinePricingActivity.this,
                             apiResponse.getMessage() != null ? apiResponse.getMessage() : "Price updated successfully",
                             Toast.LENGTH_SHORT).show();
+                        // Estimates must not use the old price; the next booking screen re-syncs
+                        PricingEngine.getInstance(AdminMachinePricingActivity.this).invalidate();
                         // Reload machines to show updated price
                         loadMachines();
                     } else {
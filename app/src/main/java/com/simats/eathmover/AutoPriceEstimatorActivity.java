@@ -11,15 +11,10 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Machine;
-import com.simats.eathmover.retrofit.ApiService;
-import com.simats.eathmover.retrofit.RetrofitClient;
-import com.squareup.picasso.Picasso;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.PriceEstimator;
+import com.simats.eathmover.utils.PricingEngine;
 
 /**
  * Activity for auto price estimation showing selected machine and work duration.
@@ -32,7 +27,9 @@ public class AutoPriceEstimatorActivity extends AppCompatActivity {
     private ImageView ivWorkDurationImage;
     private TextView tvSelectedMachineName;
     private TextView tvWorkDuration;
+    private TextView tvEstimatedPrice;
     private int machineId;
+    private int durationMinutes = -1;
     private String machineImageUrl;
 
     @Override
@@ -58,6 +55,7 @@ public class AutoPriceEstimatorActivity extends AppCompatActivity {
         ivWorkDurationImage = findViewById(R.id.iv_work_duration_image);
         tvSelectedMachineName = findViewById(R.id.tv_selected_machine_name);
         tvWorkDuration = findViewById(R.id.tv_work_duration);
+        tvEstimatedPrice = findViewById(R.id.tv_estimated_price);
 
         // Get data from previous activity
         Intent intent = getIntent();
@@ -72,6 +70,7 @@ public class AutoPriceEstimatorActivity extends AppCompatActivity {
         if (time != null && !time.isEmpty()) {
             // Parse time (HH:mm format) and display as duration
             String duration = formatTimeAsDuration(time);
+            durationMinutes = PriceEstimator.parseDurationMinutes(time);
             if (tvWorkDuration != null) {
                 tvWorkDuration.setText(duration);
             }
@@ -220,62 +219,50 @@ public class AutoPriceEstimatorActivity extends AppCompatActivity {
 
         // Load to header image
         if (ivHeaderMachineImage != null) {
-            Picasso.get()
-                    .load(imageUrl)
-                    .placeholder(R.drawable.jcb3dx_1)
-                    .error(R.drawable.jcb3dx_1)
-                    .into(ivHeaderMachineImage);
+            ImageLoader.load(ivHeaderMachineImage, imageUrl, R.drawable.jcb3dx_1);
         }
 
         // Load to selected machine thumbnail
         if (ivSelectedMachineThumbnail != null) {
-            Picasso.get()
-                    .load(imageUrl)
-                    .placeholder(R.drawable.jcb3dx_1)
-                    .error(R.drawable.jcb3dx_1)
-                    .into(ivSelectedMachineThumbnail);
+            ImageLoader.load(ivSelectedMachineThumbnail, imageUrl, R.drawable.jcb3dx_1);
         }
 
         // Load to work duration image (same machine)
         if (ivWorkDurationImage != null) {
-            Picasso.get()
-                    .load(imageUrl)
-                    .placeholder(R.drawable.earthmover_featured_1)
-                    .error(R.drawable.earthmover_featured_1)
-                    .into(ivWorkDurationImage);
+            ImageLoader.load(ivWorkDurationImage, imageUrl, R.drawable.earthmover_featured_1);
         }
     }
 
     /**
-     * Load machine details from backend API
+     * Load machine details and price from the shared pricing table
      */
     private void loadMachineDetails(int machineId) {
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<Machine>> call = apiService.getMachineDetails(machineId);
-
-        call.enqueue(new Callback<ApiResponse<Machine>>() {
+        PricingEngine.getInstance(this).loadMachine(machineId, new PricingEngine.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<Machine>> call, Response<ApiResponse<Machine>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<Machine> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        Machine machine = apiResponse.getData();
-                        displayMachineDetails(machine);
-                    } else {
-                        Log.e(TAG, "Failed to load machine details: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load machine details: HTTP " + response.code());
-                }
+            public void onMachinePriced(Machine machine, PriceEstimator estimator) {
+                displayMachineDetails(machine);
+                displayEstimate(machine, estimator);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<Machine>> call, Throwable t) {
-                Log.e(TAG, "Error loading machine details: " + t.getMessage());
+            public void onPricingFailed(String message) {
+                Log.e(TAG, "Failed to load machine details: " + message);
             }
         });
     }
 
+    /**
+     * Show the estimated total for the chosen duration
+     */
+    private void displayEstimate(Machine machine, PriceEstimator estimator) {
+        if (tvEstimatedPrice == null || durationMinutes <= 0 || machine.getPricePerHour() <= 0) {
+            return;
+        }
+        PriceEstimator.Estimate estimate = estimator.estimate(machine.getPricePerHour(), durationMinutes);
+        tvEstimatedPrice.setText("Est. " + PriceEstimator.format(estimate.totalPaise) + " incl. tax");
+        tvEstimatedPrice.setVisibility(View.VISIBLE);
+    }
+
     /**
      * Display machine details from API response
      */
@@ -21,11 +21,10 @@ import com.simats.eathmover.models.User;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.PriceEstimator;
+import com.simats.eathmover.utils.PricingEngine;
 import com.simats.eathmover.utils.SessionManager;
-import com.squareup.picasso.Picasso;
-
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -38,6 +37,7 @@ public class BookingSummaryActivity extends AppCompatActivity {
     private SessionManager sessionManager;
 
     private Machine currentMachine;
+    private PriceEstimator estimator;
     private String durationString;
 
     private TextView tvMachineName, tvMachineType, tvDuration,
@@ -52,7 +52,7 @@ public class BookingSummaryActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_booking_summary);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         Toolbar toolbar = findViewById(R.id.toolbar_booking_summary);
         setSupportActionBar(toolbar);
@@ -102,7 +102,10 @@ public class BookingSummaryActivity extends AppCompatActivity {
         ApiService apiService =
                 RetrofitClient.getClient().create(ApiService.class);
 
-        MachineRequest request = new MachineRequest(machineId);
+        // With the user's saved location the server picks the nearest available operator
+        MachineRequest request = sessionManager.getSyncedLocation() != null
+                ? new MachineRequest(machineId, sessionManager.getSyncedLatitude(), sessionManager.getSyncedLongitude())
+                : new MachineRequest(machineId);
 
         Call<ApiResponse<OperatorProfile>> call =
                 apiService.getOperatorByMachine(request);
@@ -141,6 +144,7 @@ public class BookingSummaryActivity extends AppCompatActivity {
                         intent.putExtra("location", src.getStringExtra("location"));
                         intent.putExtra("duration", src.getStringExtra("duration"));
                         intent.putExtra("estimated_cost", tvEstimatedCost.getText().toString());
+                        intent.putExtra("duration_minutes", parseDurationToMinutes(src.getStringExtra("duration")));
 
                         startActivity(intent);
 
@@ -237,41 +241,25 @@ public class BookingSummaryActivity extends AppCompatActivity {
         int machineId = getIntent().getIntExtra("machine_id", 0);
         if (machineId <= 0) return;
 
-        ApiService apiService =
-                RetrofitClient.getClient().create(ApiService.class);
-
-        apiService.getMachineDetails(machineId)
-                .enqueue(new Callback<ApiResponse<Machine>>() {
-                    @Override
-                    public void onResponse(
-                            Call<ApiResponse<Machine>> call,
-                            Response<ApiResponse<Machine>> response) {
-
-                        if (response.isSuccessful()
-                                && response.body() != null
-                                && response.body().getData() != null) {
-
-                            currentMachine = response.body().getData();
-                            calculateEstimatedCost();
+        // Price from the shared pricing table; the estimate itself is local
+        PricingEngine.getInstance(this).loadMachine(machineId, new PricingEngine.Listener() {
+            @Override
+            public void onMachinePriced(Machine machine, PriceEstimator priceEstimator) {
+                currentMachine = machine;
+                estimator = priceEstimator;
+                calculateEstimatedCost();
 
-                            String imageUrl =
-                                    ApiConfig.getRootUrl() + currentMachine.getImage();
+                String imageUrl =
+                        ApiConfig.getRootUrl() + currentMachine.getImage();
 
-                            Picasso.get()
-                                    .load(imageUrl)
-                                    .placeholder(R.drawable.jcb3dx_1)
-                                    .error(R.drawable.jcb3dx_1)
-                                    .into(ivMachineThumbnail);
-                        }
-                    }
+                ImageLoader.load(ivMachineThumbnail, imageUrl, R.drawable.jcb3dx_1);
+            }
 
-                    @Override
-                    public void onFailure(
-                            Call<ApiResponse<Machine>> call,
-                            Throwable t) {
-                        Log.e(TAG, "Machine load failed", t);
-                    }
-                });
+            @Override
+            public void onPricingFailed(String message) {
+                Log.e(TAG, "Machine load failed: " + message);
+            }
+        });
     }
 
     private void calculateEstimatedCost() {
@@ -281,25 +269,14 @@ public class BookingSummaryActivity extends AppCompatActivity {
         }
 
         int minutes = parseDurationToMinutes(durationString);
-        double cost =
-                (currentMachine.getPricePerHour() / 60.0) * minutes;
+        PriceEstimator.Estimate estimate =
+                estimator.estimate(currentMachine.getPricePerHour(), minutes);
 
-        tvEstimatedCost.setText("₹" + Math.round(cost));
+        // Same rules as the server, which checks this total when the booking is created
+        tvEstimatedCost.setText(PriceEstimator.format(estimate.totalPaise));
     }
 
     private int parseDurationToMinutes(String duration) {
-        int total = 0;
-
-        Matcher h =
-                Pattern.compile("(\\d+)\\s*hour")
-                        .matcher(duration.toLowerCase());
-        Matcher m =
-                Pattern.compile("(\\d+)\\s*min")
-                        .matcher(duration.toLowerCase());
-
-        if (h.find()) total += Integer.parseInt(h.group(1)) * 60;
-        if (m.find()) total += Integer.parseInt(m.group(1));
-
-        return total;
+        return Math.max(0, PriceEstimator.parseDurationMinutes(duration));
     }
 }
@@ -14,19 +14,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.simats.eathmover.adapters.DozerAdapter;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Machine;
-import com.simats.eathmover.retrofit.ApiService;
-import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.MachineCatalog;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Shows Dozer models with images and price per hour from machines table.
  */
@@ -89,65 +83,44 @@ public class DozerModelsActivity extends AppCompatActivity {
     }
 
     /**
-     * Load dozers from backend API
-     * Filters machines by category_id = 3 (Dozer)
+     * Load dozers from the machine catalog
+     * Only category_id = 3 (Dozer) is read, from the catalog's category index
      */
     private void loadDozers() {
-        if (progressBar != null) {
+        if (progressBar != null && dozerList.isEmpty()) {
             progressBar.setVisibility(View.VISIBLE);
         }
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Machine>>> call = apiService.getUserMachines();
-
-        call.enqueue(new Callback<ApiResponse<List<Machine>>>() {
+        // Cached machines come first; the catalog only refetches this category when it changed
+        MachineCatalog.getInstance(this).loadCategory(MachineCatalog.CATEGORY_DOZER, new MachineCatalog.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Machine>>> call, Response<ApiResponse<List<Machine>>> response) {
+            public void onMachinesLoaded(List<Machine> machines) {
+                if (isFinishing() || isDestroyed()) return;
                 if (progressBar != null) {
                     progressBar.setVisibility(View.GONE);
                 }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Machine>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Machine> allMachines = apiResponse.getData();
-                        
-                        // Filter dozers (category_id = 3)
-                        dozerList.clear();
-                        for (Machine machine : allMachines) {
-                            if (machine.getCategoryId() != null && machine.getCategoryId() == 3) {
-                                dozerList.add(machine);
-                                // Log image URLs for debugging
-                                Log.d(TAG, "Dozer - ID: " + machine.getMachineId() + 
-                                    ", Model: " + machine.getModelName() + 
-                                    ", Image: " + machine.getImage() + 
-                                    ", Machine_Image_1: " + machine.getMachineImage1());
-                            }
-                        }
-
-                        if (dozerList.isEmpty()) {
-                            Toast.makeText(DozerModelsActivity.this, "No dozers available", Toast.LENGTH_SHORT).show();
-                        } else {
-                            adapter.notifyDataSetChanged();
-                            Log.d(TAG, "Loaded " + dozerList.size() + " dozers");
-                        }
-                    } else {
-                        Log.e(TAG, "Failed to load dozers: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                        Toast.makeText(DozerModelsActivity.this, "Failed to load dozers", Toast.LENGTH_SHORT).show();
-                    }
+                dozerList.clear();
+                dozerList.addAll(machines);
+                adapter.notifyDataSetChanged();
+                if (dozerList.isEmpty()) {
+                    Toast.makeText(DozerModelsActivity.this, "No dozers available", Toast.LENGTH_SHORT).show();
                 } else {
-                    Log.e(TAG, "Failed to load dozers: HTTP " + response.code());
-                    Toast.makeText(DozerModelsActivity.this, "Failed to load dozers", Toast.LENGTH_SHORT).show();
+                    Log.d(TAG, "Loaded " + dozerList.size() + " dozers");
                 }
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Machine>>> call, Throwable t) {
+            public void onLoadFailed(String message) {
+                if (isFinishing() || isDestroyed()) return;
                 if (progressBar != null) {
                     progressBar.setVisibility(View.GONE);
                 }
-                Log.e(TAG, "Error loading dozers: " + t.getMessage());
-                Toast.makeText(DozerModelsActivity.this, "Error loading dozers", Toast.LENGTH_SHORT).show();
+                Log.e(TAG, "Error loading dozers: " + message);
+                // Cached machines stay on screen; only complain when there is nothing to show
+                if (dozerList.isEmpty()) {
+                    Toast.makeText(DozerModelsActivity.this, "Error loading dozers", Toast.LENGTH_SHORT).show();
+                }
             }
         });
     }
@@ -0,0 +1,18 @@
+package com.simats.eathmover;
+
+import android.app.Application;
+
+import com.simats.eathmover.retrofit.RetrofitClient;
+
+/**
+ * Process-wide setup that has to happen before the first screen makes a request.
+ */
+public class EathmoverApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // HTTP cache for the catalog and profile endpoints
+        RetrofitClient.init(this);
+    }
+}
@@ -4,12 +4,10 @@ import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.MediaStore;
-import android.util.Base64;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
@@ -32,11 +30,12 @@ import com.simats.eathmover.models.User;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.ImageIngestor;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.ImageUploader;
 import com.simats.eathmover.utils.SessionManager;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.InputStream;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -61,7 +60,8 @@ public class EditProfileActivity extends AppCompatActivity {
     private String userId;
     private SessionManager sessionManager;
     private Uri cameraImageUri;
-    private String profileImageBase64;
+    private File profileImageFile; // Selected picture as JPEG on disk, streamed by ImageUploader
+    private String uploadedImagePath; // Server path of profileImageFile once uploaded
     private Bitmap currentProfileBitmap;
     private String currentProfileImagePath;
     private boolean profilePictureUploaded = false; // Track if profile picture was already uploaded
@@ -83,7 +83,7 @@ public class EditProfileActivity extends AppCompatActivity {
             return;
         }
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
         Log.d(TAG, "SessionManager initialized");
 
         Toolbar toolbar = findViewById(R.id.toolbar_edit_profile);
@@ -333,6 +333,41 @@ public class EditProfileActivity extends AppCompatActivity {
     }
 
     private void updateUserProfile(String name, String phone, String email, String address) {
+        // Picture upload failed or is still running: upload it first, then save.
+        // ImageUploader skips files that are already stored and joins an upload in flight.
+        if (profileImageFile != null && uploadedImagePath == null) {
+            ImageUploader.upload(profileImageFile, ImageUploader.TYPE_USER_PROFILE, userId, new ImageUploader.UploadCallback() {
+                @Override
+                public void onProgress(int percent) {
+                    if (btnSaveChanges != null) {
+                        btnSaveChanges.setText("Uploading " + percent + "%");
+                    }
+                }
+
+                @Override
+                public void onSuccess(String path) {
+                    if (btnSaveChanges != null) {
+                        btnSaveChanges.setText("Save Changes");
+                    }
+                    uploadedImagePath = path;
+                    updateUserProfile(name, phone, email, address);
+                }
+
+                @Override
+                public void onFailure(String message) {
+                    if (progressBar != null) {
+                        progressBar.setVisibility(View.GONE);
+                    }
+                    if (btnSaveChanges != null) {
+                        btnSaveChanges.setText("Save Changes");
+                        btnSaveChanges.setEnabled(true);
+                    }
+                    Toast.makeText(EditProfileActivity.this, message, Toast.LENGTH_LONG).show();
+                }
+            });
+            return;
+        }
+
         Log.d(TAG, "Updating user profile - ID: " + userId + ", Name: " + name + ", Phone: " + phone);
         
         User user = new User();
@@ -346,14 +381,12 @@ public class EditProfileActivity extends AppCompatActivity {
         
         // Include profile picture if one was selected
         // Always include it when clicking "Save Changes" to ensure it's saved
-        // The backend will handle duplicate uploads gracefully
-        if (profileImageBase64 != null && !profileImageBase64.isEmpty()) {
-            user.setProfilePicture(profileImageBase64);
-            Log.d(TAG, "=== INCLUDING PROFILE PICTURE IN PROFILE UPDATE ===");
-            Log.d(TAG, "Profile picture Base64 length: " + profileImageBase64.length());
-            Log.d(TAG, "Profile picture will be sent to backend");
+        // The image itself is already on the server, only its stored path is sent
+        if (uploadedImagePath != null) {
+            user.setProfilePicturePath(uploadedImagePath);
+            Log.d(TAG, "Including uploaded profile picture in profile update: " + uploadedImagePath);
         } else {
-            Log.d(TAG, "No profile picture to include in profile update (profileImageBase64 is null or empty)");
+            Log.d(TAG, "No profile picture to include in profile update");
         }
 
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
@@ -392,13 +425,14 @@ public class EditProfileActivity extends AppCompatActivity {
                             Toast.LENGTH_SHORT).show();
                         
                         // Clear profile picture cache if it was included in the update
-                        if (profileImageBase64 != null && !profileImageBase64.isEmpty()) {
+                        if (uploadedImagePath != null) {
                         // Mark as uploaded
                         profilePictureUploaded = true;
                         hasNewImageSelected = false; // Reset flag after successful upload
                         currentProfileImagePath = null;
                         // Keep currentProfileBitmap visible until we reload from backend
-                        profileImageBase64 = null; // Clear after successful upload
+                        profileImageFile = null; // Clear after successful upload
+                        uploadedImagePath = null;
                         Log.d(TAG, "Cleared profile picture cache after successful update, reset hasNewImageSelected flag");
                             
                             // Reload profile to get updated profile picture path
@@ -556,94 +590,70 @@ public class EditProfileActivity extends AppCompatActivity {
         super.onActivityResult(requestCode, resultCode, data);
         
         if (resultCode == RESULT_OK) {
-            Bitmap bitmap = null;
+            Uri imageUri = null;
             
             if (requestCode == REQUEST_CAMERA && cameraImageUri != null) {
                 // Image from camera
-                try {
-                    bitmap = BitmapFactory.decodeStream(getContentResolver().openInputStream(cameraImageUri));
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading camera image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                imageUri = cameraImageUri;
             } else if (requestCode == REQUEST_GALLERY && data != null && data.getData() != null) {
                 // Image from gallery
-                try {
-                    InputStream inputStream = getContentResolver().openInputStream(data.getData());
-                    bitmap = BitmapFactory.decodeStream(inputStream);
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading gallery image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                imageUri = data.getData();
             }
             
-            if (bitmap != null) {
-                // Resize bitmap to reduce size (max 1024px)
-                bitmap = resizeBitmap(bitmap, 1024);
-                
-                // Convert to Base64
-                profileImageBase64 = bitmapToBase64(bitmap);
-                
-                // Reset upload flag since we have a new image
-                profilePictureUploaded = false;
-                hasNewImageSelected = true; // Mark that a new image was just selected
-                Log.d(TAG, "New profile picture selected, reset upload flag and set hasNewImageSelected = true");
-                
-                // Store bitmap temporarily to keep it visible during upload
-                final Bitmap displayBitmap = bitmap;
-                
-                // Update ImageView immediately
-                if (ivProfilePicture != null) {
-                    ivProfilePicture.setImageBitmap(displayBitmap);
-                    currentProfileBitmap = displayBitmap;
-                    Log.d(TAG, "Profile picture displayed from gallery/camera");
-                }
-                
-                // Upload to server immediately when image is selected
-                // This provides immediate feedback to the user
-                uploadProfileImage();
-                
-                Toast.makeText(this, "Image selected. Uploading...", Toast.LENGTH_SHORT).show();
-                
-                // Note: Profile picture is also included when clicking "Save Changes" button
-                // if it hasn't been uploaded yet (prevents duplicate uploads)
+            if (imageUri != null) {
+                // Decode (downsampled, EXIF-rotated) and write the upload JPEG on a worker thread
+                ImageIngestor.ingest(this, imageUri, "user_profile", new ImageIngestor.Callback() {
+                    @Override
+                    public void onImageReady(Bitmap bitmap, File imageFile) {
+                        if (isFinishing()) return;
+                        onProfileImagePicked(bitmap, imageFile);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Toast.makeText(EditProfileActivity.this, message, Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         }
     }
 
     /**
-     * Resize bitmap to reduce file size
+     * Show a freshly picked image and keep its JPEG file for upload
      */
-    private Bitmap resizeBitmap(Bitmap bitmap, int maxSize) {
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
+    private void onProfileImagePicked(Bitmap bitmap, File imageFile) {
+        profileImageFile = imageFile;
+        uploadedImagePath = null;
+        
+        
+        // Reset upload flag since we have a new image
+        profilePictureUploaded = false;
+        hasNewImageSelected = true; // Mark that a new image was just selected
+        Log.d(TAG, "New profile picture selected, reset upload flag and set hasNewImageSelected = true");
+        
+        // Store bitmap temporarily to keep it visible during upload
+        final Bitmap displayBitmap = bitmap;
         
-        if (width <= maxSize && height <= maxSize) {
-            return bitmap;
+        // Update ImageView immediately
+        if (ivProfilePicture != null) {
+            ivProfilePicture.setImageBitmap(displayBitmap);
+            currentProfileBitmap = displayBitmap;
+            Log.d(TAG, "Profile picture displayed from gallery/camera");
         }
         
-        float scale = Math.min((float) maxSize / width, (float) maxSize / height);
-        int newWidth = Math.round(width * scale);
-        int newHeight = Math.round(height * scale);
+        // Upload to server immediately when image is selected
+        // This provides immediate feedback to the user
+        uploadProfileImage();
         
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-    }
-
-    /**
-     * Convert bitmap to Base64 string
-     */
-    private String bitmapToBase64(Bitmap bitmap) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, 80, outputStream); // 80% quality
-        byte[] imageBytes = outputStream.toByteArray();
-        return Base64.encodeToString(imageBytes, Base64.NO_WRAP);
+        Toast.makeText(this, "Image selected. Uploading...", Toast.LENGTH_SHORT).show();
+        
+        // Note: Profile picture is also included when clicking "Save Changes" button
+        // if it hasn't been uploaded yet (prevents duplicate uploads)
     }
 
     /**
-     * Upload profile image to server
-     * Also sends current form data to preserve existing fields
+     * Upload profile image to server (multipart, streamed from disk),
+     * then save its stored path on the profile
      */
     private void uploadProfileImage() {
         if (userId == null || userId.isEmpty()) {
@@ -651,17 +661,45 @@ public class EditProfileActivity extends AppCompatActivity {
             return;
         }
 
-        if (profileImageBase64 == null || profileImageBase64.isEmpty()) {
+        if (profileImageFile == null) {
             Toast.makeText(this, "No image selected", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        Log.d(TAG, "Uploading profile image - User ID: " + userId + ", Base64 length: " + profileImageBase64.length());
+        Log.d(TAG, "Uploading profile image - User ID: " + userId + ", size: " + profileImageFile.length() + " bytes");
 
         if (progressBar != null) {
             progressBar.setVisibility(View.VISIBLE);
         }
 
+        ImageUploader.upload(profileImageFile, ImageUploader.TYPE_USER_PROFILE, userId, new ImageUploader.UploadCallback() {
+            @Override
+            public void onProgress(int percent) {
+                Log.d(TAG, "Profile image upload: " + percent + "%");
+            }
+
+            @Override
+            public void onSuccess(String path) {
+                uploadedImagePath = path;
+                saveProfilePicturePath(path);
+            }
+
+            @Override
+            public void onFailure(String message) {
+                if (progressBar != null) {
+                    progressBar.setVisibility(View.GONE);
+                }
+                Log.e(TAG, "UPLOAD FAILED: " + message);
+                Toast.makeText(EditProfileActivity.this, message, Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /**
+     * Store the uploaded picture path on the user profile
+     * Also sends current form data to preserve existing fields
+     */
+    private void saveProfilePicturePath(String path) {
         // Get current form values to preserve them when uploading profile picture
         String currentName = (etName != null) ? etName.getText().toString().trim() : "";
         String currentPhone = (etPhone != null) ? etPhone.getText().toString().trim() : "";
@@ -670,7 +708,7 @@ public class EditProfileActivity extends AppCompatActivity {
 
         User user = new User();
         user.setUserId(Integer.parseInt(userId));
-        user.setProfilePicture(profileImageBase64);
+        user.setProfilePicturePath(path);
         
         // Include current form data to prevent data loss
         if (!currentName.isEmpty()) {
@@ -688,45 +726,8 @@ public class EditProfileActivity extends AppCompatActivity {
         
         Log.d(TAG, "Including form data with profile upload - Name: " + currentName + ", Phone: " + currentPhone);
         
-        // Log the user object being sent
-        Log.d(TAG, "=== UPLOADING PROFILE PICTURE ===");
-        Log.d(TAG, "User ID: " + user.getUserId());
-        Log.d(TAG, "ProfilePicture Base64 length: " + (profileImageBase64 != null ? profileImageBase64.length() : 0));
-        Log.d(TAG, "ProfilePicture set: " + (user.getProfilePicture() != null && !user.getProfilePicture().isEmpty()));
-        
-        // Log first 100 characters of Base64 to verify it's being sent
-        if (profileImageBase64 != null && profileImageBase64.length() > 0) {
-            String preview = profileImageBase64.substring(0, Math.min(100, profileImageBase64.length()));
-            Log.d(TAG, "Base64 preview (first 100 chars): " + preview);
-        }
-
-        // Serialize User object to JSON to verify what's being sent
-        try {
-            com.google.gson.Gson gson = new com.google.gson.Gson();
-            String jsonPayload = gson.toJson(user);
-            Log.d(TAG, "=== JSON PAYLOAD BEING SENT ===");
-            Log.d(TAG, "Full JSON length: " + jsonPayload.length());
-            // Log first 500 chars to see structure
-            Log.d(TAG, "JSON preview (first 500 chars): " + jsonPayload.substring(0, Math.min(500, jsonPayload.length())));
-            // Check if profile_picture is in JSON
-            boolean hasProfilePicture = jsonPayload.contains("profile_picture");
-            Log.d(TAG, "JSON contains 'profile_picture': " + hasProfilePicture);
-            if (hasProfilePicture) {
-                // Find the profile_picture value in JSON
-                int startIdx = jsonPayload.indexOf("\"profile_picture\":\"");
-                if (startIdx >= 0) {
-                    int valueStart = startIdx + 19; // Length of "profile_picture":"
-                    int valueEnd = jsonPayload.indexOf("\"", valueStart);
-                    if (valueEnd > valueStart) {
-                        String profilePicValue = jsonPayload.substring(valueStart, valueEnd);
-                        Log.d(TAG, "profile_picture value length in JSON: " + profilePicValue.length());
-                        Log.d(TAG, "profile_picture value preview: " + profilePicValue.substring(0, Math.min(100, profilePicValue.length())));
-                    }
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error serializing User to JSON: " + e.getMessage(), e);
-        }
+        Log.d(TAG, "=== SAVING PROFILE PICTURE PATH ===");
+        Log.d(TAG, "User ID: " + user.getUserId() + ", profile_picture_path: " + path);
 
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
         Call<GenericResponse> call = apiService.updateUserProfile(user);
@@ -985,70 +986,31 @@ public class EditProfileActivity extends AppCompatActivity {
         Log.d(TAG, "Root URL: " + rootUrl);
         Log.d(TAG, "Full image URL: " + fullImageUrl);
 
-        // Load image in background thread
-        new Thread(() -> {
-            try {
-                java.net.URL url = new java.net.URL(fullImageUrl);
-                java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.setConnectTimeout(10000);
-                connection.setReadTimeout(10000);
-                connection.connect();
-                
-                int responseCode = connection.getResponseCode();
-                Log.d(TAG, "HTTP Response Code: " + responseCode);
-                if (responseCode == java.net.HttpURLConnection.HTTP_OK) {
-                    InputStream input = connection.getInputStream();
-                    Bitmap bitmap = BitmapFactory.decodeStream(input);
-                    input.close();
-
-                    // Update UI on main thread
-                    runOnUiThread(() -> {
-                        if (bitmap != null && ivProfilePicture != null) {
-                            // Cache the bitmap
-                            currentProfileBitmap = bitmap;
-                            ivProfilePicture.setImageBitmap(bitmap);
-                            Log.d(TAG, "Profile image loaded successfully from: " + fullImageUrl);
-                        } else {
-                            // Keep current bitmap if loading fails
-                            Log.w(TAG, "Failed to decode bitmap, keeping current image if available");
-                            if (currentProfileBitmap != null && ivProfilePicture != null) {
-                                ivProfilePicture.setImageBitmap(currentProfileBitmap);
-                            } else if (ivProfilePicture != null) {
-                                ivProfilePicture.setImageResource(R.drawable.operator1);
-                            }
+        // Load through the shared image loader; keep the current bitmap visible while loading
+        ImageLoader.load(ivProfilePicture, fullImageUrl, currentProfileBitmap != null ? 0 : R.drawable.operator1,
+                new com.squareup.picasso.Callback() {
+                    @Override
+                    public void onSuccess() {
+                        // Cache the bitmap
+                        if (ivProfilePicture != null && ivProfilePicture.getDrawable() instanceof android.graphics.drawable.BitmapDrawable) {
+                            currentProfileBitmap = ((android.graphics.drawable.BitmapDrawable) ivProfilePicture.getDrawable()).getBitmap();
                         }
-                    });
-                } else {
-                    Log.e(TAG, "=== FAILED TO LOAD IMAGE ===");
-                    Log.e(TAG, "HTTP response code: " + responseCode);
-                    Log.e(TAG, "Image URL was: " + fullImageUrl);
-                    // Keep current bitmap if loading fails
-                    runOnUiThread(() -> {
+                        Log.d(TAG, "Profile image loaded successfully from: " + fullImageUrl);
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "=== ERROR LOADING PROFILE IMAGE ===");
+                        Log.e(TAG, "Image URL: " + fullImageUrl);
+                        Log.e(TAG, "Error message: " + e.getMessage(), e);
+                        // Keep current bitmap if loading fails
                         if (currentProfileBitmap != null && ivProfilePicture != null) {
                             ivProfilePicture.setImageBitmap(currentProfileBitmap);
-                            Log.d(TAG, "Image load failed, keeping current bitmap");
                         } else if (ivProfilePicture != null) {
                             ivProfilePicture.setImageResource(R.drawable.operator1);
                         }
-                    });
-                }
-                connection.disconnect();
-            } catch (Exception e) {
-                Log.e(TAG, "=== ERROR LOADING PROFILE IMAGE ===");
-                Log.e(TAG, "Image URL: " + fullImageUrl);
-                Log.e(TAG, "Error message: " + e.getMessage(), e);
-                // Keep current bitmap if loading fails
-                runOnUiThread(() -> {
-                    if (currentProfileBitmap != null && ivProfilePicture != null) {
-                        ivProfilePicture.setImageBitmap(currentProfileBitmap);
-                        Log.d(TAG, "Image load error, keeping current bitmap");
-                    } else if (ivProfilePicture != null) {
-                        ivProfilePicture.setImageResource(R.drawable.operator1);
                     }
                 });
-            }
-        }).start();
     }
 
     @Override
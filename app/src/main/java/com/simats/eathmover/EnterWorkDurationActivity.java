@@ -21,21 +21,16 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Machine;
-import com.simats.eathmover.retrofit.ApiService;
-import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
-import com.squareup.picasso.Picasso;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.PriceEstimator;
+import com.simats.eathmover.utils.PricingEngine;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Activity for entering work duration (date and time).
  * Date uses a calendar picker; time uses a custom dialog with hour/minute pickers.
@@ -49,6 +44,9 @@ public class EnterWorkDurationActivity extends AppCompatActivity {
     private ImageView ivSelectedMachineImage;
     private int machineId;
     private String currentMachineImageUrl;
+    // Set once the machine's price is known; estimates are local from then on
+    private Machine pricedMachine;
+    private PriceEstimator estimator;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -226,6 +224,14 @@ public class EnterWorkDurationActivity extends AppCompatActivity {
         });
         npMinutes.setValue(selectedCalendar.get(Calendar.MINUTE));
 
+        // Live estimate while the pickers move
+        TextView tvLiveEstimate = dialogView.findViewById(R.id.tv_live_estimate);
+        NumberPicker.OnValueChangeListener estimateUpdater = (picker, oldValue, newValue) ->
+                showLiveEstimate(tvLiveEstimate, npHours.getValue() * 60 + npMinutes.getValue());
+        npHours.setOnValueChangedListener(estimateUpdater);
+        npMinutes.setOnValueChangedListener(estimateUpdater);
+        showLiveEstimate(tvLiveEstimate, npHours.getValue() * 60 + npMinutes.getValue());
+
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle("Select Time");
         builder.setView(dialogView);
@@ -255,6 +261,23 @@ public class EnterWorkDurationActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Estimated total for minutes of work, once the machine's price is known.
+     */
+    private void showLiveEstimate(TextView tvLiveEstimate, int minutes) {
+        if (tvLiveEstimate == null || pricedMachine == null || pricedMachine.getPricePerHour() <= 0) {
+            return;
+        }
+        if (minutes <= 0) {
+            tvLiveEstimate.setVisibility(View.GONE);
+            return;
+        }
+        PriceEstimator.Estimate estimate = estimator.estimate(pricedMachine.getPricePerHour(), minutes);
+        tvLiveEstimate.setText("Estimated: " + PriceEstimator.format(estimate.totalPaise)
+                + " (" + PriceEstimator.formatDuration(estimate.billedMinutes) + " billed, incl. tax)");
+        tvLiveEstimate.setVisibility(View.VISIBLE);
+    }
+
     /**
      * Helper method to set text color of NumberPicker digits to white.
      */
@@ -303,40 +326,25 @@ public class EnterWorkDurationActivity extends AppCompatActivity {
                 image = rootUrl + image;
             }
 
-            Picasso.get()
-                    .load(image)
-                    .placeholder(R.drawable.jcb3dx_1)
-                    .error(R.drawable.jcb3dx_1)
-                    .into(ivSelectedMachineImage);
+            ImageLoader.load(ivSelectedMachineImage, image, R.drawable.jcb3dx_1);
         }
     }
 
     /**
-     * Load machine details from backend API
+     * Load machine details and price from the shared pricing table
      */
     private void loadMachineDetails(int machineId) {
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<Machine>> call = apiService.getMachineDetails(machineId);
-
-        call.enqueue(new Callback<ApiResponse<Machine>>() {
+        PricingEngine.getInstance(this).loadMachine(machineId, new PricingEngine.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<Machine>> call, Response<ApiResponse<Machine>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<Machine> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        Machine machine = apiResponse.getData();
-                        displayMachineDetails(machine);
-                    } else {
-                        Log.e(TAG, "Failed to load machine details: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load machine details: HTTP " + response.code());
-                }
+            public void onMachinePriced(Machine machine, PriceEstimator priceEstimator) {
+                pricedMachine = machine;
+                estimator = priceEstimator;
+                displayMachineDetails(machine);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<Machine>> call, Throwable t) {
-                Log.e(TAG, "Error loading machine details: " + t.getMessage());
+            public void onPricingFailed(String message) {
+                Log.e(TAG, "Failed to load machine details: " + message);
             }
         });
     }
@@ -382,11 +390,7 @@ public class EnterWorkDurationActivity extends AppCompatActivity {
                 
                 Log.d(TAG, "Loading machine image: " + imageUrl);
                 
-                Picasso.get()
-                        .load(imageUrl)
-                        .placeholder(R.drawable.jcb3dx_1)
-                        .error(R.drawable.jcb3dx_1)
-                        .into(ivSelectedMachineImage);
+                ImageLoader.load(ivSelectedMachineImage, imageUrl, R.drawable.jcb3dx_1);
             } else {
                 ivSelectedMachineImage.setImageResource(R.drawable.jcb3dx_1);
             }
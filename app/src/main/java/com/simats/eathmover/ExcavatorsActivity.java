@@ -14,19 +14,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.simats.eathmover.adapters.ExcavatorAdapter;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Machine;
-import com.simats.eathmover.retrofit.ApiService;
-import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.MachineCatalog;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Shows Excavator models with images and price per hour from machines table.
  */
@@ -95,65 +89,44 @@ public class ExcavatorsActivity extends AppCompatActivity {
     }
 
     /**
-     * Load excavators from backend API
-     * Filters machines by category_id = 2 (Excavator)
+     * Load excavators from the machine catalog
+     * Only category_id = 2 (Excavator) is read, from the catalog's category index
      */
     private void loadExcavators() {
-        if (progressBar != null) {
+        if (progressBar != null && excavatorList.isEmpty()) {
             progressBar.setVisibility(View.VISIBLE);
         }
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Machine>>> call = apiService.getUserMachines();
-
-        call.enqueue(new Callback<ApiResponse<List<Machine>>>() {
+        // Cached machines come first; the catalog only refetches this category when it changed
+        MachineCatalog.getInstance(this).loadCategory(MachineCatalog.CATEGORY_EXCAVATOR, new MachineCatalog.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Machine>>> call, Response<ApiResponse<List<Machine>>> response) {
+            public void onMachinesLoaded(List<Machine> machines) {
+                if (isFinishing() || isDestroyed()) return;
                 if (progressBar != null) {
                     progressBar.setVisibility(View.GONE);
                 }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Machine>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Machine> allMachines = apiResponse.getData();
-                        
-                        // Filter excavators (category_id = 2)
-                        excavatorList.clear();
-                        for (Machine machine : allMachines) {
-                            if (machine.getCategoryId() != null && machine.getCategoryId() == 2) {
-                                excavatorList.add(machine);
-                                // Log image URLs for debugging
-                                Log.d(TAG, "Excavator - ID: " + machine.getMachineId() + 
-                                    ", Model: " + machine.getModelName() + 
-                                    ", Image: " + machine.getImage() + 
-                                    ", Machine_Image_1: " + machine.getMachineImage1());
-                            }
-                        }
-
-                        if (excavatorList.isEmpty()) {
-                            Toast.makeText(ExcavatorsActivity.this, "No excavators available", Toast.LENGTH_SHORT).show();
-                        } else {
-                            adapter.notifyDataSetChanged();
-                            Log.d(TAG, "Loaded " + excavatorList.size() + " excavators");
-                        }
-                    } else {
-                        Log.e(TAG, "Failed to load excavators: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                        Toast.makeText(ExcavatorsActivity.this, "Failed to load excavators", Toast.LENGTH_SHORT).show();
-                    }
+                excavatorList.clear();
+                excavatorList.addAll(machines);
+                adapter.notifyDataSetChanged();
+                if (excavatorList.isEmpty()) {
+                    Toast.makeText(ExcavatorsActivity.this, "No excavators available", Toast.LENGTH_SHORT).show();
                 } else {
-                    Log.e(TAG, "Failed to load excavators: HTTP " + response.code());
-                    Toast.makeText(ExcavatorsActivity.this, "Failed to load excavators", Toast.LENGTH_SHORT).show();
+                    Log.d(TAG, "Loaded " + excavatorList.size() + " excavators");
                 }
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Machine>>> call, Throwable t) {
+            public void onLoadFailed(String message) {
+                if (isFinishing() || isDestroyed()) return;
                 if (progressBar != null) {
                     progressBar.setVisibility(View.GONE);
                 }
-                Log.e(TAG, "Error loading excavators: " + t.getMessage());
-                Toast.makeText(ExcavatorsActivity.this, "Error loading excavators", Toast.LENGTH_SHORT).show();
+                Log.e(TAG, "Error loading excavators: " + message);
+                // Cached machines stay on screen; only complain when there is nothing to show
+                if (excavatorList.isEmpty()) {
+                    Toast.makeText(ExcavatorsActivity.this, "Error loading excavators", Toast.LENGTH_SHORT).show();
+                }
             }
         });
     }
@@ -2,19 +2,28 @@ package com.simats.eathmover;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button;
+import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.simats.eathmover.models.Machine;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.PriceEstimator;
+import com.simats.eathmover.utils.PricingEngine;
 
 /**
  * Activity showing final price breakdown before payment.
+ * Given machine_id and the duration (duration_minutes or duration), the breakdown is
+ * computed with the same rules the server checks the booking total with.
  */
 public class FinalPriceBreakdownActivity extends AppCompatActivity {
 
+    private static final String TAG = "FinalPriceBreakdown";
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -32,6 +41,8 @@ public class FinalPriceBreakdownActivity extends AppCompatActivity {
             });
         }
 
+        showBookingDetails(getIntent());
+
         // Confirm Payment button
         Button btnConfirmPayment = findViewById(R.id.btn_confirm_payment);
         if (btnConfirmPayment != null) {
@@ -50,6 +61,63 @@ public class FinalPriceBreakdownActivity extends AppCompatActivity {
             BottomNavigationHelper.setupBottomNavigation(this, bottomNav);
         }
     }
+
+    /**
+     * Fill in the booking and compute the breakdown when the booking is known
+     */
+    private void showBookingDetails(Intent intent) {
+        String bookingId = intent.getStringExtra("booking_id");
+        if (bookingId != null && !bookingId.isEmpty()) {
+            setText(R.id.tv_breakdown_booking_id, "#" + bookingId);
+        }
+        String date = intent.getStringExtra("date");
+        if (date != null && !date.isEmpty()) {
+            setText(R.id.tv_breakdown_date, date);
+        }
+        String machineModel = intent.getStringExtra("machine_model");
+        if (machineModel != null && !machineModel.isEmpty()) {
+            setText(R.id.tv_breakdown_machine_name, machineModel);
+        }
+
+        int machineId = intent.getIntExtra("machine_id", 0);
+        int minutes = intent.getIntExtra("duration_minutes",
+                PriceEstimator.parseDurationMinutes(intent.getStringExtra("duration")));
+        if (machineId <= 0 || minutes <= 0) {
+            return;
+        }
+
+        PricingEngine.getInstance(this).loadMachine(machineId, new PricingEngine.Listener() {
+            @Override
+            public void onMachinePriced(Machine machine, PriceEstimator estimator) {
+                showBreakdown(machine, estimator.estimate(machine.getPricePerHour(), minutes));
+            }
+
+            @Override
+            public void onPricingFailed(String message) {
+                Log.e(TAG, "Could not price machine " + machineId + ": " + message);
+            }
+        });
+    }
+
+    private void showBreakdown(Machine machine, PriceEstimator.Estimate estimate) {
+        if (machine.getModelName() != null && !machine.getModelName().isEmpty()) {
+            setText(R.id.tv_breakdown_machine_name, machine.getModelName());
+        }
+        String billed = PriceEstimator.formatDuration(estimate.billedMinutes);
+        setText(R.id.tv_breakdown_duration, PriceEstimator.formatDuration(estimate.minutes));
+        setText(R.id.tv_usage_label, "Machine Usage (" + billed + "):");
+        setText(R.id.tv_usage_amount, PriceEstimator.format(estimate.usagePaise));
+        setText(R.id.tv_fees_amount, PriceEstimator.format(estimate.feePaise));
+        setText(R.id.tv_tax_amount, PriceEstimator.format(estimate.taxPaise));
+        setText(R.id.tv_total_amount, PriceEstimator.format(estimate.totalPaise));
+    }
+
+    private void setText(int viewId, String text) {
+        TextView view = findViewById(viewId);
+        if (view != null) {
+            view.setText(text);
+        }
+    }
 }
 
 
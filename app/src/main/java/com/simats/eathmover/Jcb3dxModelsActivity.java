@@ -14,19 +14,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.simats.eathmover.adapters.JcbAdapter;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Machine;
-import com.simats.eathmover.retrofit.ApiService;
-import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.MachineCatalog;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Shows JCB (Backhoe Loader) models with images and price per hour from machines table.
  */
@@ -95,65 +89,44 @@ public class Jcb3dxModelsActivity extends AppCompatActivity {
     }
 
     /**
-     * Load JCBs (Backhoe Loaders) from backend API
-     * Filters machines by category_id = 1 (JCB/Backhoe Loader)
+     * Load JCBs (Backhoe Loaders) from the machine catalog
+     * Only category_id = 1 (JCB/Backhoe Loader) is read, from the catalog's category index
      */
     private void loadJcbs() {
-        if (progressBar != null) {
+        if (progressBar != null && jcbList.isEmpty()) {
             progressBar.setVisibility(View.VISIBLE);
         }
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Machine>>> call = apiService.getUserMachines();
-
-        call.enqueue(new Callback<ApiResponse<List<Machine>>>() {
+        // Cached machines come first; the catalog only refetches this category when it changed
+        MachineCatalog.getInstance(this).loadCategory(MachineCatalog.CATEGORY_JCB, new MachineCatalog.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Machine>>> call, Response<ApiResponse<List<Machine>>> response) {
+            public void onMachinesLoaded(List<Machine> machines) {
+                if (isFinishing() || isDestroyed()) return;
                 if (progressBar != null) {
                     progressBar.setVisibility(View.GONE);
                 }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Machine>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Machine> allMachines = apiResponse.getData();
-                        
-                        // Filter JCBs/Backhoe Loaders (category_id = 1)
-                        jcbList.clear();
-                        for (Machine machine : allMachines) {
-                            if (machine.getCategoryId() != null && machine.getCategoryId() == 1) {
-                                jcbList.add(machine);
-                                // Log image URLs for debugging
-                                Log.d(TAG, "JCB - ID: " + machine.getMachineId() + 
-                                    ", Model: " + machine.getModelName() + 
-                                    ", Image: " + machine.getImage() + 
-                                    ", Machine_Image_1: " + machine.getMachineImage1());
-                            }
-                        }
-
-                        if (jcbList.isEmpty()) {
-                            Toast.makeText(Jcb3dxModelsActivity.this, "No JCBs available", Toast.LENGTH_SHORT).show();
-                        } else {
-                            adapter.notifyDataSetChanged();
-                            Log.d(TAG, "Loaded " + jcbList.size() + " JCBs");
-                        }
-                    } else {
-                        Log.e(TAG, "Failed to load JCBs: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                        Toast.makeText(Jcb3dxModelsActivity.this, "Failed to load JCBs", Toast.LENGTH_SHORT).show();
-                    }
+                jcbList.clear();
+                jcbList.addAll(machines);
+                adapter.notifyDataSetChanged();
+                if (jcbList.isEmpty()) {
+                    Toast.makeText(Jcb3dxModelsActivity.this, "No JCBs available", Toast.LENGTH_SHORT).show();
                 } else {
-                    Log.e(TAG, "Failed to load JCBs: HTTP " + response.code());
-                    Toast.makeText(Jcb3dxModelsActivity.this, "Failed to load JCBs", Toast.LENGTH_SHORT).show();
+                    Log.d(TAG, "Loaded " + jcbList.size() + " JCBs");
                 }
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Machine>>> call, Throwable t) {
+            public void onLoadFailed(String message) {
+                if (isFinishing() || isDestroyed()) return;
                 if (progressBar != null) {
                     progressBar.setVisibility(View.GONE);
                 }
-                Log.e(TAG, "Error loading JCBs: " + t.getMessage());
-                Toast.makeText(Jcb3dxModelsActivity.this, "Error loading JCBs", Toast.LENGTH_SHORT).show();
+                Log.e(TAG, "Error loading JCBs: " + message);
+                // Cached machines stay on screen; only complain when there is nothing to show
+                if (jcbList.isEmpty()) {
+                    Toast.makeText(Jcb3dxModelsActivity.this, "Error loading JCBs", Toast.LENGTH_SHORT).show();
+                }
             }
         });
     }
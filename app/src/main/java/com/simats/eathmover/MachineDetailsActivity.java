@@ -18,7 +18,7 @@ import com.simats.eathmover.models.Machine;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
-import com.squareup.picasso.Picasso;
+import com.simats.eathmover.utils.ImageLoader;
 
 import java.util.Locale;
 
@@ -281,11 +281,7 @@ public class MachineDetailsActivity extends AppCompatActivity {
                 
                 Log.d(TAG, "Loading machine image: " + imageUrl);
                 
-                Picasso.get()
-                        .load(imageUrl)
-                        .placeholder(R.drawable.jcb3dx_1)
-                        .error(R.drawable.jcb3dx_1)
-                        .into(ivMachineMainImage);
+                ImageLoader.load(ivMachineMainImage, imageUrl, R.drawable.jcb3dx_1);
             } else {
                 ivMachineMainImage.setImageResource(R.drawable.jcb3dx_1);
             }
@@ -331,11 +327,7 @@ public class MachineDetailsActivity extends AppCompatActivity {
                 image = rootUrl + image;
             }
             
-            Picasso.get()
-                    .load(image)
-                    .placeholder(R.drawable.jcb3dx_1)
-                    .error(R.drawable.jcb3dx_1)
-                    .into(ivMachineMainImage);
+            ImageLoader.load(ivMachineMainImage, image, R.drawable.jcb3dx_1);
         }
     }
 }
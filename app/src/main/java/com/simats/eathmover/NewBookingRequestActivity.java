@@ -50,10 +50,10 @@ public class NewBookingRequestActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_new_booking_request);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
         
         // Initialize real-time data manager
-        realTimeDataManager = RealTimeDataManager.getInstance();
+        realTimeDataManager = RealTimeDataManager.getInstance(this);
         realTimeDataManager.setSessionManager(sessionManager);
 
         // Setup toolbar
@@ -123,8 +123,8 @@ public class NewBookingRequestActivity extends AppCompatActivity {
         String operatorId = sessionManager.getOperatorId();
         if (operatorId == null) return;
 
-        // Set up real-time booking request listener
-        realTimeDataManager.setBookingRequestListener(new RealTimeDataManager.BookingRequestListener() {
+        // Booking requests poll fast while this screen is started; stops by itself after onStop
+        realTimeDataManager.observeBookingRequests(this, new RealTimeDataManager.BookingRequestListener() {
             @Override
             public void onNewBookingRequest(List<Booking> bookings) {
                 if (bookings != null && !bookings.isEmpty()) {
@@ -137,9 +137,6 @@ public class NewBookingRequestActivity extends AppCompatActivity {
                 }
             }
         });
-
-        // Start fast polling for booking requests
-        realTimeDataManager.startFastPolling();
     }
 
     private void loadBookingData() {
@@ -375,32 +372,5 @@ public class NewBookingRequestActivity extends AppCompatActivity {
             return false;
         });
     }
-
-    @Override
-    protected void onResume() {
-        super.onResume();
-        // Resume fast polling when activity is visible
-        if (realTimeDataManager != null) {
-            realTimeDataManager.startFastPolling();
-        }
-    }
-
-    @Override
-    protected void onPause() {
-        super.onPause();
-        // Stop polling when activity is not visible
-        if (realTimeDataManager != null) {
-            realTimeDataManager.stopPolling();
-        }
-    }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        // Clean up listener
-        if (realTimeDataManager != null) {
-            realTimeDataManager.removeBookingRequestListener();
-        }
-    }
 }
 
@@ -19,6 +19,7 @@ import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.BookingRepository;
 import com.simats.eathmover.utils.SessionManager;
 import com.simats.eathmover.utils.RealTimeDataManager;
 
@@ -47,7 +48,7 @@ public class OperatorBookingsActivity extends AppCompatActivity implements RealT
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_operator_bookings);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
 
         recyclerView = findViewById(R.id.rv_operator_bookings);
@@ -97,21 +98,10 @@ public class OperatorBookingsActivity extends AppCompatActivity implements RealT
 
         // Load operator bookings
         loadOperatorBookings();
-    }
-
-    @Override
-    protected void onStart() {
-        super.onStart();
-        RealTimeDataManager.getInstance().setSessionManager(sessionManager);
-        RealTimeDataManager.getInstance().setOperatorBookingsListener(this);
-        RealTimeDataManager.getInstance().startPolling();
-    }
 
-    @Override
-    protected void onStop() {
-        super.onStop();
-        RealTimeDataManager.getInstance().removeOperatorBookingsListener();
-        RealTimeDataManager.getInstance().stopPolling();
+        // Updated while this screen is started; the subscription ends with it
+        RealTimeDataManager.getInstance(this).setSessionManager(sessionManager);
+        RealTimeDataManager.getInstance(this).observeOperatorBookings(this, this);
     }
 
     @Override
@@ -126,36 +116,27 @@ public class OperatorBookingsActivity extends AppCompatActivity implements RealT
             return;
         }
 
+        // Spinner until the first list arrives; stored bookings arrive almost immediately
         progressBar.setVisibility(View.VISIBLE);
         tvNoBookings.setVisibility(View.GONE);
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Booking>>> call = apiService.getOperatorBookings(operatorId);
-
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
+        BookingRepository.getInstance(this).loadOperatorBookings(operatorId, new BookingRepository.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
+            public void onBookingsLoaded(List<Booking> bookings) {
                 progressBar.setVisibility(View.GONE);
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        updateBookingsUI(apiResponse.getData());
-                    }
- else {
-                        tvNoBookings.setVisibility(View.VISIBLE);
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load bookings: " + response.code());
-                    tvNoBookings.setVisibility(View.VISIBLE);
-                }
+                updateBookingsUI(bookings);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
+            public void onSyncFinished(boolean success, String message) {
                 progressBar.setVisibility(View.GONE);
-                Log.e(TAG, "Error: " + t.getMessage());
-                tvNoBookings.setVisibility(View.VISIBLE);
-                Toast.makeText(OperatorBookingsActivity.this, "Network error", Toast.LENGTH_SHORT).show();
+                if (!success) {
+                    Log.e(TAG, "Failed to sync bookings: " + message);
+                    if (bookingList.isEmpty()) {
+                        tvNoBookings.setVisibility(View.VISIBLE);
+                        Toast.makeText(OperatorBookingsActivity.this, "Network error", Toast.LENGTH_SHORT).show();
+                    }
+                }
             }
         });
     }
@@ -195,7 +176,8 @@ public class OperatorBookingsActivity extends AppCompatActivity implements RealT
         if (tvStatPending != null) tvStatPending.setText(String.valueOf(pending));
         if (tvStatActive != null) tvStatActive.setText(String.valueOf(active));
 
-        adapter.notifyDataSetChanged();
+        // Diffed off the main thread; unchanged rows are not rebound
+        adapter.submitList(bookingList);
 
         if (tvNoBookings != null) {
             tvNoBookings.setVisibility(bookingList.isEmpty() ? View.VISIBLE : View.GONE);
@@ -249,7 +231,7 @@ public class OperatorBookingsActivity extends AppCompatActivity implements RealT
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                     Toast.makeText(OperatorBookingsActivity.this, "Booking Accepted", Toast.LENGTH_SHORT).show();
                     // Status will naturally update via polling, but we can speed it up
-                    RealTimeDataManager.getInstance().refreshNow(); 
+                    RealTimeDataManager.getInstance(OperatorBookingsActivity.this).refreshNow(); 
                     loadOperatorBookings();
                 } else {
                     Toast.makeText(OperatorBookingsActivity.this, "Failed to accept", Toast.LENGTH_SHORT).show();
@@ -274,7 +256,7 @@ public class OperatorBookingsActivity extends AppCompatActivity implements RealT
                 progressBar.setVisibility(View.GONE);
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                     Toast.makeText(OperatorBookingsActivity.this, "Booking Declined", Toast.LENGTH_SHORT).show();
-                    RealTimeDataManager.getInstance().refreshNow();
+                    RealTimeDataManager.getInstance(OperatorBookingsActivity.this).refreshNow();
                     loadOperatorBookings();
                 } else {
                     Toast.makeText(OperatorBookingsActivity.this, "Failed to decline", Toast.LENGTH_SHORT).show();
@@ -1,8 +1,9 @@
 package com.simats.eathmover;
 
+import android.Manifest;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.content.pm.PackageManager;
+import android.location.Location;
 import android.os.Bundle;
 import android.view.MenuItem;
 import android.view.View;
@@ -16,22 +17,26 @@ import androidx.appcompat.app.ActionBarDrawerToggle;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.app.ActivityCompat;
+import androidx.core.content.ContextCompat;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
 
+import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.location.LocationServices;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.navigation.NavigationView;
 import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.GenericResponse;
 import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.ImageLoader;
 import com.simats.eathmover.utils.RealTimeDataManager;
 import com.simats.eathmover.utils.SessionManager;
 
-import java.io.InputStream;
-import java.util.List;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -40,6 +45,10 @@ import android.util.Log;
 
 public class OperatorDashboardActivity extends AppCompatActivity implements NavigationView.OnNavigationItemSelectedListener {
 
+    private static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
+    // Moves smaller than this do not rewrite the operator's position
+    private static final float LOCATION_SYNC_THRESHOLD_M = 200f;
+
     private DrawerLayout drawerLayout;
     private NavigationView navigationView;
     private SessionManager sessionManager;
@@ -51,16 +60,18 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
     private TextView tvAvailabilityStatus;
     private ImageView ivOperatorProfile;
     private RealTimeDataManager realTimeDataManager;
+    // Position for the users' nearest-operator search
+    private FusedLocationProviderClient fusedLocationClient;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_operator_dashboard);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
         
         // Initialize real-time data manager
-        realTimeDataManager = RealTimeDataManager.getInstance();
+        realTimeDataManager = RealTimeDataManager.getInstance(this);
         realTimeDataManager.setSessionManager(sessionManager);
 
         // Setup toolbar
@@ -109,6 +120,12 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
 
         // Setup card click listeners
         setupCardListeners();
+
+        // Users find operators by distance; the position is sent from onResume()
+        fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
+        if (!checkLocationPermission()) {
+            requestLocationPermission();
+        }
     }
 
     private void initializeViews() {
@@ -187,16 +204,15 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
     }
 
     private void setupRealTimeUpdates(String operatorId) {
-        // Set up real-time dashboard data listener
-        realTimeDataManager.setDashboardListener(new RealTimeDataManager.DashboardDataListener() {
+        // Both feeds are polled while this screen is started and end with it
+        realTimeDataManager.observeDashboard(this, new RealTimeDataManager.DashboardDataListener() {
             @Override
             public void onDashboardDataUpdated(OperatorProfile profile) {
                 updateDashboardUI(profile);
             }
         });
 
-        // Set up real-time booking status listener
-        realTimeDataManager.setBookingStatusListener(new RealTimeDataManager.BookingStatusListener() {
+        realTimeDataManager.observeBookingStatus(this, new RealTimeDataManager.BookingStatusListener() {
             @Override
             public void onBookingStatusChanged(Booking booking) {
                 if (booking != null) {
@@ -212,9 +228,6 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
                 }
             }
         });
-
-        // Start real-time polling
-        realTimeDataManager.startPolling();
     }
 
     private void loadDashboardData(String operatorId) {
@@ -251,27 +264,22 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
 
     private void loadCurrentBooking(String operatorId) {
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Booking>>> call = apiService.getOperatorBookings(operatorId);
+        // The server picks the active/in_progress booking, no need to fetch them all
+        Call<ApiResponse<Booking>> call = apiService.getActiveBooking(operatorId);
 
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
+        call.enqueue(new Callback<ApiResponse<Booking>>() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
+            public void onResponse(Call<ApiResponse<Booking>> call, Response<ApiResponse<Booking>> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null && !apiResponse.getData().isEmpty()) {
-                        // Get the first active booking
-                        for (Booking booking : apiResponse.getData()) {
-                            if ("active".equalsIgnoreCase(booking.getStatus()) || "in_progress".equalsIgnoreCase(booking.getStatus())) {
-                                updateBookingUI(booking);
-                                return;
-                            }
-                        }
+                    ApiResponse<Booking> apiResponse = response.body();
+                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
+                        updateBookingUI(apiResponse.getData());
                     }
                 }
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
+            public void onFailure(Call<ApiResponse<Booking>> call, Throwable t) {
                 Log.e("OperatorDashboard", "Error loading bookings: " + t.getMessage());
             }
         });
@@ -412,34 +420,95 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
     @Override
     protected void onResume() {
         super.onResume();
-        // Resume real-time updates when activity is visible
-        if (realTimeDataManager != null) {
-            realTimeDataManager.startPolling();
-        }
         // Reload operator data when returning to dashboard (e.g., after updating profile image)
         String operatorId = sessionManager.getOperatorId();
         if (operatorId != null) {
             loadDashboardData(operatorId);
+            if (checkLocationPermission()) {
+                syncOperatorLocation(operatorId);
+            }
         }
     }
 
+    // ========== LOCATION METHODS ==========
+
+    private boolean checkLocationPermission() {
+        return ContextCompat.checkSelfPermission(this, Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED
+                || ContextCompat.checkSelfPermission(this, Manifest.permission.ACCESS_COARSE_LOCATION) == PackageManager.PERMISSION_GRANTED;
+    }
+
+    private void requestLocationPermission() {
+        ActivityCompat.requestPermissions(this,
+                new String[]{Manifest.permission.ACCESS_FINE_LOCATION, Manifest.permission.ACCESS_COARSE_LOCATION},
+                LOCATION_PERMISSION_REQUEST_CODE);
+    }
+
     @Override
-    protected void onPause() {
-        super.onPause();
-        // Pause real-time updates when activity is not visible
-        if (realTimeDataManager != null) {
-            realTimeDataManager.stopPolling();
+    public void onRequestPermissionsResult(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+        if (requestCode == LOCATION_PERMISSION_REQUEST_CODE) {
+            String operatorId = sessionManager.getOperatorId();
+            if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED && operatorId != null) {
+                syncOperatorLocation(operatorId);
+            } else {
+                Log.d("OperatorDashboard", "Location permission denied, operator found by address only");
+            }
         }
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        // Clean up listeners
-        if (realTimeDataManager != null) {
-            realTimeDataManager.removeDashboardListener();
-            realTimeDataManager.removeBookingStatusListener();
+    /**
+     * Send the last known position unless the server already holds one within
+     * LOCATION_SYNC_THRESHOLD_M.
+     */
+    private void syncOperatorLocation(String operatorId) {
+        try {
+            fusedLocationClient.getLastLocation()
+                    .addOnSuccessListener(this, location -> {
+                        if (location == null) {
+                            Log.d("OperatorDashboard", "No last location, position not sent");
+                        } else if (hasMovedSinceLastSync(location.getLatitude(), location.getLongitude())) {
+                            updateOperatorLocation(operatorId, location.getLatitude(), location.getLongitude());
+                        }
+                    })
+                    .addOnFailureListener(this, e -> Log.e("OperatorDashboard", "Error getting location: " + e.getMessage()));
+        } catch (SecurityException e) {
+            Log.e("OperatorDashboard", "Location permission revoked: " + e.getMessage());
+        }
+    }
+
+    private boolean hasMovedSinceLastSync(double latitude, double longitude) {
+        if (sessionManager.getSyncedLocation() == null) {
+            return true;
         }
+        float[] distance = new float[1];
+        Location.distanceBetween(sessionManager.getSyncedLatitude(), sessionManager.getSyncedLongitude(),
+                latitude, longitude, distance);
+        return distance[0] > LOCATION_SYNC_THRESHOLD_M;
+    }
+
+    private void updateOperatorLocation(String operatorId, double latitude, double longitude) {
+        OperatorProfile position = new OperatorProfile();
+        position.setOperatorId(operatorId);
+        position.setLatitude(latitude);
+        position.setLongitude(longitude);
+
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        apiService.updateOperatorLocation(position).enqueue(new Callback<GenericResponse>() {
+            @Override
+            public void onResponse(Call<GenericResponse> call, Response<GenericResponse> response) {
+                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                    Log.d("OperatorDashboard", "Position updated (" + latitude + ", " + longitude + ")");
+                    sessionManager.setSyncedLocation(latitude + "," + longitude, latitude, longitude);
+                } else {
+                    Log.e("OperatorDashboard", "Failed to update position: HTTP " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<GenericResponse> call, Throwable t) {
+                Log.e("OperatorDashboard", "Error updating position: " + t.getMessage());
+            }
+        });
     }
 
     @Override
@@ -474,55 +543,8 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
 
         Log.d("OperatorDashboard", "Loading profile image from: " + fullImageUrl);
 
-        // Load image in background thread
-        new Thread(() -> {
-            try {
-                java.net.URL url = new java.net.URL(fullImageUrl);
-                java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.setConnectTimeout(10000); // 10 seconds timeout
-                connection.setReadTimeout(10000);
-                connection.connect();
-                
-                int responseCode = connection.getResponseCode();
-                if (responseCode == java.net.HttpURLConnection.HTTP_OK) {
-                    InputStream input = connection.getInputStream();
-                    Bitmap bitmap = BitmapFactory.decodeStream(input);
-                    input.close();
-
-                    // Update UI on main thread
-                    runOnUiThread(() -> {
-                        if (bitmap != null && ivOperatorProfile != null) {
-                            ivOperatorProfile.setImageBitmap(bitmap);
-                            Log.d("OperatorDashboard", "Profile image loaded successfully from: " + fullImageUrl);
-                        } else {
-                            // Fallback to default image
-                            Log.w("OperatorDashboard", "Failed to decode bitmap, using default image");
-                            if (ivOperatorProfile != null) {
-                                ivOperatorProfile.setImageResource(R.drawable.operator_4);
-                            }
-                        }
-                    });
-                } else {
-                    Log.e("OperatorDashboard", "Failed to load image. HTTP response code: " + responseCode);
-                    // Fallback to default image on error
-                    runOnUiThread(() -> {
-                        if (ivOperatorProfile != null) {
-                            ivOperatorProfile.setImageResource(R.drawable.operator_4);
-                        }
-                    });
-                }
-                connection.disconnect();
-            } catch (Exception e) {
-                Log.e("OperatorDashboard", "Error loading profile image from " + fullImageUrl + ": " + e.getMessage(), e);
-                // Fallback to default image on error
-                runOnUiThread(() -> {
-                    if (ivOperatorProfile != null) {
-                        ivOperatorProfile.setImageResource(R.drawable.operator_4);
-                    }
-                });
-            }
-        }).start();
+        // Load through the shared image loader (downsampled, memory + disk cached)
+        ImageLoader.load(ivOperatorProfile, fullImageUrl, R.drawable.operator_4);
     }
 
     /**
@@ -545,16 +567,9 @@ public class OperatorDashboardActivity extends AppCompatActivity implements Navi
      * Perform logout - clear session and navigate to login
      */
     private void performLogout() {
-        // Clear session
+        // Clear session (real-time polling stops with it)
         sessionManager.logout();
         
-        // Stop real-time updates
-        if (realTimeDataManager != null) {
-            realTimeDataManager.stopPolling();
-            realTimeDataManager.removeDashboardListener();
-            realTimeDataManager.removeBookingStatusListener();
-        }
-        
         // Navigate to operator login
         Intent intent = new Intent(OperatorDashboardActivity.this, OperatorLoginActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -20,6 +20,7 @@ import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.ImageLoader;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -262,7 +263,7 @@ public class OperatorDetailsActivity extends AppCompatActivity {
         
         // Profile picture can be loaded from URL if available
         if (ivProfilePicture != null && operator.getProfileImage() != null && !operator.getProfileImage().isEmpty()) {
-            // Load image from URL using Picasso
+            // Load image from URL through the shared image loader
             String imageUrl = operator.getProfileImage();
             if (!imageUrl.startsWith("http://") && !imageUrl.startsWith("https://")) {
                 String baseUrl = com.simats.eathmover.config.ApiConfig.getBaseUrl();
@@ -273,11 +274,7 @@ public class OperatorDetailsActivity extends AppCompatActivity {
                 imageUrl = rootUrl + imageUrl;
             }
             
-            com.squareup.picasso.Picasso.get()
-                    .load(imageUrl)
-                    .placeholder(R.drawable.operator_4)
-                    .error(R.drawable.operator_4)
-                    .into(ivProfilePicture);
+            ImageLoader.load(ivProfilePicture, imageUrl, R.drawable.operator_4);
         }
     }
 }
@@ -9,16 +9,15 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.adapters.EndlessScrollListener;
 import com.simats.eathmover.models.Booking;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.BookingPager;
+import com.simats.eathmover.utils.BookingRepository;
 import com.simats.eathmover.utils.RealTimeDataManager;
 import com.simats.eathmover.utils.SessionManager;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 import android.util.Log;
 import android.view.View;
 import android.widget.ProgressBar;
@@ -35,16 +34,18 @@ public class OperatorEarningsActivity extends AppCompatActivity {
     private RealTimeDataManager realTimeDataManager;
     private android.widget.TextView tvEmptyHistory;
     private androidx.recyclerview.widget.RecyclerView rvBookingHistory;
+    private com.simats.eathmover.adapters.BookingAdapter adapter;
+    private BookingPager pager;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_operator_earnings);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
         
         // Initialize real-time data manager
-        realTimeDataManager = RealTimeDataManager.getInstance();
+        realTimeDataManager = RealTimeDataManager.getInstance(this);
         realTimeDataManager.setSessionManager(sessionManager);
 
         // Setup toolbar
@@ -75,6 +76,13 @@ public class OperatorEarningsActivity extends AppCompatActivity {
         if (rvBookingHistory != null) {
             rvBookingHistory.setLayoutManager(new androidx.recyclerview.widget.LinearLayoutManager(this));
             rvBookingHistory.setHasFixedSize(true);
+            // Older history is fetched page by page as the list is scrolled
+            rvBookingHistory.addOnScrollListener(new EndlessScrollListener() {
+                @Override
+                public void onLoadMore() {
+                    if (pager != null) pager.loadNextPage();
+                }
+            });
         }
 
         // Load booking history
@@ -92,16 +100,14 @@ public class OperatorEarningsActivity extends AppCompatActivity {
     }
 
     private void setupRealTimeEarningsUpdates() {
-        // Set up real-time booking history listener
-        realTimeDataManager.setEarningsListener(new RealTimeDataManager.EarningsDataListener() {
+        // Polled while this screen is started; ends with it
+        realTimeDataManager.observeEarnings(this, new RealTimeDataManager.EarningsDataListener() {
             @Override
             public void onEarningsUpdated(List<Booking> transactions) {
-                displayBookingHistory(transactions);
+                // Polls refresh the first page only; older pages already loaded are kept
+                if (pager != null) pager.submitFirstPage(transactions);
             }
         });
-
-        // Start polling for booking history updates
-        realTimeDataManager.startPolling();
     }
 
     private void loadBookingHistory() {
@@ -111,64 +117,53 @@ public class OperatorEarningsActivity extends AppCompatActivity {
             return;
         }
 
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        pager = new BookingPager(
+                (beforeCreatedAt, beforeId, limit) -> apiService.getOperatorEarningsPage(operatorId, Booking.HISTORY_STATUSES, beforeCreatedAt, beforeId, limit),
+                new BookingPager.Listener() {
+                    @Override
+                    public void onBookingsChanged(List<Booking> bookings) {
+                        displayBookingHistory(bookings);
+                    }
+
+                    @Override
+                    public void onPageError(String message) {
+                        Log.e("OperatorHistory", "Error loading more history: " + message);
+                    }
+                });
+
+        // Spinner until the first list arrives; stored history arrives almost immediately
         if (progressBar != null) progressBar.setVisibility(View.VISIBLE);
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Booking>>> call = apiService.getOperatorEarnings(operatorId);
+        BookingRepository.getInstance(this).loadOperatorEarnings(operatorId, new BookingRepository.Listener() {
+            private boolean shown;
 
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
+            public void onBookingsLoaded(List<Booking> firstPage) {
                 if (progressBar != null) progressBar.setVisibility(View.GONE);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    // The data comes in 'data' field because T is List<Booking>
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null && !apiResponse.getData().isEmpty()) {
-                        displayBookingHistory(apiResponse.getData());
-                    } else {
-                        showEmptyState();
-                    }
-                } else {
-                    Log.e("OperatorHistory", "Failed to load booking history: " + response.code());
-                    showEmptyState();
-                }
+                shown = true;
+                pager.submitFirstPage(firstPage);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
+            public void onSyncFinished(boolean success, String message) {
                 if (progressBar != null) progressBar.setVisibility(View.GONE);
-                Log.e("OperatorHistory", "Error loading booking history: " + t.getMessage());
-                showEmptyState();
+                if (!success) {
+                    Log.e("OperatorHistory", "Error syncing booking history: " + message);
+                    // Keep stored history on screen when offline
+                    if (!shown) showEmptyState();
+                }
             }
         });
     }
 
+    // The server already limits the list to finished bookings (Completed, Cancelled, Rejected, Declined)
     private void displayBookingHistory(List<Booking> bookings) {
         if (bookings == null || bookings.isEmpty()) {
             showEmptyState();
             return;
         }
 
-        // Filter for History bookings (Completed, Cancelled, Rejected, Declined)
-        List<Booking> historyBookings = new java.util.ArrayList<>();
-        for (Booking b : bookings) {
-            String status = b.getStatus();
-            if (status != null) {
-                if ("COMPLETED".equalsIgnoreCase(status) || 
-                    "CANCELLED".equalsIgnoreCase(status) || 
-                    "REJECTED".equalsIgnoreCase(status) || 
-                    "DECLINED".equalsIgnoreCase(status)) {
-                    historyBookings.add(b);
-                }
-            }
-        }
-
-        if (historyBookings.isEmpty()) {
-            showEmptyState();
-            return;
-        }
-
         // Hide empty state
         if (tvEmptyHistory != null) {
             tvEmptyHistory.setVisibility(View.GONE);
@@ -176,17 +171,21 @@ public class OperatorEarningsActivity extends AppCompatActivity {
         if (rvBookingHistory != null) {
             rvBookingHistory.setVisibility(View.VISIBLE);
             
-            // Set up RecyclerView adapter
-            com.simats.eathmover.adapters.BookingAdapter adapter = new com.simats.eathmover.adapters.BookingAdapter(historyBookings, new com.simats.eathmover.adapters.BookingAdapter.OnBookingClickListener() {
-                @Override
-                public void onBookingClick(Booking booking) {
-                    // Show details
-                }
-            });
-            adapter.setOperatorView(true);
-            rvBookingHistory.setAdapter(adapter);
+            // Set up RecyclerView adapter once, so appended pages keep the scroll position
+            if (adapter == null) {
+                adapter = new com.simats.eathmover.adapters.BookingAdapter(bookings, new com.simats.eathmover.adapters.BookingAdapter.OnBookingClickListener() {
+                    @Override
+                    public void onBookingClick(Booking booking) {
+                        // Show details
+                    }
+                });
+                adapter.setOperatorView(true);
+                rvBookingHistory.setAdapter(adapter);
+            } else {
+                adapter.submitList(bookings);
+            }
             
-            Log.d("OperatorHistory", "Loaded " + historyBookings.size() + " history items");
+            Log.d("OperatorHistory", "Loaded " + bookings.size() + " history items");
         }
     }
 
@@ -232,30 +231,11 @@ public class OperatorEarningsActivity extends AppCompatActivity {
         });
     }
 
-    @Override
-    protected void onResume() {
-        super.onResume();
-        // Resume polling when activity is visible
-        if (realTimeDataManager != null) {
-            realTimeDataManager.startPolling();
-        }
-    }
-
-    @Override
-    protected void onPause() {
-        super.onPause();
-        // Stop polling when activity is not visible
-        if (realTimeDataManager != null) {
-            realTimeDataManager.stopPolling();
-        }
-    }
-
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        // Clean up listener
-        if (realTimeDataManager != null) {
-            realTimeDataManager.removeEarningsListener();
+        if (pager != null) {
+            pager.cancel();
         }
     }
 }
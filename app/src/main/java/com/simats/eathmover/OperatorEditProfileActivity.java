@@ -4,12 +4,10 @@ import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.MediaStore;
-import android.util.Base64;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
@@ -32,12 +30,12 @@ import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.ImageIngestor;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.ImageUploader;
 import com.simats.eathmover.utils.SessionManager;
-import com.squareup.picasso.Picasso;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.InputStream;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -63,7 +61,7 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
     private String operatorId;
     private SessionManager sessionManager;
     private Uri cameraImageUri;
-    private String profileImageBase64;
+    private File profileImageFile; // Selected picture as JPEG on disk, streamed by ImageUploader
     private Bitmap currentProfileBitmap;
     private boolean hasNewImageSelected = false;
 
@@ -82,7 +80,7 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
             return;
         }
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
         Log.d(TAG, "SessionManager initialized");
 
         // Setup toolbar
@@ -336,66 +334,48 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
         super.onActivityResult(requestCode, resultCode, data);
         
         if (resultCode == RESULT_OK) {
-            Bitmap bitmap = null;
+            Uri imageUri = null;
             
             if (requestCode == REQUEST_CAMERA && cameraImageUri != null) {
-                try {
-                    bitmap = BitmapFactory.decodeStream(getContentResolver().openInputStream(cameraImageUri));
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading camera image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                // Image from camera
+                imageUri = cameraImageUri;
             } else if (requestCode == REQUEST_GALLERY && data != null && data.getData() != null) {
-                try {
-                    InputStream inputStream = getContentResolver().openInputStream(data.getData());
-                    bitmap = BitmapFactory.decodeStream(inputStream);
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading gallery image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                // Image from gallery
+                imageUri = data.getData();
             }
             
-            if (bitmap != null) {
-                // Resize bitmap to reduce size (max 1024px)
-                bitmap = resizeBitmap(bitmap, 1024);
-                
-                // Convert to Base64
-                profileImageBase64 = bitmapToBase64(bitmap);
-                hasNewImageSelected = true;
-                
-                // Update ImageView immediately
-                if (ivProfilePicture != null) {
-                    ivProfilePicture.setImageBitmap(bitmap);
-                    currentProfileBitmap = bitmap;
-                }
-                
-                Toast.makeText(this, "Image selected. It will be saved when you click Save Changes.", Toast.LENGTH_SHORT).show();
+            if (imageUri != null) {
+                // Decode (downsampled, EXIF-rotated) and write the upload JPEG on a worker thread
+                ImageIngestor.ingest(this, imageUri, "operator_profile", new ImageIngestor.Callback() {
+                    @Override
+                    public void onImageReady(Bitmap bitmap, File imageFile) {
+                        if (isFinishing()) return;
+                        onProfileImagePicked(bitmap, imageFile);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Toast.makeText(OperatorEditProfileActivity.this, message, Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         }
     }
 
-    private Bitmap resizeBitmap(Bitmap bitmap, int maxSize) {
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
+    /**
+     * Show a freshly picked image and keep its JPEG file for upload
+     */
+    private void onProfileImagePicked(Bitmap bitmap, File imageFile) {
+        profileImageFile = imageFile;
+        hasNewImageSelected = true;
         
-        if (width <= maxSize && height <= maxSize) {
-            return bitmap;
+        // Update ImageView immediately
+        if (ivProfilePicture != null) {
+            ivProfilePicture.setImageBitmap(bitmap);
+            currentProfileBitmap = bitmap;
         }
         
-        float scale = Math.min((float) maxSize / width, (float) maxSize / height);
-        int newWidth = Math.round(width * scale);
-        int newHeight = Math.round(height * scale);
-        
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-    }
-
-    private String bitmapToBase64(Bitmap bitmap) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, 80, outputStream);
-        byte[] imageBytes = outputStream.toByteArray();
-        return Base64.encodeToString(imageBytes, Base64.NO_WRAP);
+        Toast.makeText(this, "Image selected. It will be saved when you click Save Changes.", Toast.LENGTH_SHORT).show();
     }
 
     private void loadExistingProfileImage() {
@@ -445,11 +425,7 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
         
         Log.d(TAG, "Loading profile image from: " + fullImageUrl);
         
-        Picasso.get()
-                .load(fullImageUrl)
-                .placeholder(R.drawable.operator_4)
-                .error(R.drawable.operator_4)
-                .into(ivProfilePicture);
+        ImageLoader.load(ivProfilePicture, fullImageUrl, R.drawable.operator_4);
     }
 
     private void updateOperatorProfile(String name, String phone, String address) {
@@ -464,6 +440,39 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
             return;
         }
 
+        // Upload a newly selected image first (multipart, streamed from disk),
+        // then send the stored path with the profile
+        if (hasNewImageSelected && profileImageFile != null) {
+            ImageUploader.upload(profileImageFile, ImageUploader.TYPE_OPERATOR_PROFILE, operatorId, new ImageUploader.UploadCallback() {
+                @Override
+                public void onProgress(int percent) {
+                    if (btnSaveChanges != null) btnSaveChanges.setText("Uploading " + percent + "%");
+                }
+
+                @Override
+                public void onSuccess(String path) {
+                    if (btnSaveChanges != null) btnSaveChanges.setText("Save Changes");
+                    sendOperatorProfile(name, phone, address, path);
+                }
+
+                @Override
+                public void onFailure(String message) {
+                    if (progressBar != null) progressBar.setVisibility(View.GONE);
+                    if (btnSaveChanges != null) {
+                        btnSaveChanges.setText("Save Changes");
+                        btnSaveChanges.setEnabled(true);
+                    }
+                    Log.e(TAG, "Profile image upload failed: " + message);
+                    Toast.makeText(OperatorEditProfileActivity.this, message, Toast.LENGTH_LONG).show();
+                }
+            });
+        } else {
+            Log.d(TAG, "No new profile image selected");
+            sendOperatorProfile(name, phone, address, null);
+        }
+    }
+
+    private void sendOperatorProfile(String name, String phone, String address, String imagePath) {
         OperatorProfile profile = new OperatorProfile();
         profile.setOperatorId(operatorId);
         profile.setName(name);
@@ -471,12 +480,10 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
         profile.setAddress(address);
         profile.setEmail(sessionManager.getUserEmail());
         
-        // Include profile image if a new one was selected
-        if (hasNewImageSelected && profileImageBase64 != null && !profileImageBase64.isEmpty()) {
-            profile.setProfileImage(profileImageBase64);
-            Log.d(TAG, "Including profile image in update. Base64 length: " + profileImageBase64.length());
-        } else {
-            Log.d(TAG, "No new profile image selected. hasNewImageSelected: " + hasNewImageSelected + ", profileImageBase64 is null: " + (profileImageBase64 == null));
+        // Include the stored path of a newly uploaded profile image
+        if (imagePath != null) {
+            profile.setProfileImagePath(imagePath);
+            Log.d(TAG, "Including profile image in update: " + imagePath);
         }
 
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
@@ -505,7 +512,7 @@ public class OperatorEditProfileActivity extends AppCompatActivity {
                         
                         // Reset image selection flag
                         hasNewImageSelected = false;
-                        profileImageBase64 = null;
+                        profileImageFile = null;
                         
                         // Set result to indicate profile was updated
                         setResult(RESULT_OK);
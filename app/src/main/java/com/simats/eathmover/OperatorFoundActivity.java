@@ -22,9 +22,10 @@ import com.simats.eathmover.models.GenericResponse;
 import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.PricingEngine;
 import com.simats.eathmover.utils.SessionManager;
 import com.simats.eathmover.utils.RealTimeDataManager;
-import com.squareup.picasso.Picasso;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -48,7 +49,7 @@ public class OperatorFoundActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_operator_found);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         Toolbar toolbar = findViewById(R.id.toolbar_operator_found);
         if (toolbar != null) {
@@ -198,12 +199,8 @@ public class OperatorFoundActivity extends AppCompatActivity {
 
         Log.d(TAG, "Loading operator profile image from: " + fullImageUrl);
 
-        // Load image using Picasso
-        Picasso.get()
-                .load(fullImageUrl)
-                .placeholder(R.drawable.operator_4)
-                .error(R.drawable.operator_4)
-                .into(ivOperatorProfile);
+        // Load image through the shared image loader
+        ImageLoader.load(ivOperatorProfile, fullImageUrl, R.drawable.operator_4);
     }
 
     private void updateOperatorName(String name) {
@@ -265,6 +262,10 @@ public class OperatorFoundActivity extends AppCompatActivity {
         booking.setStartTime(time);
         booking.setLocation(location);
         booking.setDuration(duration);
+        int durationMinutes = currentIntent.getIntExtra("duration_minutes", 0);
+        if (durationMinutes > 0) {
+            booking.setDurationMinutes(durationMinutes);
+        }
         booking.setStatus("PENDING");
 
         // Parse estimated cost if available
@@ -301,8 +302,8 @@ public class OperatorFoundActivity extends AppCompatActivity {
                         Log.d(TAG, "Booking request created successfully");
                         
                         // Trigger immediate data refresh in background
-                        RealTimeDataManager.getInstance().setSessionManager(sessionManager);
-                        RealTimeDataManager.getInstance().refreshNow();
+                        RealTimeDataManager.getInstance(OperatorFoundActivity.this).setSessionManager(sessionManager);
+                        RealTimeDataManager.getInstance(OperatorFoundActivity.this).refreshNow();
 
                         // Navigate to Booking Confirmation page
                         Intent intent = new Intent(OperatorFoundActivity.this, BookingConfirmationActivity.class);
@@ -320,6 +321,8 @@ public class OperatorFoundActivity extends AppCompatActivity {
                             : "Failed to create booking request";
                         Toast.makeText(OperatorFoundActivity.this, errorMsg, Toast.LENGTH_LONG).show();
                         Log.e(TAG, "Failed to create booking: " + errorMsg);
+                        // The server checks the total; prices may have changed since they were synced
+                        PricingEngine.getInstance(OperatorFoundActivity.this).invalidate();
                     }
                 } else {
                     String errorMsg = "Failed to create booking request. HTTP " + response.code();
@@ -4,12 +4,10 @@ import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.MediaStore;
-import android.util.Base64;
 import android.util.Log;
 import android.view.View;
 import android.widget.ArrayAdapter;
@@ -34,11 +32,11 @@ import com.simats.eathmover.models.OperatorLicenseRequest;
 import com.simats.eathmover.models.OperatorVerification;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.ImageIngestor;
+import com.simats.eathmover.utils.ImageUploader;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.InputStream;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -69,9 +67,10 @@ public class OperatorLicenseDetailsActivity extends AppCompatActivity {
     private String operatorId;
     
     private int currentImageRequest = 0; // Track which image is being selected
-    private String image1Base64 = null;
-    private String image2Base64 = null;
-    private String image3Base64 = null;
+    // Selected photos as JPEG files on disk, streamed by ImageUploader on submit
+    private File image1File = null;
+    private File image2File = null;
+    private File image3File = null;
     private Uri cameraImageUri;
 
     @Override
@@ -288,10 +287,46 @@ public class OperatorLicenseDetailsActivity extends AppCompatActivity {
         request.setEquipmentType(equipmentType);
         request.setMachineModel(machineModel);
         request.setMachineYear(machineYear);
-        request.setMachineImage1(image1Base64);
         // machine_image_2 and machine_image_3 removed from database
-        
-        Log.d(TAG, "Submitting license details - Equipment Type: " + equipmentType);
+
+        // Upload the machine photo first (multipart, streamed from disk), then send its stored path.
+        // A photo that was already uploaded by an earlier failed submit is not sent again.
+        if (image1File != null) {
+            ImageUploader.upload(image1File, ImageUploader.TYPE_LICENSE, operatorId, new ImageUploader.UploadCallback() {
+                @Override
+                public void onProgress(int percent) {
+                    if (btnSubmit != null) btnSubmit.setText("Uploading " + percent + "%");
+                }
+
+                @Override
+                public void onSuccess(String path) {
+                    request.setMachineImage1Path(path);
+                    // save_license_details still reads the photo inline; send it until it takes the path
+                    ImageUploader.encodeBase64(image1File, base64 -> {
+                        if (btnSubmit != null) btnSubmit.setText("Submit");
+                        request.setMachineImage1(base64);
+                        sendLicenseDetails(request);
+                    });
+                }
+
+                @Override
+                public void onFailure(String message) {
+                    if (progressBar != null) progressBar.setVisibility(View.GONE);
+                    if (btnSubmit != null) {
+                        btnSubmit.setText("Submit");
+                        btnSubmit.setEnabled(true);
+                    }
+                    Log.e(TAG, "Machine photo upload failed: " + message);
+                    Toast.makeText(OperatorLicenseDetailsActivity.this, message, Toast.LENGTH_LONG).show();
+                }
+            });
+        } else {
+            sendLicenseDetails(request);
+        }
+    }
+
+    private void sendLicenseDetails(OperatorLicenseRequest request) {
+        Log.d(TAG, "Submitting license details - Equipment Type: " + request.getEquipmentType());
 
         // Call API to save license details
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
@@ -462,83 +497,56 @@ public class OperatorLicenseDetailsActivity extends AppCompatActivity {
         super.onActivityResult(requestCode, resultCode, data);
         
         if (resultCode == RESULT_OK) {
-            Bitmap bitmap = null;
+            final int imageRequest = currentImageRequest;
+            Uri imageUri = null;
             
             if (requestCode == REQUEST_CAMERA && cameraImageUri != null) {
                 // Image from camera
-                try {
-                    bitmap = BitmapFactory.decodeStream(getContentResolver().openInputStream(cameraImageUri));
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading camera image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                imageUri = cameraImageUri;
             } else if (requestCode == REQUEST_GALLERY && data != null && data.getData() != null) {
                 // Image from gallery
-                try {
-                    InputStream inputStream = getContentResolver().openInputStream(data.getData());
-                    bitmap = BitmapFactory.decodeStream(inputStream);
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading gallery image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                imageUri = data.getData();
             }
             
-            if (bitmap != null) {
-                // Resize bitmap to reduce size (max 1024px)
-                bitmap = resizeBitmap(bitmap, 1024);
-                
-                // Convert to Base64
-                String base64Image = bitmapToBase64(bitmap);
-                
-                // Update the appropriate ImageView and store Base64
-                switch (currentImageRequest) {
-                    case REQUEST_IMAGE_1:
-                        if (ivPhoto1 != null) ivPhoto1.setImageBitmap(bitmap);
-                        image1Base64 = base64Image;
-                        break;
-                    case REQUEST_IMAGE_2:
-                        if (ivPhoto2 != null) ivPhoto2.setImageBitmap(bitmap);
-                        image2Base64 = base64Image;
-                        break;
-                    case REQUEST_IMAGE_3:
-                        if (ivPhoto3 != null) ivPhoto3.setImageBitmap(bitmap);
-                        image3Base64 = base64Image;
-                        break;
-                }
-                
-                Toast.makeText(this, "Image selected", Toast.LENGTH_SHORT).show();
+            if (imageUri != null) {
+                // Decode (downsampled, EXIF-rotated) and write the upload JPEG on a worker thread
+                ImageIngestor.ingest(this, imageUri, "license_" + imageRequest, new ImageIngestor.Callback() {
+                    @Override
+                    public void onImageReady(Bitmap bitmap, File imageFile) {
+                        if (isFinishing()) return;
+                        onMachinePhotoPicked(bitmap, imageFile, imageRequest);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Toast.makeText(OperatorLicenseDetailsActivity.this, message, Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         }
     }
 
     /**
-     * Resize bitmap to reduce file size
+     * Show a freshly picked image and keep its JPEG file for upload
      */
-    private Bitmap resizeBitmap(Bitmap bitmap, int maxSize) {
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
-        
-        if (width <= maxSize && height <= maxSize) {
-            return bitmap;
+    private void onMachinePhotoPicked(Bitmap bitmap, File imageFile, int imageRequest) {
+        // Update the appropriate ImageView and store the file
+        switch (imageRequest) {
+            case REQUEST_IMAGE_1:
+                if (ivPhoto1 != null) ivPhoto1.setImageBitmap(bitmap);
+                image1File = imageFile;
+                break;
+            case REQUEST_IMAGE_2:
+                if (ivPhoto2 != null) ivPhoto2.setImageBitmap(bitmap);
+                image2File = imageFile;
+                break;
+            case REQUEST_IMAGE_3:
+                if (ivPhoto3 != null) ivPhoto3.setImageBitmap(bitmap);
+                image3File = imageFile;
+                break;
         }
         
-        float scale = Math.min((float) maxSize / width, (float) maxSize / height);
-        int newWidth = Math.round(width * scale);
-        int newHeight = Math.round(height * scale);
-        
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-    }
-
-    /**
-     * Convert bitmap to Base64 string
-     */
-    private String bitmapToBase64(Bitmap bitmap) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, 80, outputStream); // 80% quality
-        byte[] imageBytes = outputStream.toByteArray();
-        return Base64.encodeToString(imageBytes, Base64.NO_WRAP);
+        Toast.makeText(this, "Image selected", Toast.LENGTH_SHORT).show();
     }
 
     /**
@@ -41,7 +41,7 @@ public class OperatorLoginActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_operator_login);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         Toolbar toolbar = findViewById(R.id.toolbar_operator_login);
         if (toolbar != null) {
@@ -4,12 +4,10 @@ import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.MediaStore;
-import android.util.Base64;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
@@ -33,13 +31,13 @@ import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.ImageIngestor;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.ImageUploader;
 import com.simats.eathmover.utils.SessionManager;
-import com.squareup.picasso.Picasso;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.InputStream;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -63,7 +61,7 @@ public class OperatorProfileActivity extends AppCompatActivity {
     private SessionManager sessionManager;
     private ImageView ivProfilePicture;
     private Uri cameraImageUri;
-    private String profileImageBase64;
+    private File profileImageFile; // Selected picture as JPEG on disk, streamed by ImageUploader
     private Bitmap currentProfileBitmap; // Cache current bitmap to prevent reset
     private String currentProfileImagePath; // Track current image path
 
@@ -72,7 +70,7 @@ public class OperatorProfileActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_operator_profile);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         // Setup toolbar
         Toolbar toolbar = findViewById(R.id.toolbar_operator_profile);
@@ -299,84 +297,59 @@ public class OperatorProfileActivity extends AppCompatActivity {
         
         // Handle image selection (camera/gallery)
         if (resultCode == RESULT_OK) {
-            Bitmap bitmap = null;
+            Uri imageUri = null;
             
             if (requestCode == REQUEST_CAMERA && cameraImageUri != null) {
                 // Image from camera
-                try {
-                    bitmap = BitmapFactory.decodeStream(getContentResolver().openInputStream(cameraImageUri));
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading camera image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                imageUri = cameraImageUri;
             } else if (requestCode == REQUEST_GALLERY && data != null && data.getData() != null) {
                 // Image from gallery
-                try {
-                    InputStream inputStream = getContentResolver().openInputStream(data.getData());
-                    bitmap = BitmapFactory.decodeStream(inputStream);
-                } catch (Exception e) {
-                    Log.e(TAG, "Error loading gallery image: " + e.getMessage());
-                    Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
-                    return;
-                }
+                imageUri = data.getData();
             }
             
-            if (bitmap != null) {
-                // Resize bitmap to reduce size (max 1024px)
-                bitmap = resizeBitmap(bitmap, 1024);
-                
-                // Convert to Base64
-                profileImageBase64 = bitmapToBase64(bitmap);
-                
-                // Store bitmap temporarily to keep it visible during upload
-                final Bitmap displayBitmap = bitmap;
-                
-                // Update ImageView immediately - this will stay visible
-                if (ivProfilePicture != null) {
-                    ivProfilePicture.setImageBitmap(displayBitmap);
-                    // Cache the bitmap so it persists even after reload
-                    currentProfileBitmap = displayBitmap;
-                }
-                
-                // Upload to server (image will stay visible until reload completes)
-                uploadProfileImage();
-                
-                Toast.makeText(this, "Image selected. Uploading...", Toast.LENGTH_SHORT).show();
+            if (imageUri != null) {
+                // Decode (downsampled, EXIF-rotated) and write the upload JPEG on a worker thread
+                ImageIngestor.ingest(this, imageUri, "operator_profile", new ImageIngestor.Callback() {
+                    @Override
+                    public void onImageReady(Bitmap bitmap, File imageFile) {
+                        if (isFinishing()) return;
+                        onProfileImagePicked(bitmap, imageFile);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Toast.makeText(OperatorProfileActivity.this, message, Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         }
     }
 
     /**
-     * Resize bitmap to reduce file size
+     * Show a freshly picked image and keep its JPEG file for upload
      */
-    private Bitmap resizeBitmap(Bitmap bitmap, int maxSize) {
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
+    private void onProfileImagePicked(Bitmap bitmap, File imageFile) {
+        profileImageFile = imageFile;
         
-        if (width <= maxSize && height <= maxSize) {
-            return bitmap;
+        // Store bitmap temporarily to keep it visible during upload
+        final Bitmap displayBitmap = bitmap;
+        
+        // Update ImageView immediately - this will stay visible
+        if (ivProfilePicture != null) {
+            ivProfilePicture.setImageBitmap(displayBitmap);
+            // Cache the bitmap so it persists even after reload
+            currentProfileBitmap = displayBitmap;
         }
         
-        float scale = Math.min((float) maxSize / width, (float) maxSize / height);
-        int newWidth = Math.round(width * scale);
-        int newHeight = Math.round(height * scale);
+        // Upload to server (image will stay visible until reload completes)
+        uploadProfileImage();
         
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-    }
-
-    /**
-     * Convert bitmap to Base64 string
-     */
-    private String bitmapToBase64(Bitmap bitmap) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, 80, outputStream); // 80% quality
-        byte[] imageBytes = outputStream.toByteArray();
-        return Base64.encodeToString(imageBytes, Base64.NO_WRAP);
+        Toast.makeText(this, "Image selected. Uploading...", Toast.LENGTH_SHORT).show();
     }
 
     /**
-     * Upload profile image to server
+     * Upload profile image to server (multipart, streamed from disk),
+     * then save its stored path on the profile
      */
     private void uploadProfileImage() {
         if (operatorId == null || operatorId.isEmpty()) {
@@ -384,16 +357,40 @@ public class OperatorProfileActivity extends AppCompatActivity {
             return;
         }
 
-        if (profileImageBase64 == null || profileImageBase64.isEmpty()) {
+        if (profileImageFile == null) {
             Toast.makeText(this, "No image selected", Toast.LENGTH_SHORT).show();
             return;
         }
 
         if (progressBar != null) progressBar.setVisibility(View.VISIBLE);
 
+        ImageUploader.upload(profileImageFile, ImageUploader.TYPE_OPERATOR_PROFILE, operatorId, new ImageUploader.UploadCallback() {
+            @Override
+            public void onProgress(int percent) {
+                Log.d(TAG, "Profile image upload: " + percent + "%");
+            }
+
+            @Override
+            public void onSuccess(String path) {
+                saveProfileImagePath(path);
+            }
+
+            @Override
+            public void onFailure(String message) {
+                if (progressBar != null) progressBar.setVisibility(View.GONE);
+                Log.e(TAG, "Profile image upload failed: " + message);
+                Toast.makeText(OperatorProfileActivity.this, message, Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /**
+     * Store the uploaded image path on the operator profile
+     */
+    private void saveProfileImagePath(String path) {
         OperatorProfile profile = new OperatorProfile();
         profile.setOperatorId(operatorId);
-        profile.setProfileImage(profileImageBase64);
+        profile.setProfileImagePath(path);
 
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
         Call<GenericResponse> call = apiService.updateOperatorProfile(profile);
@@ -693,12 +690,9 @@ public class OperatorProfileActivity extends AppCompatActivity {
         Log.d(TAG, "Image path: " + imagePath);
         Log.d(TAG, "Final image path: " + finalImagePath);
 
-        // Use Picasso for reliable image loading
-        com.squareup.picasso.Picasso.get()
-                .load(fullImageUrl)
-                .placeholder(currentProfileBitmap != null ? null : R.drawable.operator_4)
-                .error(currentProfileBitmap != null ? null : R.drawable.operator_4)
-                .into(ivProfilePicture, new com.squareup.picasso.Callback() {
+        // Load through the shared image loader; keep the current bitmap visible while loading
+        ImageLoader.load(ivProfilePicture, fullImageUrl, currentProfileBitmap != null ? 0 : R.drawable.operator_4,
+                new com.squareup.picasso.Callback() {
                     @Override
                     public void onSuccess() {
                         Log.d(TAG, "Profile image loaded successfully from: " + fullImageUrl);
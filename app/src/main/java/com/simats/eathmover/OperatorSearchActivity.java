@@ -11,6 +11,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.NearestOperators;
+import com.simats.eathmover.utils.SessionManager;
 
 import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.OperatorProfile;
@@ -34,6 +36,9 @@ public class OperatorSearchActivity extends AppCompatActivity {
     private String machineType;
     private String date;
     private String time;
+    // Where the machine is needed; null when unknown
+    private Double latitude;
+    private Double longitude;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -63,6 +68,17 @@ public class OperatorSearchActivity extends AppCompatActivity {
         machineType = intent.getStringExtra("machine_type");
         date = intent.getStringExtra("date");
         time = intent.getStringExtra("time");
+        if (intent.hasExtra("latitude") && intent.hasExtra("longitude")) {
+            latitude = intent.getDoubleExtra("latitude", 0);
+            longitude = intent.getDoubleExtra("longitude", 0);
+        } else {
+            // Fall back to the location last saved to the user's profile
+            SessionManager sessionManager = SessionManager.getInstance(this);
+            if (sessionManager.getSyncedLocation() != null) {
+                latitude = sessionManager.getSyncedLatitude();
+                longitude = sessionManager.getSyncedLongitude();
+            }
+        }
         
         // Store all booking details for passing to OperatorFoundActivity
         // These will be accessed in navigateToOperatorFound method
@@ -85,7 +101,10 @@ public class OperatorSearchActivity extends AppCompatActivity {
             searchLocation != null ? searchLocation : "",
             machineType != null ? machineType : "",
             date != null ? date : "",
-            time != null ? time : ""
+            time != null ? time : "",
+            latitude,
+            longitude,
+            latitude != null ? NearestOperators.DEFAULT_K : null
         );
 
         call.enqueue(new Callback<ApiResponse<OperatorProfile>>() {
@@ -96,7 +115,7 @@ public class OperatorSearchActivity extends AppCompatActivity {
                 if (response.isSuccessful() && response.body() != null) {
                     ApiResponse<OperatorProfile> apiResponse = response.body();
                     if (apiResponse.isSuccess()) {
-                        List<OperatorProfile> operators = apiResponse.getDataList();
+                        List<OperatorProfile> operators = rankByDistance(apiResponse.getDataList());
                         if (operators != null && !operators.isEmpty()) {
                             // Navigate to Operator Found page with operator data
                             navigateToOperatorFound(operators.get(0)); // Use first operator found
@@ -127,6 +146,23 @@ public class OperatorSearchActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Nearest suitable operators first. Servers without location search send operators in
+     * their own order (and maybe without positions); then that order is kept.
+     */
+    private List<OperatorProfile> rankByDistance(List<OperatorProfile> operators) {
+        if (operators == null || latitude == null || longitude == null) {
+            return operators;
+        }
+        List<OperatorProfile> ranked = NearestOperators.find(NearestOperators.index(operators),
+                latitude, longitude, machineType, operators.size());
+        if (ranked.isEmpty()) {
+            return operators;
+        }
+        Log.d(TAG, "Nearest operator " + ranked.get(0).getOperatorId() + " at " + ranked.get(0).getDistanceKm() + " km");
+        return ranked;
+    }
+
     private void navigateToOperatorFound(OperatorProfile operator) {
         Intent intent = new Intent(OperatorSearchActivity.this, OperatorFoundActivity.class);
         if (operator != null) {
@@ -59,7 +59,7 @@ public class OperatorWaitingApprovalActivity extends AppCompatActivity {
             return;
         }
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         // Setup toolbar
         Toolbar toolbar = findViewById(R.id.toolbar_waiting_approval);
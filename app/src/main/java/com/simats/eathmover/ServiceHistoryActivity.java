@@ -16,22 +16,15 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
-import com.simats.eathmover.retrofit.ApiService;
-import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.BookingRepository;
 import com.simats.eathmover.utils.BottomNavigationHelper;
 import com.simats.eathmover.utils.SessionManager;
 import com.simats.eathmover.config.ApiConfig;
-import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Service History screen showing a list of completed bookings.
  */
@@ -40,6 +33,7 @@ public class ServiceHistoryActivity extends AppCompatActivity {
     private static final String TAG = "ServiceHistoryActivity";
     private RecyclerView recyclerView;
     // private ServiceHistoryAdapter adapter; // Removed to use BookingAdapter
+    private com.simats.eathmover.adapters.BookingAdapter adapter;
     private List<Booking> historyList;
     private SessionManager sessionManager;
     private ProgressBar progressBar;
@@ -50,7 +44,7 @@ public class ServiceHistoryActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_service_history);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         Toolbar toolbar = findViewById(R.id.toolbar_service_history);
         if (toolbar != null) {
@@ -95,28 +89,22 @@ public class ServiceHistoryActivity extends AppCompatActivity {
             return;
         }
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Toast.makeText(this, "History Debug: User " + userId, Toast.LENGTH_SHORT).show();
-        Call<ApiResponse<List<Booking>>> call = apiService.getUserBookings(userId);
-
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
+        // Same local store as the bookings screen: history shows instantly, then syncs
+        BookingRepository.getInstance(this).loadUserBookings(userId, new BookingRepository.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Booking> allBookings = response.body().getData();
-                    if (allBookings != null) {
-                        Toast.makeText(ServiceHistoryActivity.this, "Fetched " + allBookings.size() + " items", Toast.LENGTH_SHORT).show();
-                        filterAndDisplayHistory(allBookings);
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load history");
-                }
+            public void onBookingsLoaded(List<Booking> bookings) {
+                Log.d(TAG, "History source: " + bookings.size() + " bookings");
+                filterAndDisplayHistory(bookings);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
-                Log.e(TAG, "Error: " + t.getMessage());
-                Toast.makeText(ServiceHistoryActivity.this, "Network Error: " + t.getMessage(), Toast.LENGTH_LONG).show();
+            public void onSyncFinished(boolean success, String message) {
+                if (!success) {
+                    Log.e(TAG, "Error: " + message);
+                    if (historyList.isEmpty()) {
+                        Toast.makeText(ServiceHistoryActivity.this, "Network Error: " + message, Toast.LENGTH_LONG).show();
+                    }
+                }
             }
         });
     }
@@ -146,10 +134,14 @@ public class ServiceHistoryActivity extends AppCompatActivity {
             }
         });
         
-        // Use BookingAdapter instead of custom adapter
-        com.simats.eathmover.adapters.BookingAdapter adapter = new com.simats.eathmover.adapters.BookingAdapter(this, historyList);
-        adapter.setOperatorView(false); // User view
-        recyclerView.setAdapter(adapter);
+        // Use BookingAdapter instead of custom adapter; created once, later lists are diffed in
+        if (adapter == null) {
+            adapter = new com.simats.eathmover.adapters.BookingAdapter(this, historyList);
+            adapter.setOperatorView(false); // User view
+            recyclerView.setAdapter(adapter);
+        } else {
+            adapter.submitList(historyList);
+        }
         
         if (historyList.isEmpty()) {
             if (tvNoHistory != null) tvNoHistory.setVisibility(View.VISIBLE);
@@ -37,7 +37,7 @@ public class SetAvailabilityActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_set_availability);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         // Setup toolbar
         Toolbar toolbar = findViewById(R.id.toolbar_set_availability);
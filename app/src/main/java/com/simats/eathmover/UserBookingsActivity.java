@@ -14,10 +14,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.simats.eathmover.adapters.BookingAdapter;
-import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
+import com.simats.eathmover.utils.BookingFilters;
+import com.simats.eathmover.utils.BookingRepository;
 import com.simats.eathmover.utils.BottomNavigationHelper;
 import com.simats.eathmover.utils.SessionManager;
 import com.simats.eathmover.utils.RealTimeDataManager;
@@ -42,7 +43,7 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
     private TextView tvStatActive;
     private SessionManager sessionManager;
     private List<Booking> fullBookingList = new ArrayList<>();
-    private String currentFilter = "ALL";
+    private String currentFilter = BookingFilters.FILTER_ALL;
     private View llStatTotal, llStatPending, llStatActive;
 
     @Override
@@ -50,7 +51,10 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_user_bookings);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
+        // Told when the bookings change on the server while this screen is started
+        RealTimeDataManager.getInstance(this).setSessionManager(sessionManager);
+        RealTimeDataManager.getInstance(this).observeUserBookings(this, this);
 
         recyclerView = findViewById(R.id.rv_user_bookings);
         progressBar = findViewById(R.id.progress_bar);
@@ -102,13 +106,13 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
         llStatActive = findViewById(R.id.ll_stat_active);
 
         if (llStatTotal != null) llStatTotal.setOnClickListener(v -> {
-            setFilter("ALL");
+            setFilter(BookingFilters.FILTER_ALL);
             // Also refresh data when clicking Total, acting as a Refresh button
             Toast.makeText(this, "Refreshing bookings...", Toast.LENGTH_SHORT).show();
             loadUserBookings();
         });
-        if (llStatPending != null) llStatPending.setOnClickListener(v -> setFilter("PENDING"));
-        if (llStatActive != null) llStatActive.setOnClickListener(v -> setFilter("ACTIVE"));
+        if (llStatPending != null) llStatPending.setOnClickListener(v -> setFilter(BookingFilters.FILTER_PENDING));
+        if (llStatActive != null) llStatActive.setOnClickListener(v -> setFilter(BookingFilters.FILTER_ACTIVE));
 
         if (getIntent().hasExtra("filter")) {
             String intentFilter = getIntent().getStringExtra("filter");
@@ -134,9 +138,9 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
         if (llStatActive != null) llStatActive.setAlpha(0.6f);
 
         // Highlight selected
-        if ("ALL".equals(currentFilter) && llStatTotal != null) llStatTotal.setAlpha(1.0f);
-        else if ("PENDING".equals(currentFilter) && llStatPending != null) llStatPending.setAlpha(1.0f);
-        else if ("ACTIVE".equals(currentFilter) && llStatActive != null) llStatActive.setAlpha(1.0f);
+        if (BookingFilters.FILTER_ALL.equals(currentFilter) && llStatTotal != null) llStatTotal.setAlpha(1.0f);
+        else if (BookingFilters.FILTER_PENDING.equals(currentFilter) && llStatPending != null) llStatPending.setAlpha(1.0f);
+        else if (BookingFilters.FILTER_ACTIVE.equals(currentFilter) && llStatActive != null) llStatActive.setAlpha(1.0f);
     }
 
     @Override
@@ -149,23 +153,14 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
     @Override
     protected void onStart() {
         super.onStart();
-        RealTimeDataManager.getInstance().setSessionManager(sessionManager);
-        RealTimeDataManager.getInstance().setUserBookingsListener(this);
-        RealTimeDataManager.getInstance().startPolling();
         // Refresh on start to be sure
         loadUserBookings();
     }
 
     @Override
-    protected void onStop() {
-        super.onStop();
-        RealTimeDataManager.getInstance().removeUserBookingsListener();
-        RealTimeDataManager.getInstance().stopPolling();
-    }
-
-    @Override
-    public void onUserBookingsUpdated(List<Booking> bookings) {
-        runOnUiThread(() -> updateBookingsUI(bookings));
+    public void onUserBookingsChanged() {
+        // Something changed on the server: pull it through the booking store (incremental)
+        runOnUiThread(this::loadUserBookings);
     }
 
     private void loadUserBookings() {
@@ -179,45 +174,31 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
         // Toast.makeText(this, "Debug User ID: " + userId, Toast.LENGTH_LONG).show();
         Log.d(TAG, "Loading bookings for User ID: " + userId);
 
-        progressBar.setVisibility(View.VISIBLE);
+        // Stored bookings are shown immediately; the spinner only covers a first load
+        if (fullBookingList.isEmpty()) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
         tvNoBookings.setVisibility(View.GONE);
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Booking>>> call = apiService.getUserBookings(userId);
-
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
+        BookingRepository.getInstance(this).loadUserBookings(userId, new BookingRepository.Listener() {
             @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
+            public void onBookingsLoaded(List<Booking> bookings) {
                 progressBar.setVisibility(View.GONE);
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    Log.d(TAG, "API Response: Success=" + apiResponse.isSuccess() + ", DataSize=" + (apiResponse.getData() != null ? apiResponse.getData().size() : "null"));
-
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Booking> data = apiResponse.getData();
-                        // Toast.makeText(UserBookingsActivity.this, "Loaded " + data.size() + " bookings", Toast.LENGTH_SHORT).show();
-                        if (data.isEmpty()) {
-                             tvNoBookings.setText("No bookings found for User ID: " + userId);
-                        }
-                        updateBookingsUI(data);
-                    } else {
-                        Log.e(TAG, "Failed to load bookings or empty: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                        tvNoBookings.setText("No bookings found (Server Message: " + apiResponse.getMessage() + ")");
-                        tvNoBookings.setVisibility(View.VISIBLE);
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load bookings: HTTP " + response.code());
-                    tvNoBookings.setText("Server Error: " + response.code());
-                    tvNoBookings.setVisibility(View.VISIBLE);
+                Log.d(TAG, "Bookings loaded: " + bookings.size());
+                if (bookings.isEmpty()) {
+                    tvNoBookings.setText("No bookings found for User ID: " + userId);
                 }
+                updateBookingsUI(bookings);
             }
 
             @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
+            public void onSyncFinished(boolean success, String message) {
                 if (progressBar != null) progressBar.setVisibility(View.GONE);
-                Toast.makeText(UserBookingsActivity.this, "Connection Error: " + t.getMessage(), Toast.LENGTH_LONG).show();
-                Log.e(TAG, "Error: " + t.getMessage());
-                if (tvNoBookings != null) {
+                if (success) return;
+                Log.e(TAG, "Failed to sync bookings: " + message);
+                // Keep showing stored bookings when offline
+                if (fullBookingList.isEmpty() && tvNoBookings != null) {
+                    Toast.makeText(UserBookingsActivity.this, "Connection Error: " + message, Toast.LENGTH_LONG).show();
                     tvNoBookings.setText("Connection failed. Tap Total to retry.");
                     tvNoBookings.setVisibility(View.VISIBLE);
                 }
@@ -229,62 +210,24 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
         Log.d(TAG, "Updating UI with " + (list != null ? list.size() : "null") + " bookings");
         if (list == null) return;
         
-        // Save full list for counts
+        // Save full list for counts; the booking store already returns it newest first
         if (list != fullBookingList) {
             fullBookingList.clear();
             fullBookingList.addAll(list);
-            
-            // Sort by ID descending (newest first)
-            // Assuming bookingId is a number or lexicographically comparable string
-            java.util.Collections.sort(fullBookingList, (b1, b2) -> {
-                try {
-                    int id1 = Integer.parseInt(b1.getBookingId());
-                    int id2 = Integer.parseInt(b2.getBookingId());
-                    return Integer.compare(id2, id1); // Descending
-                } catch (Exception e) {
-                    return b2.getBookingId().compareTo(b1.getBookingId());
-                }
-            });
         }
         
-        int total = 0;
-        int pending = 0;
-        int active = 0;
-
-        List<Booking> filteredList = new ArrayList<>();
-
-        for (Booking b : fullBookingList) {
-            String status = b.getStatus();
-            
-            // Definitions matching dashboard (roughly) but permissive for Total
-            boolean isPending = status != null && (status.toLowerCase().contains("pending"));
-            boolean isHistory = status != null && ("completed".equalsIgnoreCase(status) || "cancelled".equalsIgnoreCase(status) || "rejected".equalsIgnoreCase(status) || "declined".equalsIgnoreCase(status));
-            boolean isActive = status != null && !isHistory; // Active is anything NOT history
-
-            // Total is everything.
-            total++; 
-
-            if (isPending) pending++;
-            if (isActive) active++; // "Active" tab logic
-
-            // Apply filter
-            if ("ALL".equals(currentFilter)) {
-                // Show everything in ALL, absolutely everything
-                filteredList.add(b);
-            } else if ("PENDING".equals(currentFilter) && isPending) {
-                if (!isHistory) filteredList.add(b);
-            } else if ("ACTIVE".equals(currentFilter) && isActive) {
-                if (!isHistory) filteredList.add(b);
-            }
-        }
+        // Total is everything; pending and active as on the dashboard
+        BookingFilters.Counts counts = BookingFilters.count(fullBookingList);
+        List<Booking> filteredList = BookingFilters.filter(fullBookingList, currentFilter);
 
-        if (tvStatTotal != null) tvStatTotal.setText(String.valueOf(total));
-        if (tvStatPending != null) tvStatPending.setText(String.valueOf(pending));
-        if (tvStatActive != null) tvStatActive.setText(String.valueOf(active));
+        if (tvStatTotal != null) tvStatTotal.setText(String.valueOf(counts.total));
+        if (tvStatPending != null) tvStatPending.setText(String.valueOf(counts.pending));
+        if (tvStatActive != null) tvStatActive.setText(String.valueOf(counts.active));
 
         bookingList.clear();
         bookingList.addAll(filteredList);
-        adapter.notifyDataSetChanged();
+        // Diffed off the main thread; unchanged rows are not rebound
+        adapter.submitList(bookingList);
 
         if (tvNoBookings != null) {
             tvNoBookings.setVisibility(bookingList.isEmpty() ? View.VISIBLE : View.GONE);
@@ -333,7 +276,7 @@ public class UserBookingsActivity extends AppCompatActivity implements RealTimeD
                 progressBar.setVisibility(View.GONE);
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                     Toast.makeText(UserBookingsActivity.this, "Booking marked as complete", Toast.LENGTH_SHORT).show();
-                    RealTimeDataManager.getInstance().refreshNow();
+                    RealTimeDataManager.getInstance(UserBookingsActivity.this).refreshNow();
                     loadUserBookings();
                 } else {
                     Toast.makeText(UserBookingsActivity.this, "Failed to complete booking", Toast.LENGTH_SHORT).show();
@@ -3,8 +3,6 @@ package com.simats.eathmover;
 import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.location.Address;
-import android.location.Geocoder;
 import android.location.Location;
 import android.os.Bundle;
 import android.util.Log;
@@ -33,6 +31,7 @@ import com.google.gson.reflect.TypeToken;
 import com.simats.eathmover.adapters.BookingAdapter;
 import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingCounts;
 import com.simats.eathmover.models.Machine;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
@@ -50,24 +49,25 @@ import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.MachineCatalog;
+import com.simats.eathmover.utils.ImageLoader;
+import com.simats.eathmover.utils.LocationSuggestionEngine;
 import com.simats.eathmover.utils.SessionManager;
 import com.simats.eathmover.utils.RealTimeDataManager;
+import com.simats.eathmover.utils.ReverseGeocoder;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Locale;
 
 import android.text.Editable;
 import android.text.TextWatcher;
-import com.simats.eathmover.models.NominatimResult;
-import com.simats.eathmover.retrofit.NominatimApiService;
 import com.simats.eathmover.adapters.LocationSuggestionAdapter;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class UserDashboardActivity extends AppCompatActivity implements RealTimeDataManager.UserBookingsListener {
 
     private static final String TAG = "UserDashboard";
     private static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
+    // Moves smaller than this do not rewrite the profile location
+    private static final float LOCATION_SYNC_THRESHOLD_M = 200f;
 
     // Location
     private FusedLocationProviderClient fusedLocationClient;
@@ -123,7 +123,10 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
         setContentView(R.layout.activity_user_dashboard);
 
         // Initialize session manager
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
+        // Told when the bookings change on the server while this screen is started
+        RealTimeDataManager.getInstance(this).setSessionManager(sessionManager);
+        RealTimeDataManager.getInstance(this).observeUserBookings(this, this);
 
         // Initialize location client
         fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
@@ -288,24 +291,8 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
     }
 
     @Override
-    protected void onStart() {
-        super.onStart();
-        RealTimeDataManager.getInstance().setSessionManager(sessionManager);
-        RealTimeDataManager.getInstance().setUserBookingsListener(this);
-        RealTimeDataManager.getInstance().startPolling();
-        RealTimeDataManager.getInstance().refreshNow();
-    }
-
-    @Override
-    protected void onStop() {
-        super.onStop();
-        RealTimeDataManager.getInstance().removeUserBookingsListener();
-        RealTimeDataManager.getInstance().stopPolling();
-    }
-
-    @Override
-    public void onUserBookingsUpdated(List<Booking> bookings) {
-        runOnUiThread(() -> updateBookingsUI(bookings));
+    public void onUserBookingsChanged() {
+        runOnUiThread(this::loadUserBookings);
     }
     
     /**
@@ -378,7 +365,27 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
         }
 
         ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Booking>>> call = apiService.getUserBookings(userId);
+
+        // Stats need only the counters, not the bookings themselves
+        apiService.getUserBookingCounts(userId).enqueue(new Callback<ApiResponse<BookingCounts>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<BookingCounts>> call, Response<ApiResponse<BookingCounts>> response) {
+                if (response.isSuccessful() && response.body() != null
+                        && response.body().isSuccess() && response.body().getData() != null) {
+                    updateStatsUI(response.body().getData());
+                } else {
+                    Log.e(TAG, "Failed to load booking counts: HTTP " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<BookingCounts>> call, Throwable t) {
+                Log.e(TAG, "Error loading booking counts: " + t.getMessage(), t);
+            }
+        });
+
+        // The list shows active bookings only, finished ones are filtered out by the server
+        Call<ApiResponse<List<Booking>>> call = apiService.getUserBookings(userId, null, Booking.HISTORY_STATUSES, null);
         
         call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
             @Override
@@ -406,54 +413,33 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
         });
     }
 
-    private void updateBookingsUI(List<Booking> allBookings) {
-        Log.d(TAG, "Updating UI with " + (allBookings != null ? allBookings.size() : "null") + " bookings");
-        if (allBookings == null) return;
-
-        int total = allBookings.size();
-        int pending = 0;
-        int active = 0;
-
-        for (Booking b : allBookings) {
-            String status = b.getStatus();
-            if ("PENDING".equalsIgnoreCase(status) || "PENDING approval".equalsIgnoreCase(status)) {
-                pending++;
-                active++; // Count as active too for the summary view
-            } else if ("ACCEPTED".equalsIgnoreCase(status) || "IN_PROGRESS".equalsIgnoreCase(status) || "active".equalsIgnoreCase(status)) {
-                active++;
-            }
-        }
+    private void updateStatsUI(BookingCounts counts) {
+        int total = counts.getTotal();
+        int pending = counts.count("PENDING", "PENDING approval");
+        // Pending bookings count as active too for the summary view
+        int active = pending + counts.count("ACCEPTED", "IN_PROGRESS", "active");
 
-        // Update stats UI
         if (tvStatTotal != null) tvStatTotal.setText(String.valueOf(total));
         if (tvStatPending != null) tvStatPending.setText(String.valueOf(pending));
         if (tvStatActive != null) tvStatActive.setText(String.valueOf(active));
 
-        // Create a list of active bookings only
-        List<Booking> activeBookings = new ArrayList<>();
-        for (Booking b : allBookings) {
-            String status = b.getStatus();
-            // Filter logic: Exclude finished states
-            if (!"COMPLETED".equalsIgnoreCase(status) && 
-                !"CANCELLED".equalsIgnoreCase(status) && 
-                !"REJECTED".equalsIgnoreCase(status) && 
-                !"DECLINED".equalsIgnoreCase(status)) {
-                activeBookings.add(b);
-            }
+        // Handle empty state
+        if (tvNoBookings != null) {
+            tvNoBookings.setVisibility(total == 0 ? View.VISIBLE : View.GONE);
+        }
+        if (rvUserBookingsNew != null) {
+            rvUserBookingsNew.setVisibility(total == 0 ? View.GONE : View.VISIBLE);
         }
+    }
+
+    private void updateBookingsUI(List<Booking> activeBookings) {
+        Log.d(TAG, "Updating UI with " + (activeBookings != null ? activeBookings.size() : "null") + " active bookings");
+        if (activeBookings == null) return;
 
         // Update new adapter with ONLY active bookings
         if (userBookingsNewAdapter != null) {
             userBookingsNewAdapter.setOperatorView(false);
-            userBookingsNewAdapter.updateList(activeBookings);
-        }
-
-        // Handle empty state
-        if (tvNoBookings != null) {
-            tvNoBookings.setVisibility(allBookings.isEmpty() ? View.VISIBLE : View.GONE);
-        }
-        if (rvUserBookingsNew != null) {
-            rvUserBookingsNew.setVisibility(allBookings.isEmpty() ? View.GONE : View.VISIBLE);
+            userBookingsNewAdapter.submitList(activeBookings);
         }
     }
 
@@ -490,7 +476,7 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
             }
             if (rvPendingBookings != null) {
                 rvPendingBookings.setVisibility(View.VISIBLE);
-                pendingBookingsAdapter.updateList(bookings);
+                pendingBookingsAdapter.submitList(bookings);
             }
         }
         updateNoBookingsVisibility();
@@ -513,7 +499,7 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
             }
             if (rvCompletedBookings != null) {
                 rvCompletedBookings.setVisibility(View.VISIBLE);
-                completedBookingsAdapter.updateList(bookings);
+                completedBookingsAdapter.submitList(bookings);
             }
         }
         updateNoBookingsVisibility();
@@ -581,78 +567,36 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
     }
 
     /**
-     * Load machines from backend and display by category
+     * Load the first machine of each category from the machine catalog.
+     * Each card reads only its own category, from the cache first; this also warms the
+     * cache for the category screens.
      */
     private void loadMachinesByCategory() {
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<ApiResponse<List<Machine>>> call = apiService.getUserMachines();
+        MachineCatalog catalog = MachineCatalog.getInstance(this);
 
-        call.enqueue(new Callback<ApiResponse<List<Machine>>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<List<Machine>>> call, Response<ApiResponse<List<Machine>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Machine>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Machine> machines = apiResponse.getData();
-                        displayMachinesByCategory(machines);
-                    } else {
-                        Log.e(TAG, "Failed to load machines: " + (apiResponse.getMessage() != null ? apiResponse.getMessage() : "Unknown error"));
-                    }
-                } else {
-                    Log.e(TAG, "Failed to load machines: HTTP " + response.code());
-                }
-            }
+        // Excavator (category_id = 2)
+        catalog.loadCategory(MachineCatalog.CATEGORY_EXCAVATOR, machines ->
+                displayCategory(machines, ivExcavator, tvExcavatorName, tvExcavatorPrice, "No Excavators available"));
 
-            @Override
-            public void onFailure(Call<ApiResponse<List<Machine>>> call, Throwable t) {
-                Log.e(TAG, "Error loading machines: " + t.getMessage());
-            }
-        });
+        // JCB (category_id = 1)
+        catalog.loadCategory(MachineCatalog.CATEGORY_JCB, machines ->
+                displayCategory(machines, ivJcb, tvJcbName, tvJcbPrice, "No JCBs available"));
+
+        // Dozer (category_id = 3)
+        catalog.loadCategory(MachineCatalog.CATEGORY_DOZER, machines ->
+                displayCategory(machines, ivDozer, tvDozerName, tvDozerPrice, "No Dozers available"));
     }
 
     /**
-     * Display machines by category
+     * Display the first machine of a category, or the empty text
      */
-    private void displayMachinesByCategory(List<Machine> machines) {
-        Machine excavatorMachine = null;
-        Machine jcbMachine = null;
-        Machine dozerMachine = null;
-
-        // Find first machine for each category
-        for (Machine machine : machines) {
-            if (machine.getCategoryId() != null) {
-                if (machine.getCategoryId() == 2 && excavatorMachine == null) {
-                    excavatorMachine = machine;
-                } else if (machine.getCategoryId() == 1 && jcbMachine == null) {
-                    jcbMachine = machine;
-                } else if (machine.getCategoryId() == 3 && dozerMachine == null) {
-                    dozerMachine = machine;
-                }
-            }
-        }
-
-        // Display Excavator (category_id = 2)
-        if (excavatorMachine != null) {
-            displayMachine(excavatorMachine, ivExcavator, tvExcavatorName, tvExcavatorPrice);
-        } else {
-            if (tvExcavatorName != null) tvExcavatorName.setText("No Excavators available");
-            if (tvExcavatorPrice != null) tvExcavatorPrice.setText("");
-        }
-
-        // Display JCB (category_id = 1)
-        if (jcbMachine != null) {
-            displayMachine(jcbMachine, ivJcb, tvJcbName, tvJcbPrice);
-        } else {
-            if (tvJcbName != null) tvJcbName.setText("No JCBs available");
-            if (tvJcbPrice != null) tvJcbPrice.setText("");
-        }
-
-        // Display Dozer (category_id = 3)
-        if (dozerMachine != null) {
-            displayMachine(dozerMachine, ivDozer, tvDozerName, tvDozerPrice);
+    private void displayCategory(List<Machine> machines, ImageView imageView, TextView nameView, TextView priceView, String emptyText) {
+        if (isFinishing() || isDestroyed()) return;
+        if (!machines.isEmpty()) {
+            displayMachine(machines.get(0), imageView, nameView, priceView);
         } else {
-            if (tvDozerName != null) tvDozerName.setText("No Dozers available");
-            if (tvDozerPrice != null) tvDozerPrice.setText("");
+            if (nameView != null) nameView.setText(emptyText);
+            if (priceView != null) priceView.setText("");
         }
     }
 
@@ -706,52 +650,8 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
 
         Log.d(TAG, "Loading machine image from: " + fullImageUrl);
 
-        // Load image in background thread
-        new Thread(() -> {
-            try {
-                java.net.URL url = new java.net.URL(fullImageUrl);
-                java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.setConnectTimeout(10000);
-                connection.setReadTimeout(10000);
-                connection.connect();
-
-                int responseCode = connection.getResponseCode();
-                if (responseCode == java.net.HttpURLConnection.HTTP_OK) {
-                    InputStream input = connection.getInputStream();
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeStream(input);
-                    input.close();
-
-                    // Update UI on main thread
-                    runOnUiThread(() -> {
-                        if (bitmap != null && imageView != null) {
-                            imageView.setImageBitmap(bitmap);
-                            Log.d(TAG, "Machine image loaded successfully");
-                        } else {
-                            Log.w(TAG, "Failed to decode bitmap");
-                            if (imageView != null) {
-                                imageView.setImageResource(R.drawable.jcb3dx_1);
-                            }
-                        }
-                    });
-                } else {
-                    Log.e(TAG, "Failed to load image. HTTP response code: " + responseCode);
-                    runOnUiThread(() -> {
-                        if (imageView != null) {
-                            imageView.setImageResource(R.drawable.jcb3dx_1);
-                        }
-                    });
-                }
-                connection.disconnect();
-            } catch (Exception e) {
-                Log.e(TAG, "Error loading machine image: " + e.getMessage(), e);
-                runOnUiThread(() -> {
-                    if (imageView != null) {
-                        imageView.setImageResource(R.drawable.jcb3dx_1);
-                    }
-                });
-            }
-        }).start();
+        // Load through the shared image loader (downsampled, memory + disk cached)
+        ImageLoader.load(imageView, fullImageUrl, R.drawable.jcb3dx_1);
     }
 
     // ========== LOCATION METHODS ==========
@@ -807,47 +707,31 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
     }
 
     private void getAddressFromLocation(double latitude, double longitude) {
-        Geocoder geocoder = new Geocoder(this, Locale.getDefault());
-        try {
-            List<Address> addresses = geocoder.getFromLocation(latitude, longitude, 1);
-            if (addresses != null && !addresses.isEmpty()) {
-                Address address = addresses.get(0);
-                StringBuilder addressString = new StringBuilder();
-                
-                // Build address string
-                if (address.getAddressLine(0) != null) {
-                    addressString.append(address.getAddressLine(0));
-                } else {
-                    if (address.getLocality() != null) {
-                        addressString.append(address.getLocality());
-                    }
-                    if (address.getAdminArea() != null) {
-                        if (addressString.length() > 0) addressString.append(", ");
-                        addressString.append(address.getAdminArea());
-                    }
-                }
-                
-                final String finalAddress = addressString.toString();
-                if (finalAddress.length() > 0) {
-                    if (tvCurrentLocation != null) tvCurrentLocation.setText(finalAddress);
-                    // Update backend with lat/long
-                    updateUserLocation(finalAddress, latitude, longitude);
-                } else {
-                    String coordAddr = String.format(Locale.getDefault(), "%.4f, %.4f", latitude, longitude);
-                    if (tvCurrentLocation != null) tvCurrentLocation.setText(coordAddr);
-                    updateUserLocation(coordAddr, latitude, longitude);
-                }
+        // Geocoder blocks on the network: resolved on a worker, cached per ~150 m cell
+        ReverseGeocoder.getInstance(this).lookup(latitude, longitude, (address, resolved) -> {
+            if (isFinishing() || isDestroyed()) return;
+            if (tvCurrentLocation != null) tvCurrentLocation.setText(address);
+
+            // Only write the profile when the user actually moved since the last update
+            if (hasMovedSinceLastSync(latitude, longitude)) {
+                updateUserLocation(address, latitude, longitude);
             } else {
-                String coordAddr = String.format(Locale.getDefault(), "%.4f, %.4f", latitude, longitude);
-                if (tvCurrentLocation != null) tvCurrentLocation.setText(coordAddr);
-                updateUserLocation(coordAddr, latitude, longitude);
+                Log.d(TAG, "Location unchanged, profile not updated");
             }
-        } catch (IOException e) {
-            Log.e(TAG, "Error getting address: " + e.getMessage());
-            String coordAddr = String.format(Locale.getDefault(), "%.4f, %.4f", latitude, longitude);
-            if (tvCurrentLocation != null) tvCurrentLocation.setText(coordAddr);
-            updateUserLocation(coordAddr, latitude, longitude);
+        });
+    }
+
+    /**
+     * True unless the profile already holds a location within LOCATION_SYNC_THRESHOLD_M
+     */
+    private boolean hasMovedSinceLastSync(double latitude, double longitude) {
+        if (sessionManager.getSyncedLocation() == null) {
+            return true;
         }
+        float[] distance = new float[1];
+        Location.distanceBetween(sessionManager.getSyncedLatitude(), sessionManager.getSyncedLongitude(),
+                latitude, longitude, distance);
+        return distance[0] > LOCATION_SYNC_THRESHOLD_M;
     }
 
     private void showManualLocationDialog() {
@@ -877,6 +761,10 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
         });
         rvSuggestions.setAdapter(adapter);
 
+        // Debounced, cached and rate limited; stopped when the dialog goes away
+        LocationSuggestionEngine suggestionEngine = new LocationSuggestionEngine(this, adapter::updateSuggestions);
+        dialog.setOnDismissListener(d -> suggestionEngine.release());
+
         // "Use Current Location" button inside dialog
         if (btnUseCurrentConfig != null) {
             btnUseCurrentConfig.setOnClickListener(v -> {
@@ -896,9 +784,7 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                if (s.length() > 2) {
-                    searchLocations(s.toString(), adapter);
-                }
+                suggestionEngine.onQueryChanged(s);
             }
 
             @Override
@@ -913,43 +799,6 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
         dialog.show();
     }
 
-    private void searchLocations(String query, LocationSuggestionAdapter adapter) {
-        okhttp3.OkHttpClient client = new okhttp3.OkHttpClient.Builder()
-                .addInterceptor(chain -> {
-                    okhttp3.Request original = chain.request();
-                    okhttp3.Request request = original.newBuilder()
-                            .header("User-Agent", "EathmoverApp/1.0 (com.simats.eathmover)")
-                            .method(original.method(), original.body())
-                            .build();
-                    return chain.proceed(request);
-                })
-                .build();
-
-        retrofit2.Retrofit retrofit = new retrofit2.Retrofit.Builder()
-                .baseUrl("https://nominatim.openstreetmap.org/")
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        NominatimApiService service = retrofit.create(NominatimApiService.class);
-        Call<List<NominatimResult>> call = service.searchPoints(query, "json", 1, 5);
-        call.enqueue(new Callback<List<NominatimResult>>() {
-            @Override
-            public void onResponse(Call<List<NominatimResult>> call, Response<List<NominatimResult>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    adapter.updateSuggestions(response.body());
-                } else {
-                    Log.e(TAG, "Search failed: " + response.code());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<NominatimResult>> call, Throwable t) {
-                Log.e(TAG, "Search failed: " + t.getMessage());
-            }
-        });
-    }
-
     private void updateUserLocation(String location) {
         updateUserLocation(location, 0.0, 0.0);
     }
@@ -975,6 +824,9 @@ public class UserDashboardActivity extends AppCompatActivity implements RealTime
                 if (response.isSuccessful() && response.body() != null) {
                     if (response.body().isSuccess()) {
                         Log.d(TAG, "Location updated successfully");
+                        if (latitude != 0.0 || longitude != 0.0) {
+                            sessionManager.setSyncedLocation(location, latitude, longitude);
+                        }
                         Toast.makeText(UserDashboardActivity.this, "Location updated", Toast.LENGTH_SHORT).show();
                     } else {
                         Log.e(TAG, "Failed to update location: " + response.body().getMessage());
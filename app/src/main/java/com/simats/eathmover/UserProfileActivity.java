@@ -23,8 +23,8 @@ import com.simats.eathmover.models.User;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 import com.simats.eathmover.utils.BottomNavigationHelper;
+import com.simats.eathmover.utils.ImageLoader;
 import com.simats.eathmover.utils.SessionManager;
-import com.squareup.picasso.Picasso;
 
 import java.io.InputStream;
 import java.text.ParseException;
@@ -63,7 +63,7 @@ public class UserProfileActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_user_profile);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         Toolbar toolbar = findViewById(R.id.toolbar_user_profile);
         if (toolbar != null) {
@@ -418,14 +418,10 @@ public class UserProfileActivity extends AppCompatActivity {
         Log.d(TAG, "Final image path: " + finalImagePath);
         Log.d(TAG, "Full image URL: " + fullImageUrl);
 
-        // Load image using Picasso (same as operator profile) for better caching and error handling
-        Picasso.get()
-                .load(fullImageUrl)
-                .placeholder(R.drawable.operator1)
-                .error(R.drawable.operator1)
-                .into(ivProfilePicture);
+        // Load image through the shared image loader (memory + disk cache)
+        ImageLoader.load(ivProfilePicture, fullImageUrl, R.drawable.operator1);
         
-        Log.d(TAG, "Profile image loading initiated with Picasso from: " + fullImageUrl);
+        Log.d(TAG, "Profile image loading initiated from: " + fullImageUrl);
     }
 
     private String formatMemberSince(String createdAt) {
@@ -40,6 +40,10 @@ public class WorkSummaryActivity extends AppCompatActivity {
                 public void onClick(View v) {
                     // Navigate to final price breakdown first
                     Intent intent = new Intent(WorkSummaryActivity.this, FinalPriceBreakdownActivity.class);
+                    // Booking details (booking_id, machine_id, duration) for the breakdown
+                    if (getIntent().getExtras() != null) {
+                        intent.putExtras(getIntent().getExtras());
+                    }
                     startActivity(intent);
                 }
             });
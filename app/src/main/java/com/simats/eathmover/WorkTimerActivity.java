@@ -37,7 +37,7 @@ public class WorkTimerActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_work_timer);
 
-        sessionManager = new SessionManager(this);
+        sessionManager = SessionManager.getInstance(this);
 
         // Initialize views
         etHours = findViewById(R.id.et_hours);
@@ -1,7 +1,10 @@
 package com.simats.eathmover.adapters;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
 import android.graphics.drawable.GradientDrawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,20 +13,47 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.simats.eathmover.R;
 import com.simats.eathmover.models.Booking;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Booking list for the user, operator and admin screens.
+ *
+ * Lists are handed over with submitList(). On a background thread every booking is turned
+ * into a BookingViewState (all texts and the status resolved once) and diffed against the
+ * current list (AsyncListDiffer), so a poll that changes nothing rebinds nothing, a
+ * booking whose status alone changed only gets its status views rebound, and a bind
+ * only copies precomputed values into views.
+ */
 public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingViewHolder> {
 
+    public static final int VIEW_TYPE_USER = 0;
+    public static final int VIEW_TYPE_ADMIN = 1;
+
+    // Change payload: only status-dependent views need rebinding
+    private static final Object PAYLOAD_STATUS = new Object();
+
+    // Builds view states in submission order, off the main thread
+    private static final ExecutorService stateExecutor = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
     private Context context;
-    private List<Booking> bookings;
+    private final AsyncListDiffer<BookingViewState> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private OnBookingClickListener listener;
     private boolean isOperatorView = false;
 
+    // Pill colors by BookingViewState.Status ordinal, resolved once
+    private ColorStateList[] statusTints;
+
     public interface OnBookingClickListener {
         void onBookingClick(Booking booking);
         default void onAcceptClick(Booking booking) {}
@@ -35,13 +65,15 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
     // Constructor for Admin (Context + List)
     public BookingAdapter(Context context, List<Booking> bookings) {
         this.context = context;
-        this.bookings = bookings;
+        setHasStableIds(true);
+        submitList(bookings);
     }
 
     // Constructor for Operator (List + Listener) - Context will be derived from parent
     public BookingAdapter(List<Booking> bookings, OnBookingClickListener listener) {
-        this.bookings = bookings;
         this.listener = listener;
+        setHasStableIds(true);
+        submitList(bookings);
     }
 
     public void setOperatorView(boolean isOperatorView) {
@@ -54,167 +86,184 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
         this.forceUserLayout = force;
     }
 
+    /**
+     * Show a new list. It is copied, so the caller may keep changing its own list.
+     */
+    public void submitList(List<Booking> newBookings) {
+        submitList(newBookings, null);
+    }
+
+    /**
+     * @param onCommitted Run once the new list is displayed (e.g. to update an empty state)
+     */
+    public void submitList(List<Booking> newBookings, Runnable onCommitted) {
+        List<Booking> bookings = newBookings != null ? new ArrayList<>(newBookings) : null;
+        stateExecutor.execute(() -> {
+            List<BookingViewState> states = null;
+            if (bookings != null) {
+                states = new ArrayList<>(bookings.size());
+                for (Booking booking : bookings) {
+                    states.add(BookingViewState.from(booking));
+                }
+            }
+            List<BookingViewState> result = states;
+            mainHandler.post(() -> differ.submitList(result, onCommitted));
+        });
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        // The same for every row; the flags are set before the list is shown
+        return isOperatorView && !forceUserLayout ? VIEW_TYPE_ADMIN : VIEW_TYPE_USER;
+    }
+
     @Override
     public BookingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         if (context == null) {
             context = parent.getContext();
         }
-        
-        // Use different layouts based on role
-        int layoutId;
-        
-        // Strict check: If context is explicitly User side, force User Layout
-        String contextName = context.getClass().getSimpleName();
-        boolean isUserActivity = contextName.contains("UserBookings") || contextName.contains("ServiceHistory");
-
-        if (forceUserLayout || isUserActivity) {
-             layoutId = R.layout.item_booking_user;
-        } else if (isOperatorView) {
-             layoutId = R.layout.item_booking_admin;
-        } else {
-             // Default fallthrough
-             layoutId = R.layout.item_booking_user; 
+        if (statusTints == null) {
+            statusTints = resolveStatusTints(context);
         }
 
+        int layoutId = viewType == VIEW_TYPE_ADMIN ? R.layout.item_booking_admin : R.layout.item_booking_user;
         View view = LayoutInflater.from(context).inflate(layoutId, parent, false);
-        // Pass the effective 'isOperator' flag to ViewHolder
-        // If it's User Activity, it is definitely NOT operator view
-        return new BookingViewHolder(view, !isUserActivity && isOperatorView);
+        BookingViewHolder holder = new BookingViewHolder(view, viewType == VIEW_TYPE_ADMIN);
+
+        // Listeners are created once per holder and look the row up when clicked
+        holder.itemView.setOnClickListener(v -> {
+            BookingViewState state = stateAt(holder);
+            if (listener != null && state != null) {
+                listener.onBookingClick(state.booking);
+            }
+        });
+        if (holder.btnCancel != null) {
+            holder.btnCancel.setOnClickListener(v -> {
+                BookingViewState state = stateAt(holder);
+                if (listener != null && state != null) listener.onCancelClick(state.booking);
+            });
+        }
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull BookingViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // Status-only change: leave the rest of the row alone
+        bindStatus(holder, differ.getCurrentList().get(position));
     }
 
     @Override
     public void onBindViewHolder(@NonNull BookingViewHolder holder, int position) {
-        Booking booking = bookings.get(position);
+        BookingViewState state = differ.getCurrentList().get(position);
 
         // Common Bindings
-        if (holder.tvMachineName != null) {
-            String machineName = booking.getMachineModel();
-             if (machineName == null || machineName.isEmpty()) {
-                machineName = booking.getMachineType() != null ? booking.getMachineType() : "Unknown Machine";
-            }
-            holder.tvMachineName.setText(machineName);
+        if (holder.tvMachineName != null) holder.tvMachineName.setText(state.machineName);
+
+        if (holder.isOperator) {
+            // Bind Admin/Operator specific fields
+            if (holder.tvBookingId != null) holder.tvBookingId.setText(state.bookingIdText);
+            if (holder.tvUserName != null) holder.tvUserName.setText(state.userNameText);
+            if (holder.tvOperatorName != null) holder.tvOperatorName.setText(state.operatorNameText);
+            if (holder.tvTime != null) holder.tvTime.setText(state.timeText);
+            if (holder.tvLocation != null) holder.tvLocation.setText(state.adminLocationText);
+        } else {
+            // USER VIEW BINDINGS
+            if (holder.tvAmount != null) holder.tvAmount.setText(state.amountText);
+            if (holder.tvPhone != null) holder.tvPhone.setText(state.phoneText);
+            if (holder.tvDate != null) holder.tvDate.setText(state.dateText);
+            if (holder.tvOperatorName != null) holder.tvOperatorName.setText(state.operatorLabel);
+            if (holder.tvLocation != null) holder.tvLocation.setText(state.userLocationText);
+            if (holder.tvHours != null) holder.tvHours.setText(state.hoursText);
         }
-        
+
+        bindStatus(holder, state);
+    }
+
+    // Status pill and the cancel action, which depends on the status
+    private void bindStatus(BookingViewHolder holder, BookingViewState state) {
         if (holder.tvStatus != null) {
-            String status = booking.getStatus();
-            holder.tvStatus.setText(status);
-            
-             int statusColor;
-            if ("In Progress".equalsIgnoreCase(status) || "Active".equalsIgnoreCase(status) || "Accepted".equalsIgnoreCase(status)) {
-                statusColor = ContextCompat.getColor(context, android.R.color.holo_green_dark);
-            } else if ("Pending".equalsIgnoreCase(status)) {
-                statusColor = ContextCompat.getColor(context, android.R.color.holo_orange_dark); 
-            } else if ("Completed".equalsIgnoreCase(status)) {
-                statusColor = ContextCompat.getColor(context, android.R.color.holo_blue_dark);
-            } else {
-                statusColor = ContextCompat.getColor(context, android.R.color.darker_gray);
-            }
-            
-            // Check if we need to tint background (User layout uses backgroundTint for pill)
-            if (!isOperatorView) {
-                // User layout logic
-                 if (holder.tvStatus.getBackground() != null) {
-                    holder.tvStatus.setBackgroundTintList(android.content.res.ColorStateList.valueOf(statusColor));
+            holder.tvStatus.setText(state.statusText);
+
+            ColorStateList tint = statusTints[state.status.ordinal()];
+            if (!holder.isOperator) {
+                // User layout uses backgroundTint for the pill
+                if (holder.tvStatus.getBackground() != null) {
+                    holder.tvStatus.setBackgroundTintList(tint);
                 }
+            } else if (holder.tvStatus.getBackground() instanceof GradientDrawable) {
+                ((GradientDrawable) holder.tvStatus.getBackground()).setColor(tint.getDefaultColor());
             } else {
-                // Admin layout logic (existing)
-                if (holder.tvStatus.getBackground() instanceof GradientDrawable) {
-                     ((GradientDrawable) holder.tvStatus.getBackground()).setColor(statusColor);
-                } else {
-                     holder.tvStatus.setBackgroundColor(statusColor);
-                }
+                holder.tvStatus.setBackgroundColor(tint.getDefaultColor());
             }
         }
 
-        if (isOperatorView) {
-            // Bind Admin/Operator specific fields
-            if (holder.tvBookingId != null) holder.tvBookingId.setText("Booking ID: #" + booking.getBookingId());
-            if (holder.tvUserName != null) holder.tvUserName.setText(booking.getUserName() != null ? booking.getUserName() : "N/A");
-            if (holder.tvOperatorName != null) holder.tvOperatorName.setText(booking.getOperatorName() != null ? booking.getOperatorName() : "Pending");
-             String timeText = (booking.getStartTime() != null ? booking.getStartTime() : "") + 
-                          " - " + 
-                          (booking.getEndTime() != null ? booking.getEndTime() : "");
-            if (holder.tvTime != null) holder.tvTime.setText(timeText);
-            if (holder.tvLocation != null) holder.tvLocation.setText(booking.getLocation() != null ? booking.getLocation() : "N/A");
-            
-        } else {
-            // USER VIEW BINDINGS (FUNCTIONALITY)
-            
-            // 1. Amount
-            if (holder.tvAmount != null) {
-                holder.tvAmount.setText("₹ " + booking.getTotalAmount());
-            }
-
-            // 2. Phone
-            if (holder.tvPhone != null) {
-                holder.tvPhone.setText(booking.getOperatorPhone() != null ? booking.getOperatorPhone() : "No Contact Info");
-            }
-            
-            // 3. Date
-            if (holder.tvDate != null) {
-                holder.tvDate.setText(booking.getBookingDate() != null ? booking.getBookingDate() : "Date N/A");
-            }
-            
-            // 4. Operator Name
-            if (holder.tvOperatorName != null) {
-                 holder.tvOperatorName.setText("Operator: " + (booking.getOperatorName() != null ? booking.getOperatorName() : "Pending"));
-            }
-            
-            // 5. Location
-            if (holder.tvLocation != null) {
-                holder.tvLocation.setText(booking.getLocation() != null ? booking.getLocation() : "Not specified");
-            }
+        if (holder.btnCancel != null) {
+            holder.btnCancel.setVisibility(state.cancelable ? View.VISIBLE : View.GONE);
+        }
+    }
 
-            // 6. Hours
-            if (holder.tvHours != null) {
-                 holder.tvHours.setText(booking.getTotalHours() + " Hours");
-            }
+    private BookingViewState stateAt(BookingViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        List<BookingViewState> states = differ.getCurrentList();
+        return position != RecyclerView.NO_POSITION && position < states.size() ? states.get(position) : null;
+    }
 
-            // 7. Cancel Action
-            if (holder.btnCancel != null) {
-                String s = booking.getStatus();
-                boolean isCancelable = "PENDING".equalsIgnoreCase(s) || "PENDING approval".equalsIgnoreCase(s);
-                holder.btnCancel.setVisibility(isCancelable ? View.VISIBLE : View.GONE);
-                holder.btnCancel.setOnClickListener(v -> {
-                    if (listener != null) listener.onCancelClick(booking);
-                });
-            }
+    private static ColorStateList[] resolveStatusTints(Context context) {
+        BookingViewState.Status[] statuses = BookingViewState.Status.values();
+        ColorStateList[] tints = new ColorStateList[statuses.length];
+        for (BookingViewState.Status status : statuses) {
+            tints[status.ordinal()] = ColorStateList.valueOf(ContextCompat.getColor(context, status.colorRes));
         }
-
-        // Click Listener for whole item
-        holder.itemView.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onBookingClick(booking);
-            }
-        });
+        return tints;
     }
 
     @Override
     public int getItemCount() {
-        return bookings != null ? bookings.size() : 0;
+        return differ.getCurrentList().size();
     }
 
-    public void updateList(List<Booking> newBookings) {
-        this.bookings = newBookings;
-        notifyDataSetChanged();
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).stableId;
     }
 
+    private static final DiffUtil.ItemCallback<BookingViewState> DIFF_CALLBACK = new DiffUtil.ItemCallback<BookingViewState>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull BookingViewState oldItem, @NonNull BookingViewState newItem) {
+            return oldItem.sameItem(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull BookingViewState oldItem, @NonNull BookingViewState newItem) {
+            return oldItem.sameDetails(newItem) && oldItem.sameStatus(newItem);
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull BookingViewState oldItem, @NonNull BookingViewState newItem) {
+            // Only the status moved (e.g. Pending -> Accepted): partial rebind
+            return oldItem.sameDetails(newItem) ? PAYLOAD_STATUS : null;
+        }
+    };
+
     public static class BookingViewHolder extends RecyclerView.ViewHolder {
+        final boolean isOperator;
         TextView tvBookingId, tvMachineName, tvStatus, tvUserName, tvOperatorName, tvTime, tvLocation;
         // New User Fields
-        TextView tvAmount, tvPhone, tvDate, tvHours; 
+        TextView tvAmount, tvPhone, tvDate, tvHours;
         View btnCancel; // Button
         ImageView ivMachineImage;
 
         public BookingViewHolder(@NonNull View itemView, boolean isOperator) {
             super(itemView);
+            this.isOperator = isOperator;
             // Common Fields
-            tvBookingId = itemView.findViewById(R.id.tv_booking_id); // Might not exist in user layout? Check XML.
-            // In item_booking_user we used tv_machine_name, tv_status, etc.
-            
             tvMachineName = itemView.findViewById(R.id.tv_machine_name);
             tvStatus = itemView.findViewById(R.id.tv_status);
-            
+
             // Layout specific
             if (isOperator) {
                 tvBookingId = itemView.findViewById(R.id.tv_booking_id);
@@ -232,7 +281,7 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
                 tvHours = itemView.findViewById(R.id.tv_hours);
                 btnCancel = itemView.findViewById(R.id.btn_cancel);
             }
-            
+
             ivMachineImage = itemView.findViewById(R.id.iv_machine_image);
         }
     }
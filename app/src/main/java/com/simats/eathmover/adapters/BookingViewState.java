@@ -0,0 +1,159 @@
+package com.simats.eathmover.adapters;
+
+import com.simats.eathmover.models.Booking;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Everything a booking row displays, computed once per booking off the UI thread
+ * (BookingAdapter.submitList), so binding only hands ready-made values to the views.
+ *
+ * Both layouts' texts are kept, because the fallbacks differ ("N/A" vs "Not specified").
+ */
+public final class BookingViewState {
+
+    public enum Status {
+        PENDING(android.R.color.holo_orange_dark),
+        PENDING_APPROVAL(android.R.color.darker_gray),
+        ACCEPTED(android.R.color.holo_green_dark),
+        ACTIVE(android.R.color.holo_green_dark),
+        IN_PROGRESS(android.R.color.holo_green_dark),
+        COMPLETED(android.R.color.holo_blue_dark),
+        CANCELLED(android.R.color.darker_gray),
+        REJECTED(android.R.color.darker_gray),
+        DECLINED(android.R.color.darker_gray),
+        OTHER(android.R.color.darker_gray);
+
+        // Pill color; BookingAdapter resolves each one once
+        public final int colorRes;
+
+        Status(int colorRes) {
+            this.colorRes = colorRes;
+        }
+
+        public static Status of(String status) {
+            if (status == null) {
+                return OTHER;
+            }
+            // "In Progress", "in_progress", "IN_PROGRESS" are the same status
+            switch (status.trim().toLowerCase(Locale.ROOT).replace('_', ' ')) {
+                case "pending":
+                    return PENDING;
+                case "pending approval":
+                    return PENDING_APPROVAL;
+                case "accepted":
+                    return ACCEPTED;
+                case "active":
+                    return ACTIVE;
+                case "in progress":
+                    return IN_PROGRESS;
+                case "completed":
+                    return COMPLETED;
+                case "cancelled":
+                    return CANCELLED;
+                case "rejected":
+                    return REJECTED;
+                case "declined":
+                    return DECLINED;
+                default:
+                    return OTHER;
+            }
+        }
+    }
+
+    public final Booking booking;
+    public final long stableId;
+
+    public final Status status;
+    public final String statusText;
+    public final boolean cancelable;
+
+    public final String machineName;
+
+    // Admin/operator layout
+    public final String bookingIdText;
+    public final String userNameText;
+    public final String operatorNameText;
+    public final String timeText;
+    public final String adminLocationText;
+
+    // User layout
+    public final String amountText;
+    public final String phoneText;
+    public final String dateText;
+    public final String operatorLabel;
+    public final String userLocationText;
+    public final String hoursText;
+
+    private BookingViewState(Booking booking) {
+        this.booking = booking;
+        this.stableId = stableId(booking.getBookingId());
+
+        this.status = Status.of(booking.getStatus());
+        this.statusText = booking.getStatus();
+        this.cancelable = status == Status.PENDING || status == Status.PENDING_APPROVAL;
+
+        String machine = booking.getMachineModel();
+        if (machine == null || machine.isEmpty()) {
+            machine = booking.getMachineType() != null ? booking.getMachineType() : "Unknown Machine";
+        }
+        this.machineName = machine;
+
+        String operatorName = booking.getOperatorName() != null ? booking.getOperatorName() : "Pending";
+        this.bookingIdText = "Booking ID: #" + booking.getBookingId();
+        this.userNameText = booking.getUserName() != null ? booking.getUserName() : "N/A";
+        this.operatorNameText = operatorName;
+        this.timeText = (booking.getStartTime() != null ? booking.getStartTime() : "")
+                + " - "
+                + (booking.getEndTime() != null ? booking.getEndTime() : "");
+        this.adminLocationText = booking.getLocation() != null ? booking.getLocation() : "N/A";
+
+        this.amountText = "₹ " + booking.getTotalAmount();
+        this.phoneText = booking.getOperatorPhone() != null ? booking.getOperatorPhone() : "No Contact Info";
+        this.dateText = booking.getBookingDate() != null ? booking.getBookingDate() : "Date N/A";
+        this.operatorLabel = "Operator: " + operatorName;
+        this.userLocationText = booking.getLocation() != null ? booking.getLocation() : "Not specified";
+        this.hoursText = booking.getTotalHours() + " Hours";
+    }
+
+    public static BookingViewState from(Booking booking) {
+        return new BookingViewState(booking);
+    }
+
+    public boolean sameItem(BookingViewState other) {
+        return Objects.equals(booking.getBookingId(), other.booking.getBookingId());
+    }
+
+    /**
+     * Same row apart from the status (so a status change can be a partial rebind).
+     */
+    public boolean sameDetails(BookingViewState other) {
+        return machineName.equals(other.machineName)
+                && bookingIdText.equals(other.bookingIdText)
+                && userNameText.equals(other.userNameText)
+                && operatorNameText.equals(other.operatorNameText)
+                && timeText.equals(other.timeText)
+                && adminLocationText.equals(other.adminLocationText)
+                && amountText.equals(other.amountText)
+                && phoneText.equals(other.phoneText)
+                && dateText.equals(other.dateText)
+                && hoursText.equals(other.hoursText);
+    }
+
+    public boolean sameStatus(BookingViewState other) {
+        return status == other.status && Objects.equals(statusText, other.statusText);
+    }
+
+    // Numeric booking IDs are used as they are; anything else falls back to a hash
+    private static long stableId(String id) {
+        if (id == null) {
+            return -1; // RecyclerView.NO_ID
+        }
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return (id.hashCode() & 0xffffffffL) | (1L << 32);
+        }
+    }
+}
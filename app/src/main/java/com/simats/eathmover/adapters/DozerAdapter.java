@@ -11,7 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.simats.eathmover.R;
 import com.simats.eathmover.models.Machine;
-import com.squareup.picasso.Picasso;
+import com.simats.eathmover.utils.ImageLoader;
 
 import java.util.List;
 import java.util.Locale;
@@ -89,7 +89,7 @@ public class DozerAdapter extends RecyclerView.Adapter<DozerAdapter.DozerViewHol
             String priceText = "₹" + String.format(Locale.getDefault(), "%.0f", dozer.getPricePerHour()) + "/hr";
             tvDozerPrice.setText(priceText);
 
-            // Load image using Picasso
+            // Load image through the shared image loader
             String imageUrl = dozer.getImage();
             
             // If we have an image URL, use it (API should return full URL)
@@ -107,14 +107,12 @@ public class DozerAdapter extends RecyclerView.Adapter<DozerAdapter.DozerViewHol
                 android.util.Log.d("DozerAdapter", "Loading image for machine_id " + dozer.getMachineId() + 
                     " (Model: " + dozer.getModelName() + "): " + imageUrl);
                 
-                Picasso.get()
-                        .load(imageUrl)
-                        .placeholder(R.drawable.dozer) // Default dozer image
-                        .error(R.drawable.dozer)
-                        .into(ivDozerImage);
+                ImageLoader.load(ivDozerImage, imageUrl, R.drawable.dozer);
             } else {
                 android.util.Log.w("DozerAdapter", "No image URL for machine_id " + dozer.getMachineId() + 
                     " (Model: " + dozer.getModelName() + ")");
+                // Drop any request still bound to this recycled view
+                ImageLoader.cancel(ivDozerImage);
                 ivDozerImage.setImageResource(R.drawable.dozer);
             }
         }
@@ -0,0 +1,32 @@
+package com.simats.eathmover.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Calls onLoadMore() when the last visible row comes within VISIBLE_THRESHOLD of the end.
+ *
+ * RecyclerView also reports onScrolled(0, 0) after a layout, so a first page that does
+ * not fill the screen asks for more on its own. Repeated calls are expected; the
+ * pager ignores them while a page is loading.
+ */
+public abstract class EndlessScrollListener extends RecyclerView.OnScrollListener {
+    private static final int VISIBLE_THRESHOLD = 5;
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy < 0) return;
+
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (!(layoutManager instanceof LinearLayoutManager) || adapter == null) return;
+
+        int lastVisible = ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+        if (lastVisible != RecyclerView.NO_POSITION && lastVisible >= adapter.getItemCount() - 1 - VISIBLE_THRESHOLD) {
+            onLoadMore();
+        }
+    }
+
+    public abstract void onLoadMore();
+}
@@ -11,7 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.simats.eathmover.R;
 import com.simats.eathmover.models.Machine;
-import com.squareup.picasso.Picasso;
+import com.simats.eathmover.utils.ImageLoader;
 
 import java.util.List;
 import java.util.Locale;
@@ -89,7 +89,7 @@ public class ExcavatorAdapter extends RecyclerView.Adapter<ExcavatorAdapter.Exca
             String priceText = "₹" + String.format(Locale.getDefault(), "%.0f", excavator.getPricePerHour()) + "/hr";
             tvExcavatorPrice.setText(priceText);
 
-            // Load image using Picasso
+            // Load image through the shared image loader
             // getImage() already prefers machine_image_1 over image
             String imageUrl = excavator.getImage();
             
@@ -108,14 +108,12 @@ public class ExcavatorAdapter extends RecyclerView.Adapter<ExcavatorAdapter.Exca
                 android.util.Log.d("ExcavatorAdapter", "Loading image for machine_id " + excavator.getMachineId() + 
                     " (Model: " + excavator.getModelName() + "): " + imageUrl);
                 
-                Picasso.get()
-                        .load(imageUrl)
-                        .placeholder(R.drawable.t110) // Default excavator image
-                        .error(R.drawable.t110)
-                        .into(ivExcavatorImage);
+                ImageLoader.load(ivExcavatorImage, imageUrl, R.drawable.t110);
             } else {
                 android.util.Log.w("ExcavatorAdapter", "No image URL for machine_id " + excavator.getMachineId() + 
                     " (Model: " + excavator.getModelName() + ")");
+                // Drop any request still bound to this recycled view
+                ImageLoader.cancel(ivExcavatorImage);
                 ivExcavatorImage.setImageResource(R.drawable.t110);
             }
         }
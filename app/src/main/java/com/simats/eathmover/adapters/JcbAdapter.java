@@ -11,7 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.simats.eathmover.R;
 import com.simats.eathmover.models.Machine;
-import com.squareup.picasso.Picasso;
+import com.simats.eathmover.utils.ImageLoader;
 
 import java.util.List;
 import java.util.Locale;
@@ -89,7 +89,7 @@ public class JcbAdapter extends RecyclerView.Adapter<JcbAdapter.JcbViewHolder> {
             String priceText = "₹" + String.format(Locale.getDefault(), "%.0f", jcb.getPricePerHour()) + "/hr";
             tvJcbPrice.setText(priceText);
 
-            // Load image using Picasso
+            // Load image through the shared image loader
             String imageUrl = jcb.getImage();
             
             // If we have an image URL, use it (API should return full URL)
@@ -107,14 +107,12 @@ public class JcbAdapter extends RecyclerView.Adapter<JcbAdapter.JcbViewHolder> {
                 android.util.Log.d("JcbAdapter", "Loading image for machine_id " + jcb.getMachineId() + 
                     " (Model: " + jcb.getModelName() + "): " + imageUrl);
                 
-                Picasso.get()
-                        .load(imageUrl)
-                        .placeholder(R.drawable.jcb3dx_1) // Default JCB image
-                        .error(R.drawable.jcb3dx_1)
-                        .into(ivJcbImage);
+                ImageLoader.load(ivJcbImage, imageUrl, R.drawable.jcb3dx_1);
             } else {
                 android.util.Log.w("JcbAdapter", "No image URL for machine_id " + jcb.getMachineId() + 
                     " (Model: " + jcb.getModelName() + ")");
+                // Drop any request still bound to this recycled view
+                ImageLoader.cancel(ivJcbImage);
                 ivJcbImage.setImageResource(R.drawable.jcb3dx_1);
             }
         }
@@ -11,7 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.simats.eathmover.R;
 import com.simats.eathmover.models.Machine;
-import com.squareup.picasso.Picasso;
+import com.simats.eathmover.utils.ImageLoader;
 
 import java.util.List;
 import java.util.Locale;
@@ -91,14 +91,12 @@ public class MachineAdapter extends RecyclerView.Adapter<MachineAdapter.MachineV
                 tvYear.setVisibility(View.GONE);
             }
 
-            // Load image using Picasso
+            // Load image through the shared image loader
             if (machine.getImage() != null && !machine.getImage().isEmpty()) {
-                Picasso.get()
-                        .load(machine.getImage())
-                        .placeholder(R.drawable.earthmover_featured_1)
-                        .error(R.drawable.earthmover_featured_1)
-                        .into(ivMachineImage);
+                ImageLoader.load(ivMachineImage, machine.getImage(), R.drawable.earthmover_featured_1);
             } else {
+                // Drop any request still bound to this recycled view
+                ImageLoader.cancel(ivMachineImage);
                 ivMachineImage.setImageResource(R.drawable.earthmover_featured_1);
             }
         }
@@ -6,6 +6,8 @@ package com.simats.eathmover.config;
  * This class provides:
  * - Base URL configuration for API endpoints
  * - Timeout configurations for network requests
+ * - Connection reuse (keep-alive) configuration
+ * - HTTP cache size
  * - Helper methods for URL construction
  */
 public class ApiConfig {
@@ -25,6 +27,21 @@ public class ApiConfig {
     public static final int EXTENDED_TIMEOUT_MS = 30000;     // 30 seconds
     public static final int FAST_TIMEOUT_MS = 10000;         // 10 seconds
     
+    // Connection reuse
+    // Idle pooled connections are evicted before Apache's default KeepAliveTimeout (5s),
+    // so most requests never hit a socket the server has already closed.
+    public static final int MAX_IDLE_CONNECTIONS = 5;
+    public static final long KEEP_ALIVE_MS = 4000;           // 4 seconds
+    public static final int STALE_CONNECTION_RETRIES = 1;
+    
+    // HTTP cache for responses with ETag/Last-Modified (machine catalog, pricing, profiles)
+    public static final long HTTP_CACHE_BYTES = 10L * 1024 * 1024; // 10 MB
+    
+    // Backend-compat mode: set to true only for a backend that cannot handle
+    // keep-alive or gzip at all. Disables connection reuse and compression
+    // (one TCP handshake and uncompressed JSON per request).
+    public static final boolean BACKEND_COMPAT_MODE = false;
+    
     /**
      * Get the base URL for API requests.
      * Returns the base URL without trailing slash for consistency.
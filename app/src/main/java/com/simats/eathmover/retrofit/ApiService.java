@@ -2,24 +2,34 @@ package com.simats.eathmover.retrofit;
 
 import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingCounts;
+import com.simats.eathmover.models.BookingSyncResponse;
+import com.simats.eathmover.models.DashboardBundle;
 import com.simats.eathmover.models.GenericResponse;
 import com.simats.eathmover.models.LoginRequest;
 import com.simats.eathmover.models.LoginResponse;
 import com.simats.eathmover.models.Machine;
+import com.simats.eathmover.models.MachineCatalogResponse;
 import com.simats.eathmover.models.Operator;
 import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.models.OperatorVerification;
 import com.simats.eathmover.models.PasswordResetConfirm;
 import com.simats.eathmover.models.PasswordResetRequest;
+import com.simats.eathmover.models.PricingResponse;
 import com.simats.eathmover.models.ReportsData;
 import com.simats.eathmover.models.SignUpResponse;
+import com.simats.eathmover.models.UploadResult;
 import com.simats.eathmover.models.User;
 
 import java.util.List;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Multipart;
 import retrofit2.http.POST;
+import retrofit2.http.Part;
 import retrofit2.http.Query;
 
 public interface ApiService {
@@ -86,18 +96,29 @@ public interface ApiService {
     @GET("admin/get_live_bookings.php")
     Call<ApiResponse<List<Booking>>> getLiveBookings();
 
+    // One page of live bookings, newest first. Pass the booking_date/booking_id of the
+    // last row already shown (null for the first page).
+    @GET("admin/get_live_bookings.php")
+    Call<BookingSyncResponse> getLiveBookingsPage(@Query("before_created_at") String beforeCreatedAt,
+                                                  @Query("before_id") String beforeId,
+                                                  @Query("limit") int limit);
+
     // Get reports data
     @GET("admin/get_reports.php")
     Call<ApiResponse<ReportsData>> getReports();
 
     // ========== OPERATOR ENDPOINTS ==========
 
-    // Search available operators (for users)
+    // Search available operators (for users).
+    // With latitude/longitude: the `limit` nearest ones, nearest first, with distance_km.
     @GET("operator/search_operators.php")
     Call<ApiResponse<OperatorProfile>> searchOperators(@Query("location") String location, 
                                                         @Query("machine_type") String machineType,
                                                         @Query("date") String date,
-                                                        @Query("time") String time);
+                                                        @Query("time") String time,
+                                                        @Query("latitude") Double latitude,
+                                                        @Query("longitude") Double longitude,
+                                                        @Query("limit") Integer limit);
 
     // Get operator profile by ID
     @GET("operator/get_operator_profile.php")
@@ -111,6 +132,10 @@ public interface ApiService {
     @GET("operator/get_operator_bookings.php")
     Call<ApiResponse<List<Booking>>> getOperatorBookings(@Query("operator_id") String operatorId);
 
+    // Operator's full booking list for the local booking store (the endpoint has no updated_since)
+    @GET("operator/get_operator_bookings.php")
+    Call<BookingSyncResponse> syncOperatorBookings(@Query("operator_id") String operatorId);
+
     // Update operator status (available/busy/offline)
     @POST("operator/update_status.php")
     Call<GenericResponse> updateOperatorStatus(@Body Operator operator);
@@ -119,6 +144,21 @@ public interface ApiService {
     @GET("operator/get_dashboard.php")
     Call<ApiResponse<OperatorProfile>> getOperatorDashboard(@Query("operator_id") String operatorId);
 
+    // Operator's current job (active/in_progress), data is null when there is none
+    @GET("operator/get_active_booking.php")
+    Call<ApiResponse<Booking>> getActiveBooking(@Query("operator_id") String operatorId);
+
+    // Profile, pending requests, active booking and first earnings page in one call. Pass the section
+    // versions already held (null for none); sections still at that version come back without data.
+    @GET("operator/get_dashboard_bundle.php")
+    Call<ApiResponse<DashboardBundle>> getDashboardBundle(@Query("operator_id") String operatorId,
+                                                          @Query("profile_version") String profileVersion,
+                                                          @Query("pending_version") String pendingVersion,
+                                                          @Query("active_booking_version") String activeBookingVersion,
+                                                          @Query("earnings_version") String earningsVersion,
+                                                          @Query("earnings_status") String earningsStatus,
+                                                          @Query("earnings_limit") int earningsLimit);
+
     // Get new/pending booking requests for operator
     @GET("operator/get_pending_bookings.php")
     Call<ApiResponse<Booking>> getPendingBookings(@Query("operator_id") String operatorId);
@@ -135,19 +175,38 @@ public interface ApiService {
     @GET("operator/get_earnings.php")
     Call<ApiResponse<List<Booking>>> getOperatorEarnings(@Query("operator_id") String operatorId);
 
+    // One page of operator earnings, newest first, optionally only some statuses (comma separated). Pass the booking_date/booking_id of the
+    // last row already shown (null for the first page).
+    @GET("operator/get_earnings.php")
+    Call<BookingSyncResponse> getOperatorEarningsPage(@Query("operator_id") String operatorId,
+                                                      @Query("status") String status,
+                                                      @Query("before_created_at") String beforeCreatedAt,
+                                                      @Query("before_id") String beforeId,
+                                                      @Query("limit") int limit);
+
     // Update operator profile
     @POST("operator/update_profile.php")
     Call<GenericResponse> updateOperatorProfile(@Body OperatorProfile profile);
 
+    // Operator's current position (operator_id, latitude, longitude) for the nearest-operator search
+    @POST("operator/update_location.php")
+    Call<GenericResponse> updateOperatorLocation(@Body OperatorProfile position);
+
     // Save operator license details and machine images
     @POST("operator/save_license_details.php")
     Call<GenericResponse> saveLicenseDetails(@Body com.simats.eathmover.models.OperatorLicenseRequest request);
 
     // ========== USER ENDPOINTS ==========
 
-    // Get all machines for users
+    // Machines of one category (null: all), see MachineCatalog.
+    // Revalidated by the HTTP cache (ETag); an unchanged catalog is a 304 without rows.
     @GET("user/get_machines.php")
-    Call<ApiResponse<List<Machine>>> getUserMachines();
+    Call<MachineCatalogResponse> getMachineCatalog(@Query("category_id") Integer categoryId);
+
+    // Pricing table (every machine's price_per_hour) and pricing rules.
+    // Revalidated by the HTTP cache (ETag); an unchanged table is a 304 without rows.
+    @GET("user/get_pricing.php")
+    Call<PricingResponse> getPricing();
 
     // Get machine details by ID
     @GET("machines/machine_details.php")
@@ -168,7 +227,25 @@ public interface ApiService {
     // Get user bookings (pending and completed)
     @GET("user/get_user_bookings.php")
     Call<ApiResponse<List<Booking>>> getUserBookings(@Query("user_id") String userId);
-    // Find operator by selected machine
+
+    // User bookings filtered server side: status / exclude_status are comma separated
+    // status lists, fields a comma separated list of row keys (null = all)
+    @GET("user/get_user_bookings.php")
+    Call<ApiResponse<List<Booking>>> getUserBookings(@Query("user_id") String userId,
+                                                     @Query("status") String status,
+                                                     @Query("exclude_status") String excludeStatus,
+                                                     @Query("fields") String fields);
+
+    // Booking counters only (total and per status), no rows
+    @GET("user/get_user_bookings.php?mode=counts")
+    Call<ApiResponse<BookingCounts>> getUserBookingCounts(@Query("user_id") String userId);
+
+    // User bookings changed since updated_since (null = full list), for the local booking store
+    @GET("user/get_user_bookings.php")
+    Call<BookingSyncResponse> syncUserBookings(@Query("user_id") String userId,
+                                               @Query("updated_since") String updatedSince);
+
+    // Find operator by selected machine (the nearest one when the request has a position)
     @POST("booking/get_operator_by_machine.php")
     Call<ApiResponse<OperatorProfile>> getOperatorByMachine(
             @Body com.simats.eathmover.models.MachineRequest request
@@ -178,4 +255,14 @@ public interface ApiService {
     @POST("booking/complete_booking.php")
     Call<GenericResponse> completeBooking(@Body Booking booking);
 
+    // ========== UPLOAD ENDPOINTS ==========
+
+    // Upload an image as multipart/form-data (streamed from disk, see ImageUploader)
+    // type: user_profile / operator_profile / license; returns the stored path
+    @Multipart
+    @POST("upload/upload_image.php")
+    Call<ApiResponse<UploadResult>> uploadImage(@Part("type") RequestBody type,
+                                                @Part("owner_id") RequestBody ownerId,
+                                                @Part MultipartBody.Part image);
+
 }
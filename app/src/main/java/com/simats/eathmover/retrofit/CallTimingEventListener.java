@@ -0,0 +1,187 @@
+package com.simats.eathmover.retrofit;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * OkHttp EventListener that builds one CallTiming record per call
+ * (DNS, connect, TLS, time to first byte, total time and bytes) and hands it to a sink.
+ * Installed by NetworkDiagnostics in debug builds only.
+ */
+public class CallTimingEventListener extends EventListener {
+
+    /**
+     * Timing record of a finished (or failed) call. Durations are in milliseconds,
+     * -1 when the phase did not happen (e.g. no DNS/connect on a reused connection).
+     */
+    public static class CallTiming {
+        public final String method;
+        public final String path;
+        public final long dnsMs;
+        public final long connectMs;
+        public final long tlsMs;
+        public final long ttfbMs;
+        public final long totalMs;
+        public final long requestBytes;
+        public final long responseBytes;
+        public final boolean connectionReused;
+        public final String error;
+
+        CallTiming(String method, String path, long dnsMs, long connectMs, long tlsMs, long ttfbMs,
+                   long totalMs, long requestBytes, long responseBytes, boolean connectionReused, String error) {
+            this.method = method;
+            this.path = path;
+            this.dnsMs = dnsMs;
+            this.connectMs = connectMs;
+            this.tlsMs = tlsMs;
+            this.ttfbMs = ttfbMs;
+            this.totalMs = totalMs;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.connectionReused = connectionReused;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path
+                    + " total=" + totalMs + "ms"
+                    + " dns=" + dnsMs + "ms"
+                    + " connect=" + connectMs + "ms"
+                    + " tls=" + tlsMs + "ms"
+                    + " ttfb=" + ttfbMs + "ms"
+                    + " sent=" + requestBytes + "B"
+                    + " received=" + responseBytes + "B"
+                    + (connectionReused ? " reused" : "")
+                    + (error != null ? " error=" + error : "");
+        }
+    }
+
+    public interface Sink {
+        void onCallTiming(CallTiming timing);
+    }
+
+    public static class Factory implements EventListener.Factory {
+        private final Sink sink;
+
+        public Factory(Sink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            return new CallTimingEventListener(sink);
+        }
+    }
+
+    private final Sink sink;
+
+    private long callStart;
+    private long dnsStart = -1;
+    private long dnsMs = -1;
+    private long connectStart = -1;
+    private long connectMs = -1;
+    private long tlsStart = -1;
+    private long tlsMs = -1;
+    private long ttfbMs = -1;
+    private long requestBytes = 0;
+    private long responseBytes = 0;
+
+    private CallTimingEventListener(Sink sink) {
+        this.sink = sink;
+    }
+
+    private static long now() {
+        return System.nanoTime();
+    }
+
+    private static long msSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(now() - start);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = now();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = now();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsMs = msSince(dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = now();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = now();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsMs = msSince(tlsStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectMs = msSince(connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        connectMs = msSince(connectStart);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (ttfbMs < 0) {
+            ttfbMs = msSince(callStart);
+        }
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBytes += byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        report(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        report(call, ioe.getClass().getSimpleName());
+    }
+
+    private void report(Call call, String error) {
+        sink.onCallTiming(new CallTiming(
+                call.request().method(),
+                call.request().url().encodedPath(),
+                dnsMs, connectMs, tlsMs, ttfbMs, msSince(callStart),
+                requestBytes, responseBytes, connectStart < 0, error));
+    }
+}
@@ -0,0 +1,103 @@
+package com.simats.eathmover.retrofit;
+
+import android.util.Log;
+
+import com.simats.eathmover.config.ApiConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Disk cache for API responses that carry validators (ETag / Last-Modified, sent by the
+ * endpoints using api/includes/http_cache.php).
+ *
+ * Those responses say "no-cache", so OkHttp stores them but asks the server every time with
+ * If-None-Match; an unchanged one comes back as a bodyless 304 and the stored body is handed
+ * to Retrofit as a normal 200. Everything else (polling, bookings, ...) is marked no-store on
+ * the way in, so it is never written to disk.
+ *
+ * Installed on the Retrofit API client only (RetrofitClient); clients derived from the shared
+ * OkHttpClient (images, long-poll) keep their own caching.
+ *
+ * getHitRate() is the share of requests for validated resources answered with a 304.
+ */
+public class HttpCache {
+    private static final String TAG = "HttpCache";
+    private static final String DIR_NAME = "http";
+
+    private static final AtomicLong validatedRequests = new AtomicLong();
+    private static final AtomicLong notModified = new AtomicLong();
+
+    static Cache create(File cacheDir) {
+        return new Cache(new File(cacheDir, DIR_NAME), ApiConfig.HTTP_CACHE_BYTES);
+    }
+
+    static OkHttpClient.Builder install(OkHttpClient.Builder builder, Cache cache) {
+        return builder.cache(cache)
+                .addNetworkInterceptor(new ValidatedOnlyInterceptor());
+    }
+
+    /**
+     * Whether the body is the stored copy, confirmed unchanged by a 304 just now.
+     */
+    public static boolean isNotModified(Response response) {
+        Response network = response.networkResponse();
+        return response.cacheResponse() != null && network != null && network.code() == 304;
+    }
+
+    /**
+     * Requests for resources with validators: revalidations plus first downloads.
+     */
+    public static long getValidatedRequests() {
+        return validatedRequests.get();
+    }
+
+    public static long getNotModified() {
+        return notModified.get();
+    }
+
+    public static double getHitRate() {
+        long requests = validatedRequests.get();
+        return requests == 0 ? 0 : (double) notModified.get() / requests;
+    }
+
+    /**
+     * Network interceptor: sees what the server really sent, before the cache stores it.
+     */
+    static class ValidatedOnlyInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+
+            boolean conditional = request.header("If-None-Match") != null
+                    || request.header("If-Modified-Since") != null;
+            if (response.code() == 304) {
+                validatedRequests.incrementAndGet();
+                long hits = notModified.incrementAndGet();
+                Log.d(TAG, "Not modified: " + request.url().encodedPath()
+                        + " (hit rate " + Math.round(100.0 * hits / validatedRequests.get()) + "%)");
+                return response;
+            }
+
+            boolean validated = response.header("ETag") != null || response.header("Last-Modified") != null;
+            if (validated || conditional) {
+                validatedRequests.incrementAndGet();
+            }
+            if (validated) {
+                return response;
+            }
+            // Nothing to revalidate with, so storing it would only cost a disk write
+            return response.newBuilder()
+                    .header("Cache-Control", "no-store")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.simats.eathmover.retrofit;
+
+import android.util.Log;
+
+import com.simats.eathmover.BuildConfig;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Debug-only network logging and metrics.
+ *
+ * In release builds install() adds nothing to the client, so there is no interceptor,
+ * no body inspection and no event listener on the request path.
+ * In debug builds it adds NetworkLogInterceptor and CallTimingEventListener; extra
+ * consumers of the timing records can be plugged in with addTimingSink().
+ */
+public class NetworkDiagnostics {
+    private static final String TAG = "NetworkTiming";
+
+    // Bodies up to 2 KB are previewed; image uploads are far larger and never copied
+    private static final long MAX_BODY_PREVIEW_BYTES = 2048;
+    // Preview bodies of every call; raise to sample when polling gets noisy
+    private static final int BODY_SAMPLE_RATE = 1;
+
+    private static final List<CallTimingEventListener.Sink> timingSinks = new CopyOnWriteArrayList<>();
+
+    public static void install(OkHttpClient.Builder builder) {
+        if (!BuildConfig.DEBUG) {
+            return;
+        }
+        builder.addInterceptor(new NetworkLogInterceptor(MAX_BODY_PREVIEW_BYTES, BODY_SAMPLE_RATE));
+        builder.eventListenerFactory(new CallTimingEventListener.Factory(timing -> {
+            Log.d(TAG, timing.toString());
+            for (CallTimingEventListener.Sink sink : timingSinks) {
+                sink.onCallTiming(timing);
+            }
+        }));
+    }
+
+    public static void addTimingSink(CallTimingEventListener.Sink sink) {
+        timingSinks.add(sink);
+    }
+
+    public static void removeTimingSink(CallTimingEventListener.Sink sink) {
+        timingSinks.remove(sink);
+    }
+}
@@ -0,0 +1,99 @@
+package com.simats.eathmover.retrofit;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Lightweight debug logging for API calls. Installed by NetworkDiagnostics in debug builds only.
+ *
+ * Always logs method, path, status and duration. Bodies are only previewed when they are
+ * small, textual and the call is picked by the sample rate:
+ * - request bodies are never rebuilt; large or one-shot bodies (image uploads) are skipped
+ * - response bodies are read with peekBody(), which copies at most maxPreviewBytes
+ */
+public class NetworkLogInterceptor implements Interceptor {
+    private static final String TAG = "Network";
+
+    private final long maxPreviewBytes;
+    private final int bodySampleRate;
+    private final AtomicLong callCounter = new AtomicLong();
+
+    /**
+     * @param maxPreviewBytes Largest body (and longest preview) that is logged
+     * @param bodySampleRate  Log bodies for 1 of every N calls (1 = every call, 0 = never)
+     */
+    public NetworkLogInterceptor(long maxPreviewBytes, int bodySampleRate) {
+        this.maxPreviewBytes = maxPreviewBytes;
+        this.bodySampleRate = bodySampleRate;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        long callNumber = callCounter.incrementAndGet();
+        boolean logBodies = bodySampleRate > 0 && callNumber % bodySampleRate == 0;
+
+        Log.d(TAG, "--> " + request.method() + " " + request.url().encodedPath() + describeRequestBody(request.body(), logBodies));
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            Log.e(TAG, "<-- FAILED " + request.url().encodedPath() + ": " + e.getMessage());
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        StringBuilder line = new StringBuilder("<-- ")
+                .append(response.code()).append(' ')
+                .append(request.url().encodedPath())
+                .append(" (").append(tookMs).append("ms");
+        ResponseBody body = response.body();
+        if (body != null && body.contentLength() >= 0) {
+            line.append(", ").append(body.contentLength()).append(" bytes");
+        }
+        line.append(')');
+        if (logBodies && body != null && isText(body.contentType())) {
+            line.append(' ').append(response.peekBody(maxPreviewBytes).string());
+        }
+        Log.d(TAG, line.toString());
+        return response;
+    }
+
+    private String describeRequestBody(RequestBody body, boolean logBodies) throws IOException {
+        if (body == null) {
+            return "";
+        }
+        long length = body.contentLength();
+        String size = " (" + (length >= 0 ? length + " bytes" : "unknown length") + ")";
+        if (!logBodies || length < 0 || length > maxPreviewBytes
+                || body.isOneShot() || body.isDuplex() || !isText(body.contentType())) {
+            return size;
+        }
+        // Small and repeatable: writing it once more costs at most maxPreviewBytes
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return size + " " + buffer.readString(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isText(MediaType type) {
+        if (type == null) {
+            return false;
+        }
+        String subtype = type.subtype();
+        return "text".equals(type.type()) || subtype.contains("json") || subtype.contains("x-www-form-urlencoded");
+    }
+}
@@ -0,0 +1,88 @@
+package com.simats.eathmover.retrofit;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Single Nominatim (OpenStreetMap geocoding) client for the whole app.
+ *
+ * Derived from RetrofitClient's OkHttpClient so it shares its dispatcher and connection
+ * pool. Every request carries our User-Agent and goes through one RateLimitInterceptor,
+ * so the app as a whole stays within Nominatim's usage policy of 1 request per second.
+ */
+public class NominatimClient {
+
+    private static final String TAG = "NominatimClient";
+    private static final String BASE_URL = "https://nominatim.openstreetmap.org/";
+    private static final String USER_AGENT = "EathmoverApp/1.0 (com.simats.eathmover)";
+    private static final long MIN_INTERVAL_MS = 1000;
+
+    private static NominatimApiService service = null;
+
+    public static synchronized NominatimApiService getService() {
+        if (service == null) {
+            OkHttpClient client = RetrofitClient.getHttpClient().newBuilder()
+                    .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                            .header("User-Agent", USER_AGENT)
+                            .build()))
+                    .addInterceptor(new RateLimitInterceptor(MIN_INTERVAL_MS))
+                    .build();
+
+            service = new Retrofit.Builder()
+                    .baseUrl(BASE_URL)
+                    .client(client)
+                    .addConverterFactory(GsonConverterFactory.create())
+                    .build()
+                    .create(NominatimApiService.class);
+        }
+        return service;
+    }
+
+    /**
+     * Spaces requests at least minIntervalMs apart, across all calls of the client.
+     * A call waiting for its slot that gets cancelled meanwhile never reaches the network.
+     */
+    static class RateLimitInterceptor implements Interceptor {
+        private final long minIntervalMs;
+        private long nextSlot = 0;
+
+        RateLimitInterceptor(long minIntervalMs) {
+            this.minIntervalMs = minIntervalMs;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            long wait = reserveSlot();
+            if (wait > 0) {
+                Log.d(TAG, "Rate limit: waiting " + wait + " ms");
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while rate limited");
+                }
+            }
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            return chain.proceed(chain.request());
+        }
+
+        // Takes the next free slot and returns how long to wait for it
+        private synchronized long reserveSlot() {
+            long now = SystemClock.elapsedRealtime();
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + minIntervalMs;
+            return slot - now;
+        }
+    }
+}
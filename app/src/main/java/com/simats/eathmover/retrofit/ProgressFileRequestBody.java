@@ -0,0 +1,60 @@
+package com.simats.eathmover.retrofit;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Request body that streams a file from disk in small segments and reports progress.
+ * The file is never loaded into memory as a whole, and the body can be written again
+ * (e.g. on retry) because it is re-read from disk each time.
+ */
+public class ProgressFileRequestBody extends RequestBody {
+
+    public interface ProgressListener {
+        void onProgress(long bytesWritten, long totalBytes);
+    }
+
+    private static final long SEGMENT_SIZE = 8 * 1024;
+
+    private final File file;
+    private final MediaType contentType;
+    private final ProgressListener listener;
+
+    public ProgressFileRequestBody(File file, MediaType contentType, ProgressListener listener) {
+        this.file = file;
+        this.contentType = contentType;
+        this.listener = listener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return file.length();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        long total = contentLength();
+        long written = 0;
+        try (Source source = Okio.source(file)) {
+            long read;
+            while ((read = source.read(sink.getBuffer(), SEGMENT_SIZE)) != -1) {
+                written += read;
+                sink.flush();
+                if (listener != null) {
+                    listener.onProgress(written, total);
+                }
+            }
+        }
+    }
+}
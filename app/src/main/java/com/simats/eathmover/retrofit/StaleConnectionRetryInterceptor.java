@@ -0,0 +1,73 @@
+package com.simats.eathmover.retrofit;
+
+import android.util.Log;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ProtocolException;
+import java.net.SocketException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Retries idempotent requests (GET/HEAD) that fail because a pooled keep-alive
+ * connection was already closed by the server.
+ *
+ * XAMPP/Apache drops idle keep-alive connections without notice, which shows up as
+ * "unexpected end of stream" / EOF on the next request that reuses the socket.
+ * Retrying once on a fresh connection hides this without disabling keep-alive.
+ * Non-idempotent requests (POST) are never retried here.
+ */
+public class StaleConnectionRetryInterceptor implements Interceptor {
+    private static final String TAG = "StaleConnectionRetry";
+
+    private final int maxRetries;
+
+    public StaleConnectionRetryInterceptor(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean idempotent = "GET".equals(request.method()) || "HEAD".equals(request.method());
+
+        int attempt = 0;
+        while (true) {
+            try {
+                return chain.proceed(request);
+            } catch (IOException e) {
+                if (!idempotent || attempt >= maxRetries || !isStaleConnection(e) || chain.call().isCanceled()) {
+                    throw e;
+                }
+                attempt++;
+                Log.d(TAG, "Stale connection for " + request.url().encodedPath()
+                        + " (" + e.getClass().getSimpleName() + "), retry " + attempt);
+            }
+        }
+    }
+
+    /**
+     * Errors that mean the reused socket was dead, as opposed to a timeout or a
+     * server that is really down.
+     */
+    static boolean isStaleConnection(IOException e) {
+        if (e instanceof InterruptedIOException) {
+            // Timeouts and cancellations are not retried
+            return false;
+        }
+        if (e instanceof EOFException || e instanceof ProtocolException) {
+            return true;
+        }
+        if (e instanceof SocketException) {
+            String message = e.getMessage();
+            return message != null && (message.contains("reset") || message.contains("Broken pipe")
+                    || message.contains("closed"));
+        }
+        String message = e.getMessage();
+        return message != null && message.contains("unexpected end of stream");
+    }
+}
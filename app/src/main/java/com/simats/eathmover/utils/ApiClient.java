@@ -136,7 +136,7 @@ public class ApiClient {
     
     /**
      * Internal method to handle POST JSON requests
-     * Fixes XAMPP intermittent EOF issues
+     * Retries once on EOF, which XAMPP produces when a keep-alive socket was closed
      */
     private static ApiResult postJsonInternal(
             String path,
@@ -147,9 +147,6 @@ public class ApiClient {
         
         String fullUrl = ApiConfig.getFullUrl(path);
         
-        // Fix XAMPP intermittent EOF
-        System.setProperty("http.keepAlive", "false");
-        
         HttpURLConnection conn = null;
         
         try {
@@ -168,8 +165,7 @@ public class ApiClient {
             // Set default headers
             conn.setRequestProperty("Content-Type", "application/json; charset=utf-8");
             conn.setRequestProperty("Accept", "application/json");
-            conn.setRequestProperty("Accept-Encoding", "identity");
-            conn.setRequestProperty("Connection", "close");
+            applyConnectionHeaders(conn);
             
             // Add custom headers if provided
             if (headers != null) {
@@ -254,6 +250,17 @@ public class ApiClient {
         }
     }
     
+    /**
+     * Keep-alive and gzip are handled by the platform (HttpURLConnection decompresses
+     * transparently). Only backend-compat mode forces the old close/identity headers.
+     */
+    private static void applyConnectionHeaders(HttpURLConnection conn) {
+        if (ApiConfig.BACKEND_COMPAT_MODE) {
+            conn.setRequestProperty("Accept-Encoding", "identity");
+            conn.setRequestProperty("Connection", "close");
+        }
+    }
+    
     /**
      * Read all data from InputStream
      */
@@ -332,8 +339,13 @@ public class ApiClient {
             fullUrl += queryString.toString();
         }
         
-        System.setProperty("http.keepAlive", "false");
-        
+        return getJsonInternal(fullUrl, timeoutMs, true, headers);
+    }
+    
+    /**
+     * Internal GET method, retries once when a reused keep-alive connection was stale
+     */
+    private static ApiResult getJsonInternal(String fullUrl, int timeoutMs, boolean retryOnEof, Map<String, String> headers) {
         HttpURLConnection conn = null;
         
         try {
@@ -347,8 +359,7 @@ public class ApiClient {
             conn.setReadTimeout(timeoutMs);
             
             conn.setRequestProperty("Accept", "application/json");
-            conn.setRequestProperty("Accept-Encoding", "identity");
-            conn.setRequestProperty("Connection", "close");
+            applyConnectionHeaders(conn);
             
             if (headers != null) {
                 for (Map.Entry<String, String> entry : headers.entrySet()) {
@@ -394,6 +405,13 @@ public class ApiClient {
             
             return new ApiResult(ok, code, json, errorMessage, fullUrl);
             
+        } catch (java.io.EOFException | ProtocolException e) {
+            if (retryOnEof) {
+                Log.d(TAG, "Stale connection, retrying GET: " + e.getMessage());
+                return getJsonInternal(fullUrl, timeoutMs, false, headers);
+            }
+            return new ApiResult(false, 0, null, e.getClass().getSimpleName() + ": " + e.getMessage(), fullUrl);
+            
         } catch (Exception e) {
             Log.e(TAG, "GET request failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
             return new ApiResult(false, 0, null, e.getClass().getSimpleName() + ": " + e.getMessage(), fullUrl);
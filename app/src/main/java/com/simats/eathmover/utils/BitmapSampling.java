@@ -0,0 +1,78 @@
+package com.simats.eathmover.utils;
+
+/**
+ * Size arithmetic for decoding picked photos, kept free of Android classes so it
+ * can be checked on the JVM.
+ *
+ * A photo is decoded in two steps: a power-of-two inSampleSize decode that stays
+ * at or above the target size, then one exact scale (plus EXIF rotation) down to
+ * the target. Only those two bitmaps are ever alive at the same time.
+ */
+public final class BitmapSampling {
+
+    // ARGB_8888
+    public static final int BYTES_PER_PIXEL = 4;
+
+    private BitmapSampling() {
+    }
+
+    /**
+     * Largest power of two that keeps the longest side of the decoded image >= maxSize.
+     */
+    public static int calculateInSampleSize(int width, int height, int maxSize) {
+        int longest = Math.max(width, height);
+        int sampleSize = 1;
+        if (maxSize <= 0) {
+            return sampleSize;
+        }
+        while (longest / (sampleSize * 2) >= maxSize) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Size of the bitmap produced by decoding with the given inSampleSize
+     * (BitmapFactory rounds up for JPEG).
+     */
+    public static int sampledDimension(int dimension, int sampleSize) {
+        return (dimension + sampleSize - 1) / sampleSize;
+    }
+
+    /**
+     * Final size with the longest side capped at maxSize, aspect ratio preserved.
+     * Returns {width, height}.
+     */
+    public static int[] targetSize(int width, int height, int maxSize) {
+        int longest = Math.max(width, height);
+        if (maxSize <= 0 || longest <= maxSize) {
+            return new int[]{width, height};
+        }
+        float scale = (float) maxSize / longest;
+        return new int[]{
+                Math.max(1, Math.round(width * scale)),
+                Math.max(1, Math.round(height * scale))
+        };
+    }
+
+    public static long bitmapBytes(int width, int height) {
+        return (long) width * height * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Peak bitmap memory while ingesting one photo: the sampled decode plus the
+     * final scaled copy (if a copy is needed at all).
+     */
+    public static long peakBytes(int width, int height, int maxSize) {
+        int sampleSize = calculateInSampleSize(width, height, maxSize);
+        int sampledWidth = sampledDimension(width, sampleSize);
+        int sampledHeight = sampledDimension(height, sampleSize);
+        long decoded = bitmapBytes(sampledWidth, sampledHeight);
+
+        int[] target = targetSize(sampledWidth, sampledHeight, maxSize);
+        if (target[0] == sampledWidth && target[1] == sampledHeight) {
+            return decoded;
+        }
+        return decoded + bitmapBytes(target[0], target[1]);
+    }
+}
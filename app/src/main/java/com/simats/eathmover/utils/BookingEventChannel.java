@@ -0,0 +1,176 @@
+package com.simats.eathmover.utils;
+
+import com.google.gson.Gson;
+import com.simats.eathmover.models.BookingEvents;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Server-push channel for operator booking events, implemented as HTTP long-poll
+ * against operator/events.php.
+ *
+ * The server keeps each request open until the operator's bookings change (or
+ * HOLD_SECONDS pass) and returns a version token. The next request sends that token
+ * back as "since", so a change is reported exactly once.
+ *
+ * Callbacks run on OkHttp's background threads. The channel keeps retrying with
+ * backoff after failures; while it is disconnected callers should keep polling.
+ */
+public class BookingEventChannel {
+
+    public interface Listener {
+        /** Bookings changed on the server since the last version seen */
+        void onBookingsChanged(String version);
+
+        /** First successful response after start or after a failure */
+        void onConnected();
+
+        /** Request failed; caller should fall back to polling until onConnected */
+        void onDisconnected(Throwable error);
+    }
+
+    static final int HOLD_SECONDS = 25;
+    private static final long MIN_RETRY_MS = 1000;
+    private static final long MAX_RETRY_MS = 30000;
+
+    private final OkHttpClient client;
+    private final HttpUrl eventsUrl;
+    private final Listener listener;
+    private final Gson gson = new Gson();
+    private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    private String operatorId;
+    private String version;
+    private Call currentCall;
+    private boolean connected = false;
+    private int consecutiveFailures = 0;
+    // Incremented on start/stop so callbacks of an older session are ignored
+    private int generation = 0;
+
+    /**
+     * @param client  OkHttp client; its read timeout must be longer than HOLD_SECONDS
+     * @param baseUrl API base url (ApiConfig.BASE_URL)
+     */
+    public BookingEventChannel(OkHttpClient client, String baseUrl, Listener listener) {
+        this.client = client;
+        this.eventsUrl = HttpUrl.get(baseUrl).resolve("operator/events.php");
+        this.listener = listener;
+    }
+
+    public synchronized void start(String operatorId) {
+        if (operatorId == null) return;
+        if (operatorId.equals(this.operatorId) && currentCall != null) return;
+
+        stopLocked();
+        this.operatorId = operatorId;
+        this.version = null;
+        generation++;
+        connect(generation);
+    }
+
+    public synchronized void stop() {
+        stopLocked();
+        operatorId = null;
+    }
+
+    public synchronized boolean isConnected() {
+        return connected;
+    }
+
+    private void stopLocked() {
+        generation++;
+        if (currentCall != null) {
+            currentCall.cancel();
+            currentCall = null;
+        }
+        connected = false;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void connect(int session) {
+        if (session != generation || operatorId == null) return;
+
+        HttpUrl.Builder url = eventsUrl.newBuilder()
+                .addQueryParameter("operator_id", operatorId)
+                .addQueryParameter("timeout", String.valueOf(HOLD_SECONDS));
+        if (version != null) {
+            url.addQueryParameter("since", version);
+        }
+
+        currentCall = client.newCall(new Request.Builder().url(url.build()).get().build());
+        currentCall.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        onFailed(session, new IOException("HTTP " + response.code()));
+                        return;
+                    }
+                    BookingEvents events = gson.fromJson(body.charStream(), BookingEvents.class);
+                    if (events == null || !events.isSuccess() || events.getVersion() == null) {
+                        onFailed(session, new IOException("Invalid events response"));
+                        return;
+                    }
+                    onEvents(session, events);
+                } catch (Exception e) {
+                    onFailed(session, e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                onFailed(session, e);
+            }
+        });
+    }
+
+    private void onEvents(int session, BookingEvents events) {
+        boolean becameConnected;
+        boolean changed;
+        synchronized (this) {
+            if (session != generation) return;
+            becameConnected = !connected;
+            connected = true;
+            consecutiveFailures = 0;
+            // The first response only establishes the baseline version
+            changed = version != null && !version.equals(events.getVersion());
+            version = events.getVersion();
+        }
+
+        if (becameConnected) {
+            listener.onConnected();
+        }
+        if (changed) {
+            listener.onBookingsChanged(events.getVersion());
+        }
+        connect(session);
+    }
+
+    private void onFailed(int session, Throwable error) {
+        boolean notify;
+        long delay;
+        synchronized (this) {
+            if (session != generation) return;
+            notify = connected || consecutiveFailures == 0;
+            connected = false;
+            consecutiveFailures++;
+            delay = Math.min(MAX_RETRY_MS, MIN_RETRY_MS << Math.min(consecutiveFailures - 1, 5));
+        }
+
+        if (notify) {
+            listener.onDisconnected(error);
+        }
+        retryExecutor.schedule(() -> connect(session), delay, TimeUnit.MILLISECONDS);
+    }
+}
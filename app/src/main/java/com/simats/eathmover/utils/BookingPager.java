@@ -0,0 +1,143 @@
+package com.simats.eathmover.utils;
+
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingSyncResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Keyset paging over a booking list sorted newest first (booking_date DESC, booking_id DESC).
+ *
+ * The first page is submitted from outside (BookingRepository or a poll); loadNextPage()
+ * then asks the server for the rows older than the last one held, using its
+ * booking_date/booking_id as before_created_at/before_id. Unlike offsets this stays
+ * correct when new bookings arrive at the top, and the server can use an index range.
+ *
+ * Must be used from the main thread; the listener gets the whole list after each change.
+ */
+public class BookingPager {
+    public static final int PAGE_SIZE = 20;
+
+    public interface PageCall {
+        Call<BookingSyncResponse> create(String beforeCreatedAt, String beforeId, int limit);
+    }
+
+    public interface Listener {
+        void onBookingsChanged(List<Booking> bookings);
+
+        default void onPageError(String message) {}
+    }
+
+    private final PageCall pageCall;
+    private final Listener listener;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    private boolean hasMore = true;
+    private Call<BookingSyncResponse> inFlight;
+
+    public BookingPager(PageCall pageCall, Listener listener) {
+        this.pageCall = pageCall;
+        this.listener = listener;
+    }
+
+    /**
+     * Put a fresh first page in front. Rows already paged in that are older than the
+     * page are kept, so a refresh does not throw away what the user scrolled to.
+     */
+    public void submitFirstPage(List<Booking> firstPage) {
+        List<Booking> merged = new ArrayList<>(firstPage);
+        if (firstPage.size() < PAGE_SIZE) {
+            // The whole list fits in this page
+            hasMore = false;
+        } else {
+            Booking last = firstPage.get(firstPage.size() - 1);
+            boolean keptOlder = false;
+            for (Booking booking : bookings) {
+                if (BookingFilters.compare(booking, last) < 0) {
+                    merged.add(booking);
+                    keptOlder = true;
+                }
+            }
+            if (!keptOlder) {
+                hasMore = true;
+            }
+        }
+        cancel();
+        bookings.clear();
+        bookings.addAll(merged);
+        listener.onBookingsChanged(getBookings());
+    }
+
+    /**
+     * Request the next page unless one is already on its way or the end was reached.
+     *
+     * @return true if a request was started
+     */
+    public boolean loadNextPage() {
+        if (inFlight != null || !hasMore) {
+            return false;
+        }
+        String beforeCreatedAt = null;
+        String beforeId = null;
+        if (!bookings.isEmpty()) {
+            Booking last = bookings.get(bookings.size() - 1);
+            beforeCreatedAt = last.getBookingDate();
+            beforeId = last.getBookingId();
+        }
+
+        Call<BookingSyncResponse> call = pageCall.create(beforeCreatedAt, beforeId, PAGE_SIZE);
+        inFlight = call;
+        call.enqueue(new Callback<BookingSyncResponse>() {
+            @Override
+            public void onResponse(Call<BookingSyncResponse> call, Response<BookingSyncResponse> response) {
+                if (call != inFlight) return; // replaced by submitFirstPage()
+                inFlight = null;
+
+                BookingSyncResponse body = response.body();
+                if (!response.isSuccessful() || body == null || !body.isSuccess()) {
+                    listener.onPageError(body != null ? body.getMessage() : "Server Error: " + response.code());
+                    return;
+                }
+                List<Booking> page = body.getData() != null ? body.getData() : new ArrayList<>();
+                hasMore = body.getHasMore() != null ? body.getHasMore() : page.size() >= PAGE_SIZE;
+                bookings.addAll(page);
+                listener.onBookingsChanged(getBookings());
+            }
+
+            @Override
+            public void onFailure(Call<BookingSyncResponse> call, Throwable t) {
+                if (call != inFlight) return;
+                inFlight = null;
+                listener.onPageError(t.getMessage());
+            }
+        });
+        return true;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isLoading() {
+        return inFlight != null;
+    }
+
+    public List<Booking> getBookings() {
+        return new ArrayList<>(bookings);
+    }
+
+    /**
+     * Drop the page request in flight, if any (e.g. in onDestroy).
+     */
+    public void cancel() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingSyncResponse;
+import com.simats.eathmover.retrofit.ApiService;
+import com.simats.eathmover.retrofit.RetrofitClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Offline-first access to the booking lists.
+ *
+ * load*() first delivers what is stored locally (instant, no spinner needed), then syncs:
+ * - With a stored watermark only rows changed since then are requested (updated_since)
+ *   and merged into the store. An unchanged list costs an empty response.
+ * - Without a watermark, or when the server does not send sync_time, the feed is replaced.
+ * - If the local row count no longer matches the server total (rows were deleted),
+ *   one full sync follows.
+ *
+ * Paged feeds (earnings, admin live) only store and refresh their first page; the server
+ * sends no sync_time for pages, so they are always replaced. Operator bookings are also
+ * always fetched in full: get_operator_bookings.php does not support updated_since.
+ *
+ * The listener is called on the main thread; onBookingsLoaded only when there is
+ * something (new) to show.
+ */
+public class BookingRepository {
+    private static final String TAG = "BookingRepository";
+
+    public interface Listener {
+        void onBookingsLoaded(List<Booking> bookings);
+
+        void onSyncFinished(boolean success, String message);
+    }
+
+    private interface SyncCall {
+        Call<BookingSyncResponse> create(String updatedSince);
+    }
+
+    private static BookingRepository instance;
+
+    private final BookingStore store;
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private BookingRepository(Context context) {
+        store = new BookingStore(context);
+    }
+
+    public static synchronized BookingRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookingRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public void loadUserBookings(String userId, Listener listener) {
+        load("user:" + userId, since -> api().syncUserBookings(userId, since), listener);
+    }
+
+    public void loadOperatorBookings(String operatorId, Listener listener) {
+        load("operator:" + operatorId, since -> api().syncOperatorBookings(operatorId), listener);
+    }
+
+    /**
+     * First page of the operator's finished bookings; older pages come from a BookingPager.
+     */
+    public void loadOperatorEarnings(String operatorId, Listener listener) {
+        load("earnings:" + operatorId, since -> api().getOperatorEarningsPage(operatorId,
+                Booking.HISTORY_STATUSES, null, null, BookingPager.PAGE_SIZE), listener);
+    }
+
+    /**
+     * First page of live bookings; older pages come from a BookingPager.
+     */
+    public void loadLiveBookings(Listener listener) {
+        load("admin_live", since -> api().getLiveBookingsPage(null, null, BookingPager.PAGE_SIZE), listener);
+    }
+
+    /**
+     * Drop all stored bookings (e.g. on logout).
+     */
+    public void clear() {
+        dbExecutor.execute(store::clear);
+    }
+
+    private ApiService api() {
+        return RetrofitClient.getClient().create(ApiService.class);
+    }
+
+    private void load(String feed, SyncCall syncCall, Listener listener) {
+        dbExecutor.execute(() -> {
+            List<Booking> cached = store.hasFeed(feed) ? store.getBookings(feed) : null;
+            String watermark = store.getWatermark(feed);
+            mainHandler.post(() -> {
+                if (cached != null) {
+                    Log.d(TAG, feed + ": showing " + cached.size() + " stored bookings");
+                    listener.onBookingsLoaded(cached);
+                }
+                sync(feed, syncCall, watermark, listener);
+            });
+        });
+    }
+
+    private void sync(String feed, SyncCall syncCall, String watermark, Listener listener) {
+        syncCall.create(watermark).enqueue(new Callback<BookingSyncResponse>() {
+            @Override
+            public void onResponse(Call<BookingSyncResponse> call, Response<BookingSyncResponse> response) {
+                BookingSyncResponse body = response.body();
+                if (!response.isSuccessful() || body == null) {
+                    listener.onSyncFinished(false, "Server Error: " + response.code());
+                    return;
+                }
+                if (!body.isSuccess()) {
+                    listener.onSyncFinished(false, body.getMessage());
+                    return;
+                }
+
+                List<Booking> rows = body.getData() != null ? body.getData() : new ArrayList<>();
+                boolean incremental = watermark != null && body.getSyncTime() != null;
+                Log.d(TAG, feed + ": " + rows.size() + (incremental ? " changed rows since " + watermark : " rows (full)"));
+
+                dbExecutor.execute(() -> {
+                    if (incremental) {
+                        store.upsert(feed, rows, body.getSyncTime());
+                    } else {
+                        store.replace(feed, rows, body.getSyncTime());
+                    }
+                    boolean outOfStep = incremental && body.getTotal() != null
+                            && store.count(feed) != body.getTotal();
+                    List<Booking> bookings = !outOfStep && (!incremental || !rows.isEmpty())
+                            ? store.getBookings(feed) : null;
+
+                    mainHandler.post(() -> {
+                        if (outOfStep) {
+                            // Rows were deleted on the server: reload the feed once in full
+                            Log.d(TAG, feed + ": row count differs from server total " + body.getTotal() + ", full sync");
+                            sync(feed, syncCall, null, listener);
+                            return;
+                        }
+                        if (bookings != null) {
+                            listener.onBookingsLoaded(bookings);
+                        }
+                        listener.onSyncFinished(true, null);
+                    });
+                });
+            }
+
+            @Override
+            public void onFailure(Call<BookingSyncResponse> call, Throwable t) {
+                Log.e(TAG, feed + ": sync failed: " + t.getMessage());
+                listener.onSyncFinished(false, t.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,161 @@
+package com.simats.eathmover.utils;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.google.gson.Gson;
+import com.simats.eathmover.models.Booking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local SQLite copy of the booking lists, so screens can render before the network answers.
+ *
+ * Rows are grouped by feed ("user:12", "operator:7", "earnings:7", "admin_live") and stored
+ * as the Booking JSON the server sent. sync_state keeps the watermark (server sync_time)
+ * of the last successful sync per feed.
+ *
+ * All methods do disk I/O; call them off the main thread (see BookingRepository).
+ */
+public class BookingStore extends SQLiteOpenHelper {
+    private static final String DB_NAME = "bookings.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String TABLE_BOOKINGS = "bookings";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+
+    private final Gson gson = ApiJson.storageGson();
+
+    public BookingStore(Context context) {
+        super(context.getApplicationContext(), DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_BOOKINGS + " ("
+                + "feed TEXT NOT NULL, "
+                + "booking_id TEXT NOT NULL, "
+                + "booking_date TEXT, "
+                + "json TEXT NOT NULL, "
+                + "PRIMARY KEY (feed, booking_id))");
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + "feed TEXT PRIMARY KEY, "
+                + "watermark TEXT, "
+                + "synced_at INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Only a cache of server data: rebuild and let the next sync refill it
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_BOOKINGS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        onCreate(db);
+    }
+
+    /**
+     * True once the feed has been synced at least once (even if it is empty).
+     */
+    public boolean hasFeed(String feed) {
+        return DatabaseUtils.queryNumEntries(getReadableDatabase(), TABLE_SYNC_STATE,
+                "feed = ?", new String[]{feed}) > 0;
+    }
+
+    /**
+     * Bookings of a feed, newest first.
+     */
+    public List<Booking> getBookings(String feed) {
+        List<Booking> bookings = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE_BOOKINGS, new String[]{"json"},
+                "feed = ?", new String[]{feed}, null, null,
+                "booking_date DESC, CAST(booking_id AS INTEGER) DESC")) {
+            while (cursor.moveToNext()) {
+                Booking booking = gson.fromJson(cursor.getString(0), Booking.class);
+                if (booking != null) {
+                    bookings.add(booking);
+                }
+            }
+        }
+        return bookings;
+    }
+
+    public int count(String feed) {
+        return (int) DatabaseUtils.queryNumEntries(getReadableDatabase(), TABLE_BOOKINGS,
+                "feed = ?", new String[]{feed});
+    }
+
+    /**
+     * Watermark to send as updated_since, or null when the next sync must be a full one.
+     */
+    public String getWatermark(String feed) {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_SYNC_STATE, new String[]{"watermark"},
+                "feed = ?", new String[]{feed}, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    /**
+     * Replace a whole feed with a full list from the server.
+     */
+    public void replace(String feed, List<Booking> bookings, String watermark) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_BOOKINGS, "feed = ?", new String[]{feed});
+            insertAll(db, feed, bookings);
+            saveWatermark(db, feed, watermark);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Merge rows changed since the last watermark into a feed.
+     */
+    public void upsert(String feed, List<Booking> bookings, String watermark) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            insertAll(db, feed, bookings);
+            saveWatermark(db, feed, watermark);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Forget everything (e.g. on logout).
+     */
+    public void clear() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.delete(TABLE_BOOKINGS, null, null);
+        db.delete(TABLE_SYNC_STATE, null, null);
+    }
+
+    private void insertAll(SQLiteDatabase db, String feed, List<Booking> bookings) {
+        ContentValues values = new ContentValues();
+        for (Booking booking : bookings) {
+            if (booking.getBookingId() == null) continue;
+            values.clear();
+            values.put("feed", feed);
+            values.put("booking_id", booking.getBookingId());
+            values.put("booking_date", booking.getBookingDate());
+            values.put("json", gson.toJson(booking));
+            db.insertWithOnConflict(TABLE_BOOKINGS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        }
+    }
+
+    private void saveWatermark(SQLiteDatabase db, String feed, String watermark) {
+        ContentValues values = new ContentValues();
+        values.put("feed", feed);
+        values.put("watermark", watermark);
+        values.put("synced_at", System.currentTimeMillis());
+        db.insertWithOnConflict(TABLE_SYNC_STATE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
@@ -0,0 +1,113 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.BatteryManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.util.Log;
+
+/**
+ * Network and battery state for background work (RealTimeDataManager's polling).
+ *
+ * The default network is followed with a NetworkCallback, so isOnline()/isMetered() are
+ * plain field reads; the listener is told on the main thread when the device goes online
+ * or offline. Battery and power saver are read when asked, which is once per poll.
+ */
+public class DeviceConditions {
+    private static final String TAG = "DeviceConditions";
+
+    // Below this and not charging counts as low power
+    private static final int LOW_BATTERY_PERCENT = 20;
+
+    public interface Listener {
+        void onOnlineChanged(boolean online);
+    }
+
+    private static DeviceConditions instance;
+
+    private final PowerManager powerManager;
+    private final BatteryManager batteryManager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile boolean online = true;
+    private volatile boolean metered = false;
+    private Listener listener;
+
+    private DeviceConditions(Context context) {
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        batteryManager = (BatteryManager) context.getSystemService(Context.BATTERY_SERVICE);
+
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager != null) {
+            online = connectivityManager.getActiveNetwork() != null;
+            metered = connectivityManager.isActiveNetworkMetered();
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+                    metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+                    setOnline(true);
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    setOnline(false);
+                }
+            });
+        }
+    }
+
+    public static synchronized DeviceConditions getInstance(Context context) {
+        if (instance == null) {
+            instance = new DeviceConditions(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * Cellular or another network the user may pay for.
+     */
+    public boolean isMetered() {
+        return metered;
+    }
+
+    /**
+     * Power saver on, or battery low and not charging.
+     */
+    public boolean isLowPower() {
+        if (powerManager != null && powerManager.isPowerSaveMode()) {
+            return true;
+        }
+        if (batteryManager == null || batteryManager.isCharging()) {
+            return false;
+        }
+        int percent = batteryManager.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY);
+        // 0 or Integer.MIN_VALUE when the device does not report it
+        return percent > 0 && percent < LOW_BATTERY_PERCENT;
+    }
+
+    // Called on the connectivity thread
+    private void setOnline(boolean nowOnline) {
+        if (online == nowOnline) {
+            return;
+        }
+        online = nowOnline;
+        Log.d(TAG, nowOnline ? "Network available" : "Network lost");
+        mainHandler.post(() -> {
+            if (listener != null) {
+                listener.onOnlineChanged(nowOnline);
+            }
+        });
+    }
+}
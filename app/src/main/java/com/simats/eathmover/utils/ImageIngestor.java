@@ -0,0 +1,190 @@
+package com.simats.eathmover.utils;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns a camera/gallery pick into a display bitmap and an upload-ready JPEG file,
+ * entirely off the main thread.
+ *
+ * 1. Bounds-only decode to learn the photo size.
+ * 2. Sampled decode (power-of-two inSampleSize, see BitmapSampling), reusing a spare
+ *    bitmap from the previous pick when it is large enough.
+ * 3. One pass of exact scaling plus EXIF rotation to at most maxSize on the longest side.
+ * 4. JPEG compression to the upload cache (ImageUploader.writeJpeg).
+ *
+ * The callback is invoked on the main thread.
+ */
+public class ImageIngestor {
+    private static final String TAG = "ImageIngestor";
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+    private static final int THREAD_COUNT = 2;
+
+    public interface Callback {
+        void onImageReady(Bitmap bitmap, File jpegFile);
+
+        void onError(String message);
+    }
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final ExecutorService executor = createExecutor();
+
+    // Spare decode buffer left over from the last pick, reused through inBitmap
+    private static Bitmap reusableBitmap;
+
+    public static void ingest(Context context, Uri uri, String name, Callback callback) {
+        ingest(context, uri, name, DEFAULT_MAX_SIZE, callback);
+    }
+
+    /**
+     * @param name    File name (without extension) of the JPEG in the upload cache
+     * @param maxSize Longest side of the resulting bitmap, in pixels
+     */
+    public static void ingest(Context context, Uri uri, String name, int maxSize, Callback callback) {
+        Context appContext = context.getApplicationContext();
+        executor.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                Bitmap bitmap = decode(appContext.getContentResolver(), uri, maxSize);
+                File file = ImageUploader.writeJpeg(appContext, bitmap, name);
+                Log.d(TAG, "Ingested " + uri + " -> " + bitmap.getWidth() + "x" + bitmap.getHeight()
+                        + ", " + file.length() + " bytes in " + (System.currentTimeMillis() - start) + "ms");
+                mainHandler.post(() -> callback.onImageReady(bitmap, file));
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                Log.e(TAG, "Error ingesting image " + uri + ": " + e.getMessage(), e);
+                mainHandler.post(() -> callback.onError("Error loading image"));
+            }
+        });
+    }
+
+    private static Bitmap decode(ContentResolver resolver, Uri uri, int maxSize) throws IOException {
+        // Bounds only, no pixels allocated
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream input = resolver.openInputStream(uri)) {
+            BitmapFactory.decodeStream(input, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Not a decodable image");
+        }
+
+        int sampleSize = BitmapSampling.calculateInSampleSize(bounds.outWidth, bounds.outHeight, maxSize);
+        long sampledBytes = BitmapSampling.bitmapBytes(
+                BitmapSampling.sampledDimension(bounds.outWidth, sampleSize),
+                BitmapSampling.sampledDimension(bounds.outHeight, sampleSize));
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize;
+        options.inMutable = true;
+        options.inBitmap = takeReusable(sampledBytes);
+
+        Bitmap decoded;
+        try {
+            decoded = decodeStream(resolver, uri, options);
+        } catch (IllegalArgumentException e) {
+            // Spare bitmap not compatible with this image, decode into a fresh one
+            options.inBitmap = null;
+            decoded = decodeStream(resolver, uri, options);
+        }
+        if (decoded == null) {
+            throw new IOException("Could not decode image");
+        }
+
+        int rotation = readRotation(resolver, uri);
+        int[] target = BitmapSampling.targetSize(decoded.getWidth(), decoded.getHeight(), maxSize);
+        if (rotation == 0 && target[0] == decoded.getWidth() && target[1] == decoded.getHeight()) {
+            return decoded;
+        }
+
+        // Scale and rotate in a single copy
+        Matrix matrix = new Matrix();
+        matrix.postScale((float) target[0] / decoded.getWidth(), (float) target[1] / decoded.getHeight());
+        if (rotation != 0) {
+            matrix.postRotate(rotation);
+        }
+        Bitmap result = Bitmap.createBitmap(decoded, 0, 0, decoded.getWidth(), decoded.getHeight(), matrix, true);
+        if (result != decoded) {
+            giveReusable(decoded);
+        }
+        return result;
+    }
+
+    private static Bitmap decodeStream(ContentResolver resolver, Uri uri, BitmapFactory.Options options) throws IOException {
+        try (InputStream input = resolver.openInputStream(uri)) {
+            return BitmapFactory.decodeStream(input, null, options);
+        }
+    }
+
+    /**
+     * Rotation in degrees stored in the EXIF orientation tag (camera photos are often sideways).
+     */
+    private static int readRotation(ContentResolver resolver, Uri uri) {
+        try (InputStream input = resolver.openInputStream(uri)) {
+            if (input == null) return 0;
+            int orientation = new ExifInterface(input)
+                    .getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read EXIF orientation: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static synchronized Bitmap takeReusable(long bytesNeeded) {
+        Bitmap bitmap = reusableBitmap;
+        if (bitmap == null || bitmap.isRecycled() || bitmap.getAllocationByteCount() < bytesNeeded) {
+            return null;
+        }
+        reusableBitmap = null;
+        return bitmap;
+    }
+
+    private static synchronized void giveReusable(Bitmap bitmap) {
+        if (!bitmap.isMutable()) {
+            return;
+        }
+        // Keep only the largest spare buffer
+        if (reusableBitmap == null || reusableBitmap.isRecycled()
+                || reusableBitmap.getAllocationByteCount() < bitmap.getAllocationByteCount()) {
+            reusableBitmap = bitmap;
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "image-ingest-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
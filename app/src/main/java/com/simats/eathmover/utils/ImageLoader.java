@@ -0,0 +1,159 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.os.Process;
+import android.util.Log;
+import android.widget.ImageView;
+
+import com.simats.eathmover.config.ApiConfig;
+import com.simats.eathmover.retrofit.RetrofitClient;
+import com.squareup.picasso.Callback;
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+
+/**
+ * Single image pipeline for every screen and adapter.
+ *
+ * - Downloads run on a small bounded executor over the shared OkHttp connection pool.
+ * - Responses are kept in a disk cache, so a photo is downloaded once.
+ * - Bitmaps are decoded with inSampleSize to the target ImageView size (fit), never
+ *   at full camera resolution, and kept in a memory LRU sized in bytes.
+ * - Requests for the same URL and size are merged; loading into a recycled ImageView
+ *   cancels the request previously bound to it.
+ */
+public final class ImageLoader {
+    private static final String TAG = "ImageLoader";
+
+    private static final int THREAD_COUNT = 3;
+    private static final long DISK_CACHE_BYTES = 50L * 1024 * 1024;
+    // Fraction of the heap used for decoded bitmaps
+    private static final int MEMORY_CACHE_DIVISOR = 8;
+
+    private static Picasso picasso;
+
+    private ImageLoader() {
+    }
+
+    /**
+     * The shared Picasso instance behind this loader, created on first use.
+     */
+    public static synchronized Picasso get(Context context) {
+        if (picasso == null) {
+            Context appContext = context.getApplicationContext();
+
+            int memoryBytes = (int) (Runtime.getRuntime().maxMemory() / MEMORY_CACHE_DIVISOR);
+            File cacheDir = new File(appContext.getCacheDir(), "image-cache");
+            OkHttpClient client = RetrofitClient.getHttpClient().newBuilder()
+                    .cache(new Cache(cacheDir, DISK_CACHE_BYTES))
+                    .build();
+
+            picasso = new Picasso.Builder(appContext)
+                    .executor(createExecutor())
+                    .memoryCache(new LruCache(memoryBytes))
+                    .downloader(new OkHttp3Downloader(client))
+                    .build();
+
+            Log.d(TAG, "Image loader ready - memory cache: " + (memoryBytes / 1024) + " KB, disk cache: "
+                    + (DISK_CACHE_BYTES / 1024 / 1024) + " MB, threads: " + THREAD_COUNT);
+        }
+        return picasso;
+    }
+
+    /**
+     * Load an image into a view, downsampled to the view size.
+     *
+     * @param pathOrUrl   Full URL, or a path relative to the server root (e.g. "uploads/profiles/x.jpg")
+     * @param placeholder Drawable shown while loading and on error
+     */
+    public static void load(ImageView view, String pathOrUrl, int placeholder) {
+        load(view, pathOrUrl, placeholder, null);
+    }
+
+    /**
+     * Same as {@link #load(ImageView, String, int)} with a completion callback.
+     * A placeholder of 0 keeps whatever the view currently shows while loading.
+     */
+    public static void load(ImageView view, String pathOrUrl, int placeholder, Callback callback) {
+        if (view == null) {
+            return;
+        }
+
+        String url = resolveUrl(pathOrUrl);
+        if (url == null) {
+            cancel(view);
+            if (placeholder != 0) {
+                view.setImageResource(placeholder);
+            }
+            if (callback != null) {
+                callback.onError(new IllegalArgumentException("No image path"));
+            }
+            return;
+        }
+
+        RequestCreator request = get(view.getContext()).load(url).fit().onlyScaleDown();
+        if (view.getScaleType() == ImageView.ScaleType.CENTER_CROP) {
+            request.centerCrop();
+        } else {
+            request.centerInside();
+        }
+        if (placeholder != 0) {
+            request.placeholder(placeholder).error(placeholder);
+        } else {
+            request.noPlaceholder();
+        }
+        request.into(view, callback);
+    }
+
+    /**
+     * Cancel the request bound to a view, e.g. before showing a local drawable in a recycled row.
+     */
+    public static void cancel(ImageView view) {
+        if (view != null && picasso != null) {
+            picasso.cancelRequest(view);
+        }
+    }
+
+    /**
+     * Turn a backend image path into a full URL. Returns null for an empty path.
+     */
+    public static String resolveUrl(String pathOrUrl) {
+        if (pathOrUrl == null || pathOrUrl.trim().isEmpty()) {
+            return null;
+        }
+        String path = pathOrUrl.trim();
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            return path;
+        }
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        return ApiConfig.getRootUrl() + path;
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "image-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), factory);
+    }
+}
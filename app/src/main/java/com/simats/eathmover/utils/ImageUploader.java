@@ -0,0 +1,230 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.UploadResult;
+import com.simats.eathmover.retrofit.ApiService;
+import com.simats.eathmover.retrofit.ProgressFileRequestBody;
+import com.simats.eathmover.retrofit.RetrofitClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Uploads images as multipart/form-data, streamed from a JPEG file on disk,
+ * instead of embedding Base64 strings in JSON.
+ *
+ * - Progress is reported as a percentage on the main thread.
+ * - Failed network attempts are retried with a growing delay.
+ * - A file that was already stored on the server is not sent again: the stored path
+ *   is remembered, so re-submitting a form after a failure only uploads what is missing.
+ *   Concurrent uploads of the same file share one request.
+ *
+ * Profile pictures are linked to the user/operator row by upload_image.php itself; the stored
+ * path is also sent in profile_picture_path / profile_image_path. A license photo has no row
+ * yet, so its path goes in machine_image_1_path and, until save_license_details accepts that,
+ * the photo is also sent inline as Base64 in machine_image_1 (encodeBase64()).
+ */
+public class ImageUploader {
+    private static final String TAG = "ImageUploader";
+
+    public static final String TYPE_USER_PROFILE = "user_profile";
+    public static final String TYPE_OPERATOR_PROFILE = "operator_profile";
+    public static final String TYPE_LICENSE = "license";
+
+    private static final int JPEG_QUALITY = 80;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 2000;
+    private static final MediaType MEDIA_TYPE_JPEG = MediaType.parse("image/jpeg");
+    private static final MediaType MEDIA_TYPE_TEXT = MediaType.parse("text/plain");
+
+    public interface UploadCallback {
+        void onProgress(int percent);
+
+        void onSuccess(String path);
+
+        void onFailure(String message);
+    }
+
+    public interface Base64Callback {
+        void onEncoded(String base64);
+    }
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final ExecutorService encodeExecutor = Executors.newSingleThreadExecutor();
+    // Local file version -> stored path on the server
+    private static final Map<String, String> uploadedFiles = new HashMap<>();
+    // Local file version -> callbacks waiting on the upload in flight
+    private static final Map<String, List<UploadCallback>> inFlight = new HashMap<>();
+
+    /**
+     * Compress a bitmap to a JPEG file in the app cache, streaming directly to disk.
+     * The same name is reused per purpose, so old picks do not pile up.
+     */
+    public static File writeJpeg(Context context, Bitmap bitmap, String name) throws IOException {
+        File dir = new File(context.getCacheDir(), "uploads");
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        File file = new File(dir, name + ".jpg");
+        try (OutputStream out = new FileOutputStream(file)) {
+            if (!bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out)) {
+                throw new IOException("JPEG compression failed");
+            }
+        }
+        return file;
+    }
+
+    /**
+     * The file as Base64 (NO_WRAP), for endpoints that only accept the image inline.
+     * Read on a worker; the callback runs on the main thread, with null when unreadable.
+     */
+    public static void encodeBase64(File file, Base64Callback callback) {
+        encodeExecutor.execute(() -> {
+            String base64 = null;
+            try (InputStream in = new FileInputStream(file)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) file.length());
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    bytes.write(buffer, 0, read);
+                }
+                base64 = Base64.encodeToString(bytes.toByteArray(), Base64.NO_WRAP);
+            } catch (IOException e) {
+                Log.e(TAG, "Cannot read " + file.getName() + ": " + e.getMessage());
+            }
+            String result = base64;
+            mainHandler.post(() -> callback.onEncoded(result));
+        });
+    }
+
+    /**
+     * Upload an image file. Must be called on the main thread; callbacks run on the main thread.
+     *
+     * @param type    One of the TYPE_ constants, selects the server folder
+     * @param ownerId User or operator id the image belongs to
+     */
+    public static void upload(File file, String type, String ownerId, UploadCallback callback) {
+        String key = fileKey(file);
+
+        String storedPath = uploadedFiles.get(key);
+        if (storedPath != null) {
+            Log.d(TAG, "Already uploaded, skipping: " + file.getName() + " -> " + storedPath);
+            callback.onProgress(100);
+            callback.onSuccess(storedPath);
+            return;
+        }
+
+        List<UploadCallback> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(callback);
+        inFlight.put(key, waiting);
+
+        attempt(file, key, type, ownerId, 1);
+    }
+
+    private static void attempt(File file, String key, String type, String ownerId, int attempt) {
+        final int[] lastPercent = {-1};
+        ProgressFileRequestBody imageBody = new ProgressFileRequestBody(file, MEDIA_TYPE_JPEG, (written, total) -> {
+            int percent = total > 0 ? (int) (written * 100 / total) : 0;
+            if (percent != lastPercent[0]) {
+                lastPercent[0] = percent;
+                mainHandler.post(() -> notifyProgress(key, percent));
+            }
+        });
+
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        Call<ApiResponse<UploadResult>> call = apiService.uploadImage(
+                RequestBody.create(type, MEDIA_TYPE_TEXT),
+                RequestBody.create(ownerId, MEDIA_TYPE_TEXT),
+                MultipartBody.Part.createFormData("image", file.getName(), imageBody));
+
+        Log.d(TAG, "Uploading " + file.getName() + " (" + file.length() + " bytes), attempt " + attempt);
+
+        call.enqueue(new Callback<ApiResponse<UploadResult>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<UploadResult>> call, Response<ApiResponse<UploadResult>> response) {
+                ApiResponse<UploadResult> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess()
+                        && body.getData() != null && body.getData().getPath() != null) {
+                    String path = body.getData().getPath();
+                    uploadedFiles.put(key, path);
+                    finish(key, path, null);
+                } else if (response.code() >= 500 && attempt < MAX_ATTEMPTS) {
+                    retry(file, key, type, ownerId, attempt, "HTTP " + response.code());
+                } else {
+                    String message = body != null && body.getMessage() != null
+                            ? body.getMessage()
+                            : "Upload failed: HTTP " + response.code();
+                    finish(key, null, message);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<UploadResult>> call, Throwable t) {
+                if (attempt < MAX_ATTEMPTS) {
+                    retry(file, key, type, ownerId, attempt, t.getMessage());
+                } else {
+                    finish(key, null, "Upload failed: " + t.getMessage());
+                }
+            }
+        });
+    }
+
+    private static void retry(File file, String key, String type, String ownerId, int attempt, String reason) {
+        Log.w(TAG, "Upload attempt " + attempt + " failed (" + reason + "), retrying");
+        mainHandler.postDelayed(() -> attempt(file, key, type, ownerId, attempt + 1), RETRY_DELAY_MS * attempt);
+    }
+
+    private static void notifyProgress(String key, int percent) {
+        List<UploadCallback> waiting = inFlight.get(key);
+        if (waiting == null) return;
+        for (UploadCallback callback : waiting) {
+            callback.onProgress(percent);
+        }
+    }
+
+    private static void finish(String key, String path, String error) {
+        List<UploadCallback> waiting = inFlight.remove(key);
+        if (waiting == null) return;
+        for (UploadCallback callback : waiting) {
+            if (path != null) {
+                callback.onSuccess(path);
+            } else {
+                callback.onFailure(error);
+            }
+        }
+    }
+
+    private static String fileKey(File file) {
+        return file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length();
+    }
+}
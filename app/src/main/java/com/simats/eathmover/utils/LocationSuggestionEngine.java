@@ -0,0 +1,189 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.reflect.TypeToken;
+import com.simats.eathmover.models.NominatimResult;
+import com.simats.eathmover.retrofit.NominatimClient;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Location autocomplete on top of Nominatim, feeding LocationSuggestionAdapter.
+ *
+ * - Queries are normalized (trimmed, lower case, single spaces) and looked up in an LRU
+ *   cache shared by all engines and kept on disk. A hit is shown without any request.
+ * - Otherwise the results of the longest cached prefix, narrowed to the ones still
+ *   matching, are shown at once while typing continues.
+ * - The server is asked only after DEBOUNCE_MS without typing, and a newer query cancels
+ *   the request still in flight, so stale results never replace newer ones.
+ * - NominatimClient spaces all requests 1 s apart (Nominatim's usage policy).
+ *
+ * Use from the main thread; call release() when the search UI goes away.
+ */
+public class LocationSuggestionEngine {
+    private static final String TAG = "LocationSuggestions";
+
+    public static final int MIN_QUERY_LENGTH = 3;
+    private static final long DEBOUNCE_MS = 350;
+    private static final int RESULT_LIMIT = 5;
+
+    private static final int CACHE_ENTRIES = 200;
+    private static final long CACHE_TTL_MS = TimeUnit.DAYS.toMillis(7);
+    private static final String CACHE_FILE = "location_suggestions.json";
+
+    public interface Listener {
+        void onSuggestions(List<NominatimResult> suggestions);
+    }
+
+    private static PersistentLruCache<List<NominatimResult>> cache;
+    private static final ExecutorService cacheLoader = Executors.newSingleThreadExecutor();
+
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private String pendingQuery;
+    private Call<List<NominatimResult>> inFlight;
+    private final Runnable fetchPending = this::fetchPending;
+
+    public LocationSuggestionEngine(Context context, Listener listener) {
+        this.listener = listener;
+        synchronized (LocationSuggestionEngine.class) {
+            if (cache == null) {
+                cache = new PersistentLruCache<>(
+                        new File(context.getApplicationContext().getCacheDir(), CACHE_FILE),
+                        CACHE_ENTRIES, CACHE_TTL_MS,
+                        new TypeToken<List<NominatimResult>>() {}.getType());
+                PersistentLruCache<List<NominatimResult>> toLoad = cache;
+                cacheLoader.execute(toLoad::load);
+            }
+        }
+    }
+
+    /**
+     * The search text changed (e.g. from TextWatcher.onTextChanged).
+     */
+    public void onQueryChanged(CharSequence text) {
+        String query = normalize(text);
+        if (query.equals(pendingQuery)) {
+            return;
+        }
+        mainHandler.removeCallbacks(fetchPending);
+        cancelInFlight();
+        pendingQuery = query;
+
+        if (query.length() < MIN_QUERY_LENGTH) {
+            pendingQuery = null;
+            listener.onSuggestions(Collections.emptyList());
+            return;
+        }
+
+        List<NominatimResult> cached = cache.get(query);
+        if (cached != null) {
+            Log.d(TAG, "Cache hit: " + query);
+            listener.onSuggestions(cached);
+            return;
+        }
+
+        List<NominatimResult> provisional = fromCachedPrefix(query);
+        if (provisional != null) {
+            listener.onSuggestions(provisional);
+        }
+        mainHandler.postDelayed(fetchPending, DEBOUNCE_MS);
+    }
+
+    /**
+     * Drop the pending and in-flight requests; no more callbacks after this.
+     */
+    public void release() {
+        mainHandler.removeCallbacks(fetchPending);
+        cancelInFlight();
+        pendingQuery = null;
+    }
+
+    private void fetchPending() {
+        String query = pendingQuery;
+        if (query == null) return;
+
+        Call<List<NominatimResult>> call = NominatimClient.getService().searchPoints(query, "json", 1, RESULT_LIMIT);
+        inFlight = call;
+        call.enqueue(new Callback<List<NominatimResult>>() {
+            @Override
+            public void onResponse(Call<List<NominatimResult>> call, Response<List<NominatimResult>> response) {
+                if (call != inFlight) return; // superseded by a newer query
+                inFlight = null;
+                if (response.isSuccessful() && response.body() != null) {
+                    List<NominatimResult> results = Collections.unmodifiableList(new ArrayList<>(response.body()));
+                    cache.put(query, results);
+                    listener.onSuggestions(results);
+                } else {
+                    Log.e(TAG, "Search failed: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<List<NominatimResult>> call, Throwable t) {
+                if (call != inFlight) return;
+                inFlight = null;
+                if (!call.isCanceled()) {
+                    Log.e(TAG, "Search failed: " + t.getMessage());
+                }
+            }
+        });
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+
+    // Results cached for the longest shorter prefix that still match the query, or null
+    private static List<NominatimResult> fromCachedPrefix(String query) {
+        for (int end = query.length() - 1; end >= MIN_QUERY_LENGTH; end--) {
+            List<NominatimResult> results = cache.get(query.substring(0, end));
+            if (results == null) continue;
+
+            List<NominatimResult> matching = new ArrayList<>();
+            for (NominatimResult result : results) {
+                if (matches(result, query)) {
+                    matching.add(result);
+                }
+            }
+            return matching;
+        }
+        return null;
+    }
+
+    // Every word of the query starts a word of the place name
+    private static boolean matches(NominatimResult result, String query) {
+        if (result.getDisplayName() == null) return false;
+        String name = " " + normalize(result.getDisplayName()).replace(",", " ");
+        for (String word : query.replace(",", " ").split(" ")) {
+            if (!word.isEmpty() && !name.contains(" " + word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(CharSequence text) {
+        if (text == null) return "";
+        return text.toString().trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,217 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.simats.eathmover.models.Machine;
+import com.simats.eathmover.models.MachineCatalogResponse;
+import com.simats.eathmover.retrofit.ApiService;
+import com.simats.eathmover.retrofit.HttpCache;
+import com.simats.eathmover.retrofit.RetrofitClient;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Machine catalog shared by the category screens and the user dashboard.
+ *
+ * Machines are kept per category, in memory and in one JSON file per category, together
+ * with the catalog_version the server sent for them (latest last_updated + row count).
+ * loadCategory() hands out the cached list straight away, then asks the server only for
+ * that category (category_id). The request is revalidated by the HTTP cache (HttpCache):
+ * an unchanged category costs a 304 without rows, and the list held is kept as it is.
+ * Within REFRESH_INTERVAL_MS of the last check the server is not asked at all, so moving
+ * between screens is served from memory.
+ *
+ * The listener is called on the main thread; onMachinesLoaded only when there is
+ * something (new) to show. The lists handed out are read-only.
+ */
+public class MachineCatalog {
+    private static final String TAG = "MachineCatalog";
+
+    public static final int CATEGORY_JCB = 1;
+    public static final int CATEGORY_EXCAVATOR = 2;
+    public static final int CATEGORY_DOZER = 3;
+
+    private static final long REFRESH_INTERVAL_MS = 60_000;
+    private static final String CACHE_DIR = "machine_catalog";
+
+    public interface Listener {
+        void onMachinesLoaded(List<Machine> machines);
+
+        default void onLoadFailed(String message) {}
+    }
+
+    // One category as cached in memory and on disk
+    private static class Entry {
+        String version;
+        List<Machine> machines;
+        transient long checkedAt; // uptime of the last server check, 0 when read from disk
+
+        Entry(String version, List<Machine> machines) {
+            this.version = version;
+            this.machines = machines;
+        }
+    }
+
+    private static MachineCatalog instance;
+
+    // category_id -> machines; only touched on the main thread
+    private final Map<Integer, Entry> index = new HashMap<>();
+    private final File cacheDir;
+    private final Gson gson = ApiJson.storageGson();
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private MachineCatalog(Context context) {
+        cacheDir = new File(context.getCacheDir(), CACHE_DIR);
+    }
+
+    public static synchronized MachineCatalog getInstance(Context context) {
+        if (instance == null) {
+            instance = new MachineCatalog(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Machines of one category: cached ones first, then the server's if they changed.
+     */
+    public void loadCategory(int categoryId, Listener listener) {
+        Entry entry = index.get(categoryId);
+        if (entry != null) {
+            listener.onMachinesLoaded(entry.machines);
+            refreshIfStale(categoryId, entry, listener);
+            return;
+        }
+
+        diskExecutor.execute(() -> {
+            Entry stored = read(categoryId);
+            mainHandler.post(() -> {
+                // Another load may have filled the index meanwhile; that one is newer
+                if (stored != null && !index.containsKey(categoryId)) {
+                    index.put(categoryId, stored);
+                }
+                Entry current = index.get(categoryId);
+                if (current != null) {
+                    Log.d(TAG, "Category " + categoryId + ": showing " + current.machines.size() + " cached machines");
+                    listener.onMachinesLoaded(current.machines);
+                }
+                refreshIfStale(categoryId, current, listener);
+            });
+        });
+    }
+
+    private void refreshIfStale(int categoryId, Entry entry, Listener listener) {
+        if (entry != null && entry.checkedAt != 0
+                && SystemClock.uptimeMillis() - entry.checkedAt < REFRESH_INTERVAL_MS) {
+            return;
+        }
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        apiService.getMachineCatalog(categoryId).enqueue(new Callback<MachineCatalogResponse>() {
+            @Override
+            public void onResponse(Call<MachineCatalogResponse> call, Response<MachineCatalogResponse> response) {
+                MachineCatalogResponse body = response.body();
+                if (!response.isSuccessful() || body == null) {
+                    listener.onLoadFailed("Server Error: " + response.code());
+                    return;
+                }
+                if (!body.isSuccess()) {
+                    listener.onLoadFailed(body.getMessage());
+                    return;
+                }
+
+                Entry current = index.get(categoryId);
+                if (HttpCache.isNotModified(response.raw()) && current != null) {
+                    Log.d(TAG, "Category " + categoryId + ": unchanged (" + current.version + ")");
+                    current.checkedAt = SystemClock.uptimeMillis();
+                    return;
+                }
+
+                // Older servers ignore category_id and send everything
+                List<Machine> machines = new ArrayList<>();
+                if (body.getData() != null) {
+                    for (Machine machine : body.getData()) {
+                        if (machine.getCategoryId() != null && machine.getCategoryId() == categoryId) {
+                            machines.add(machine);
+                        }
+                    }
+                }
+                Entry updated = new Entry(body.getCatalogVersion(), Collections.unmodifiableList(machines));
+                updated.checkedAt = SystemClock.uptimeMillis();
+                index.put(categoryId, updated);
+                Log.d(TAG, "Category " + categoryId + ": " + machines.size() + " machines (" + updated.version + ")");
+
+                diskExecutor.execute(() -> write(categoryId, updated));
+                listener.onMachinesLoaded(updated.machines);
+            }
+
+            @Override
+            public void onFailure(Call<MachineCatalogResponse> call, Throwable t) {
+                Log.e(TAG, "Category " + categoryId + ": refresh failed: " + t.getMessage());
+                listener.onLoadFailed(t.getMessage());
+            }
+        });
+    }
+
+    private File file(int categoryId) {
+        return new File(cacheDir, "category_" + categoryId + ".json");
+    }
+
+    private Entry read(int categoryId) {
+        File file = file(categoryId);
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            Entry entry = gson.fromJson(reader, Entry.class);
+            if (entry == null || entry.machines == null) {
+                return null;
+            }
+            entry.machines = Collections.unmodifiableList(entry.machines);
+            return entry;
+        } catch (Exception e) {
+            Log.e(TAG, "Could not read cached category " + categoryId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(int categoryId, Entry entry) {
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            return;
+        }
+        // Write next to the target and rename, so a crash never leaves half a file
+        File tmp = new File(cacheDir, "category_" + categoryId + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(entry, writer);
+        } catch (Exception e) {
+            Log.e(TAG, "Could not cache category " + categoryId + ": " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file(categoryId))) {
+            tmp.delete();
+        }
+    }
+}
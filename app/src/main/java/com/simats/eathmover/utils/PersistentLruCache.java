@@ -0,0 +1,160 @@
+package com.simats.eathmover.utils;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Small string-keyed LRU cache that survives restarts as one JSON file.
+ *
+ * Entries older than the TTL are treated as missing. The file is read by load(), which
+ * does disk I/O and belongs on a background thread; until then the cache is empty.
+ * Changes are written back on a background thread, several puts in a row in one write.
+ * Thread-safe.
+ */
+public class PersistentLruCache<V> {
+    private static final String TAG = "PersistentLruCache";
+
+    // Shared by all caches; writes are small and rare
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+
+    private static class Entry<V> {
+        String key;
+        V value;
+        long savedAt;
+
+        Entry(String key, V value, long savedAt) {
+            this.key = key;
+            this.value = value;
+            this.savedAt = savedAt;
+        }
+    }
+
+    private final File file;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Type fileType;
+    private final Gson gson = new Gson();
+
+    // Access order: the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry<V>> entries;
+    private boolean loaded = false;
+    private boolean savePending = false;
+
+    /**
+     * @param valueType Type of V, e.g. new TypeToken&lt;List&lt;NominatimResult&gt;&gt;(){}.getType()
+     */
+    public PersistentLruCache(File file, int maxEntries, long ttlMs, Type valueType) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.fileType = TypeToken.getParameterized(List.class,
+                TypeToken.getParameterized(Entry.class, valueType).getType()).getType();
+        this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > PersistentLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Read the file once (disk I/O: not on the main thread). Entries put before are kept.
+     */
+    public void load() {
+        synchronized (this) {
+            if (loaded) return;
+            loaded = true;
+        }
+        if (!file.exists()) return;
+
+        List<Entry<V>> stored = null;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            stored = gson.fromJson(reader, fileType);
+        } catch (Exception e) {
+            Log.e(TAG, "Could not read " + file.getName() + ": " + e.getMessage());
+        }
+        if (stored == null) return;
+
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            // Stored eldest first; newer entries already in memory win
+            LinkedHashMap<String, Entry<V>> current = new LinkedHashMap<>(entries);
+            entries.clear();
+            for (Entry<V> entry : stored) {
+                if (entry != null && entry.key != null && now - entry.savedAt < ttlMs) {
+                    entries.put(entry.key, entry);
+                }
+            }
+            entries.putAll(current);
+        }
+    }
+
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (System.currentTimeMillis() - entry.savedAt >= ttlMs) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(String key, V value) {
+        entries.put(key, new Entry<>(key, value, System.currentTimeMillis()));
+        scheduleSave();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        scheduleSave();
+    }
+
+    private void scheduleSave() {
+        if (savePending) return;
+        savePending = true;
+        ioExecutor.execute(this::save);
+    }
+
+    private void save() {
+        List<Entry<V>> snapshot;
+        synchronized (this) {
+            savePending = false;
+            snapshot = new ArrayList<>(entries.values());
+        }
+
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            return;
+        }
+        // Write next to the target and rename, so a crash never leaves half a file
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(snapshot, fileType, writer);
+        } catch (Exception e) {
+            Log.e(TAG, "Could not write " + file.getName() + ": " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.simats.eathmover.utils;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Coalescing, diff-aware request engine used by RealTimeDataManager.
+ *
+ * - Identical requests (same key) that are already in flight are not sent again;
+ *   the new subscriber is attached to the pending call and shares its response.
+ * - Every subscriber is identified by a tag. A response is only delivered to a tag
+ *   when its fingerprint (ETag header, or a hash of the raw body computed by
+ *   FingerprintInterceptor on the OkHttp thread) differs from the last one that tag
+ *   has seen. A response with neither is always delivered.
+ *
+ * All methods are expected to be called from the main thread (Retrofit delivers
+ * callbacks there as well), so no extra locking is done.
+ */
+public class PollingEngine {
+    private static final String TAG = "PollingEngine";
+
+    public interface CallFactory<T> {
+        Call<T> create();
+    }
+
+    public interface Subscriber<T> {
+        void onChanged(T body);
+
+        // The response was the same as the last one this tag saw
+        default void onUnchanged() {}
+
+        default void onError(Throwable t) {}
+    }
+
+    private static class Waiter<T> {
+        final String tag;
+        final Subscriber<T> subscriber;
+
+        Waiter(String tag, Subscriber<T> subscriber) {
+            this.tag = tag;
+            this.subscriber = subscriber;
+        }
+    }
+
+    // Added to responses by FingerprintInterceptor
+    static final String FINGERPRINT_HEADER = "X-Poll-Fingerprint";
+    static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    // key -> subscribers waiting on the call currently in flight
+    private final Map<String, List<Waiter<?>>> inFlight = new HashMap<>();
+    // key + "|" + tag -> last fingerprint delivered to that tag
+    private final Map<String, Long> lastFingerprints = new HashMap<>();
+
+    // Counters
+    private long requestsIssued = 0;
+    private long requestsCoalesced = 0;
+    private long responsesUnchanged = 0;
+    private long responsesDelivered = 0;
+
+    /**
+     * Request the resource identified by key. If the same key is already in flight the
+     * subscriber is attached to that call instead of issuing a new one.
+     *
+     * @param key     Identity of the request (endpoint + parameters)
+     * @param tag     Identity of the consumer, used for change detection
+     * @param factory Creates the Retrofit call when a network request is really needed
+     */
+    public <T> void request(String key, String tag, CallFactory<T> factory, Subscriber<T> subscriber) {
+        List<Waiter<?>> waiters = inFlight.get(key);
+        if (waiters != null) {
+            waiters.add(new Waiter<>(tag, subscriber));
+            requestsCoalesced++;
+            return;
+        }
+
+        waiters = new ArrayList<>();
+        waiters.add(new Waiter<>(tag, subscriber));
+        inFlight.put(key, waiters);
+        requestsIssued++;
+
+        factory.create().enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                List<Waiter<?>> done = inFlight.remove(key);
+                if (done == null) return;
+
+                if (!response.isSuccessful() || response.body() == null) {
+                    Throwable error = new IllegalStateException("HTTP " + response.code() + " for " + key);
+                    for (Waiter<?> waiter : done) {
+                        waiter.subscriber.onError(error);
+                    }
+                    return;
+                }
+
+                T body = response.body();
+                Long fingerprint = fingerprint(response.headers());
+                for (Waiter<?> waiter : done) {
+                    deliver(key, waiter, body, fingerprint);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                List<Waiter<?>> done = inFlight.remove(key);
+                if (done == null) return;
+                for (Waiter<?> waiter : done) {
+                    waiter.subscriber.onError(t);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void deliver(String key, Waiter<?> waiter, T body, Long fingerprint) {
+        String stateKey = key + "|" + waiter.tag;
+        Long previous = lastFingerprints.get(stateKey);
+        if (fingerprint != null && fingerprint.equals(previous)) {
+            responsesUnchanged++;
+            waiter.subscriber.onUnchanged();
+            return;
+        }
+        if (fingerprint != null) {
+            lastFingerprints.put(stateKey, fingerprint);
+        } else {
+            lastFingerprints.remove(stateKey);
+        }
+        responsesDelivered++;
+        ((Subscriber<T>) waiter.subscriber).onChanged(body);
+    }
+
+    /**
+     * Forget what a consumer has seen, so the next response is delivered even if unchanged.
+     * Call this when a new listener takes over a tag.
+     */
+    public void reset(String tag) {
+        String suffix = "|" + tag;
+        lastFingerprints.keySet().removeIf(stateKey -> stateKey.endsWith(suffix));
+    }
+
+    /**
+     * Forget everything (e.g. on logout).
+     */
+    public void resetAll() {
+        lastFingerprints.clear();
+    }
+
+    // No work on the payload here: this runs on the main thread
+    private Long fingerprint(Headers headers) {
+        String etag = headers.get("ETag");
+        if (etag != null && !etag.isEmpty()) {
+            return hash64(etag);
+        }
+        String bodyHash = headers.get(FINGERPRINT_HEADER);
+        if (bodyHash != null) {
+            try {
+                return Long.parseUnsignedLong(bodyHash, 16);
+            } catch (NumberFormatException ignored) {
+                // Not ours; treat the response as changed
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a string.
+     */
+    static long hash64(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of bytes, continuing from hash (start with FNV_OFFSET).
+     */
+    static long hash64(long hash, byte[] bytes, int count) {
+        for (int i = 0; i < count; i++) {
+            hash ^= bytes[i] & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Install on the client polled calls go through. Hashes each successful body without an
+     * ETag on the OkHttp thread and passes the result to PollingEngine in a header. The body
+     * is buffered once here and read from memory by the converter afterwards.
+     */
+    public static class FingerprintInterceptor implements Interceptor {
+        @Override
+        public okhttp3.Response intercept(Chain chain) throws IOException {
+            okhttp3.Response response = chain.proceed(chain.request());
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null || response.header("ETag") != null) {
+                return response;
+            }
+            BufferedSource source = body.source();
+            source.request(Long.MAX_VALUE);
+            // Shares the buffered segments, so the converter still reads the whole body
+            Buffer copy = source.getBuffer().clone();
+            byte[] chunk = new byte[8192];
+            long hash = FNV_OFFSET;
+            int read;
+            while ((read = copy.read(chunk, 0, chunk.length)) > 0) {
+                hash = hash64(hash, chunk, read);
+            }
+            return response.newBuilder()
+                    .header(FINGERPRINT_HEADER, Long.toHexString(hash))
+                    .build();
+        }
+    }
+
+    // Metrics
+
+    public long getRequestsIssued() {
+        return requestsIssued;
+    }
+
+    /**
+     * Number of network requests avoided because an identical call was already in flight.
+     */
+    public long getRequestsSaved() {
+        return requestsCoalesced;
+    }
+
+    /**
+     * Number of responses not forwarded because the payload had not changed.
+     */
+    public long getResponsesUnchanged() {
+        return responsesUnchanged;
+    }
+
+    public long getResponsesDelivered() {
+        return responsesDelivered;
+    }
+
+    public void logStats() {
+        Log.d(TAG, "issued=" + requestsIssued
+                + " saved=" + requestsCoalesced
+                + " unchanged=" + responsesUnchanged
+                + " delivered=" + responsesDelivered);
+    }
+}
@@ -0,0 +1,294 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Machine;
+import com.simats.eathmover.models.PricingResponse;
+import com.simats.eathmover.models.PricingRules;
+import com.simats.eathmover.retrofit.ApiService;
+import com.simats.eathmover.retrofit.HttpCache;
+import com.simats.eathmover.retrofit.RetrofitClient;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Machine prices for the booking screens, synced once instead of fetched per screen.
+ *
+ * The whole pricing table (user/get_pricing.php: price_per_hour of every machine plus the
+ * pricing rules) is kept in memory and in one JSON file with the pricing_version it came
+ * with. loadMachine() answers from that table straight away and asks the server only when
+ * the last check is older than REFRESH_INTERVAL_MS; the HTTP cache (HttpCache) revalidates
+ * the request, so an unchanged table costs a 304 without rows. An admin price change
+ * calls invalidate(), so the next screen checks again. Estimates are then local
+ * PriceEstimator arithmetic.
+ *
+ * A machine missing from the table (or a server without get_pricing.php) falls back to
+ * machines/machine_details.php once. The listener is called on the main thread, again
+ * when the machine's price changed.
+ */
+public class PricingEngine {
+    private static final String TAG = "PricingEngine";
+
+    private static final long REFRESH_INTERVAL_MS = 5 * 60_000;
+    private static final String CACHE_FILE = "pricing.json";
+
+    public interface Listener {
+        void onMachinePriced(Machine machine, PriceEstimator estimator);
+
+        default void onPricingFailed(String message) {}
+    }
+
+    // The pricing table as cached in memory and on disk
+    private static class Table {
+        String version;
+        PricingRules rules;
+        List<Machine> machines;
+        transient Map<Integer, Machine> byId;
+        transient long checkedAt; // uptime of the last server check, 0 when read from disk
+
+        Machine get(int machineId) {
+            if (byId == null) {
+                byId = new HashMap<>();
+                for (Machine machine : machines) {
+                    byId.put(machine.getMachineId(), machine);
+                }
+            }
+            return byId.get(machineId);
+        }
+    }
+
+    private interface RefreshCallback {
+        void onRefreshed(boolean changed);
+    }
+
+    private static PricingEngine instance;
+
+    // Only touched on the main thread
+    private Table table;
+    private boolean tableRead;
+    private PriceEstimator estimator = estimatorFor(null);
+    private final Map<Integer, Machine> details = new HashMap<>(); // fetched one by one
+    private final List<RefreshCallback> waiting = new ArrayList<>();
+
+    private final File cacheFile;
+    private final Gson gson = ApiJson.storageGson();
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private PricingEngine(Context context) {
+        cacheFile = new File(context.getCacheDir(), CACHE_FILE);
+    }
+
+    public static synchronized PricingEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new PricingEngine(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Estimator with the current rules; for use after loadMachine() delivered.
+     */
+    public PriceEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * A machine with its price: cached first, then the server's if it changed.
+     */
+    public void loadMachine(int machineId, Listener listener) {
+        withTable(() -> {
+            Machine cached = lookup(machineId);
+            if (cached != null) {
+                listener.onMachinePriced(cached, estimator);
+            }
+            if (!isStale()) {
+                if (cached == null) fetchDetails(machineId, listener);
+                return;
+            }
+            refresh(changed -> {
+                Machine current = lookup(machineId);
+                if (current == null) {
+                    fetchDetails(machineId, listener);
+                } else if (changed || cached == null) {
+                    listener.onMachinePriced(current, estimator);
+                }
+            });
+        });
+    }
+
+    /**
+     * Prices changed (admin update); the next load asks the server.
+     */
+    public void invalidate() {
+        if (table != null) {
+            table.checkedAt = 0;
+        }
+        details.clear();
+        Log.d(TAG, "Pricing invalidated");
+    }
+
+    private Machine lookup(int machineId) {
+        Machine machine = table != null ? table.get(machineId) : null;
+        return machine != null ? machine : details.get(machineId);
+    }
+
+    private boolean isStale() {
+        return table == null || table.checkedAt == 0
+                || SystemClock.uptimeMillis() - table.checkedAt >= REFRESH_INTERVAL_MS;
+    }
+
+    // Runs action on the main thread once the stored table has been read
+    private void withTable(Runnable action) {
+        if (tableRead) {
+            action.run();
+            return;
+        }
+        diskExecutor.execute(() -> {
+            Table stored = read();
+            mainHandler.post(() -> {
+                if (!tableRead) {
+                    tableRead = true;
+                    if (stored != null && table == null) {
+                        setTable(stored);
+                        Log.d(TAG, "Read " + stored.machines.size() + " cached prices (" + stored.version + ")");
+                    }
+                }
+                action.run();
+            });
+        });
+    }
+
+    // One request at a time; callers arriving meanwhile share its answer
+    private void refresh(RefreshCallback callback) {
+        waiting.add(callback);
+        if (waiting.size() > 1) {
+            return;
+        }
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        apiService.getPricing().enqueue(new Callback<PricingResponse>() {
+            @Override
+            public void onResponse(Call<PricingResponse> call, Response<PricingResponse> response) {
+                PricingResponse body = response.body();
+                boolean changed = false;
+                if (!response.isSuccessful() || body == null || !body.isSuccess()) {
+                    Log.e(TAG, "Pricing refresh failed: " + response.code());
+                } else if (HttpCache.isNotModified(response.raw()) && table != null) {
+                    Log.d(TAG, "Pricing unchanged (" + table.version + ")");
+                    table.checkedAt = SystemClock.uptimeMillis();
+                } else if (body.getData() != null) {
+                    Table updated = new Table();
+                    updated.version = body.getPricingVersion();
+                    updated.rules = body.getRules();
+                    updated.machines = body.getData();
+                    updated.checkedAt = SystemClock.uptimeMillis();
+                    setTable(updated);
+                    details.clear();
+                    changed = true;
+                    Log.d(TAG, "Pricing: " + updated.machines.size() + " machines (" + updated.version + ")");
+                    diskExecutor.execute(() -> write(updated));
+                }
+                finish(changed);
+            }
+
+            @Override
+            public void onFailure(Call<PricingResponse> call, Throwable t) {
+                Log.e(TAG, "Pricing refresh failed: " + t.getMessage());
+                finish(false);
+            }
+        });
+    }
+
+    private void finish(boolean changed) {
+        List<RefreshCallback> callbacks = new ArrayList<>(waiting);
+        waiting.clear();
+        for (RefreshCallback callback : callbacks) {
+            callback.onRefreshed(changed);
+        }
+    }
+
+    private void setTable(Table updated) {
+        table = updated;
+        estimator = estimatorFor(updated.rules);
+    }
+
+    private static PriceEstimator estimatorFor(PricingRules rules) {
+        PricingRules r = rules != null ? rules : new PricingRules();
+        return new PriceEstimator(r.getTaxRate(), r.getMinimumMinutes(), r.getBillingIncrementMinutes(), r.getBookingFee());
+    }
+
+    private void fetchDetails(int machineId, Listener listener) {
+        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        apiService.getMachineDetails(machineId).enqueue(new Callback<ApiResponse<Machine>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<Machine>> call, Response<ApiResponse<Machine>> response) {
+                if (response.isSuccessful() && response.body() != null
+                        && response.body().isSuccess() && response.body().getData() != null) {
+                    Machine machine = response.body().getData();
+                    details.put(machineId, machine);
+                    listener.onMachinePriced(machine, estimator);
+                } else {
+                    listener.onPricingFailed(response.body() != null ? response.body().getMessage()
+                            : "Server Error: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<Machine>> call, Throwable t) {
+                Log.e(TAG, "Machine " + machineId + ": details failed: " + t.getMessage());
+                listener.onPricingFailed(t.getMessage());
+            }
+        });
+    }
+
+    private Table read() {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8)) {
+            Table stored = gson.fromJson(reader, Table.class);
+            return stored != null && stored.machines != null ? stored : null;
+        } catch (Exception e) {
+            Log.e(TAG, "Could not read cached prices: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Table updated) {
+        // Write next to the target and rename, so a crash never leaves half a file
+        File tmp = new File(cacheFile.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(updated, writer);
+        } catch (Exception e) {
+            Log.e(TAG, "Could not cache prices: " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(cacheFile)) {
+            tmp.delete();
+        }
+    }
+}
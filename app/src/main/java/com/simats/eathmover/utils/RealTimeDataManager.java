@@ -1,278 +1,644 @@
 package com.simats.eathmover.utils;
 
+import android.content.Context;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.ProcessLifecycleOwner;
+
+import com.simats.eathmover.config.ApiConfig;
 import com.simats.eathmover.models.ApiResponse;
 import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingSyncResponse;
+import com.simats.eathmover.models.DashboardBundle;
 import com.simats.eathmover.models.OperatorProfile;
 import com.simats.eathmover.retrofit.ApiService;
 import com.simats.eathmover.retrofit.RetrofitClient;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import okhttp3.OkHttpClient;
 
 /**
  * Manager for real-time data updates using polling mechanism.
- * Polls API at regular intervals and notifies listeners of data changes.
+ *
+ * Screens subscribe to a feed with their LifecycleOwner (observeDashboard(), ...). A feed is
+ * polled only while at least one subscriber is STARTED, any number of screens can subscribe
+ * to the same feed, and a subscriber gets the feed's last value as soon as it starts, so it
+ * can render without waiting for a request. Subscriptions end by themselves when the owner
+ * is destroyed.
+ *
+ * Requests go through PollingEngine, so identical calls in the same tick are sent once
+ * and subscribers are only notified when the payload actually changed.
+ * When several operator dashboard feeds are due together they are fetched with one
+ * get_dashboard_bundle.php request, and only the sections whose version changed are
+ * published to their feeds.
+ * For operators, BookingEventChannel pushes booking changes (long-poll); polling then
+ * slows down to a safety interval for the feeds those events cover (booking requests and
+ * operator bookings, outside fast mode) and resumes automatically if the channel drops.
+ *
+ * Each feed keeps its own schedule, planned by PollingPolicy: failed requests back off
+ * exponentially, every delay is jittered, and intervals stretch on metered networks and in
+ * low power unless an operator has a booking request waiting (fast mode). Polling is
+ * suspended while the app is in the background or the device is offline. getFeedStats()
+ * reports each feed's interval and errors.
  */
 public class RealTimeDataManager {
     private static final String TAG = "RealTimeDataManager";
     private static final long POLLING_INTERVAL = 10000; // 10 seconds
     private static final long FAST_POLLING_INTERVAL = 5000; // 5 seconds for active screens
+    private static final long PUSH_SAFETY_INTERVAL = 60000; // 60 seconds while the event channel is connected
+
+    // Consumer tags used by PollingEngine for change detection
+    private static final String FEED_DASHBOARD = "dashboard";
+    private static final String FEED_BOOKING_REQUESTS = "booking_requests";
+    private static final String FEED_EARNINGS = "earnings";
+    private static final String FEED_BOOKING_STATUS = "booking_status";
+    private static final String FEED_USER_BOOKINGS = "user_bookings";
+    private static final String FEED_OPERATOR_BOOKINGS = "operator_bookings";
+    private static final String FEED_DASHBOARD_BUNDLE = "dashboard_bundle";
+
+    // Enough to notice any change to the user's bookings without downloading them
+    private static final String USER_BOOKINGS_POLL_FIELDS = "booking_id,status,acceptance,updated_at";
 
     private static RealTimeDataManager instance;
     private Handler handler;
     private ApiService apiService;
     private SessionManager sessionManager;
+    private final SessionManager.Listener sessionListener = this::onSessionChanged;
+    private final PollingEngine pollingEngine = new PollingEngine();
+    private final PollingPolicy pollingPolicy = new PollingPolicy();
+    private final DeviceConditions deviceConditions;
+    private final BookingEventChannel eventChannel;
 
     // Polling state
     private boolean isPolling = false;
+    private boolean inBackground = true; // Until the process lifecycle reports started
     private Runnable pollingRunnable;
-    private long currentPollingInterval = POLLING_INTERVAL;
+    private String sessionOperatorId;
+    private String sessionUserId;
+
+    // Feeds; booking requests is watched by the screen an operator accepts from, so it polls fast
+    private final Feed<OperatorProfile> dashboardFeed = new Feed<>(FEED_DASHBOARD, false, true,
+            session -> pollDashboardData(session.operatorId));
+    private final Feed<List<Booking>> bookingRequestsFeed = new Feed<>(FEED_BOOKING_REQUESTS, true, true,
+            session -> pollPendingBookings(session.operatorId));
+    private final Feed<List<Booking>> earningsFeed = new Feed<>(FEED_EARNINGS, false, true,
+            session -> pollEarnings(session.operatorId));
+    private final Feed<Booking> bookingStatusFeed = new Feed<>(FEED_BOOKING_STATUS, false, true,
+            session -> pollCurrentBooking(session.operatorId));
+    // A change signal only; subscribers reload their own data, so nothing to replay
+    private final Feed<List<Booking>> userBookingsFeed = new Feed<>(FEED_USER_BOOKINGS, false, false,
+            session -> pollUserBookings(session.userId));
+    private final Feed<List<Booking>> operatorBookingsFeed = new Feed<>(FEED_OPERATOR_BOOKINGS, false, true,
+            session -> pollOperatorBookings(session.operatorId));
+    private final List<Feed<?>> feeds = Arrays.asList(dashboardFeed, bookingRequestsFeed, earningsFeed,
+            bookingStatusFeed, userBookingsFeed, operatorBookingsFeed);
+    // Invalidated by BookingEventChannel; the others keep their normal interval while it is connected
+    private final List<Feed<?>> pushedFeeds = Arrays.asList(bookingRequestsFeed, operatorBookingsFeed);
+    // Sections of get_dashboard_bundle.php
+    private final List<Feed<?>> bundledFeeds = Arrays.asList(dashboardFeed, bookingRequestsFeed,
+            bookingStatusFeed, earningsFeed);
+    // After a failed bundle its feeds use their own endpoints until bundleRetryAt (backed off)
+    private int bundleFailures;
+    private long bundleRetryAt;
+    // PollingEngine reports a repeated body as unchanged, so a repeated failure must be remembered
+    private boolean lastBundleFailed;
+
+    private RealTimeDataManager(Context context) {
+        handler = new Handler(Looper.getMainLooper());
+        // Polled calls get their bodies fingerprinted on the OkHttp thread (see PollingEngine)
+        OkHttpClient pollingClient = RetrofitClient.getHttpClient().newBuilder()
+                .addInterceptor(new PollingEngine.FingerprintInterceptor())
+                .build();
+        apiService = RetrofitClient.getClient().newBuilder()
+                .client(pollingClient)
+                .build()
+                .create(ApiService.class);
+
+        // Long-poll client shares the pooled connections; read timeout must outlast the server hold time
+        OkHttpClient eventClient = RetrofitClient.getHttpClient().newBuilder()
+                .readTimeout(BookingEventChannel.HOLD_SECONDS * 1000L + ApiConfig.DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .build();
+        eventChannel = new BookingEventChannel(eventClient, ApiConfig.BASE_URL, new BookingEventChannel.Listener() {
+            @Override
+            public void onBookingsChanged(String version) {
+                Log.d(TAG, "Booking event received, version " + version);
+                handler.post(() -> {
+                    if (isPolling) {
+                        refreshNow();
+                    }
+                });
+            }
 
-    // Listeners
-    private DashboardDataListener dashboardListener;
-    private BookingRequestListener bookingRequestListener;
-    private EarningsDataListener earningsListener;
-    private BookingStatusListener bookingStatusListener;
-    private UserBookingsListener userBookingsListener;
-    private OperatorBookingsListener operatorBookingsListener;
+            @Override
+            public void onConnected() {
+                Log.d(TAG, "Event channel connected, pushed feeds relaxed to " + PUSH_SAFETY_INTERVAL + "ms");
+            }
 
-    private RealTimeDataManager() {
-        handler = new Handler(Looper.getMainLooper());
-        apiService = RetrofitClient.getClient().create(ApiService.class);
+            @Override
+            public void onDisconnected(Throwable error) {
+                Log.w(TAG, "Event channel unavailable, falling back to polling: " + error.getMessage());
+                // Resume the normal interval right away instead of waiting out the relaxed one
+                handler.post(() -> {
+                    if (isPolling) {
+                        replanFeeds();
+                        scheduleNextPoll();
+                    }
+                });
+            }
+        });
+
+        deviceConditions = DeviceConditions.getInstance(context);
+        deviceConditions.setListener(this::onOnlineChanged);
+
+        // Screens stop their subscriptions when backgrounded; this also covers anything left running
+        ProcessLifecycleOwner.get().getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onStart(LifecycleOwner owner) {
+                inBackground = false;
+                updatePolling();
+            }
+
+            @Override
+            public void onStop(LifecycleOwner owner) {
+                inBackground = true;
+                updatePolling();
+            }
+        });
     }
 
-    public static synchronized RealTimeDataManager getInstance() {
+    /**
+     * Must first be called on the main thread, which the process lifecycle observer requires.
+     */
+    public static synchronized RealTimeDataManager getInstance(Context context) {
         if (instance == null) {
-            instance = new RealTimeDataManager();
+            instance = new RealTimeDataManager(context.getApplicationContext());
         }
         return instance;
     }
 
     public void setSessionManager(SessionManager sessionManager) {
+        if (this.sessionManager == sessionManager) {
+            return;
+        }
+        if (this.sessionManager != null) {
+            this.sessionManager.removeListener(sessionListener);
+        }
         this.sessionManager = sessionManager;
+        if (sessionManager != null) {
+            sessionManager.addListener(sessionListener);
+            onSessionChanged(sessionManager.getSession());
+        }
+    }
+
+    // Another account's values must not be replayed; logging out stops polling
+    private void onSessionChanged(SessionManager.Session session) {
+        if (!Objects.equals(session.operatorId, sessionOperatorId) || !Objects.equals(session.userId, sessionUserId)) {
+            sessionOperatorId = session.operatorId;
+            sessionUserId = session.userId;
+            for (Feed<?> feed : feeds) {
+                feed.clear();
+            }
+            pollingEngine.resetAll();
+            if (isPolling) {
+                eventChannel.stop();
+                startEventChannel();
+            }
+        }
+        if (!session.loggedIn) {
+            stopPolling();
+        }
+    }
+
+    // Subscriptions
+
+    public void observeDashboard(LifecycleOwner owner, DashboardDataListener listener) {
+        dashboardFeed.subscribe(owner, listener::onDashboardDataUpdated);
     }
 
     /**
-     * Start polling for real-time updates
+     * Booking requests; polls at the fast interval while subscribed.
      */
-    public void startPolling() {
-        if (isPolling) {
-            return;
-        }
+    public void observeBookingRequests(LifecycleOwner owner, BookingRequestListener listener) {
+        bookingRequestsFeed.subscribe(owner, listener::onNewBookingRequest);
+    }
 
-        isPolling = true;
-        currentPollingInterval = POLLING_INTERVAL;
-        scheduleNextPoll();
-        Log.d(TAG, "Real-time polling started");
+    public void observeEarnings(LifecycleOwner owner, EarningsDataListener listener) {
+        earningsFeed.subscribe(owner, listener::onEarningsUpdated);
     }
 
     /**
-     * Start fast polling (for active screens like booking requests)
+     * The operator's active booking; the listener gets null when there is none.
      */
-    public void startFastPolling() {
-        if (isPolling) {
-            currentPollingInterval = FAST_POLLING_INTERVAL;
-        } else {
+    public void observeBookingStatus(LifecycleOwner owner, BookingStatusListener listener) {
+        bookingStatusFeed.subscribe(owner, listener::onBookingStatusChanged);
+    }
+
+    /**
+     * Called whenever the user's bookings changed on the server (not on subscribe).
+     */
+    public void observeUserBookings(LifecycleOwner owner, UserBookingsListener listener) {
+        userBookingsFeed.subscribe(owner, bookings -> listener.onUserBookingsChanged());
+    }
+
+    public void observeOperatorBookings(LifecycleOwner owner, OperatorBookingsListener listener) {
+        operatorBookingsFeed.subscribe(owner, listener::onOperatorBookingsUpdated);
+    }
+
+    // Failures while offline say nothing about the server; start over when the network returns
+    private void onOnlineChanged(boolean online) {
+        if (online) {
+            for (Feed<?> feed : feeds) {
+                feed.resetBackoff();
+            }
+        }
+        updatePolling();
+    }
+
+    // Polling runs while any feed has a started subscriber, the app is in the foreground and
+    // the device is online
+    private void updatePolling() {
+        boolean active = false;
+        for (Feed<?> feed : feeds) {
+            active |= feed.isActive();
+        }
+        boolean wanted = active && !inBackground && deviceConditions.isOnline();
+        if (wanted && !isPolling) {
             isPolling = true;
-            currentPollingInterval = FAST_POLLING_INTERVAL;
+            startEventChannel();
+            // Feeds that came due while suspended are polled right away
+            scheduleNextPoll();
+            Log.d(TAG, "Real-time polling started");
+        } else if (!wanted && isPolling) {
+            stopPolling();
+            if (active) {
+                Log.d(TAG, inBackground ? "Polling suspended in background" : "Polling suspended while offline");
+            }
+        } else if (wanted) {
+            // Fast mode may have been turned on or off
+            replanFeeds();
             scheduleNextPoll();
         }
-        Log.d(TAG, "Fast polling started");
     }
 
-    /**
-     * Stop polling
-     */
-    public void stopPolling() {
+    private void stopPolling() {
+        if (!isPolling) {
+            return;
+        }
         isPolling = false;
         if (pollingRunnable != null) {
             handler.removeCallbacks(pollingRunnable);
+            pollingRunnable = null;
         }
+        eventChannel.stop();
         Log.d(TAG, "Real-time polling stopped");
     }
 
+    /**
+     * Booking events are pushed for operators only; users keep plain polling.
+     */
+    private void startEventChannel() {
+        if (sessionManager != null) {
+            eventChannel.start(sessionManager.getSession().operatorId);
+        }
+    }
+
+    // One tick for all feeds, posted for the earliest one due; replaces the pending tick
     private void scheduleNextPoll() {
+        if (pollingRunnable != null) {
+            handler.removeCallbacks(pollingRunnable);
+            pollingRunnable = null;
+        }
         if (!isPolling) {
             return;
         }
 
+        long nextDueAt = Long.MAX_VALUE;
+        for (Feed<?> feed : feeds) {
+            if (feed.isActive()) {
+                nextDueAt = Math.min(nextDueAt, feed.nextDueAt);
+            }
+        }
+        if (nextDueAt == Long.MAX_VALUE) {
+            return;
+        }
+
         pollingRunnable = new Runnable() {
             @Override
             public void run() {
+                pollingRunnable = null;
                 if (isPolling && sessionManager != null) {
-                    String operatorId = sessionManager.getOperatorId();
-                    if (operatorId != null) {
-                        pollDashboardData(operatorId);
-                        pollPendingBookings(operatorId);
-                        pollEarnings(operatorId);
-                        pollCurrentBooking(operatorId);
-                        pollOperatorBookings(operatorId);
-                    }
-                    String userId = sessionManager.getUserId();
-                    if (userId != null) {
-                        pollUserBookings(userId);
-                    }
+                    pollDueFeeds(sessionManager.getSession());
+                    pollingEngine.logStats();
+                    Log.d(TAG, "Feeds: " + getFeedStats());
                     scheduleNextPoll();
                 }
             }
         };
 
-        handler.postDelayed(pollingRunnable, currentPollingInterval);
+        handler.postDelayed(pollingRunnable, Math.max(0, nextDueAt - SystemClock.elapsedRealtime()));
     }
 
-    // Dashboard Data Polling
-    private void pollDashboardData(String operatorId) {
-        if (dashboardListener == null) return;
+    /**
+     * How long a feed waits after a request: the interval for the current mode, stretched
+     * and backed off by PollingPolicy.
+     */
+    private long nextDelay(Feed<?> feed) {
+        long base;
+        boolean fast = false;
+        if (isFastMode()) {
+            base = FAST_POLLING_INTERVAL;
+            fast = true;
+        } else if (pushedFeeds.contains(feed) && eventChannel.isConnected()) {
+            // Polling is only a safety net for what booking events are pushed for
+            base = PUSH_SAFETY_INTERVAL;
+        } else {
+            base = POLLING_INTERVAL;
+        }
+        PollingPolicy.Conditions conditions = new PollingPolicy.Conditions(
+                deviceConditions.isMetered(), deviceConditions.isLowPower());
+        return pollingPolicy.nextDelay(base, feed.consecutiveFailures, fast, conditions);
+    }
 
-        Call<ApiResponse<OperatorProfile>> call = apiService.getOperatorDashboard(operatorId);
-        call.enqueue(new Callback<ApiResponse<OperatorProfile>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<OperatorProfile>> call, Response<ApiResponse<OperatorProfile>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<OperatorProfile> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        dashboardListener.onDashboardDataUpdated(apiResponse.getData());
-                    }
-                }
+    // The operator is looking at booking requests, or has one waiting to be answered
+    private boolean isFastMode() {
+        for (Feed<?> feed : feeds) {
+            if (feed.fast && feed.isActive()) {
+                return true;
             }
+        }
+        return bookingRequestsFeed.hasValue && bookingRequestsFeed.lastValue != null
+                && !bookingRequestsFeed.lastValue.isEmpty();
+    }
 
-            @Override
-            public void onFailure(Call<ApiResponse<OperatorProfile>> call, Throwable t) {
-                Log.e(TAG, "Error polling dashboard data: " + t.getMessage());
+    // Brings schedules forward when the mode got faster; slower ones apply after the next request
+    private void replanFeeds() {
+        for (Feed<?> feed : feeds) {
+            if (feed.lastPolledAt > 0) {
+                feed.nextDueAt = Math.min(feed.nextDueAt, feed.lastPolledAt + nextDelay(feed));
             }
-        });
+        }
     }
 
-    // Pending Bookings Polling
-    private void pollPendingBookings(String operatorId) {
-        if (bookingRequestListener == null) return;
+    // Ids come from the in-memory session snapshot, so a tick does no disk I/O
+    private void pollDueFeeds(SessionManager.Session session) {
+        long now = SystemClock.elapsedRealtime();
+        List<Feed<?>> due = new ArrayList<>();
+        for (Feed<?> feed : feeds) {
+            if (feed.isActive() && feed.nextDueAt <= now) {
+                due.add(feed);
+            }
+        }
+        pollFeeds(session, due);
+    }
 
-        Call<ApiResponse<Booking>> call = apiService.getPendingBookings(operatorId);
-        call.enqueue(new Callback<ApiResponse<Booking>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<Booking>> call, Response<ApiResponse<Booking>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<Booking> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getDataList() != null) {
-                        bookingRequestListener.onNewBookingRequest(apiResponse.getDataList());
-                    }
-                }
+    private void pollActiveFeeds(SessionManager.Session session) {
+        List<Feed<?>> active = new ArrayList<>();
+        for (Feed<?> feed : feeds) {
+            if (feed.isActive()) {
+                active.add(feed);
             }
+        }
+        pollFeeds(session, active);
+    }
 
-            @Override
-            public void onFailure(Call<ApiResponse<Booking>> call, Throwable t) {
-                Log.e(TAG, "Error polling pending bookings: " + t.getMessage());
+    // Two or more active dashboard feeds are cheaper as one bundle request, which then
+    // refreshes all of them; a single one keeps its own lighter endpoint
+    private void pollFeeds(SessionManager.Session session, List<Feed<?>> due) {
+        List<Feed<?>> bundle = new ArrayList<>();
+        for (Feed<?> feed : bundledFeeds) {
+            if (feed.isActive()) {
+                bundle.add(feed);
             }
-        });
+        }
+        boolean useBundle = session.operatorId != null && bundle.size() >= 2
+                && SystemClock.elapsedRealtime() >= bundleRetryAt;
+        if (useBundle) {
+            useBundle = false;
+            for (Feed<?> feed : due) {
+                useBundle |= bundle.contains(feed);
+            }
+        }
+        if (useBundle) {
+            pollDashboardBundle(session.operatorId, bundle);
+        }
+        for (Feed<?> feed : due) {
+            if (!useBundle || !bundle.contains(feed)) {
+                feed.poll(session);
+            }
+        }
     }
 
-    // Earnings Polling
-    private void pollEarnings(String operatorId) {
-        if (earningsListener == null) return;
+    // Dashboard Data Polling
+    private void pollDashboardData(String operatorId) {
+        if (operatorId == null) return;
+
+        pollingEngine.request("dashboard:" + operatorId, FEED_DASHBOARD,
+                () -> apiService.getOperatorDashboard(operatorId),
+                new FeedSubscriber<ApiResponse<OperatorProfile>>(dashboardFeed, "dashboard data") {
+                    @Override
+                    void onData(ApiResponse<OperatorProfile> apiResponse) {
+                        if (apiResponse.isSuccess() && apiResponse.getData() != null) {
+                            dashboardFeed.publish(apiResponse.getData());
+                        }
+                    }
+                });
+    }
 
-        Call<ApiResponse<List<Booking>>> call = apiService.getOperatorEarnings(operatorId);
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    // data field is T, which is List<Booking>.
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        earningsListener.onEarningsUpdated(apiResponse.getData());
+    // Pending Bookings Polling
+    private void pollPendingBookings(String operatorId) {
+        if (operatorId == null) return;
+
+        pollingEngine.request("pending_bookings:" + operatorId, FEED_BOOKING_REQUESTS,
+                () -> apiService.getPendingBookings(operatorId),
+                new FeedSubscriber<ApiResponse<Booking>>(bookingRequestsFeed, "pending bookings") {
+                    @Override
+                    void onData(ApiResponse<Booking> apiResponse) {
+                        if (apiResponse.isSuccess() && apiResponse.getDataList() != null) {
+                            publishBookingRequests(apiResponse.getDataList(), null);
+                        }
                     }
-                }
-            }
+                });
+    }
 
-            @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
-                Log.e(TAG, "Error polling earnings: " + t.getMessage());
-            }
-        });
+    private void publishBookingRequests(List<Booking> bookings, String bundleVersion) {
+        boolean wasFast = isFastMode();
+        bookingRequestsFeed.publish(bookings, bundleVersion);
+        // A new request switches every feed to the fast interval
+        if (!wasFast && isFastMode() && isPolling) {
+            replanFeeds();
+            scheduleNextPoll();
+        }
+    }
+
+    // Earnings Polling
+    private void pollEarnings(String operatorId) {
+        if (operatorId == null) return;
+
+        // First page only; the earnings screen pages in older history itself
+        pollingEngine.request("earnings:" + operatorId, FEED_EARNINGS,
+                () -> apiService.getOperatorEarningsPage(operatorId, Booking.HISTORY_STATUSES, null, null, BookingPager.PAGE_SIZE),
+                new FeedSubscriber<BookingSyncResponse>(earningsFeed, "earnings") {
+                    @Override
+                    void onData(BookingSyncResponse apiResponse) {
+                        // data field is T, which is List<Booking>.
+                        if (apiResponse.isSuccess() && apiResponse.getData() != null) {
+                            earningsFeed.publish(apiResponse.getData());
+                        }
+                    }
+                });
     }
 
     // Current Booking Status Polling
+    // get_active_booking.php returns just the active/in_progress row (or null)
     private void pollCurrentBooking(String operatorId) {
-        if (bookingStatusListener == null) return;
+        if (operatorId == null) return;
+
+        pollingEngine.request("active_booking:" + operatorId, FEED_BOOKING_STATUS,
+                () -> apiService.getActiveBooking(operatorId),
+                new FeedSubscriber<ApiResponse<Booking>>(bookingStatusFeed, "booking status") {
+                    @Override
+                    void onData(ApiResponse<Booking> apiResponse) {
+                        if (!apiResponse.isSuccess()) {
+                            return;
+                        }
+                        // null when there is no active booking
+                        bookingStatusFeed.publish(apiResponse.getData());
+                    }
+                });
+    }
 
-        Call<ApiResponse<List<Booking>>> call = apiService.getOperatorBookings(operatorId);
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        // Find active booking
-                        for (Booking booking : apiResponse.getData()) {
-                            if ("active".equalsIgnoreCase(booking.getStatus()) ||
-                                "in_progress".equalsIgnoreCase(booking.getStatus())) {
-                                bookingStatusListener.onBookingStatusChanged(booking);
-                                return;
-                            }
+    // Dashboard Bundle Polling
+    // One request for the given dashboard feeds; every section whose version moved is
+    // published to its feed, whether or not that feed was due
+    private void pollDashboardBundle(String operatorId, List<Feed<?>> polled) {
+        for (Feed<?> feed : polled) {
+            feed.markPolled();
+        }
+
+        pollingEngine.request("dashboard_bundle:" + operatorId, FEED_DASHBOARD_BUNDLE,
+                () -> apiService.getDashboardBundle(operatorId, dashboardFeed.bundleVersion,
+                        bookingRequestsFeed.bundleVersion, bookingStatusFeed.bundleVersion,
+                        earningsFeed.bundleVersion, Booking.HISTORY_STATUSES, BookingPager.PAGE_SIZE),
+                new PollingEngine.Subscriber<ApiResponse<DashboardBundle>>() {
+                    @Override
+                    public void onChanged(ApiResponse<DashboardBundle> apiResponse) {
+                        lastBundleFailed = !apiResponse.isSuccess() || apiResponse.getData() == null;
+                        if (lastBundleFailed) {
+                            onBundleFailed(polled, "server said: " + apiResponse.getMessage());
+                            return;
                         }
-                        // No active booking
-                        bookingStatusListener.onBookingStatusChanged(null);
+                        onBundleSucceeded(polled);
+                        publishBundle(apiResponse.getData());
                     }
-                }
-            }
 
-            @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
-                Log.e(TAG, "Error polling booking status: " + t.getMessage());
+                    @Override
+                    public void onUnchanged() {
+                        if (lastBundleFailed) {
+                            onBundleFailed(polled, "same failure again");
+                        } else {
+                            onBundleSucceeded(polled);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        onBundleFailed(polled, t.getMessage());
+                    }
+                });
+    }
+
+    private void onBundleSucceeded(List<Feed<?>> polled) {
+        bundleFailures = 0;
+        bundleRetryAt = 0;
+        for (Feed<?> feed : polled) {
+            feed.onPollSucceeded();
+        }
+    }
+
+    // Counted against every feed of the bundle, which are then polled on their own endpoints
+    private void onBundleFailed(List<Feed<?>> polled, String reason) {
+        bundleFailures++;
+        PollingPolicy.Conditions conditions = new PollingPolicy.Conditions(
+                deviceConditions.isMetered(), deviceConditions.isLowPower());
+        long retryIn = pollingPolicy.nextDelay(POLLING_INTERVAL, bundleFailures, false, conditions);
+        bundleRetryAt = SystemClock.elapsedRealtime() + retryIn;
+        Log.e(TAG, "Dashboard bundle failed (" + reason + "), polling its feeds separately for "
+                + retryIn + " ms");
+
+        for (Feed<?> feed : polled) {
+            feed.onPollFailed();
+        }
+        if (!isPolling || sessionManager == null) {
+            return;
+        }
+        SessionManager.Session session = sessionManager.getSession();
+        for (Feed<?> feed : polled) {
+            if (feed.isActive()) {
+                feed.poll(session);
             }
-        });
+        }
+    }
+
+    private void publishBundle(DashboardBundle bundle) {
+        if (dashboardFeed.isNewVersion(bundle.getProfileVersion()) && bundle.getProfile() != null) {
+            dashboardFeed.publish(bundle.getProfile(), bundle.getProfileVersion());
+        }
+        if (bookingRequestsFeed.isNewVersion(bundle.getPendingVersion()) && bundle.getPending() != null) {
+            publishBookingRequests(bundle.getPending(), bundle.getPendingVersion());
+        }
+        // null when there is no active booking
+        if (bookingStatusFeed.isNewVersion(bundle.getActiveBookingVersion())) {
+            bookingStatusFeed.publish(bundle.getActiveBooking(), bundle.getActiveBookingVersion());
+        }
+        if (earningsFeed.isNewVersion(bundle.getEarningsVersion()) && bundle.getEarnings() != null) {
+            earningsFeed.publish(bundle.getEarnings(), bundle.getEarningsVersion());
+        }
     }
 
     // User Bookings Polling
+    // Polls a projection only; subscribers reload their own data when it changes
     private void pollUserBookings(String userId) {
-        if (userBookingsListener == null) return;
-
-        Call<ApiResponse<List<Booking>>> call = apiService.getUserBookings(userId);
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        userBookingsListener.onUserBookingsUpdated(apiResponse.getData());
+        if (userId == null) return;
+
+        pollingEngine.request("user_bookings:" + userId, FEED_USER_BOOKINGS,
+                () -> apiService.getUserBookings(userId, null, null, USER_BOOKINGS_POLL_FIELDS),
+                new FeedSubscriber<ApiResponse<List<Booking>>>(userBookingsFeed, "user bookings") {
+                    @Override
+                    void onData(ApiResponse<List<Booking>> apiResponse) {
+                        if (apiResponse.isSuccess() && apiResponse.getData() != null) {
+                            userBookingsFeed.publish(apiResponse.getData());
+                        }
                     }
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
-                Log.e(TAG, "Error polling user bookings: " + t.getMessage());
-            }
-        });
+                });
     }
 
     // Operator Bookings Polling
     private void pollOperatorBookings(String operatorId) {
-        if (operatorBookingsListener == null) return;
-
-        Call<ApiResponse<List<Booking>>> call = apiService.getOperatorBookings(operatorId);
-        call.enqueue(new Callback<ApiResponse<List<Booking>>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<List<Booking>>> call, Response<ApiResponse<List<Booking>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Booking>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        operatorBookingsListener.onOperatorBookingsUpdated(apiResponse.getData());
+        if (operatorId == null) return;
+
+        pollingEngine.request("operator_bookings:" + operatorId, FEED_OPERATOR_BOOKINGS,
+                () -> apiService.getOperatorBookings(operatorId),
+                new FeedSubscriber<ApiResponse<List<Booking>>>(operatorBookingsFeed, "operator bookings") {
+                    @Override
+                    void onData(ApiResponse<List<Booking>> apiResponse) {
+                        if (apiResponse.isSuccess() && apiResponse.getData() != null) {
+                            operatorBookingsFeed.publish(apiResponse.getData());
+                        }
                     }
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ApiResponse<List<Booking>>> call, Throwable t) {
-                Log.e(TAG, "Error polling operator bookings: " + t.getMessage());
-            }
-        });
+                });
     }
 
     // Listener Interfaces
@@ -293,80 +659,266 @@ public class RealTimeDataManager {
     }
 
     public interface UserBookingsListener {
-        void onUserBookingsUpdated(List<Booking> bookings);
+        // The user's bookings changed on the server; reload what the screen shows
+        void onUserBookingsChanged();
     }
 
     public interface OperatorBookingsListener {
         void onOperatorBookingsUpdated(List<Booking> bookings);
     }
 
-    // Set Listeners
-    public void setDashboardListener(DashboardDataListener listener) {
-        this.dashboardListener = listener;
-    }
-
-    public void setBookingRequestListener(BookingRequestListener listener) {
-        this.bookingRequestListener = listener;
+    public PollingEngine getPollingEngine() {
+        return pollingEngine;
     }
 
-    public void setEarningsListener(EarningsDataListener listener) {
-        this.earningsListener = listener;
-    }
+    /**
+     * Interval and error counts of one feed, at the time of the call.
+     */
+    public static final class FeedStats {
+        public final String feed;
+        public final long polls;
+        public final long errors;
+        public final int consecutiveFailures;
+        // Delay planned after the feed's last request, 0 before the first one
+        public final long currentIntervalMs;
+
+        FeedStats(String feed, long polls, long errors, int consecutiveFailures, long currentIntervalMs) {
+            this.feed = feed;
+            this.polls = polls;
+            this.errors = errors;
+            this.consecutiveFailures = consecutiveFailures;
+            this.currentIntervalMs = currentIntervalMs;
+        }
 
-    public void setBookingStatusListener(BookingStatusListener listener) {
-        this.bookingStatusListener = listener;
+        @Override
+        public String toString() {
+            return feed + " polls=" + polls + " errors=" + errors
+                    + " failing=" + consecutiveFailures + " interval=" + currentIntervalMs + "ms";
+        }
     }
 
-    public void setUserBookingsListener(UserBookingsListener listener) {
-        this.userBookingsListener = listener;
+    public List<FeedStats> getFeedStats() {
+        List<FeedStats> stats = new ArrayList<>();
+        for (Feed<?> feed : feeds) {
+            stats.add(new FeedStats(feed.tag, feed.polls, feed.errors, feed.consecutiveFailures, feed.currentIntervalMs));
+        }
+        return stats;
     }
 
-    public void setOperatorBookingsListener(OperatorBookingsListener listener) {
-        this.operatorBookingsListener = listener;
+    /**
+     * Manually trigger immediate data refresh of the feeds that have started subscribers
+     */
+    public void refreshNow() {
+        if (sessionManager != null) {
+            pollActiveFeeds(sessionManager.getSession());
+        }
     }
 
-    // Remove Listeners
-    public void removeDashboardListener() {
-        this.dashboardListener = null;
-    }
+    /**
+     * Reports the outcome of a feed's request to its schedule; onData() gets changed responses.
+     */
+    private abstract class FeedSubscriber<R> implements PollingEngine.Subscriber<R> {
+        private final Feed<?> feed;
+        private final String what;
 
-    public void removeBookingRequestListener() {
-        this.bookingRequestListener = null;
-    }
+        FeedSubscriber(Feed<?> feed, String what) {
+            this.feed = feed;
+            this.what = what;
+        }
 
-    public void removeEarningsListener() {
-        this.earningsListener = null;
-    }
+        abstract void onData(R body);
 
-    public void removeBookingStatusListener() {
-        this.bookingStatusListener = null;
-    }
+        @Override
+        public void onChanged(R body) {
+            feed.onPollSucceeded();
+            onData(body);
+        }
 
-    public void removeUserBookingsListener() {
-        this.userBookingsListener = null;
-    }
+        @Override
+        public void onUnchanged() {
+            feed.onPollSucceeded();
+        }
 
-    public void removeOperatorBookingsListener() {
-        this.operatorBookingsListener = null;
+        @Override
+        public void onError(Throwable t) {
+            Log.e(TAG, "Error polling " + what + ": " + t.getMessage());
+            feed.onPollFailed();
+        }
     }
 
     /**
-     * Manually trigger immediate data refresh
+     * One polled resource with its subscribers, last value and schedule. Main thread only.
      */
-    public void refreshNow() {
-        if (sessionManager != null) {
-            String operatorId = sessionManager.getOperatorId();
-            if (operatorId != null) {
-                pollDashboardData(operatorId);
-                pollPendingBookings(operatorId);
-                pollEarnings(operatorId);
-                pollCurrentBooking(operatorId);
-                pollOperatorBookings(operatorId);
+    private final class Feed<T> {
+        final String tag;
+        final boolean fast;
+        final boolean replay;
+        final Consumer<SessionManager.Session> poller;
+        final List<Subscription<T>> subscriptions = new ArrayList<>();
+        T lastValue;
+        boolean hasValue;
+        long lastPolledAt;
+        // Bundle section version of lastValue, null when it came from the feed's own endpoint
+        String bundleVersion;
+
+        // Schedule
+        long nextDueAt;
+        int consecutiveFailures;
+        long currentIntervalMs;
+
+        // Metrics
+        long polls;
+        long errors;
+
+        Feed(String tag, boolean fast, boolean replay, Consumer<SessionManager.Session> poller) {
+            this.tag = tag;
+            this.fast = fast;
+            this.replay = replay;
+            this.poller = poller;
+        }
+
+        void subscribe(LifecycleOwner owner, Consumer<T> listener) {
+            if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+                return;
             }
-            String userId = sessionManager.getUserId();
-            if (userId != null) {
-                pollUserBookings(userId);
+            Subscription<T> subscription = new Subscription<>(this, listener);
+            subscriptions.add(subscription);
+            // Calls onStart() right away if the owner is already started
+            owner.getLifecycle().addObserver(subscription);
+        }
+
+        boolean isActive() {
+            for (Subscription<T> subscription : subscriptions) {
+                if (subscription.started) return true;
+            }
+            return false;
+        }
+
+        // Nothing to show yet, or older than a normal polling interval
+        boolean isStale() {
+            return !hasValue || SystemClock.elapsedRealtime() - lastPolledAt >= POLLING_INTERVAL;
+        }
+
+        void poll(SessionManager.Session session) {
+            markPolled();
+            poller.accept(session);
+        }
+
+        // Also scheduled right away, so a request that never completes still comes due again
+        void markPolled() {
+            lastPolledAt = SystemClock.elapsedRealtime();
+            polls++;
+            planNext();
+        }
+
+        void onPollSucceeded() {
+            consecutiveFailures = 0;
+            onPollDone();
+        }
+
+        void onPollFailed() {
+            consecutiveFailures++;
+            errors++;
+            onPollDone();
+        }
+
+        private void onPollDone() {
+            planNext();
+            if (isPolling) {
+                scheduleNextPoll();
             }
         }
+
+        private void planNext() {
+            currentIntervalMs = nextDelay(this);
+            nextDueAt = SystemClock.elapsedRealtime() + currentIntervalMs;
+        }
+
+        void resetBackoff() {
+            if (consecutiveFailures > 0) {
+                consecutiveFailures = 0;
+                nextDueAt = 0;
+            }
+        }
+
+        void publish(T value) {
+            publish(value, null);
+        }
+
+        void publish(T value, String version) {
+            lastValue = value;
+            hasValue = true;
+            bundleVersion = version;
+            // A subscriber may unsubscribe from its own callback
+            for (Subscription<T> subscription : new ArrayList<>(subscriptions)) {
+                if (subscription.started) {
+                    subscription.listener.accept(value);
+                }
+            }
+        }
+
+        boolean isNewVersion(String version) {
+            return version != null && !version.equals(bundleVersion);
+        }
+
+        void clear() {
+            lastValue = null;
+            hasValue = false;
+            bundleVersion = null;
+            lastPolledAt = 0;
+            nextDueAt = 0;
+            consecutiveFailures = 0;
+        }
+
+        void onStarted(Subscription<T> subscription) {
+            if (replay && hasValue) {
+                subscription.listener.accept(lastValue);
+            }
+            updatePolling();
+            // First subscriber, or the last value is old: fetch now instead of at the next tick
+            if (isPolling && sessionManager != null && isStale()) {
+                pollFeeds(sessionManager.getSession(), Collections.singletonList(this));
+            }
+        }
+
+        void onStopped() {
+            updatePolling();
+        }
+
+        void remove(Subscription<T> subscription) {
+            subscriptions.remove(subscription);
+            Log.d(TAG, "Feed " + tag + " now has " + subscriptions.size() + " subscriber(s)");
+        }
+    }
+
+    private static final class Subscription<T> implements DefaultLifecycleObserver {
+        final Feed<T> feed;
+        final Consumer<T> listener;
+        boolean started;
+
+        Subscription(Feed<T> feed, Consumer<T> listener) {
+            this.feed = feed;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onStart(LifecycleOwner owner) {
+            started = true;
+            feed.onStarted(this);
+        }
+
+        @Override
+        public void onStop(LifecycleOwner owner) {
+            started = false;
+            feed.onStopped();
+        }
+
+        @Override
+        public void onDestroy(LifecycleOwner owner) {
+            started = false;
+            owner.getLifecycle().removeObserver(this);
+            feed.remove(this);
+            feed.onStopped();
+        }
     }
 }
@@ -0,0 +1,159 @@
+package com.simats.eathmover.utils;
+
+import android.content.Context;
+import android.location.Address;
+import android.location.Geocoder;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinates to a display address, off the main thread.
+ *
+ * On API 33+ the asynchronous Geocoder.getFromLocation(..., GeocodeListener) is used; below
+ * that only the blocking overload exists, so it runs on a worker. Results are
+ * cached per geohash cell (GEOHASH_PRECISION, about 150 m) in a PersistentLruCache, so
+ * opening the dashboard again at the same place needs no lookup at all. When no address
+ * can be found the coordinates are returned as text (and not cached).
+ *
+ * The listener is called on the main thread.
+ */
+public class ReverseGeocoder {
+    private static final String TAG = "ReverseGeocoder";
+
+    private static final int GEOHASH_PRECISION = 7;
+    private static final int CACHE_ENTRIES = 100;
+    private static final long CACHE_TTL_MS = TimeUnit.DAYS.toMillis(30);
+    private static final String CACHE_FILE = "reverse_geocode.json";
+
+    public interface Listener {
+        /**
+         * @param resolved false when address is only the coordinates
+         */
+        void onAddress(String address, boolean resolved);
+    }
+
+    private static ReverseGeocoder instance;
+
+    private final Context context;
+    private final PersistentLruCache<String> cache;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private ReverseGeocoder(Context context) {
+        this.context = context;
+        cache = new PersistentLruCache<>(new File(context.getCacheDir(), CACHE_FILE),
+                CACHE_ENTRIES, CACHE_TTL_MS, String.class);
+        // Queued first, so every lookup sees the stored cells
+        worker.execute(cache::load);
+    }
+
+    public static synchronized ReverseGeocoder getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReverseGeocoder(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public void lookup(double latitude, double longitude, Listener listener) {
+        worker.execute(() -> {
+            // Cells are per language, addresses are localized
+            String key = Geohash.encode(latitude, longitude, GEOHASH_PRECISION) + ":" + Locale.getDefault().toLanguageTag();
+            String address = cache.get(key);
+            if (address != null) {
+                Log.d(TAG, "Cache hit for cell " + key);
+                deliver(latitude, longitude, address, listener);
+                return;
+            }
+            geocode(latitude, longitude, result -> worker.execute(() -> {
+                if (result != null) {
+                    cache.put(key, result);
+                }
+                deliver(latitude, longitude, result, listener);
+            }));
+        });
+    }
+
+    private interface GeocodeCallback {
+        void onResult(String address);
+    }
+
+    private void deliver(double latitude, double longitude, String address, Listener listener) {
+        boolean resolved = address != null;
+        String result = resolved ? address
+                : String.format(Locale.getDefault(), "%.4f, %.4f", latitude, longitude);
+        mainHandler.post(() -> listener.onAddress(result, resolved));
+    }
+
+    // Worker thread; the callback may run on a binder thread (API 33+) or right away
+    private void geocode(double latitude, double longitude, GeocodeCallback callback) {
+        if (!Geocoder.isPresent()) {
+            callback.onResult(null);
+            return;
+        }
+        Geocoder geocoder = new Geocoder(context, Locale.getDefault());
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU) {
+            callback.onResult(geocodeBlocking(geocoder, latitude, longitude));
+            return;
+        }
+        try {
+            geocoder.getFromLocation(latitude, longitude, 1, new Geocoder.GeocodeListener() {
+                @Override
+                public void onGeocode(List<Address> addresses) {
+                    callback.onResult(format(addresses));
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    Log.e(TAG, "Error getting address: " + errorMessage);
+                    callback.onResult(null);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "Error getting address: " + e.getMessage());
+            callback.onResult(null);
+        }
+    }
+
+    // Below API 33 the only option; blocks on the network, worker thread only
+    @SuppressWarnings("deprecation")
+    private String geocodeBlocking(Geocoder geocoder, double latitude, double longitude) {
+        try {
+            return format(geocoder.getFromLocation(latitude, longitude, 1));
+        } catch (IOException | IllegalArgumentException e) {
+            Log.e(TAG, "Error getting address: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String format(List<Address> addresses) {
+        if (addresses == null || addresses.isEmpty()) {
+            return null;
+        }
+        Address address = addresses.get(0);
+        StringBuilder addressString = new StringBuilder();
+
+        // Build address string
+        if (address.getAddressLine(0) != null) {
+            addressString.append(address.getAddressLine(0));
+        } else {
+            if (address.getLocality() != null) {
+                addressString.append(address.getLocality());
+            }
+            if (address.getAdminArea() != null) {
+                if (addressString.length() > 0) addressString.append(", ");
+                addressString.append(address.getAdminArea());
+            }
+        }
+        return addressString.length() > 0 ? addressString.toString() : null;
+    }
+}
@@ -2,8 +2,25 @@ package com.simats.eathmover.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The logged-in session, one per process.
+ *
+ * Readers get an immutable Session snapshot from memory; the preferences file is only read
+ * once, when the first instance is created. Writes replace the snapshot right away and are
+ * persisted with apply(), so login and logout never wait on the disk. Listeners are told on
+ * the main thread whenever the snapshot changes.
+ */
 public class SessionManager {
+    private static final String TAG = "SessionManager";
+
     private static final String PREF_NAME = "EathmoverSession";
     private static final String KEY_IS_LOGGED_IN = "isLoggedIn";
     private static final String KEY_USER_ID = "userId";
@@ -12,18 +29,98 @@ public class SessionManager {
     private static final String KEY_USER_EMAIL = "userEmail";
     private static final String KEY_USER_ROLE = "userRole"; // "user", "operator", "admin"
     private static final String KEY_OPERATOR_ID = "operatorId";
+    // Location last written to the server (user profile, or operator position)
+    private static final String KEY_SYNCED_LOCATION = "syncedLocation";
+    private static final String KEY_SYNCED_LAT = "syncedLatitude";
+    private static final String KEY_SYNCED_LON = "syncedLongitude";
+
+    public interface Listener {
+        void onSessionChanged(Session session);
+    }
+
+    /**
+     * What is stored for the session at one point in time.
+     */
+    public static final class Session {
+        public final boolean loggedIn;
+        public final String userId;
+        public final String operatorId;
+        public final String userName;
+        public final String userPhone;
+        public final String userEmail;
+        public final String userRole;
+        public final String syncedLocation;
+        public final double syncedLatitude;
+        public final double syncedLongitude;
+
+        // Reads SharedPreferences' in-memory map, already up to date after apply()
+        private Session(SharedPreferences pref) {
+            loggedIn = pref.getBoolean(KEY_IS_LOGGED_IN, false);
+            userId = pref.getString(KEY_USER_ID, null);
+            operatorId = pref.getString(KEY_OPERATOR_ID, null);
+            userName = pref.getString(KEY_USER_NAME, null);
+            userPhone = pref.getString(KEY_USER_PHONE, null);
+            userEmail = pref.getString(KEY_USER_EMAIL, null);
+            userRole = pref.getString(KEY_USER_ROLE, null);
+            syncedLocation = pref.getString(KEY_SYNCED_LOCATION, null);
+            syncedLatitude = Double.longBitsToDouble(pref.getLong(KEY_SYNCED_LAT, 0));
+            syncedLongitude = Double.longBitsToDouble(pref.getLong(KEY_SYNCED_LON, 0));
+        }
+
+        boolean sameAs(Session other) {
+            return loggedIn == other.loggedIn
+                    && Objects.equals(userId, other.userId)
+                    && Objects.equals(operatorId, other.operatorId)
+                    && Objects.equals(userName, other.userName)
+                    && Objects.equals(userPhone, other.userPhone)
+                    && Objects.equals(userEmail, other.userEmail)
+                    && Objects.equals(userRole, other.userRole)
+                    && Objects.equals(syncedLocation, other.syncedLocation)
+                    && syncedLatitude == other.syncedLatitude
+                    && syncedLongitude == other.syncedLongitude;
+        }
+    }
+
+    private static SessionManager instance;
 
-    private SharedPreferences pref;
-    private SharedPreferences.Editor editor;
-    private Context context;
+    private final Context context;
+    private final SharedPreferences pref;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Session session;
 
-    public SessionManager(Context context) {
+    private SessionManager(Context context) {
         this.context = context;
         pref = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        editor = pref.edit();
+        session = new Session(pref);
+    }
+
+    public static synchronized SessionManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new SessionManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * The current session; no I/O.
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
     }
 
     public void createLoginSession(String userId, String name, String phone, String email, String role) {
+        SharedPreferences.Editor editor = pref.edit();
         editor.putBoolean(KEY_IS_LOGGED_IN, true);
         editor.putString(KEY_USER_ID, userId);
         editor.putString(KEY_USER_NAME, name);
@@ -33,10 +130,11 @@ public class SessionManager {
         if ("operator".equals(role)) {
             editor.putString(KEY_OPERATOR_ID, userId);
         }
-        editor.commit();
+        save(editor);
     }
 
     public void createOperatorSession(String operatorId, String name, String phone, String email) {
+        SharedPreferences.Editor editor = pref.edit();
         editor.putBoolean(KEY_IS_LOGGED_IN, true);
         editor.putString(KEY_USER_ID, operatorId);
         editor.putString(KEY_OPERATOR_ID, operatorId);
@@ -44,50 +142,75 @@ public class SessionManager {
         editor.putString(KEY_USER_PHONE, phone);
         editor.putString(KEY_USER_EMAIL, email);
         editor.putString(KEY_USER_ROLE, "operator");
-        editor.commit();
+        save(editor);
     }
 
     public void createAdminSession(String adminId, String name, String email, String role) {
+        SharedPreferences.Editor editor = pref.edit();
         editor.putBoolean(KEY_IS_LOGGED_IN, true);
         editor.putString(KEY_USER_ID, adminId);
         editor.putString(KEY_USER_NAME, name);
         editor.putString(KEY_USER_EMAIL, email);
         editor.putString(KEY_USER_ROLE, role);
         editor.putString(KEY_USER_PHONE, ""); // Admin may not have phone
-        editor.commit();
+        save(editor);
     }
 
     public boolean isLoggedIn() {
-        return pref.getBoolean(KEY_IS_LOGGED_IN, false);
+        return session.loggedIn;
     }
 
     public String getUserId() {
-        return pref.getString(KEY_USER_ID, null);
+        return session.userId;
     }
 
     public String getOperatorId() {
-        return pref.getString(KEY_OPERATOR_ID, null);
+        return session.operatorId;
     }
 
     public String getUserName() {
-        return pref.getString(KEY_USER_NAME, null);
+        return session.userName;
     }
 
     public String getUserPhone() {
-        return pref.getString(KEY_USER_PHONE, null);
+        return session.userPhone;
     }
 
     public String getUserEmail() {
-        return pref.getString(KEY_USER_EMAIL, null);
+        return session.userEmail;
     }
 
     public String getUserRole() {
-        return pref.getString(KEY_USER_ROLE, null);
+        return session.userRole;
+    }
+
+    /**
+     * Remember the location just saved to the profile, so an unchanged one is not sent again.
+     */
+    public void setSyncedLocation(String location, double latitude, double longitude) {
+        SharedPreferences.Editor editor = pref.edit();
+        editor.putString(KEY_SYNCED_LOCATION, location);
+        editor.putLong(KEY_SYNCED_LAT, Double.doubleToRawLongBits(latitude));
+        editor.putLong(KEY_SYNCED_LON, Double.doubleToRawLongBits(longitude));
+        save(editor);
+    }
+
+    public String getSyncedLocation() {
+        return session.syncedLocation;
+    }
+
+    public double getSyncedLatitude() {
+        return session.syncedLatitude;
+    }
+
+    public double getSyncedLongitude() {
+        return session.syncedLongitude;
     }
 
     public void logout() {
-        editor.clear();
-        editor.commit();
+        save(pref.edit().clear());
+        // Stored bookings belong to this session
+        BookingRepository.getInstance(context).clear();
     }
 
     public boolean isOperator() {
@@ -101,10 +224,30 @@ public class SessionManager {
     public boolean isUser() {
         return "user".equals(getUserRole());
     }
-}
-
-
-
-
 
+    // apply() updates the preferences in memory at once and writes the file in the background
+    private void save(SharedPreferences.Editor editor) {
+        Session next;
+        synchronized (this) {
+            editor.apply();
+            Session previous = session;
+            next = new Session(pref);
+            if (next.sameAs(previous)) {
+                return;
+            }
+            session = next;
+        }
+        Log.d(TAG, "Session changed, logged in: " + next.loggedIn + ", role: " + next.userRole);
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            notifyListeners(next);
+        } else {
+            mainHandler.post(() -> notifyListeners(next));
+        }
+    }
 
+    private void notifyListeners(Session changed) {
+        for (Listener listener : listeners) {
+            listener.onSessionChanged(changed);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.simats.eathmover.adapters;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.simats.eathmover.R;
+import com.simats.eathmover.models.Booking;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * The booking list in a laid-out RecyclerView: a status-only change rebinds the status of
+ * that one row in its existing holder, and item IDs follow the booking, not the position.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class BookingAdapterTest {
+
+    private static final int ITEMS = 20;
+    private static final String[] STATUSES = {"Pending", "Accepted", "in_progress", "Completed", "Cancelled"};
+
+    // Written into a row's views by the test; a full bind replaces it
+    private static final String MARKER = "not rebound";
+
+    private Context context;
+    private RecyclerView recycler;
+    private CountingAdapter adapter;
+
+    @Before
+    public void setUp() throws Exception {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_Eathmover);
+        adapter = new CountingAdapter(context, bookings());
+        awaitItems(adapter, ITEMS);
+
+        recycler = new RecyclerView(context);
+        recycler.setLayoutManager(new LinearLayoutManager(context));
+        // No change animations, so an updated row is rebound in place
+        recycler.setItemAnimator(null);
+        recycler.setAdapter(adapter);
+        layout();
+    }
+
+    @Test
+    public void viewState_resolvesStatusOnce() {
+        Booking booking = booking(1);
+        booking.setStatus("IN_PROGRESS");
+        BookingViewState state = BookingViewState.from(booking);
+        assertEquals(BookingViewState.Status.IN_PROGRESS, state.status);
+        assertEquals(2L, state.stableId);
+        assertFalse(state.cancelable);
+
+        booking.setStatus("PENDING approval");
+        assertTrue(BookingViewState.from(booking).cancelable);
+    }
+
+    @Test
+    public void statusChange_rebindsOnlyTheStatusViews() throws Exception {
+        BookingAdapter.BookingViewHolder changed = holderAt(0);
+        BookingAdapter.BookingViewHolder unchanged = holderAt(2);
+        changed.tvMachineName.setText(MARKER);
+        unchanged.tvMachineName.setText(MARKER);
+        unchanged.tvStatus.setText(MARKER);
+        assertEquals(View.VISIBLE, changed.btnCancel.getVisibility());
+        int created = adapter.created;
+
+        List<Booking> update = bookings();
+        update.get(0).setStatus("Accepted");
+        submitAndLayout(update);
+
+        assertSame(changed, holderAt(0));
+        assertEquals("Accepted", changed.tvStatus.getText().toString());
+        assertEquals(View.GONE, changed.btnCancel.getVisibility());
+        assertEquals(MARKER, changed.tvMachineName.getText().toString());
+
+        assertSame(unchanged, holderAt(2));
+        assertEquals(MARKER, unchanged.tvMachineName.getText().toString());
+        assertEquals(MARKER, unchanged.tvStatus.getText().toString());
+
+        assertEquals(created, adapter.created);
+    }
+
+    @Test
+    public void detailChange_rebindsTheWholeRow() throws Exception {
+        BookingAdapter.BookingViewHolder changed = holderAt(1);
+        changed.tvMachineName.setText(MARKER);
+        int created = adapter.created;
+
+        List<Booking> update = bookings();
+        update.get(1).setMachineModel("JCB 4DX");
+        submitAndLayout(update);
+
+        assertSame(changed, holderAt(1));
+        assertEquals("JCB 4DX", changed.tvMachineName.getText().toString());
+        assertEquals(created, adapter.created);
+    }
+
+    @Test
+    public void itemIds_followTheBooking() throws Exception {
+        assertTrue(adapter.hasStableIds());
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(i + 1, adapter.getItemId(i));
+        }
+
+        List<Booking> reversed = bookings();
+        Collections.reverse(reversed);
+        submitAndLayout(reversed);
+
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(ITEMS - i, adapter.getItemId(i));
+        }
+    }
+
+    private BookingAdapter.BookingViewHolder holderAt(int position) {
+        BookingAdapter.BookingViewHolder holder =
+                (BookingAdapter.BookingViewHolder) recycler.findViewHolderForAdapterPosition(position);
+        assertNotNull("row " + position + " not laid out", holder);
+        return holder;
+    }
+
+    private void submitAndLayout(List<Booking> bookings) throws InterruptedException {
+        boolean[] committed = {false};
+        adapter.submitList(bookings, () -> committed[0] = true);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!committed[0] && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(5);
+        }
+        assertTrue("list not committed", committed[0]);
+        layout();
+    }
+
+    private void layout() {
+        recycler.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        recycler.layout(0, 0, 1080, 1920);
+    }
+
+    private static List<Booking> bookings() {
+        List<Booking> bookings = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            bookings.add(booking(i));
+        }
+        return bookings;
+    }
+
+    private static Booking booking(int i) {
+        Booking booking = new Booking();
+        booking.setBookingId(String.valueOf(i + 1));
+        booking.setMachineModel(i % 7 == 0 ? null : "JCB 3DX " + (i % 5));
+        booking.setMachineType("Backhoe Loader");
+        booking.setUserName("User " + i);
+        booking.setOperatorName(i % 3 == 0 ? null : "Operator " + (i % 40));
+        booking.setOperatorPhone("98400" + String.format("%05d", i));
+        booking.setBookingDate("2026-10-" + String.format("%02d", 1 + i % 28) + " 09:30:00");
+        booking.setStartTime("09:30");
+        booking.setEndTime("17:30");
+        booking.setTotalHours(1 + i % 8);
+        booking.setTotalAmount(1500.0 * (1 + i % 8));
+        booking.setLocation(i % 11 == 0 ? null : "Site " + i + ", Chennai");
+        booking.setStatus(STATUSES[i % STATUSES.length]);
+        return booking;
+    }
+
+    private static void awaitItems(BookingAdapter adapter, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (adapter.getItemCount() != count && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(5);
+        }
+        assertEquals(count, adapter.getItemCount());
+    }
+
+    // Counts inflated holders
+    private static class CountingAdapter extends BookingAdapter {
+        int created;
+
+        CountingAdapter(Context context, List<Booking> bookings) {
+            super(context, bookings);
+        }
+
+        @Override
+        public BookingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            created++;
+            return super.onCreateViewHolder(parent, viewType);
+        }
+    }
+}
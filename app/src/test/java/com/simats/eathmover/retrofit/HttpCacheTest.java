@@ -0,0 +1,126 @@
+package com.simats.eathmover.retrofit;
+
+import com.simats.eathmover.models.MachineCatalogResponse;
+import com.simats.eathmover.utils.ApiJson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * HttpCache on the API client, against MockWebServer: a catalog answered with validators is
+ * revalidated, and a 304 hands the stored body to Retrofit. Robolectric for android.util.Log.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class HttpCacheTest {
+
+    private static final String CATALOG = "{\"success\":true,\"catalog_version\":\"2024-05-01 10:00:00|2\","
+            + "\"data\":[{\"machine_id\":1,\"category_id\":1,\"model_name\":\"JCB 3DX\",\"price_per_hour\":1500},"
+            + "{\"machine_id\":2,\"category_id\":1,\"model_name\":\"JCB 4DX\",\"price_per_hour\":1800}]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private Cache cache;
+    private ApiService api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cache = new Cache(folder.newFolder("http"), 1024 * 1024);
+        OkHttpClient client = HttpCache.install(new OkHttpClient.Builder(), cache).build();
+        // Same converter as RetrofitClient
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(ApiJson.gson()))
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        cache.close();
+    }
+
+    @Test
+    public void unchangedCatalog_revalidatedAndServedFromCache() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("ETag", "W/\"catalog-1\"")
+                .setHeader("Cache-Control", "private, no-cache")
+                .setBody(CATALOG));
+        server.enqueue(new MockResponse()
+                .setResponseCode(304)
+                .setHeader("ETag", "W/\"catalog-1\""));
+        long notModifiedBefore = HttpCache.getNotModified();
+
+        Response<MachineCatalogResponse> first = api.getMachineCatalog(1).execute();
+        Response<MachineCatalogResponse> second = api.getMachineCatalog(1).execute();
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest();
+        assertEquals("W/\"catalog-1\"", revalidation.getHeader("If-None-Match"));
+        assertNull(revalidation.getRequestUrl().queryParameter("last_updated"));
+
+        assertFalse(HttpCache.isNotModified(first.raw()));
+        assertTrue(HttpCache.isNotModified(second.raw()));
+        assertEquals(200, second.code());
+        assertEquals(2, second.body().getData().size());
+        assertEquals("JCB 4DX", second.body().getData().get(1).getModelName());
+
+        assertEquals(notModifiedBefore + 1, HttpCache.getNotModified());
+        assertTrue(HttpCache.getHitRate() > 0);
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    public void responseWithoutValidators_notStored() throws Exception {
+        server.enqueue(new MockResponse().setBody(CATALOG));
+        server.enqueue(new MockResponse().setBody(CATALOG));
+
+        api.getMachineCatalog(1).execute();
+        Response<MachineCatalogResponse> second = api.getMachineCatalog(1).execute();
+
+        server.takeRequest();
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        assertFalse(HttpCache.isNotModified(second.raw()));
+        assertEquals(0, cache.writeSuccessCount());
+    }
+
+    @Test
+    public void cacheOnlyOnTheApiClient() {
+        RetrofitClient.init(RuntimeEnvironment.getApplication());
+        OkHttpClient shared = RetrofitClient.getHttpClient();
+        OkHttpClient apiClient = (OkHttpClient) RetrofitClient.getClient().callFactory();
+
+        // Clients derived from the shared one (images, long-poll) must not inherit it
+        assertNull(shared.cache());
+        for (Interceptor interceptor : shared.networkInterceptors()) {
+            assertFalse(interceptor instanceof HttpCache.ValidatedOnlyInterceptor);
+        }
+        assertNotNull(apiClient.cache());
+        assertSame(shared.connectionPool(), apiClient.connectionPool());
+    }
+}
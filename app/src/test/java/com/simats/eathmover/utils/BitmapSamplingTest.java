@@ -0,0 +1,52 @@
+package com.simats.eathmover.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the photo ingest size arithmetic.
+ */
+public class BitmapSamplingTest {
+
+    // Same as ImageIngestor.DEFAULT_MAX_SIZE (that class needs a Looper, so it is not loaded here)
+    private static final int MAX_SIZE = 1024;
+
+    // Common camera resolutions: 8, 12, 48 and 108 MP
+    private static final int[][] PHOTOS = {
+            {3264, 2448},
+            {4032, 3024},
+            {8000, 6000},
+            {12000, 9000}
+    };
+
+    @Test
+    public void inSampleSize_keepsLongestSideAtOrAboveTarget() {
+        assertEquals(1, BitmapSampling.calculateInSampleSize(800, 600, MAX_SIZE));
+        assertEquals(1, BitmapSampling.calculateInSampleSize(1024, 768, MAX_SIZE));
+        assertEquals(2, BitmapSampling.calculateInSampleSize(2048, 1536, MAX_SIZE));
+        assertEquals(2, BitmapSampling.calculateInSampleSize(4032, 3024, MAX_SIZE));
+        assertEquals(2, BitmapSampling.calculateInSampleSize(3024, 4032, MAX_SIZE));
+        assertEquals(4, BitmapSampling.calculateInSampleSize(8000, 6000, MAX_SIZE));
+        assertEquals(8, BitmapSampling.calculateInSampleSize(12000, 9000, MAX_SIZE));
+
+        for (int[] photo : PHOTOS) {
+            int sample = BitmapSampling.calculateInSampleSize(photo[0], photo[1], MAX_SIZE);
+            int longest = Math.max(photo[0], photo[1]);
+            assertTrue(longest / sample >= MAX_SIZE);
+            assertTrue(longest / (sample * 2) < MAX_SIZE);
+        }
+    }
+
+    @Test
+    public void targetSize_capsLongestSideAndKeepsAspect() {
+        assertArrayEquals(new int[]{1024, 768}, BitmapSampling.targetSize(4032, 3024, MAX_SIZE));
+        assertArrayEquals(new int[]{768, 1024}, BitmapSampling.targetSize(3024, 4032, MAX_SIZE));
+        assertArrayEquals(new int[]{640, 480}, BitmapSampling.targetSize(640, 480, MAX_SIZE));
+    }
+
+    @Test
+    public void smallPhoto_needsNoCopy() {
+        assertEquals(BitmapSampling.bitmapBytes(800, 600), BitmapSampling.peakBytes(800, 600, MAX_SIZE));
+    }
+}
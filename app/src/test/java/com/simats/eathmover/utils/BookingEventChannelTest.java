@@ -0,0 +1,100 @@
+package com.simats.eathmover.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the long-poll booking event channel, using MockWebServer.
+ */
+public class BookingEventChannelTest {
+
+    private MockWebServer server;
+    private BookingEventChannel channel;
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        channel = new BookingEventChannel(new OkHttpClient(), server.url("/api/").toString(),
+                new BookingEventChannel.Listener() {
+                    @Override
+                    public void onBookingsChanged(String version) {
+                        events.add("changed:" + version);
+                    }
+
+                    @Override
+                    public void onConnected() {
+                        events.add("connected");
+                    }
+
+                    @Override
+                    public void onDisconnected(Throwable error) {
+                        events.add("disconnected");
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        channel.stop();
+        server.shutdown();
+    }
+
+    @Test
+    public void reportsChangeOnceAndSendsVersionBack() throws Exception {
+        server.enqueue(json("{\"success\":true,\"changed\":false,\"version\":\"v1\"}"));
+        server.enqueue(json("{\"success\":true,\"changed\":true,\"version\":\"v2\"}"));
+        // Keep the third long-poll open until the test finishes
+        server.enqueue(json("{\"success\":true,\"changed\":false,\"version\":\"v2\"}")
+                .setHeadersDelay(10, TimeUnit.SECONDS));
+
+        channel.start("42");
+
+        assertEquals("connected", events.poll(5, TimeUnit.SECONDS));
+        assertEquals("changed:v2", events.poll(5, TimeUnit.SECONDS));
+        assertTrue(channel.isConnected());
+
+        RecordedRequest first = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("/api/operator/events.php", first.getRequestUrl().encodedPath());
+        assertEquals("42", first.getRequestUrl().queryParameter("operator_id"));
+        assertNull(first.getRequestUrl().queryParameter("since"));
+
+        RecordedRequest second = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("v1", second.getRequestUrl().queryParameter("since"));
+    }
+
+    @Test
+    public void reportsDisconnectSoCallerFallsBackToPolling() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(json("{\"success\":true,\"changed\":false,\"version\":\"v1\"}"));
+        server.enqueue(json("{\"success\":true,\"changed\":false,\"version\":\"v1\"}")
+                .setHeadersDelay(10, TimeUnit.SECONDS));
+
+        channel.start("42");
+
+        assertEquals("disconnected", events.poll(5, TimeUnit.SECONDS));
+        assertFalse(channel.isConnected());
+        // Retries after backoff and recovers
+        assertEquals("connected", events.poll(5, TimeUnit.SECONDS));
+        assertTrue(channel.isConnected());
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+}
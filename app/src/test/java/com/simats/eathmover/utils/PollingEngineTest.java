@@ -0,0 +1,68 @@
+package com.simats.eathmover.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for PollingEngine's body fingerprinting, using MockWebServer.
+ */
+public class PollingEngineTest {
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new PollingEngine.FingerprintInterceptor())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void fingerprintFollowsTheBody_andLeavesItReadable() throws Exception {
+        String big = "{\"data\":\"" + new String(new char[100_000]).replace('\0', 'x') + "\"}";
+        server.enqueue(new MockResponse().setBody(big));
+        server.enqueue(new MockResponse().setBody(big));
+        server.enqueue(new MockResponse().setBody(big.replace("\"}", "y\"}")));
+
+        String[] fingerprints = new String[3];
+        for (int i = 0; i < 3; i++) {
+            try (Response response = client.newCall(new Request.Builder().url(server.url("/poll")).build()).execute()) {
+                fingerprints[i] = response.header(PollingEngine.FINGERPRINT_HEADER);
+                String body = response.body().string();
+                assertEquals(i < 2 ? big : big.replace("\"}", "y\"}"), body);
+            }
+        }
+        assertNotNull(fingerprints[0]);
+        assertEquals(fingerprints[0], fingerprints[1]);
+        assertNotEquals(fingerprints[0], fingerprints[2]);
+    }
+
+    @Test
+    public void etagOrErrorResponses_notHashed() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("{}"));
+
+        for (int i = 0; i < 2; i++) {
+            try (Response response = client.newCall(new Request.Builder().url(server.url("/poll")).build()).execute()) {
+                assertNull(response.header(PollingEngine.FINGERPRINT_HEADER));
+            }
+        }
+    }
+}
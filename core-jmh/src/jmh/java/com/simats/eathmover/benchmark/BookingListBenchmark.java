@@ -0,0 +1,74 @@
+package com.simats.eathmover.benchmark;
+
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.utils.ApiJson;
+import com.simats.eathmover.utils.BookingFilters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The booking list paths of the booking screens: counters, a status filter, and sorting
+ * newest first (from server order, and from shuffled rows such as merged pages).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingListBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private List<Booking> bookings;
+    private List<Booking> shuffled;
+
+    @Setup
+    public void setUp() throws IOException {
+        bookings = ApiJson.parseBookings(new StringReader(LiveBookingsPayload.generate(rows, 42))).getData();
+        shuffled = new ArrayList<>(bookings);
+        Collections.shuffle(shuffled, new Random(7));
+    }
+
+    @Benchmark
+    public BookingFilters.Counts count() {
+        return BookingFilters.count(bookings);
+    }
+
+    @Benchmark
+    public List<Booking> filterPending() {
+        return BookingFilters.filter(bookings, BookingFilters.FILTER_PENDING);
+    }
+
+    @Benchmark
+    public List<Booking> filterActive() {
+        return BookingFilters.filter(bookings, BookingFilters.FILTER_ACTIVE);
+    }
+
+    @Benchmark
+    public List<Booking> sortSorted() {
+        List<Booking> copy = new ArrayList<>(bookings);
+        BookingFilters.sortNewestFirst(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Booking> sortShuffled() {
+        List<Booking> copy = new ArrayList<>(shuffled);
+        BookingFilters.sortNewestFirst(copy);
+        return copy;
+    }
+}
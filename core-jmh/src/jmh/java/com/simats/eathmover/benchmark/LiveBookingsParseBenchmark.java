@@ -0,0 +1,67 @@
+package com.simats.eathmover.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.utils.ApiJson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a get_live_bookings response body into bookings:
+ * - reflective: Gson binding ApiResponse and Booking by reflection (the converter before)
+ * - streaming: ApiJson, one pass with the hand-written adapters (the converter now)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LiveBookingsParseBenchmark {
+
+    private static final Type RESPONSE_TYPE = new TypeToken<ApiResponse<List<Booking>>>() {}.getType();
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private byte[] body;
+    private Gson reflective;
+
+    @Setup
+    public void setUp() {
+        body = LiveBookingsPayload.generate(rows, 42).getBytes(StandardCharsets.UTF_8);
+        reflective = new GsonBuilder().setLenient().serializeNulls().create();
+    }
+
+    // From bytes, like a response body, so decoding is part of the cost
+    private Reader body() {
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Booking> reflective() {
+        ApiResponse<List<Booking>> response = reflective.fromJson(body(), RESPONSE_TYPE);
+        return response.getData();
+    }
+
+    @Benchmark
+    public List<Booking> streaming() throws IOException {
+        return ApiJson.parseBookings(body()).getData();
+    }
+}
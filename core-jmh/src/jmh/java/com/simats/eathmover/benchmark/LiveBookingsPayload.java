@@ -0,0 +1,63 @@
+package com.simats.eathmover.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Synthetic admin/get_live_bookings.php responses: same fields, types and order as the
+ * PHP (newest first, numeric ids, total_hours as int and total_amount as float).
+ */
+final class LiveBookingsPayload {
+
+    private static final String[] STATUSES = {
+            "Pending", "Pending Approval", "Accepted", "In Progress", "Completed",
+            "Completed", "Cancelled", "Rejected", "Declined"};
+    private static final String[] MACHINES = {"JCB 3DX Super", "CAT 320D Excavator", "Komatsu D65 Dozer", "JCB 4DX"};
+    private static final String[] TYPES = {"JCB", "Excavator", "Dozer", "JCB"};
+    private static final String[] PLACES = {"Anna Nagar, Chennai", "Andheri East, Mumbai",
+            "Whitefield, Bengaluru", "Dwarka, New Delhi", "Gachibowli, Hyderabad"};
+
+    private LiveBookingsPayload() {}
+
+    static String generate(int rows, long seed) {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(rows * 420 + 100);
+        json.append("{\"success\":true,\"message\":\"Bookings retrieved successfully\",\"data\":[");
+        // One booking every few minutes, counting back from the newest
+        long minute = 60L * 24 * 365;
+        for (int i = 0; i < rows; i++) {
+            minute -= 1 + random.nextInt(5);
+            int machine = random.nextInt(MACHINES.length);
+            int hours = 1 + random.nextInt(10);
+            if (i > 0) json.append(',');
+            json.append("{\"booking_id\":").append(rows - i)
+                    .append(",\"user_id\":").append(1 + random.nextInt(5000))
+                    .append(",\"operator_id\":").append(1 + random.nextInt(800))
+                    .append(",\"machine_id\":").append(1 + machine)
+                    .append(",\"booking_date\":\"").append(timestamp(minute)).append('"')
+                    .append(",\"total_hours\":").append(hours)
+                    .append(",\"total_amount\":").append(hours * (800 + 200 * machine))
+                    .append(",\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)]).append('"')
+                    .append(",\"location\":\"").append(PLACES[random.nextInt(PLACES.length)]).append('"')
+                    .append(",\"user_name\":\"User ").append(random.nextInt(5000)).append('"')
+                    .append(",\"user_phone\":\"98").append(10_000_000 + random.nextInt(89_999_999)).append('"')
+                    .append(",\"operator_name\":\"Operator ").append(random.nextInt(800)).append('"')
+                    .append(",\"operator_phone\":\"97").append(10_000_000 + random.nextInt(89_999_999)).append('"')
+                    .append(",\"machine_model\":\"").append(MACHINES[machine]).append('"')
+                    .append(",\"machine_type\":\"").append(TYPES[machine]).append('"')
+                    .append(",\"machine_image\":\"uploads\\/machines\\/machine_").append(machine + 1).append(".jpg\"}");
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    // Minutes since 2024-01-01 00:00 as "yyyy-MM-dd HH:mm:ss" (30-day months are enough here)
+    private static String timestamp(long minutes) {
+        long days = minutes / (60 * 24);
+        int month = (int) (days / 30) % 12 + 1;
+        int day = (int) (days % 30) + 1;
+        int year = 2024 + (int) (days / 360);
+        return String.format(Locale.ROOT, "%04d-%02d-%02d %02d:%02d:00",
+                year, month, day, (minutes / 60) % 24, minutes % 60);
+    }
+}
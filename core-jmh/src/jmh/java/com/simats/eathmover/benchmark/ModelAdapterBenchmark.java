@@ -0,0 +1,98 @@
+package com.simats.eathmover.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.simats.eathmover.json.ModelAdapterFactory;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.Earnings;
+import com.simats.eathmover.models.OperatorProfile;
+import com.simats.eathmover.models.ReportsData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson's reflective binding against the model adapters (ModelAdapterFactory):
+ * - firstParse: a new Gson parsing the responses of a dashboard load, so the cost of
+ *   building the adapters on first use is included
+ * - parseBookings / writeBookings: a booking list through an already warm Gson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModelAdapterBenchmark {
+
+    private static final Type PROFILE = new TypeToken<ApiResponse<OperatorProfile>>() {}.getType();
+    private static final Type EARNINGS = new TypeToken<ApiResponse<Earnings>>() {}.getType();
+    private static final Type REPORTS = new TypeToken<ApiResponse<ReportsData>>() {}.getType();
+    private static final Type BOOKINGS = new TypeToken<ApiResponse<List<Booking>>>() {}.getType();
+
+    private static final String PROFILE_JSON = "{\"success\":true,\"message\":\"Profile retrieved\",\"data\":"
+            + "{\"operator_id\":\"42\",\"name\":\"Operator 42\",\"phone\":\"9712345678\",\"email\":\"op42@example.com\","
+            + "\"address\":\"Anna Nagar, Chennai\",\"experience_years\":6,\"total_bookings\":118,\"rating\":4.6,"
+            + "\"machines\":\"JCB,Excavator\",\"profile_image\":\"uploads\\/profiles\\/operator_42.jpg\","
+            + "\"status\":\"available\",\"license_number\":\"TN0120190001234\",\"license_expiry\":\"2029-03-31\","
+            + "\"latitude\":13.085,\"longitude\":80.2101}}";
+    private static final String EARNINGS_JSON = "{\"success\":true,\"message\":\"ok\",\"data\":"
+            + "{\"total_earnings\":245000.5,\"this_month\":32000,\"last_month\":28750.25,\"total_transactions\":118}}";
+    private static final String REPORTS_JSON = "{\"success\":true,\"message\":\"ok\",\"data\":"
+            + "{\"active_users\":5120,\"new_users\":312,\"active_users_change\":\"+4.2%\",\"new_users_change\":\"-1.0%\","
+            + "\"total_revenue\":8450000,\"avg_booking_value\":4200.75,\"revenue_change\":\"+8.1%\","
+            + "\"avg_booking_change\":\"+0.4%\",\"total_bookings\":2011,\"bookings_change\":\"+6.3%\","
+            + "\"most_booked_machine\":\"JCB 3DX Super\",\"machine_bookings_count\":640,\"active_operators\":412,"
+            + "\"operators_change\":\"+2.0%\",\"top_operator\":\"Operator 42\",\"operator_bookings_count\":118}}";
+
+    @Param({"reflective", "adapters"})
+    public String binding;
+
+    private Gson gson;
+    private String bookingsJson;
+    private ApiResponse<List<Booking>> bookings;
+
+    @Setup
+    public void setUp() {
+        gson = newGson();
+        bookingsJson = LiveBookingsPayload.generate(1000, 42);
+        bookings = gson.fromJson(bookingsJson, BOOKINGS);
+    }
+
+    private Gson newGson() {
+        GsonBuilder builder = new GsonBuilder().setLenient().serializeNulls();
+        if ("adapters".equals(binding)) {
+            builder.registerTypeAdapterFactory(new ModelAdapterFactory());
+        }
+        return builder.create();
+    }
+
+    @Benchmark
+    public Object firstParse() {
+        Gson fresh = newGson();
+        ApiResponse<OperatorProfile> profile = fresh.fromJson(PROFILE_JSON, PROFILE);
+        ApiResponse<Earnings> earnings = fresh.fromJson(EARNINGS_JSON, EARNINGS);
+        ApiResponse<ReportsData> reports = fresh.fromJson(REPORTS_JSON, REPORTS);
+        return profile.getData().getRating() + earnings.getData().getThisMonth() + reports.getData().getTotalBookings();
+    }
+
+    @Benchmark
+    public List<Booking> parseBookings() {
+        ApiResponse<List<Booking>> response = gson.fromJson(bookingsJson, BOOKINGS);
+        return response.getData();
+    }
+
+    @Benchmark
+    public String writeBookings() {
+        return gson.toJson(bookings, BOOKINGS);
+    }
+}
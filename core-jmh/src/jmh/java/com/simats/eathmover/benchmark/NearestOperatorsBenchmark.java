@@ -0,0 +1,125 @@
+package com.simats.eathmover.benchmark;
+
+import com.simats.eathmover.models.OperatorProfile;
+import com.simats.eathmover.utils.GeoGridIndex;
+import com.simats.eathmover.utils.NearestOperators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-operator search (k = NearestOperators.DEFAULT_K) with the grid index, against
+ * scanning every operator, plus building the index. Half the operators sit around a few
+ * cities, the rest anywhere in mainland India; each call takes the next query point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NearestOperatorsBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final String[] TYPES = {"JCB", "Excavator", "Dozer", "JCB, Excavator"};
+    private static final String[] STATUSES = {"available", "available", "available", "busy", "offline"};
+    private static final double MIN_LAT = 8, MAX_LAT = 32, MIN_LON = 68, MAX_LON = 92;
+    private static final double[][] CITIES = {{13.08, 80.27}, {19.07, 72.88}, {28.61, 77.21}, {12.97, 77.59}};
+
+    @Param({"10000", "100000"})
+    public int operators;
+
+    private List<OperatorProfile> all;
+    private GeoGridIndex<OperatorProfile> index;
+    private double[][] points;
+    private String[] types;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        all = new ArrayList<>(operators);
+        for (int i = 0; i < operators; i++) {
+            double[] point;
+            if (i % 2 == 0) {
+                double[] city = CITIES[random.nextInt(CITIES.length)];
+                point = new double[]{city[0] + random.nextGaussian() * 0.3, city[1] + random.nextGaussian() * 0.3};
+            } else {
+                point = randomPoint(random);
+            }
+            OperatorProfile operator = new OperatorProfile();
+            operator.setOperatorId(String.valueOf(i + 1));
+            operator.setLatitude(point[0]);
+            operator.setLongitude(point[1]);
+            operator.setMachines(TYPES[random.nextInt(TYPES.length)]);
+            operator.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            all.add(operator);
+        }
+        index = NearestOperators.index(all);
+
+        points = new double[QUERIES][];
+        types = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            points[i] = randomPoint(random);
+            types[i] = TYPES[random.nextInt(3)];
+        }
+    }
+
+    @Benchmark
+    public GeoGridIndex<OperatorProfile> buildIndex() {
+        return NearestOperators.index(all);
+    }
+
+    @Benchmark
+    public List<OperatorProfile> findIndexed() {
+        int i = next++ & (QUERIES - 1);
+        return NearestOperators.find(index, points[i][0], points[i][1], types[i], NearestOperators.DEFAULT_K);
+    }
+
+    @Benchmark
+    public List<OperatorProfile> findLinearScan() {
+        int i = next++ & (QUERIES - 1);
+        return linearScan(points[i][0], points[i][1], types[i], NearestOperators.DEFAULT_K);
+    }
+
+    // Every operator's distance, keeping the k nearest that can serve (same rules as NearestOperators)
+    private List<OperatorProfile> linearScan(double lat, double lon, String machineType, int k) {
+        String type = machineType.toLowerCase(Locale.ROOT);
+        List<OperatorProfile> nearest = new ArrayList<>(k + 1);
+        List<Double> distances = new ArrayList<>(k + 1);
+        for (OperatorProfile operator : all) {
+            String status = operator.getStatus();
+            if (status != null && !status.isEmpty() && !"available".equalsIgnoreCase(status)) continue;
+            if (!operator.getMachines().toLowerCase(Locale.ROOT).contains(type)) continue;
+            double distance = GeoGridIndex.distanceKm(lat, lon, operator.getLatitude(), operator.getLongitude());
+            if (distance > NearestOperators.MAX_DISTANCE_KM) continue;
+            int at = distances.size();
+            while (at > 0 && distances.get(at - 1) > distance) at--;
+            if (at < k) {
+                distances.add(at, distance);
+                nearest.add(at, operator);
+                if (distances.size() > k) {
+                    distances.remove(k);
+                    nearest.remove(k);
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private static double[] randomPoint(Random random) {
+        return new double[]{
+                MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+                MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON)
+        };
+    }
+}
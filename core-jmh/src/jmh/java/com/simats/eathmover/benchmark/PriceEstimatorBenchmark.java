@@ -0,0 +1,33 @@
+package com.simats.eathmover.benchmark;
+
+import com.simats.eathmover.utils.PriceEstimator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One estimate per duration picker tick: the screens recompute the total on every change,
+ * so it has to stay far below a frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceEstimatorBenchmark {
+
+    // Defaults of PricingRules / api/includes/pricing.php
+    private final PriceEstimator estimator = new PriceEstimator(0.18, 60, 15, 0);
+
+    private int tick;
+
+    @Benchmark
+    public PriceEstimator.Estimate estimate() {
+        int i = tick++;
+        return estimator.estimate(1200 + (i & 7), i % 1440);
+    }
+}
@@ -0,0 +1,15 @@
+plugins {
+    `java-library`
+}
+
+// Models, parsing and booking/pricing/geo logic without Android types, so they can be
+// unit tested and benchmarked (:core-jmh) on a plain JVM
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    api(libs.gson)
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,74 @@
+package com.simats.eathmover.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Scalar reads for the model TypeAdapters, with the same coercions as Gson's
+ * reflective binding: numbers into String fields, numeric strings into number fields,
+ * "true"/"false" strings into booleans, and null leaving a primitive field untouched
+ * (the nullable variants return null instead).
+ */
+public final class JsonValues {
+
+    private JsonValues() {}
+
+    /**
+     * True (and the null consumed) if the next value is null.
+     */
+    public static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    public static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    public static Integer nextInteger(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextInt();
+    }
+
+    public static Long nextLongObject(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextLong();
+    }
+
+    public static Double nextDoubleObject(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextDouble();
+    }
+
+    /**
+     * A boolean, also from "true"/"false" strings; call after skipNull().
+     */
+    public static boolean nextBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    public static Boolean nextBooleanObject(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+}
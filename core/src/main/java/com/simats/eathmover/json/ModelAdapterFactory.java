@@ -0,0 +1,136 @@
+package com.simats.eathmover.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.simats.eathmover.models.Admin;
+import com.simats.eathmover.models.AdminTypeAdapter;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.ApiResponseTypeAdapter;
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingCounts;
+import com.simats.eathmover.models.BookingCountsTypeAdapter;
+import com.simats.eathmover.models.BookingEvents;
+import com.simats.eathmover.models.BookingEventsTypeAdapter;
+import com.simats.eathmover.models.BookingSyncResponse;
+import com.simats.eathmover.models.BookingSyncResponseTypeAdapter;
+import com.simats.eathmover.models.BookingTypeAdapter;
+import com.simats.eathmover.models.DashboardBundle;
+import com.simats.eathmover.models.DashboardBundleTypeAdapter;
+import com.simats.eathmover.models.Earnings;
+import com.simats.eathmover.models.EarningsTypeAdapter;
+import com.simats.eathmover.models.GenericResponse;
+import com.simats.eathmover.models.GenericResponseTypeAdapter;
+import com.simats.eathmover.models.LoginDataTypeAdapter;
+import com.simats.eathmover.models.LoginRequest;
+import com.simats.eathmover.models.LoginRequestTypeAdapter;
+import com.simats.eathmover.models.LoginResponse;
+import com.simats.eathmover.models.LoginResponseTypeAdapter;
+import com.simats.eathmover.models.Machine;
+import com.simats.eathmover.models.MachineCatalogResponse;
+import com.simats.eathmover.models.MachineCatalogResponseTypeAdapter;
+import com.simats.eathmover.models.MachineRequest;
+import com.simats.eathmover.models.MachineRequestTypeAdapter;
+import com.simats.eathmover.models.MachineTypeAdapter;
+import com.simats.eathmover.models.NominatimResult;
+import com.simats.eathmover.models.NominatimResultTypeAdapter;
+import com.simats.eathmover.models.Operator;
+import com.simats.eathmover.models.OperatorLicenseRequest;
+import com.simats.eathmover.models.OperatorLicenseRequestTypeAdapter;
+import com.simats.eathmover.models.OperatorProfile;
+import com.simats.eathmover.models.OperatorProfileTypeAdapter;
+import com.simats.eathmover.models.OperatorTypeAdapter;
+import com.simats.eathmover.models.OperatorVerification;
+import com.simats.eathmover.models.OperatorVerificationTypeAdapter;
+import com.simats.eathmover.models.PasswordResetConfirm;
+import com.simats.eathmover.models.PasswordResetConfirmTypeAdapter;
+import com.simats.eathmover.models.PasswordResetRequest;
+import com.simats.eathmover.models.PasswordResetRequestTypeAdapter;
+import com.simats.eathmover.models.PricingResponse;
+import com.simats.eathmover.models.PricingResponseTypeAdapter;
+import com.simats.eathmover.models.PricingRules;
+import com.simats.eathmover.models.PricingRulesTypeAdapter;
+import com.simats.eathmover.models.ReportsData;
+import com.simats.eathmover.models.ReportsDataTypeAdapter;
+import com.simats.eathmover.models.SignUpResponse;
+import com.simats.eathmover.models.SignUpResponseTypeAdapter;
+import com.simats.eathmover.models.UploadResult;
+import com.simats.eathmover.models.UploadResultTypeAdapter;
+import com.simats.eathmover.models.User;
+import com.simats.eathmover.models.UserData;
+import com.simats.eathmover.models.UserDataTypeAdapter;
+import com.simats.eathmover.models.UserTypeAdapter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Hands Gson the reflection-free adapters for every class in models, so no reflective
+ * adapter is built on the first response of a kind and none is used per parse.
+ *
+ * The adapters (models/*TypeAdapter) live next to the models and read and write every
+ * field through its accessor, in declaration order, subclass fields first: the same JSON as
+ * Gson's reflective binding, which ModelAdaptersTest checks field by field. Where a public
+ * getter applies a fallback, or a model has no public accessor, the model has a
+ * package-private one for its adapter. A field added to a model needs its line in that
+ * model's adapter.
+ *
+ * Only exact classes are matched; a subclass of a model needs its own adapter.
+ */
+public final class ModelAdapterFactory implements TypeAdapterFactory {
+
+    private static final Map<Class<?>, Function<Gson, TypeAdapter<?>>> ADAPTERS = new HashMap<>();
+
+    static {
+        ADAPTERS.put(Admin.class, gson -> new AdminTypeAdapter());
+        ADAPTERS.put(Booking.class, gson -> new BookingTypeAdapter());
+        ADAPTERS.put(BookingCounts.class, gson -> new BookingCountsTypeAdapter(gson));
+        ADAPTERS.put(BookingEvents.class, gson -> new BookingEventsTypeAdapter());
+        ADAPTERS.put(BookingSyncResponse.class, gson -> new BookingSyncResponseTypeAdapter(gson));
+        ADAPTERS.put(DashboardBundle.class, gson -> new DashboardBundleTypeAdapter(gson));
+        ADAPTERS.put(Earnings.class, gson -> new EarningsTypeAdapter());
+        ADAPTERS.put(GenericResponse.class, gson -> new GenericResponseTypeAdapter());
+        ADAPTERS.put(LoginResponse.LoginData.class, gson -> new LoginDataTypeAdapter());
+        ADAPTERS.put(LoginRequest.class, gson -> new LoginRequestTypeAdapter());
+        ADAPTERS.put(LoginResponse.class, gson -> new LoginResponseTypeAdapter(gson));
+        ADAPTERS.put(Machine.class, gson -> new MachineTypeAdapter());
+        ADAPTERS.put(MachineCatalogResponse.class, gson -> new MachineCatalogResponseTypeAdapter(gson));
+        ADAPTERS.put(MachineRequest.class, gson -> new MachineRequestTypeAdapter());
+        ADAPTERS.put(NominatimResult.class, gson -> new NominatimResultTypeAdapter());
+        ADAPTERS.put(Operator.class, gson -> new OperatorTypeAdapter());
+        ADAPTERS.put(OperatorLicenseRequest.class, gson -> new OperatorLicenseRequestTypeAdapter());
+        ADAPTERS.put(OperatorProfile.class, gson -> new OperatorProfileTypeAdapter());
+        ADAPTERS.put(OperatorVerification.class, gson -> new OperatorVerificationTypeAdapter());
+        ADAPTERS.put(PasswordResetConfirm.class, gson -> new PasswordResetConfirmTypeAdapter());
+        ADAPTERS.put(PasswordResetRequest.class, gson -> new PasswordResetRequestTypeAdapter());
+        ADAPTERS.put(PricingResponse.class, gson -> new PricingResponseTypeAdapter(gson));
+        ADAPTERS.put(PricingRules.class, gson -> new PricingRulesTypeAdapter());
+        ADAPTERS.put(ReportsData.class, gson -> new ReportsDataTypeAdapter());
+        ADAPTERS.put(SignUpResponse.class, gson -> new SignUpResponseTypeAdapter(gson));
+        ADAPTERS.put(UploadResult.class, gson -> new UploadResultTypeAdapter());
+        ADAPTERS.put(User.class, gson -> new UserTypeAdapter());
+        ADAPTERS.put(UserData.class, gson -> new UserDataTypeAdapter());
+    }
+
+    /**
+     * The classes with an adapter here, besides ApiResponse.
+     */
+    public static Set<Class<?>> modelTypes() {
+        return Collections.unmodifiableSet(ADAPTERS.keySet());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        if (raw == ApiResponse.class) {
+            return (TypeAdapter<T>) ApiResponseTypeAdapter.create(gson, type.getType());
+        }
+        Function<Gson, TypeAdapter<?>> adapter = ADAPTERS.get(raw);
+        return adapter != null ? (TypeAdapter<T>) adapter.apply(gson) : null;
+    }
+}
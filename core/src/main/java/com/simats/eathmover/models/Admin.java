@@ -13,6 +13,10 @@ public class Admin {
     @SerializedName("password")
     private String password;
 
+    // For the JSON adapter
+    Admin() {
+    }
+
     public Admin(String name, String email, String password) {
         this.name = name;
         this.email = email;
@@ -31,6 +35,19 @@ public class Admin {
     public String getPassword() {
         return password;
     }
+
+    // For the JSON adapter
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setEmail(String email) {
+        this.email = email;
+    }
+
+    void setPassword(String password) {
+        this.password = password;
+    }
 }
 
 
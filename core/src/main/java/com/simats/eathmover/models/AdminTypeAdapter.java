@@ -0,0 +1,46 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * Admin without reflection (see ModelAdapterFactory).
+ */
+public final class AdminTypeAdapter extends TypeAdapter<Admin> {
+
+    @Override
+    public Admin read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        Admin admin = new Admin();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name": admin.setName(JsonValues.nextString(in)); break;
+                case "email": admin.setEmail(JsonValues.nextString(in)); break;
+                case "password": admin.setPassword(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return admin;
+    }
+
+    @Override
+    public void write(JsonWriter out, Admin admin) throws IOException {
+        if (admin == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("name").value(admin.getName());
+        out.name("email").value(admin.getEmail());
+        out.name("password").value(admin.getPassword());
+        out.endObject();
+    }
+}
@@ -0,0 +1,87 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+
+/**
+ * ApiResponse&lt;T&gt; without reflection (see ModelAdapterFactory). data and data_list use
+ * Gson's adapters for T and List&lt;T&gt;, taken from the requested type.
+ */
+public final class ApiResponseTypeAdapter<T> extends TypeAdapter<ApiResponse<T>> {
+
+    private final TypeAdapter<T> dataAdapter;
+    private final TypeAdapter<List<T>> dataListAdapter;
+
+    public ApiResponseTypeAdapter(TypeAdapter<T> dataAdapter, TypeAdapter<List<T>> dataListAdapter) {
+        this.dataAdapter = dataAdapter;
+        this.dataListAdapter = dataListAdapter;
+    }
+
+    /**
+     * The adapter for responseType, ApiResponse or a parameterization of it. A raw or
+     * unresolved T is read as Object, like Gson does.
+     */
+    @SuppressWarnings("unchecked")
+    public static TypeAdapter<?> create(Gson gson, Type responseType) {
+        Type dataType = Object.class;
+        if (responseType instanceof ParameterizedType) {
+            dataType = ((ParameterizedType) responseType).getActualTypeArguments()[0];
+            if (dataType instanceof WildcardType) {
+                dataType = ((WildcardType) dataType).getUpperBounds()[0];
+            }
+            if (!(dataType instanceof Class) && !(dataType instanceof ParameterizedType)) {
+                dataType = Object.class;
+            }
+        }
+        TypeAdapter<Object> data = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(dataType));
+        TypeAdapter<List<Object>> dataList = (TypeAdapter<List<Object>>) gson.getAdapter(
+                TypeToken.getParameterized(List.class, dataType));
+        return new ApiResponseTypeAdapter<>(data, dataList);
+    }
+
+    @Override
+    public ApiResponse<T> read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        ApiResponse<T> apiResponse = new ApiResponse<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "success": if (!JsonValues.skipNull(in)) apiResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": apiResponse.setMessage(JsonValues.nextString(in)); break;
+                case "data": apiResponse.setData(dataAdapter.read(in)); break;
+                case "data_list": apiResponse.setDataList(dataListAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return apiResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, ApiResponse<T> apiResponse) throws IOException {
+        if (apiResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("success").value(apiResponse.isSuccess());
+        out.name("message").value(apiResponse.getMessage());
+        out.name("data");
+        dataAdapter.write(out, apiResponse.getData());
+        out.name("data_list");
+        dataListAdapter.write(out, apiResponse.getDataList());
+        out.endObject();
+    }
+}
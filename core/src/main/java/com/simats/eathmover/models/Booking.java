@@ -3,6 +3,9 @@ package com.simats.eathmover.models;
 import com.google.gson.annotations.SerializedName;
 
 public class Booking {
+    // Finished bookings, as a status filter for the booking endpoints
+    public static final String HISTORY_STATUSES = "completed,cancelled,rejected,declined";
+
     @SerializedName("booking_id")
     private String bookingId;
 
@@ -51,6 +54,10 @@ public class Booking {
     @SerializedName("duration")
     private String duration;
 
+    // Duration as priced, so the server does not have to parse the text
+    @SerializedName("duration_minutes")
+    private Integer durationMinutes;
+
     @SerializedName("machine_image")
     private String machineImage;
 
@@ -63,6 +70,10 @@ public class Booking {
     @SerializedName("user_location")
     private String userLocation;
 
+    // Last change on the server, used as the incremental sync watermark
+    @SerializedName("updated_at")
+    private String updatedAt;
+
     // Getters and setters
     public String getBookingId() {
         return bookingId;
@@ -192,6 +203,14 @@ public class Booking {
         this.duration = duration;
     }
 
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
     public String getMachineImage() {
         return machineImage;
     }
@@ -223,5 +242,12 @@ public class Booking {
     public void setUserLocation(String userLocation) {
         this.userLocation = userLocation;
     }
-}
 
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
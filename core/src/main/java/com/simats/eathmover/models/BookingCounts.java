@@ -0,0 +1,61 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Map;
+
+/**
+ * Booking counters from the booking endpoints' mode=counts (no booking rows).
+ * by_status keys are lower-case statuses.
+ */
+public class BookingCounts {
+    @SerializedName("total")
+    private int total;
+
+    @SerializedName("by_status")
+    private Map<String, Integer> byStatus;
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<String, Integer> getByStatus() {
+        return byStatus;
+    }
+
+    /**
+     * Bookings in any of the given statuses (case-insensitive).
+     */
+    public int count(String... statuses) {
+        int count = 0;
+        if (byStatus == null) return count;
+        for (String status : statuses) {
+            Integer n = byStatus.get(status.toLowerCase());
+            if (n != null) count += n;
+        }
+        return count;
+    }
+
+    /**
+     * Bookings whose status contains the given text, e.g. "pending" for "pending approval".
+     */
+    public int countContaining(String text) {
+        int count = 0;
+        if (byStatus == null) return count;
+        for (Map.Entry<String, Integer> entry : byStatus.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().contains(text.toLowerCase())) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    // For the JSON adapter
+    void setTotal(int total) {
+        this.total = total;
+    }
+
+    void setByStatus(Map<String, Integer> byStatus) {
+        this.byStatus = byStatus;
+    }
+}
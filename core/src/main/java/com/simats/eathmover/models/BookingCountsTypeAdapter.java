@@ -0,0 +1,54 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * BookingCounts without reflection (see ModelAdapterFactory).
+ */
+public final class BookingCountsTypeAdapter extends TypeAdapter<BookingCounts> {
+
+    private final TypeAdapter<Map<String, Integer>> byStatusAdapter;
+
+    public BookingCountsTypeAdapter(Gson gson) {
+        byStatusAdapter = gson.getAdapter(new TypeToken<Map<String, Integer>>() {});
+    }
+
+    @Override
+    public BookingCounts read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        BookingCounts bookingCounts = new BookingCounts();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "total": if (!JsonValues.skipNull(in)) bookingCounts.setTotal(in.nextInt()); break;
+                case "by_status": bookingCounts.setByStatus(byStatusAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return bookingCounts;
+    }
+
+    @Override
+    public void write(JsonWriter out, BookingCounts bookingCounts) throws IOException {
+        if (bookingCounts == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("total").value(bookingCounts.getTotal());
+        out.name("by_status");
+        byStatusAdapter.write(out, bookingCounts.getByStatus());
+        out.endObject();
+    }
+}
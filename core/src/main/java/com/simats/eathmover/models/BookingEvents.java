@@ -0,0 +1,53 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Response of operator/events.php (long-poll).
+ * The server holds the request until the operator's bookings change or the timeout expires.
+ */
+public class BookingEvents {
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("message")
+    private String message;
+
+    @SerializedName("changed")
+    private boolean changed;
+
+    @SerializedName("version")
+    private String version;
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+
+    public void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * BookingEvents without reflection (see ModelAdapterFactory).
+ */
+public final class BookingEventsTypeAdapter extends TypeAdapter<BookingEvents> {
+
+    @Override
+    public BookingEvents read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        BookingEvents bookingEvents = new BookingEvents();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "success": if (!JsonValues.skipNull(in)) bookingEvents.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": bookingEvents.setMessage(JsonValues.nextString(in)); break;
+                case "changed": if (!JsonValues.skipNull(in)) bookingEvents.setChanged(JsonValues.nextBoolean(in)); break;
+                case "version": bookingEvents.setVersion(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return bookingEvents;
+    }
+
+    @Override
+    public void write(JsonWriter out, BookingEvents bookingEvents) throws IOException {
+        if (bookingEvents == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("success").value(bookingEvents.isSuccess());
+        out.name("message").value(bookingEvents.getMessage());
+        out.name("changed").value(bookingEvents.isChanged());
+        out.name("version").value(bookingEvents.getVersion());
+        out.endObject();
+    }
+}
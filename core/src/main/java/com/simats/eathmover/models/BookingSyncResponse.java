@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Booking list response with incremental sync and paging metadata.
+ * When sync_time is missing the server sent a full list (no updated_at support).
+ * has_more is only sent for paged requests (limit).
+ */
+public class BookingSyncResponse extends ApiResponse<List<Booking>> {
+    // Server clock at query time; sent back as updated_since on the next sync
+    @SerializedName("sync_time")
+    private String syncTime;
+
+    // Total number of bookings in scope, used to detect rows deleted on the server
+    @SerializedName("total")
+    private Integer total;
+
+    // Whether another page follows this one
+    @SerializedName("has_more")
+    private Boolean hasMore;
+
+    public String getSyncTime() {
+        return syncTime;
+    }
+
+    public void setSyncTime(String syncTime) {
+        this.syncTime = syncTime;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
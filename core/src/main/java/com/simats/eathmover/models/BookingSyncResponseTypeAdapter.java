@@ -0,0 +1,68 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * BookingSyncResponse without reflection (see ModelAdapterFactory). Its own fields are
+ * written before the ApiResponse ones, as Gson does for a subclass.
+ */
+public final class BookingSyncResponseTypeAdapter extends TypeAdapter<BookingSyncResponse> {
+
+    private final TypeAdapter<List<Booking>> dataAdapter;
+    private final TypeAdapter<List<List<Booking>>> dataListAdapter;
+
+    public BookingSyncResponseTypeAdapter(Gson gson) {
+        dataAdapter = gson.getAdapter(new TypeToken<List<Booking>>() {});
+        dataListAdapter = gson.getAdapter(new TypeToken<List<List<Booking>>>() {});
+    }
+
+    @Override
+    public BookingSyncResponse read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        BookingSyncResponse bookingSyncResponse = new BookingSyncResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "sync_time": bookingSyncResponse.setSyncTime(JsonValues.nextString(in)); break;
+                case "total": bookingSyncResponse.setTotal(JsonValues.nextInteger(in)); break;
+                case "has_more": bookingSyncResponse.setHasMore(JsonValues.nextBooleanObject(in)); break;
+                case "success": if (!JsonValues.skipNull(in)) bookingSyncResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": bookingSyncResponse.setMessage(JsonValues.nextString(in)); break;
+                case "data": bookingSyncResponse.setData(dataAdapter.read(in)); break;
+                case "data_list": bookingSyncResponse.setDataList(dataListAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return bookingSyncResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, BookingSyncResponse bookingSyncResponse) throws IOException {
+        if (bookingSyncResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("sync_time").value(bookingSyncResponse.getSyncTime());
+        out.name("total").value(bookingSyncResponse.getTotal());
+        out.name("has_more").value(bookingSyncResponse.getHasMore());
+        out.name("success").value(bookingSyncResponse.isSuccess());
+        out.name("message").value(bookingSyncResponse.getMessage());
+        out.name("data");
+        dataAdapter.write(out, bookingSyncResponse.getData());
+        out.name("data_list");
+        dataListAdapter.write(out, bookingSyncResponse.getDataList());
+        out.endObject();
+    }
+}
@@ -0,0 +1,84 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * Booking without reflection (see ModelAdapterFactory).
+ */
+public final class BookingTypeAdapter extends TypeAdapter<Booking> {
+
+    @Override
+    public Booking read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        Booking booking = new Booking();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "booking_id": booking.setBookingId(JsonValues.nextString(in)); break;
+                case "user_name": booking.setUserName(JsonValues.nextString(in)); break;
+                case "operator_name": booking.setOperatorName(JsonValues.nextString(in)); break;
+                case "machine_type": booking.setMachineType(JsonValues.nextString(in)); break;
+                case "machine_model": booking.setMachineModel(JsonValues.nextString(in)); break;
+                case "booking_date": booking.setBookingDate(JsonValues.nextString(in)); break;
+                case "start_time": booking.setStartTime(JsonValues.nextString(in)); break;
+                case "end_time": booking.setEndTime(JsonValues.nextString(in)); break;
+                case "total_hours": if (!JsonValues.skipNull(in)) booking.setTotalHours(in.nextInt()); break;
+                case "total_amount": if (!JsonValues.skipNull(in)) booking.setTotalAmount(in.nextDouble()); break;
+                case "status": booking.setStatus(JsonValues.nextString(in)); break;
+                case "location": booking.setLocation(JsonValues.nextString(in)); break;
+                case "user_id": booking.setUserId(JsonValues.nextString(in)); break;
+                case "operator_id": booking.setOperatorId(JsonValues.nextString(in)); break;
+                case "machine_id": booking.setMachineId(JsonValues.nextString(in)); break;
+                case "duration": booking.setDuration(JsonValues.nextString(in)); break;
+                case "duration_minutes": booking.setDurationMinutes(JsonValues.nextInteger(in)); break;
+                case "machine_image": booking.setMachineImage(JsonValues.nextString(in)); break;
+                case "operator_phone": booking.setOperatorPhone(JsonValues.nextString(in)); break;
+                case "user_phone": booking.setUserPhone(JsonValues.nextString(in)); break;
+                case "user_location": booking.setUserLocation(JsonValues.nextString(in)); break;
+                case "updated_at": booking.setUpdatedAt(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return booking;
+    }
+
+    @Override
+    public void write(JsonWriter out, Booking booking) throws IOException {
+        if (booking == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("booking_id").value(booking.getBookingId());
+        out.name("user_name").value(booking.getUserName());
+        out.name("operator_name").value(booking.getOperatorName());
+        out.name("machine_type").value(booking.getMachineType());
+        out.name("machine_model").value(booking.getMachineModel());
+        out.name("booking_date").value(booking.getBookingDate());
+        out.name("start_time").value(booking.getStartTime());
+        out.name("end_time").value(booking.getEndTime());
+        out.name("total_hours").value(booking.getTotalHours());
+        out.name("total_amount").value(booking.getTotalAmount());
+        out.name("status").value(booking.getStatus());
+        out.name("location").value(booking.getLocation());
+        out.name("user_id").value(booking.getUserId());
+        out.name("operator_id").value(booking.getOperatorId());
+        out.name("machine_id").value(booking.getMachineId());
+        out.name("duration").value(booking.getDuration());
+        out.name("duration_minutes").value(booking.getDurationMinutes());
+        out.name("machine_image").value(booking.getMachineImage());
+        out.name("operator_phone").value(booking.getOperatorPhone());
+        out.name("user_phone").value(booking.getUserPhone());
+        out.name("user_location").value(booking.getUserLocation());
+        out.name("updated_at").value(booking.getUpdatedAt());
+        out.endObject();
+    }
+}
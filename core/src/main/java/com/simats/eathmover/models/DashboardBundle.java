@@ -0,0 +1,116 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Everything the operator screens poll, from operator/get_dashboard_bundle.php.
+ *
+ * Every section has a version token. Sending the tokens back makes the server leave out the
+ * sections that did not change: their value is then null here and only the version is set,
+ * so compare versions to tell what changed (activeBooking is also null when there is none).
+ */
+public class DashboardBundle {
+    @SerializedName("profile")
+    private OperatorProfile profile;
+
+    @SerializedName("profile_version")
+    private String profileVersion;
+
+    // Booking requests waiting for the operator's answer
+    @SerializedName("pending")
+    private List<Booking> pending;
+
+    @SerializedName("pending_version")
+    private String pendingVersion;
+
+    @SerializedName("active_booking")
+    private Booking activeBooking;
+
+    @SerializedName("active_booking_version")
+    private String activeBookingVersion;
+
+    // First page of the booking history
+    @SerializedName("earnings")
+    private List<Booking> earnings;
+
+    @SerializedName("earnings_version")
+    private String earningsVersion;
+
+    @SerializedName("earnings_has_more")
+    private boolean earningsHasMore;
+
+    public OperatorProfile getProfile() {
+        return profile;
+    }
+
+    public String getProfileVersion() {
+        return profileVersion;
+    }
+
+    public List<Booking> getPending() {
+        return pending;
+    }
+
+    public String getPendingVersion() {
+        return pendingVersion;
+    }
+
+    public Booking getActiveBooking() {
+        return activeBooking;
+    }
+
+    public String getActiveBookingVersion() {
+        return activeBookingVersion;
+    }
+
+    public List<Booking> getEarnings() {
+        return earnings;
+    }
+
+    public String getEarningsVersion() {
+        return earningsVersion;
+    }
+
+    public boolean isEarningsHasMore() {
+        return earningsHasMore;
+    }
+
+    // For the JSON adapter
+    void setProfile(OperatorProfile profile) {
+        this.profile = profile;
+    }
+
+    void setProfileVersion(String profileVersion) {
+        this.profileVersion = profileVersion;
+    }
+
+    void setPending(List<Booking> pending) {
+        this.pending = pending;
+    }
+
+    void setPendingVersion(String pendingVersion) {
+        this.pendingVersion = pendingVersion;
+    }
+
+    void setActiveBooking(Booking activeBooking) {
+        this.activeBooking = activeBooking;
+    }
+
+    void setActiveBookingVersion(String activeBookingVersion) {
+        this.activeBookingVersion = activeBookingVersion;
+    }
+
+    void setEarnings(List<Booking> earnings) {
+        this.earnings = earnings;
+    }
+
+    void setEarningsVersion(String earningsVersion) {
+        this.earningsVersion = earningsVersion;
+    }
+
+    void setEarningsHasMore(boolean earningsHasMore) {
+        this.earningsHasMore = earningsHasMore;
+    }
+}
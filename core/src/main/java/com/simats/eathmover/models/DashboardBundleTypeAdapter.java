@@ -0,0 +1,75 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * DashboardBundle without reflection (see ModelAdapterFactory).
+ */
+public final class DashboardBundleTypeAdapter extends TypeAdapter<DashboardBundle> {
+
+    private final TypeAdapter<OperatorProfile> profileAdapter;
+    private final TypeAdapter<Booking> bookingAdapter;
+    private final TypeAdapter<List<Booking>> bookingsAdapter;
+
+    public DashboardBundleTypeAdapter(Gson gson) {
+        profileAdapter = gson.getAdapter(OperatorProfile.class);
+        bookingAdapter = gson.getAdapter(Booking.class);
+        bookingsAdapter = gson.getAdapter(new TypeToken<List<Booking>>() {});
+    }
+
+    @Override
+    public DashboardBundle read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        DashboardBundle dashboardBundle = new DashboardBundle();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "profile": dashboardBundle.setProfile(profileAdapter.read(in)); break;
+                case "profile_version": dashboardBundle.setProfileVersion(JsonValues.nextString(in)); break;
+                case "pending": dashboardBundle.setPending(bookingsAdapter.read(in)); break;
+                case "pending_version": dashboardBundle.setPendingVersion(JsonValues.nextString(in)); break;
+                case "active_booking": dashboardBundle.setActiveBooking(bookingAdapter.read(in)); break;
+                case "active_booking_version": dashboardBundle.setActiveBookingVersion(JsonValues.nextString(in)); break;
+                case "earnings": dashboardBundle.setEarnings(bookingsAdapter.read(in)); break;
+                case "earnings_version": dashboardBundle.setEarningsVersion(JsonValues.nextString(in)); break;
+                case "earnings_has_more": if (!JsonValues.skipNull(in)) dashboardBundle.setEarningsHasMore(JsonValues.nextBoolean(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return dashboardBundle;
+    }
+
+    @Override
+    public void write(JsonWriter out, DashboardBundle dashboardBundle) throws IOException {
+        if (dashboardBundle == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("profile");
+        profileAdapter.write(out, dashboardBundle.getProfile());
+        out.name("profile_version").value(dashboardBundle.getProfileVersion());
+        out.name("pending");
+        bookingsAdapter.write(out, dashboardBundle.getPending());
+        out.name("pending_version").value(dashboardBundle.getPendingVersion());
+        out.name("active_booking");
+        bookingAdapter.write(out, dashboardBundle.getActiveBooking());
+        out.name("active_booking_version").value(dashboardBundle.getActiveBookingVersion());
+        out.name("earnings");
+        bookingsAdapter.write(out, dashboardBundle.getEarnings());
+        out.name("earnings_version").value(dashboardBundle.getEarningsVersion());
+        out.name("earnings_has_more").value(dashboardBundle.isEarningsHasMore());
+        out.endObject();
+    }
+}
@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * Earnings without reflection (see ModelAdapterFactory).
+ */
+public final class EarningsTypeAdapter extends TypeAdapter<Earnings> {
+
+    @Override
+    public Earnings read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        Earnings earnings = new Earnings();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "total_earnings": if (!JsonValues.skipNull(in)) earnings.setTotalEarnings(in.nextDouble()); break;
+                case "this_month": if (!JsonValues.skipNull(in)) earnings.setThisMonth(in.nextDouble()); break;
+                case "last_month": if (!JsonValues.skipNull(in)) earnings.setLastMonth(in.nextDouble()); break;
+                case "total_transactions": if (!JsonValues.skipNull(in)) earnings.setTotalTransactions(in.nextInt()); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return earnings;
+    }
+
+    @Override
+    public void write(JsonWriter out, Earnings earnings) throws IOException {
+        if (earnings == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("total_earnings").value(earnings.getTotalEarnings());
+        out.name("this_month").value(earnings.getThisMonth());
+        out.name("last_month").value(earnings.getLastMonth());
+        out.name("total_transactions").value(earnings.getTotalTransactions());
+        out.endObject();
+    }
+}
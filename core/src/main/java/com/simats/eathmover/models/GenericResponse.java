@@ -57,4 +57,13 @@ public class GenericResponse {
     public void setError(String error) {
         this.error = error;
     }
+
+    // Stored values for the JSON adapter; isSuccess() and getMessage() also look at ok and error
+    boolean rawSuccess() {
+        return success;
+    }
+
+    String rawMessage() {
+        return message;
+    }
 }
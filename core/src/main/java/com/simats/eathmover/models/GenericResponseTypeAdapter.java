@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * GenericResponse without reflection (see ModelAdapterFactory).
+ */
+public final class GenericResponseTypeAdapter extends TypeAdapter<GenericResponse> {
+
+    @Override
+    public GenericResponse read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        GenericResponse genericResponse = new GenericResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "success": if (!JsonValues.skipNull(in)) genericResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "ok": if (!JsonValues.skipNull(in)) genericResponse.setOk(JsonValues.nextBoolean(in)); break;
+                case "message": genericResponse.setMessage(JsonValues.nextString(in)); break;
+                case "error": genericResponse.setError(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return genericResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, GenericResponse genericResponse) throws IOException {
+        if (genericResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("success").value(genericResponse.rawSuccess());
+        out.name("ok").value(genericResponse.isOk());
+        out.name("message").value(genericResponse.rawMessage());
+        out.name("error").value(genericResponse.getError());
+        out.endObject();
+    }
+}
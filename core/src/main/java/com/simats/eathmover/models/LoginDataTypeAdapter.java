@@ -0,0 +1,46 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * LoginResponse.LoginData without reflection (see ModelAdapterFactory).
+ */
+public final class LoginDataTypeAdapter extends TypeAdapter<LoginResponse.LoginData> {
+
+    @Override
+    public LoginResponse.LoginData read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        LoginResponse.LoginData loginData = new LoginResponse.LoginData();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "user_id": if (!JsonValues.skipNull(in)) loginData.setUserId(in.nextInt()); break;
+                case "name": loginData.setName(JsonValues.nextString(in)); break;
+                case "phone": loginData.setPhone(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return loginData;
+    }
+
+    @Override
+    public void write(JsonWriter out, LoginResponse.LoginData loginData) throws IOException {
+        if (loginData == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("user_id").value(loginData.getUserId());
+        out.name("name").value(loginData.getName());
+        out.name("phone").value(loginData.getPhone());
+        out.endObject();
+    }
+}
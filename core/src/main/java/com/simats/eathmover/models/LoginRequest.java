@@ -16,6 +16,10 @@ public class LoginRequest {
     @SerializedName("role")
     private String role;
 
+    // For the JSON adapter
+    LoginRequest() {
+    }
+
     // Constructor for phone login
     public LoginRequest(String phone, String password, String role) {
         this.phone = phone;
@@ -47,5 +51,22 @@ public class LoginRequest {
     public String getRole() {
         return role;
     }
+
+    // For the JSON adapter
+    void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    void setEmail(String email) {
+        this.email = email;
+    }
+
+    void setPassword(String password) {
+        this.password = password;
+    }
+
+    void setRole(String role) {
+        this.role = role;
+    }
 }
 
@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * LoginRequest without reflection (see ModelAdapterFactory).
+ */
+public final class LoginRequestTypeAdapter extends TypeAdapter<LoginRequest> {
+
+    @Override
+    public LoginRequest read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        LoginRequest loginRequest = new LoginRequest();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "phone": loginRequest.setPhone(JsonValues.nextString(in)); break;
+                case "email": loginRequest.setEmail(JsonValues.nextString(in)); break;
+                case "password": loginRequest.setPassword(JsonValues.nextString(in)); break;
+                case "role": loginRequest.setRole(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return loginRequest;
+    }
+
+    @Override
+    public void write(JsonWriter out, LoginRequest loginRequest) throws IOException {
+        if (loginRequest == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("phone").value(loginRequest.getPhone());
+        out.name("email").value(loginRequest.getEmail());
+        out.name("password").value(loginRequest.getPassword());
+        out.name("role").value(loginRequest.getRole());
+        out.endObject();
+    }
+}
@@ -46,6 +46,32 @@ public class LoginResponse {
         public String getPhone() {
             return phone;
         }
+
+        // For the JSON adapter
+        void setUserId(int userId) {
+            this.userId = userId;
+        }
+
+        void setName(String name) {
+            this.name = name;
+        }
+
+        void setPhone(String phone) {
+            this.phone = phone;
+        }
+    }
+
+    // For the JSON adapter
+    void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+    }
+
+    void setData(LoginData data) {
+        this.data = data;
     }
 }
 
@@ -0,0 +1,54 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * LoginResponse without reflection (see ModelAdapterFactory).
+ */
+public final class LoginResponseTypeAdapter extends TypeAdapter<LoginResponse> {
+
+    private final TypeAdapter<LoginResponse.LoginData> dataAdapter;
+
+    public LoginResponseTypeAdapter(Gson gson) {
+        dataAdapter = gson.getAdapter(LoginResponse.LoginData.class);
+    }
+
+    @Override
+    public LoginResponse read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        LoginResponse loginResponse = new LoginResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "success": if (!JsonValues.skipNull(in)) loginResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": loginResponse.setMessage(JsonValues.nextString(in)); break;
+                case "data": loginResponse.setData(dataAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return loginResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, LoginResponse loginResponse) throws IOException {
+        if (loginResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("success").value(loginResponse.isSuccess());
+        out.name("message").value(loginResponse.getMessage());
+        out.name("data");
+        dataAdapter.write(out, loginResponse.getData());
+        out.endObject();
+    }
+}
@@ -197,5 +197,26 @@ public class Machine {
     public void setLastUpdated(String lastUpdated) {
         this.lastUpdated = lastUpdated;
     }
+
+    // Stored values for the JSON adapter; the getters above fill in fallbacks
+    String rawModelName() {
+        return modelName;
+    }
+
+    String rawSpecs() {
+        return specs;
+    }
+
+    String rawImage() {
+        return image;
+    }
+
+    String rawModel() {
+        return model;
+    }
+
+    String rawType() {
+        return type;
+    }
 }
 
@@ -0,0 +1,35 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Machine list from user/get_machines.php with the catalog version used for caching.
+ * When the version sent as last_updated is still current the server answers
+ * not_modified and leaves data out.
+ */
+public class MachineCatalogResponse extends ApiResponse<List<Machine>> {
+    // Latest last_updated in scope plus the row count (so deletions change it too)
+    @SerializedName("catalog_version")
+    private String catalogVersion;
+
+    @SerializedName("not_modified")
+    private boolean notModified;
+
+    public String getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public void setCatalogVersion(String catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    public void setNotModified(boolean notModified) {
+        this.notModified = notModified;
+    }
+}
@@ -0,0 +1,66 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * MachineCatalogResponse without reflection (see ModelAdapterFactory). Its own fields are
+ * written before the ApiResponse ones, as Gson does for a subclass.
+ */
+public final class MachineCatalogResponseTypeAdapter extends TypeAdapter<MachineCatalogResponse> {
+
+    private final TypeAdapter<List<Machine>> dataAdapter;
+    private final TypeAdapter<List<List<Machine>>> dataListAdapter;
+
+    public MachineCatalogResponseTypeAdapter(Gson gson) {
+        dataAdapter = gson.getAdapter(new TypeToken<List<Machine>>() {});
+        dataListAdapter = gson.getAdapter(new TypeToken<List<List<Machine>>>() {});
+    }
+
+    @Override
+    public MachineCatalogResponse read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        MachineCatalogResponse machineCatalogResponse = new MachineCatalogResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "catalog_version": machineCatalogResponse.setCatalogVersion(JsonValues.nextString(in)); break;
+                case "not_modified": if (!JsonValues.skipNull(in)) machineCatalogResponse.setNotModified(JsonValues.nextBoolean(in)); break;
+                case "success": if (!JsonValues.skipNull(in)) machineCatalogResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": machineCatalogResponse.setMessage(JsonValues.nextString(in)); break;
+                case "data": machineCatalogResponse.setData(dataAdapter.read(in)); break;
+                case "data_list": machineCatalogResponse.setDataList(dataListAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return machineCatalogResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, MachineCatalogResponse machineCatalogResponse) throws IOException {
+        if (machineCatalogResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("catalog_version").value(machineCatalogResponse.getCatalogVersion());
+        out.name("not_modified").value(machineCatalogResponse.isNotModified());
+        out.name("success").value(machineCatalogResponse.isSuccess());
+        out.name("message").value(machineCatalogResponse.getMessage());
+        out.name("data");
+        dataAdapter.write(out, machineCatalogResponse.getData());
+        out.name("data_list");
+        dataListAdapter.write(out, machineCatalogResponse.getDataList());
+        out.endObject();
+    }
+}
@@ -0,0 +1,49 @@
+package com.simats.eathmover.models;
+
+public class MachineRequest {
+
+    private int machine_id;
+
+    // Where the machine is needed; the nearest operator is picked when set
+    private Double latitude;
+    private Double longitude;
+
+    // For the JSON adapter
+    MachineRequest() {
+    }
+
+    public MachineRequest(int machine_id) {
+        this.machine_id = machine_id;
+    }
+
+    public MachineRequest(int machine_id, Double latitude, Double longitude) {
+        this.machine_id = machine_id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public int getMachine_id() {
+        return machine_id;
+    }
+
+    public void setMachine_id(int machine_id) {
+        this.machine_id = machine_id;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    // For the JSON adapter
+    void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+}
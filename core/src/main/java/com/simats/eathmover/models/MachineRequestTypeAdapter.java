@@ -0,0 +1,46 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * MachineRequest without reflection (see ModelAdapterFactory).
+ */
+public final class MachineRequestTypeAdapter extends TypeAdapter<MachineRequest> {
+
+    @Override
+    public MachineRequest read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        MachineRequest machineRequest = new MachineRequest();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "machine_id": if (!JsonValues.skipNull(in)) machineRequest.setMachine_id(in.nextInt()); break;
+                case "latitude": machineRequest.setLatitude(JsonValues.nextDoubleObject(in)); break;
+                case "longitude": machineRequest.setLongitude(JsonValues.nextDoubleObject(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return machineRequest;
+    }
+
+    @Override
+    public void write(JsonWriter out, MachineRequest machineRequest) throws IOException {
+        if (machineRequest == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("machine_id").value(machineRequest.getMachine_id());
+        out.name("latitude").value(machineRequest.getLatitude());
+        out.name("longitude").value(machineRequest.getLongitude());
+        out.endObject();
+    }
+}
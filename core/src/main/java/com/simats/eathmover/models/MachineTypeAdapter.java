@@ -0,0 +1,74 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * Machine without reflection (see ModelAdapterFactory).
+ */
+public final class MachineTypeAdapter extends TypeAdapter<Machine> {
+
+    @Override
+    public Machine read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        Machine machine = new Machine();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "machine_id": if (!JsonValues.skipNull(in)) machine.setMachineId(in.nextInt()); break;
+                case "category_id": machine.setCategoryId(JsonValues.nextInteger(in)); break;
+                case "model_name": machine.setModelName(JsonValues.nextString(in)); break;
+                case "machine_model": machine.setMachineModel(JsonValues.nextString(in)); break;
+                case "price_per_hour": if (!JsonValues.skipNull(in)) machine.setPricePerHour(in.nextDouble()); break;
+                case "specs": machine.setSpecs(JsonValues.nextString(in)); break;
+                case "model_year": machine.setModelYear(JsonValues.nextInteger(in)); break;
+                case "image": machine.setImage(JsonValues.nextString(in)); break;
+                case "machine_image_1": machine.setMachineImage1(JsonValues.nextString(in)); break;
+                case "availability": machine.setAvailability(JsonValues.nextString(in)); break;
+                case "address": machine.setAddress(JsonValues.nextString(in)); break;
+                case "phone": machine.setPhone(JsonValues.nextString(in)); break;
+                case "equipment_type": machine.setEquipmentType(JsonValues.nextString(in)); break;
+                case "operator_id": machine.setOperatorId(JsonValues.nextInteger(in)); break;
+                case "model": machine.setModel(JsonValues.nextString(in)); break;
+                case "type": machine.setType(JsonValues.nextString(in)); break;
+                case "last_updated": machine.setLastUpdated(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return machine;
+    }
+
+    @Override
+    public void write(JsonWriter out, Machine machine) throws IOException {
+        if (machine == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("machine_id").value(machine.getMachineId());
+        out.name("category_id").value(machine.getCategoryId());
+        out.name("model_name").value(machine.rawModelName());
+        out.name("machine_model").value(machine.getMachineModel());
+        out.name("price_per_hour").value(machine.getPricePerHour());
+        out.name("specs").value(machine.rawSpecs());
+        out.name("model_year").value(machine.getModelYear());
+        out.name("image").value(machine.rawImage());
+        out.name("machine_image_1").value(machine.getMachineImage1());
+        out.name("availability").value(machine.getAvailability());
+        out.name("address").value(machine.getAddress());
+        out.name("phone").value(machine.getPhone());
+        out.name("equipment_type").value(machine.getEquipmentType());
+        out.name("operator_id").value(machine.getOperatorId());
+        out.name("model").value(machine.rawModel());
+        out.name("type").value(machine.rawType());
+        out.name("last_updated").value(machine.getLastUpdated());
+        out.endObject();
+    }
+}
@@ -23,4 +23,17 @@ public class NominatimResult {
     public String getLon() {
         return lon;
     }
+
+    // For the JSON adapter
+    void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    void setLat(String lat) {
+        this.lat = lat;
+    }
+
+    void setLon(String lon) {
+        this.lon = lon;
+    }
 }
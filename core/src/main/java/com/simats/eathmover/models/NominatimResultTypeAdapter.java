@@ -0,0 +1,46 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * NominatimResult without reflection (see ModelAdapterFactory).
+ */
+public final class NominatimResultTypeAdapter extends TypeAdapter<NominatimResult> {
+
+    @Override
+    public NominatimResult read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        NominatimResult nominatimResult = new NominatimResult();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "display_name": nominatimResult.setDisplayName(JsonValues.nextString(in)); break;
+                case "lat": nominatimResult.setLat(JsonValues.nextString(in)); break;
+                case "lon": nominatimResult.setLon(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return nominatimResult;
+    }
+
+    @Override
+    public void write(JsonWriter out, NominatimResult nominatimResult) throws IOException {
+        if (nominatimResult == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("display_name").value(nominatimResult.getDisplayName());
+        out.name("lat").value(nominatimResult.getLat());
+        out.name("lon").value(nominatimResult.getLon());
+        out.endObject();
+    }
+}
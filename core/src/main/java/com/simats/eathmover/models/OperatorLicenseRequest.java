@@ -30,6 +30,9 @@ public class OperatorLicenseRequest {
     @SerializedName("machine_image_3")
     private String machineImage3; // Base64 encoded image
 
+    @SerializedName("machine_image_1_path")
+    private String machineImage1Path; // Stored path returned by upload/upload_image.php, sent with machineImage1
+
     @SerializedName("equipment_type")
     private String equipmentType;
 
@@ -98,6 +101,14 @@ public class OperatorLicenseRequest {
         this.machineImage3 = machineImage3;
     }
 
+    public String getMachineImage1Path() {
+        return machineImage1Path;
+    }
+
+    public void setMachineImage1Path(String machineImage1Path) {
+        this.machineImage1Path = machineImage1Path;
+    }
+
     public String getEquipmentType() {
         return equipmentType;
     }
@@ -0,0 +1,60 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * OperatorLicenseRequest without reflection (see ModelAdapterFactory).
+ */
+public final class OperatorLicenseRequestTypeAdapter extends TypeAdapter<OperatorLicenseRequest> {
+
+    @Override
+    public OperatorLicenseRequest read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        OperatorLicenseRequest operatorLicenseRequest = new OperatorLicenseRequest();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "operator_id": operatorLicenseRequest.setOperatorId(JsonValues.nextString(in)); break;
+                case "license_no": operatorLicenseRequest.setLicenseNo(JsonValues.nextString(in)); break;
+                case "rc_number": operatorLicenseRequest.setRcNumber(JsonValues.nextString(in)); break;
+                case "machine_model": operatorLicenseRequest.setMachineModel(JsonValues.nextString(in)); break;
+                case "machine_year": operatorLicenseRequest.setMachineYear(JsonValues.nextString(in)); break;
+                case "machine_image_1": operatorLicenseRequest.setMachineImage1(JsonValues.nextString(in)); break;
+                case "machine_image_2": operatorLicenseRequest.setMachineImage2(JsonValues.nextString(in)); break;
+                case "machine_image_3": operatorLicenseRequest.setMachineImage3(JsonValues.nextString(in)); break;
+                case "machine_image_1_path": operatorLicenseRequest.setMachineImage1Path(JsonValues.nextString(in)); break;
+                case "equipment_type": operatorLicenseRequest.setEquipmentType(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return operatorLicenseRequest;
+    }
+
+    @Override
+    public void write(JsonWriter out, OperatorLicenseRequest operatorLicenseRequest) throws IOException {
+        if (operatorLicenseRequest == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("operator_id").value(operatorLicenseRequest.getOperatorId());
+        out.name("license_no").value(operatorLicenseRequest.getLicenseNo());
+        out.name("rc_number").value(operatorLicenseRequest.getRcNumber());
+        out.name("machine_model").value(operatorLicenseRequest.getMachineModel());
+        out.name("machine_year").value(operatorLicenseRequest.getMachineYear());
+        out.name("machine_image_1").value(operatorLicenseRequest.getMachineImage1());
+        out.name("machine_image_2").value(operatorLicenseRequest.getMachineImage2());
+        out.name("machine_image_3").value(operatorLicenseRequest.getMachineImage3());
+        out.name("machine_image_1_path").value(operatorLicenseRequest.getMachineImage1Path());
+        out.name("equipment_type").value(operatorLicenseRequest.getEquipmentType());
+        out.endObject();
+    }
+}
@@ -33,6 +33,9 @@ public class OperatorProfile {
     @SerializedName("profile_image")
     private String profileImage;
 
+    @SerializedName("profile_image_path")
+    private String profileImagePath; // Stored path returned by upload/upload_image.php
+
     @SerializedName("status")
     private String status; // "available", "busy", "offline"
 
@@ -42,6 +45,17 @@ public class OperatorProfile {
     @SerializedName("license_expiry")
     private String licenseExpiry;
 
+    // Operator position; null when the operator never shared one
+    @SerializedName("latitude")
+    private Double latitude;
+
+    @SerializedName("longitude")
+    private Double longitude;
+
+    // Distance from the searched point, set by location-based searches
+    @SerializedName("distance_km")
+    private Double distanceKm;
+
     // Getters and setters
     public String getOperatorId() {
         return operatorId;
@@ -123,6 +137,14 @@ public class OperatorProfile {
         this.profileImage = profileImage;
     }
 
+    public String getProfileImagePath() {
+        return profileImagePath;
+    }
+
+    public void setProfileImagePath(String profileImagePath) {
+        this.profileImagePath = profileImagePath;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -146,6 +168,30 @@ public class OperatorProfile {
     public void setLicenseExpiry(String licenseExpiry) {
         this.licenseExpiry = licenseExpiry;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
 }
 
 
@@ -0,0 +1,74 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * OperatorProfile without reflection (see ModelAdapterFactory).
+ */
+public final class OperatorProfileTypeAdapter extends TypeAdapter<OperatorProfile> {
+
+    @Override
+    public OperatorProfile read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        OperatorProfile operatorProfile = new OperatorProfile();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "operator_id": operatorProfile.setOperatorId(JsonValues.nextString(in)); break;
+                case "name": operatorProfile.setName(JsonValues.nextString(in)); break;
+                case "phone": operatorProfile.setPhone(JsonValues.nextString(in)); break;
+                case "email": operatorProfile.setEmail(JsonValues.nextString(in)); break;
+                case "address": operatorProfile.setAddress(JsonValues.nextString(in)); break;
+                case "experience_years": if (!JsonValues.skipNull(in)) operatorProfile.setExperienceYears(in.nextInt()); break;
+                case "total_bookings": if (!JsonValues.skipNull(in)) operatorProfile.setTotalBookings(in.nextInt()); break;
+                case "rating": if (!JsonValues.skipNull(in)) operatorProfile.setRating(in.nextDouble()); break;
+                case "machines": operatorProfile.setMachines(JsonValues.nextString(in)); break;
+                case "profile_image": operatorProfile.setProfileImage(JsonValues.nextString(in)); break;
+                case "profile_image_path": operatorProfile.setProfileImagePath(JsonValues.nextString(in)); break;
+                case "status": operatorProfile.setStatus(JsonValues.nextString(in)); break;
+                case "license_number": operatorProfile.setLicenseNumber(JsonValues.nextString(in)); break;
+                case "license_expiry": operatorProfile.setLicenseExpiry(JsonValues.nextString(in)); break;
+                case "latitude": operatorProfile.setLatitude(JsonValues.nextDoubleObject(in)); break;
+                case "longitude": operatorProfile.setLongitude(JsonValues.nextDoubleObject(in)); break;
+                case "distance_km": operatorProfile.setDistanceKm(JsonValues.nextDoubleObject(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return operatorProfile;
+    }
+
+    @Override
+    public void write(JsonWriter out, OperatorProfile operatorProfile) throws IOException {
+        if (operatorProfile == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("operator_id").value(operatorProfile.getOperatorId());
+        out.name("name").value(operatorProfile.getName());
+        out.name("phone").value(operatorProfile.getPhone());
+        out.name("email").value(operatorProfile.getEmail());
+        out.name("address").value(operatorProfile.getAddress());
+        out.name("experience_years").value(operatorProfile.getExperienceYears());
+        out.name("total_bookings").value(operatorProfile.getTotalBookings());
+        out.name("rating").value(operatorProfile.getRating());
+        out.name("machines").value(operatorProfile.getMachines());
+        out.name("profile_image").value(operatorProfile.getProfileImage());
+        out.name("profile_image_path").value(operatorProfile.getProfileImagePath());
+        out.name("status").value(operatorProfile.getStatus());
+        out.name("license_number").value(operatorProfile.getLicenseNumber());
+        out.name("license_expiry").value(operatorProfile.getLicenseExpiry());
+        out.name("latitude").value(operatorProfile.getLatitude());
+        out.name("longitude").value(operatorProfile.getLongitude());
+        out.name("distance_km").value(operatorProfile.getDistanceKm());
+        out.endObject();
+    }
+}
@@ -0,0 +1,54 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * Operator without reflection (see ModelAdapterFactory).
+ */
+public final class OperatorTypeAdapter extends TypeAdapter<Operator> {
+
+    @Override
+    public Operator read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        Operator operator = new Operator();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name": operator.setName(JsonValues.nextString(in)); break;
+                case "phone": operator.setPhone(JsonValues.nextString(in)); break;
+                case "address": operator.setAddress(JsonValues.nextString(in)); break;
+                case "email": operator.setEmail(JsonValues.nextString(in)); break;
+                case "password": operator.setPassword(JsonValues.nextString(in)); break;
+                case "operator_id": operator.setOperatorId(JsonValues.nextString(in)); break;
+                case "status": operator.setStatus(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return operator;
+    }
+
+    @Override
+    public void write(JsonWriter out, Operator operator) throws IOException {
+        if (operator == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("name").value(operator.getName());
+        out.name("phone").value(operator.getPhone());
+        out.name("address").value(operator.getAddress());
+        out.name("email").value(operator.getEmail());
+        out.name("password").value(operator.getPassword());
+        out.name("operator_id").value(operator.getOperatorId());
+        out.name("status").value(operator.getStatus());
+        out.endObject();
+    }
+}
@@ -0,0 +1,68 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * OperatorVerification without reflection (see ModelAdapterFactory).
+ */
+public final class OperatorVerificationTypeAdapter extends TypeAdapter<OperatorVerification> {
+
+    @Override
+    public OperatorVerification read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        OperatorVerification operatorVerification = new OperatorVerification();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "operator_id": operatorVerification.setOperatorId(JsonValues.nextString(in)); break;
+                case "name": operatorVerification.setName(JsonValues.nextString(in)); break;
+                case "full_name": operatorVerification.setFullName(JsonValues.nextString(in)); break;
+                case "date_of_birth": operatorVerification.setDateOfBirth(JsonValues.nextString(in)); break;
+                case "address": operatorVerification.setAddress(JsonValues.nextString(in)); break;
+                case "phone": operatorVerification.setPhone(JsonValues.nextString(in)); break;
+                case "email": operatorVerification.setEmail(JsonValues.nextString(in)); break;
+                case "license_number": operatorVerification.setLicenseNumber(JsonValues.nextString(in)); break;
+                case "license_expiry": operatorVerification.setLicenseExpiry(JsonValues.nextString(in)); break;
+                case "machine_type": operatorVerification.setMachineType(JsonValues.nextString(in)); break;
+                case "total_hours": if (!JsonValues.skipNull(in)) operatorVerification.setTotalHours(in.nextInt()); break;
+                case "status": operatorVerification.setStatus(JsonValues.nextString(in)); break;
+                case "approve_status": operatorVerification.setApproveStatus(JsonValues.nextString(in)); break;
+                case "profile_image": operatorVerification.setProfileImage(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return operatorVerification;
+    }
+
+    @Override
+    public void write(JsonWriter out, OperatorVerification operatorVerification) throws IOException {
+        if (operatorVerification == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("operator_id").value(operatorVerification.getOperatorId());
+        out.name("name").value(operatorVerification.getName());
+        out.name("full_name").value(operatorVerification.getFullName());
+        out.name("date_of_birth").value(operatorVerification.getDateOfBirth());
+        out.name("address").value(operatorVerification.getAddress());
+        out.name("phone").value(operatorVerification.getPhone());
+        out.name("email").value(operatorVerification.getEmail());
+        out.name("license_number").value(operatorVerification.getLicenseNumber());
+        out.name("license_expiry").value(operatorVerification.getLicenseExpiry());
+        out.name("machine_type").value(operatorVerification.getMachineType());
+        out.name("total_hours").value(operatorVerification.getTotalHours());
+        out.name("status").value(operatorVerification.getStatus());
+        out.name("approve_status").value(operatorVerification.getApproveStatus());
+        out.name("profile_image").value(operatorVerification.getProfileImage());
+        out.endObject();
+    }
+}
@@ -19,12 +19,49 @@ public class PasswordResetConfirm {
     @SerializedName("role")
     private String role;
 
+    // For the JSON adapter
+    PasswordResetConfirm() {
+    }
+
     public PasswordResetConfirm(String phone, String otp, String newPassword, String role) {
         this.phone = phone;
         this.otp = otp;
         this.newPassword = newPassword;
         this.role = role;
     }
+
+    // For the JSON adapter
+    String getPhone() {
+        return phone;
+    }
+
+    String getOtp() {
+        return otp;
+    }
+
+    String getNewPassword() {
+        return newPassword;
+    }
+
+    String getRole() {
+        return role;
+    }
+
+    void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    void setOtp(String otp) {
+        this.otp = otp;
+    }
+
+    void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+
+    void setRole(String role) {
+        this.role = role;
+    }
 }
 
 
@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * PasswordResetConfirm without reflection (see ModelAdapterFactory).
+ */
+public final class PasswordResetConfirmTypeAdapter extends TypeAdapter<PasswordResetConfirm> {
+
+    @Override
+    public PasswordResetConfirm read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        PasswordResetConfirm passwordResetConfirm = new PasswordResetConfirm();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "phone": passwordResetConfirm.setPhone(JsonValues.nextString(in)); break;
+                case "otp": passwordResetConfirm.setOtp(JsonValues.nextString(in)); break;
+                case "new_password": passwordResetConfirm.setNewPassword(JsonValues.nextString(in)); break;
+                case "role": passwordResetConfirm.setRole(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return passwordResetConfirm;
+    }
+
+    @Override
+    public void write(JsonWriter out, PasswordResetConfirm passwordResetConfirm) throws IOException {
+        if (passwordResetConfirm == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("phone").value(passwordResetConfirm.getPhone());
+        out.name("otp").value(passwordResetConfirm.getOtp());
+        out.name("new_password").value(passwordResetConfirm.getNewPassword());
+        out.name("role").value(passwordResetConfirm.getRole());
+        out.endObject();
+    }
+}
@@ -18,6 +18,10 @@ public class PasswordResetRequest {
     @SerializedName("role")
     private String role;
 
+    // For the JSON adapter
+    PasswordResetRequest() {
+    }
+
     // Constructor for phone-based reset (operators)
     public PasswordResetRequest(String phone, String role) {
         this.phone = phone;
@@ -48,6 +52,19 @@ public class PasswordResetRequest {
     public String getRole() {
         return role;
     }
+
+    // For the JSON adapter
+    void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    void setEmail(String email) {
+        this.email = email;
+    }
+
+    void setRole(String role) {
+        this.role = role;
+    }
 }
 
 
@@ -0,0 +1,46 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * PasswordResetRequest without reflection (see ModelAdapterFactory).
+ */
+public final class PasswordResetRequestTypeAdapter extends TypeAdapter<PasswordResetRequest> {
+
+    @Override
+    public PasswordResetRequest read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        PasswordResetRequest passwordResetRequest = new PasswordResetRequest();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "phone": passwordResetRequest.setPhone(JsonValues.nextString(in)); break;
+                case "email": passwordResetRequest.setEmail(JsonValues.nextString(in)); break;
+                case "role": passwordResetRequest.setRole(JsonValues.nextString(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return passwordResetRequest;
+    }
+
+    @Override
+    public void write(JsonWriter out, PasswordResetRequest passwordResetRequest) throws IOException {
+        if (passwordResetRequest == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("phone").value(passwordResetRequest.getPhone());
+        out.name("email").value(passwordResetRequest.getEmail());
+        out.name("role").value(passwordResetRequest.getRole());
+        out.endObject();
+    }
+}
@@ -0,0 +1,45 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Pricing table from user/get_pricing.php: every machine's price plus the pricing rules.
+ * pricing_version changes whenever a price (machines.last_updated) or a rule changes; when
+ * the version sent is still current the server answers not_modified and leaves data out.
+ */
+public class PricingResponse extends ApiResponse<List<Machine>> {
+    @SerializedName("pricing_version")
+    private String pricingVersion;
+
+    @SerializedName("rules")
+    private PricingRules rules;
+
+    @SerializedName("not_modified")
+    private boolean notModified;
+
+    public String getPricingVersion() {
+        return pricingVersion;
+    }
+
+    public void setPricingVersion(String pricingVersion) {
+        this.pricingVersion = pricingVersion;
+    }
+
+    public PricingRules getRules() {
+        return rules;
+    }
+
+    public void setRules(PricingRules rules) {
+        this.rules = rules;
+    }
+
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    public void setNotModified(boolean notModified) {
+        this.notModified = notModified;
+    }
+}
@@ -0,0 +1,71 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * PricingResponse without reflection (see ModelAdapterFactory). Its own fields are
+ * written before the ApiResponse ones, as Gson does for a subclass.
+ */
+public final class PricingResponseTypeAdapter extends TypeAdapter<PricingResponse> {
+
+    private final TypeAdapter<PricingRules> rulesAdapter;
+    private final TypeAdapter<List<Machine>> dataAdapter;
+    private final TypeAdapter<List<List<Machine>>> dataListAdapter;
+
+    public PricingResponseTypeAdapter(Gson gson) {
+        rulesAdapter = gson.getAdapter(PricingRules.class);
+        dataAdapter = gson.getAdapter(new TypeToken<List<Machine>>() {});
+        dataListAdapter = gson.getAdapter(new TypeToken<List<List<Machine>>>() {});
+    }
+
+    @Override
+    public PricingResponse read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        PricingResponse pricingResponse = new PricingResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "pricing_version": pricingResponse.setPricingVersion(JsonValues.nextString(in)); break;
+                case "rules": pricingResponse.setRules(rulesAdapter.read(in)); break;
+                case "not_modified": if (!JsonValues.skipNull(in)) pricingResponse.setNotModified(JsonValues.nextBoolean(in)); break;
+                case "success": if (!JsonValues.skipNull(in)) pricingResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": pricingResponse.setMessage(JsonValues.nextString(in)); break;
+                case "data": pricingResponse.setData(dataAdapter.read(in)); break;
+                case "data_list": pricingResponse.setDataList(dataListAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return pricingResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, PricingResponse pricingResponse) throws IOException {
+        if (pricingResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("pricing_version").value(pricingResponse.getPricingVersion());
+        out.name("rules");
+        rulesAdapter.write(out, pricingResponse.getRules());
+        out.name("not_modified").value(pricingResponse.isNotModified());
+        out.name("success").value(pricingResponse.isSuccess());
+        out.name("message").value(pricingResponse.getMessage());
+        out.name("data");
+        dataAdapter.write(out, pricingResponse.getData());
+        out.name("data_list");
+        dataListAdapter.write(out, pricingResponse.getDataList());
+        out.endObject();
+    }
+}
@@ -0,0 +1,57 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * How a booking is charged; sent with the pricing table (user/get_pricing.php).
+ * The defaults are the server's (api/includes/pricing.php), for when none were sent yet.
+ */
+public class PricingRules {
+    // GST on the machine usage and fees
+    @SerializedName("tax_rate")
+    private double taxRate = 0.18;
+
+    // Shortest duration charged
+    @SerializedName("minimum_minutes")
+    private int minimumMinutes = 60;
+
+    // Durations are rounded up to a multiple of this
+    @SerializedName("billing_increment_minutes")
+    private int billingIncrementMinutes = 15;
+
+    // Flat fee per booking, in rupees
+    @SerializedName("booking_fee")
+    private double bookingFee = 0;
+
+    public double getTaxRate() {
+        return taxRate;
+    }
+
+    public void setTaxRate(double taxRate) {
+        this.taxRate = taxRate;
+    }
+
+    public int getMinimumMinutes() {
+        return minimumMinutes;
+    }
+
+    public void setMinimumMinutes(int minimumMinutes) {
+        this.minimumMinutes = minimumMinutes;
+    }
+
+    public int getBillingIncrementMinutes() {
+        return billingIncrementMinutes;
+    }
+
+    public void setBillingIncrementMinutes(int billingIncrementMinutes) {
+        this.billingIncrementMinutes = billingIncrementMinutes;
+    }
+
+    public double getBookingFee() {
+        return bookingFee;
+    }
+
+    public void setBookingFee(double bookingFee) {
+        this.bookingFee = bookingFee;
+    }
+}
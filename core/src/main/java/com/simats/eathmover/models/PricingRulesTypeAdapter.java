@@ -0,0 +1,48 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * PricingRules without reflection (see ModelAdapterFactory).
+ */
+public final class PricingRulesTypeAdapter extends TypeAdapter<PricingRules> {
+
+    @Override
+    public PricingRules read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        PricingRules pricingRules = new PricingRules();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "tax_rate": if (!JsonValues.skipNull(in)) pricingRules.setTaxRate(in.nextDouble()); break;
+                case "minimum_minutes": if (!JsonValues.skipNull(in)) pricingRules.setMinimumMinutes(in.nextInt()); break;
+                case "billing_increment_minutes": if (!JsonValues.skipNull(in)) pricingRules.setBillingIncrementMinutes(in.nextInt()); break;
+                case "booking_fee": if (!JsonValues.skipNull(in)) pricingRules.setBookingFee(in.nextDouble()); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return pricingRules;
+    }
+
+    @Override
+    public void write(JsonWriter out, PricingRules pricingRules) throws IOException {
+        if (pricingRules == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("tax_rate").value(pricingRules.getTaxRate());
+        out.name("minimum_minutes").value(pricingRules.getMinimumMinutes());
+        out.name("billing_increment_minutes").value(pricingRules.getBillingIncrementMinutes());
+        out.name("booking_fee").value(pricingRules.getBookingFee());
+        out.endObject();
+    }
+}
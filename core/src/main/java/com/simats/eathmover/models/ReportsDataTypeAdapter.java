@@ -0,0 +1,72 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * ReportsData without reflection (see ModelAdapterFactory).
+ */
+public final class ReportsDataTypeAdapter extends TypeAdapter<ReportsData> {
+
+    @Override
+    public ReportsData read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        ReportsData reportsData = new ReportsData();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "active_users": if (!JsonValues.skipNull(in)) reportsData.setActiveUsers(in.nextInt()); break;
+                case "new_users": if (!JsonValues.skipNull(in)) reportsData.setNewUsers(in.nextInt()); break;
+                case "active_users_change": reportsData.setActiveUsersChange(JsonValues.nextString(in)); break;
+                case "new_users_change": reportsData.setNewUsersChange(JsonValues.nextString(in)); break;
+                case "total_revenue": if (!JsonValues.skipNull(in)) reportsData.setTotalRevenue(in.nextDouble()); break;
+                case "avg_booking_value": if (!JsonValues.skipNull(in)) reportsData.setAvgBookingValue(in.nextDouble()); break;
+                case "revenue_change": reportsData.setRevenueChange(JsonValues.nextString(in)); break;
+                case "avg_booking_change": reportsData.setAvgBookingChange(JsonValues.nextString(in)); break;
+                case "total_bookings": if (!JsonValues.skipNull(in)) reportsData.setTotalBookings(in.nextInt()); break;
+                case "bookings_change": reportsData.setBookingsChange(JsonValues.nextString(in)); break;
+                case "most_booked_machine": reportsData.setMostBookedMachine(JsonValues.nextString(in)); break;
+                case "machine_bookings_count": if (!JsonValues.skipNull(in)) reportsData.setMachineBookingsCount(in.nextInt()); break;
+                case "active_operators": if (!JsonValues.skipNull(in)) reportsData.setActiveOperators(in.nextInt()); break;
+                case "operators_change": reportsData.setOperatorsChange(JsonValues.nextString(in)); break;
+                case "top_operator": reportsData.setTopOperator(JsonValues.nextString(in)); break;
+                case "operator_bookings_count": if (!JsonValues.skipNull(in)) reportsData.setOperatorBookingsCount(in.nextInt()); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return reportsData;
+    }
+
+    @Override
+    public void write(JsonWriter out, ReportsData reportsData) throws IOException {
+        if (reportsData == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("active_users").value(reportsData.getActiveUsers());
+        out.name("new_users").value(reportsData.getNewUsers());
+        out.name("active_users_change").value(reportsData.getActiveUsersChange());
+        out.name("new_users_change").value(reportsData.getNewUsersChange());
+        out.name("total_revenue").value(reportsData.getTotalRevenue());
+        out.name("avg_booking_value").value(reportsData.getAvgBookingValue());
+        out.name("revenue_change").value(reportsData.getRevenueChange());
+        out.name("avg_booking_change").value(reportsData.getAvgBookingChange());
+        out.name("total_bookings").value(reportsData.getTotalBookings());
+        out.name("bookings_change").value(reportsData.getBookingsChange());
+        out.name("most_booked_machine").value(reportsData.getMostBookedMachine());
+        out.name("machine_bookings_count").value(reportsData.getMachineBookingsCount());
+        out.name("active_operators").value(reportsData.getActiveOperators());
+        out.name("operators_change").value(reportsData.getOperatorsChange());
+        out.name("top_operator").value(reportsData.getTopOperator());
+        out.name("operator_bookings_count").value(reportsData.getOperatorBookingsCount());
+        out.endObject();
+    }
+}
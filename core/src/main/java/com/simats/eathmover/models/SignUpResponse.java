@@ -24,4 +24,17 @@ public class SignUpResponse {
     public UserData getData() {
         return data;
     }
+
+    // For the JSON adapter
+    void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+    }
+
+    void setData(UserData data) {
+        this.data = data;
+    }
 }
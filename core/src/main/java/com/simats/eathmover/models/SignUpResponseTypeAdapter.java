@@ -0,0 +1,54 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * SignUpResponse without reflection (see ModelAdapterFactory).
+ */
+public final class SignUpResponseTypeAdapter extends TypeAdapter<SignUpResponse> {
+
+    private final TypeAdapter<UserData> dataAdapter;
+
+    public SignUpResponseTypeAdapter(Gson gson) {
+        dataAdapter = gson.getAdapter(UserData.class);
+    }
+
+    @Override
+    public SignUpResponse read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        SignUpResponse signUpResponse = new SignUpResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "success": if (!JsonValues.skipNull(in)) signUpResponse.setSuccess(JsonValues.nextBoolean(in)); break;
+                case "message": signUpResponse.setMessage(JsonValues.nextString(in)); break;
+                case "data": signUpResponse.setData(dataAdapter.read(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return signUpResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, SignUpResponse signUpResponse) throws IOException {
+        if (signUpResponse == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("success").value(signUpResponse.isSuccess());
+        out.name("message").value(signUpResponse.getMessage());
+        out.name("data");
+        dataAdapter.write(out, signUpResponse.getData());
+        out.endObject();
+    }
+}
@@ -0,0 +1,31 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Data returned by upload/upload_image.php
+ */
+public class UploadResult {
+    // Path relative to the web root, e.g. "uploads/profiles/user_profile_12_1700000000.jpg"
+    @SerializedName("path")
+    private String path;
+
+    @SerializedName("size")
+    private long size;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,44 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * UploadResult without reflection (see ModelAdapterFactory).
+ */
+public final class UploadResultTypeAdapter extends TypeAdapter<UploadResult> {
+
+    @Override
+    public UploadResult read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        UploadResult uploadResult = new UploadResult();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "path": uploadResult.setPath(JsonValues.nextString(in)); break;
+                case "size": if (!JsonValues.skipNull(in)) uploadResult.setSize(in.nextLong()); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return uploadResult;
+    }
+
+    @Override
+    public void write(JsonWriter out, UploadResult uploadResult) throws IOException {
+        if (uploadResult == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("path").value(uploadResult.getPath());
+        out.name("size").value(uploadResult.getSize());
+        out.endObject();
+    }
+}
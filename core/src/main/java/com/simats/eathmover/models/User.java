@@ -28,6 +28,9 @@ public class User {
     @SerializedName("profile_picture")
     private String profilePicture;
 
+    @SerializedName("profile_picture_path")
+    private String profilePicturePath; // Stored path returned by upload/upload_image.php
+
     @SerializedName("location")
     private String location;
 
@@ -127,6 +130,14 @@ public class User {
         this.profilePicture = profilePicture;
     }
 
+    public String getProfilePicturePath() {
+        return profilePicturePath;
+    }
+
+    public void setProfilePicturePath(String profilePicturePath) {
+        this.profilePicturePath = profilePicturePath;
+    }
+
     public String getLocation() {
         return location;
     }
@@ -0,0 +1,44 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * UserData without reflection (see ModelAdapterFactory).
+ */
+public final class UserDataTypeAdapter extends TypeAdapter<UserData> {
+
+    @Override
+    public UserData read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        UserData userData = new UserData();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "user_id": if (!JsonValues.skipNull(in)) userData.setUserId(in.nextInt()); break;
+                case "operator_id": if (!JsonValues.skipNull(in)) userData.setOperatorId(in.nextInt()); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return userData;
+    }
+
+    @Override
+    public void write(JsonWriter out, UserData userData) throws IOException {
+        if (userData == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("user_id").value(userData.getUserId());
+        out.name("operator_id").value(userData.getOperatorId());
+        out.endObject();
+    }
+}
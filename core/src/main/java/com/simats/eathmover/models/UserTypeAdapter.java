@@ -0,0 +1,64 @@
+package com.simats.eathmover.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.simats.eathmover.json.JsonValues;
+
+import java.io.IOException;
+
+/**
+ * User without reflection (see ModelAdapterFactory).
+ */
+public final class UserTypeAdapter extends TypeAdapter<User> {
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        if (JsonValues.skipNull(in)) {
+            return null;
+        }
+        User user = new User();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "user_id": user.setUserId(JsonValues.nextInteger(in)); break;
+                case "name": user.setName(JsonValues.nextString(in)); break;
+                case "phone": user.setPhone(JsonValues.nextString(in)); break;
+                case "address": user.setAddress(JsonValues.nextString(in)); break;
+                case "email": user.setEmail(JsonValues.nextString(in)); break;
+                case "password": user.setPassword(JsonValues.nextString(in)); break;
+                case "created_at": user.setCreatedAt(JsonValues.nextString(in)); break;
+                case "profile_picture": user.setProfilePicture(JsonValues.nextString(in)); break;
+                case "profile_picture_path": user.setProfilePicturePath(JsonValues.nextString(in)); break;
+                case "location": user.setLocation(JsonValues.nextString(in)); break;
+                case "latitude": user.setLatitude(JsonValues.nextDoubleObject(in)); break;
+                case "longitude": user.setLongitude(JsonValues.nextDoubleObject(in)); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return user;
+    }
+
+    @Override
+    public void write(JsonWriter out, User user) throws IOException {
+        if (user == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("user_id").value(user.getUserId());
+        out.name("name").value(user.getName());
+        out.name("phone").value(user.getPhone());
+        out.name("address").value(user.getAddress());
+        out.name("email").value(user.getEmail());
+        out.name("password").value(user.getPassword());
+        out.name("created_at").value(user.getCreatedAt());
+        out.name("profile_picture").value(user.getProfilePicture());
+        out.name("profile_picture_path").value(user.getProfilePicturePath());
+        out.name("location").value(user.getLocation());
+        out.name("latitude").value(user.getLatitude());
+        out.name("longitude").value(user.getLongitude());
+        out.endObject();
+    }
+}
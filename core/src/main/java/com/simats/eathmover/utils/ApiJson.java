@@ -0,0 +1,80 @@
+package com.simats.eathmover.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.simats.eathmover.json.ModelAdapterFactory;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingSyncResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * JSON parsing of API responses, outside Retrofit so it can be tested and benchmarked on
+ * a plain JVM. RetrofitClient's converter uses the same Gson, so what is measured here is
+ * what the app does with a response body.
+ *
+ * Every model, ApiResponse included, is bound by its adapter from ModelAdapterFactory
+ * rather than by reflection.
+ */
+public final class ApiJson {
+
+    // Lenient to handle malformed JSON responses; nulls are serialized so every field is sent
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelAdapterFactory())
+            .setLenient()
+            .serializeNulls()
+            .create();
+
+    // Same adapters without nulls, for rows kept on disk
+    private static final Gson STORAGE_GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelAdapterFactory())
+            .create();
+
+    private static final TypeToken<ApiResponse<List<Booking>>> BOOKINGS_RESPONSE =
+            new TypeToken<ApiResponse<List<Booking>>>() {};
+
+    private ApiJson() {}
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * Gson for local caches (booking store, catalog and pricing files): the model adapters,
+     * nulls left out.
+     */
+    public static Gson storageGson() {
+        return STORAGE_GSON;
+    }
+
+    /**
+     * A booking list response (get_live_bookings.php, get_user_bookings.php, ...).
+     */
+    public static ApiResponse<List<Booking>> parseBookings(Reader json) throws IOException {
+        return read(json, BOOKINGS_RESPONSE);
+    }
+
+    /**
+     * A paged or incremental booking response.
+     */
+    public static BookingSyncResponse parseBookingPage(Reader json) throws IOException {
+        return read(json, TypeToken.get(BookingSyncResponse.class));
+    }
+
+    // What Retrofit's Gson converter does with a response body
+    private static <T> T read(Reader json, TypeToken<T> type) throws IOException {
+        JsonReader reader = GSON.newJsonReader(json);
+        T response = GSON.getAdapter(type).read(reader);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonIOException("JSON document was not fully consumed.");
+        }
+        return response;
+    }
+}
@@ -0,0 +1,135 @@
+package com.simats.eathmover.utils;
+
+import com.simats.eathmover.models.Booking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Status rules, filters, counters and order for booking lists, shared by the booking
+ * screens and the pager. No Android types, so it runs (and is benchmarked) on a plain JVM.
+ *
+ * A booking is history once completed, cancelled, rejected or declined
+ * (Booking.HISTORY_STATUSES); active is anything with a status that is not history;
+ * pending is any status containing "pending".
+ */
+public final class BookingFilters {
+
+    public static final String FILTER_ALL = "ALL";
+    public static final String FILTER_PENDING = "PENDING";
+    public static final String FILTER_ACTIVE = "ACTIVE";
+
+    /**
+     * Server order: booking_date DESC, booking_id DESC.
+     */
+    public static final Comparator<Booking> NEWEST_FIRST = (a, b) -> compare(b, a);
+
+    private static final String[] HISTORY = Booking.HISTORY_STATUSES.split(",");
+
+    public static final class Counts {
+        public final int total;
+        public final int pending;
+        public final int active;
+
+        Counts(int total, int pending, int active) {
+            this.total = total;
+            this.pending = pending;
+            this.active = active;
+        }
+    }
+
+    private BookingFilters() {}
+
+    public static boolean isHistory(Booking booking) {
+        String status = booking.getStatus();
+        if (status == null) {
+            return false;
+        }
+        for (String history : HISTORY) {
+            if (history.equalsIgnoreCase(status)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isPending(Booking booking) {
+        String status = booking.getStatus();
+        return status != null && status.toLowerCase(Locale.ROOT).contains("pending");
+    }
+
+    public static boolean isActive(Booking booking) {
+        return booking.getStatus() != null && !isHistory(booking);
+    }
+
+    /**
+     * Whether the booking belongs in the list for filter (FILTER_ALL, FILTER_PENDING or FILTER_ACTIVE).
+     */
+    public static boolean matches(Booking booking, String filter) {
+        if (FILTER_PENDING.equals(filter)) {
+            return isPending(booking) && !isHistory(booking);
+        }
+        if (FILTER_ACTIVE.equals(filter)) {
+            return isActive(booking);
+        }
+        return true;
+    }
+
+    /**
+     * The bookings matching filter, in their original order.
+     */
+    public static List<Booking> filter(List<Booking> bookings, String filter) {
+        List<Booking> filtered = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            if (matches(booking, filter)) {
+                filtered.add(booking);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Total, pending and active counts in one pass.
+     */
+    public static Counts count(List<Booking> bookings) {
+        int pending = 0;
+        int active = 0;
+        for (Booking booking : bookings) {
+            if (isPending(booking)) pending++;
+            if (isActive(booking)) active++;
+        }
+        return new Counts(bookings.size(), pending, active);
+    }
+
+    /**
+     * Sort in place, newest first.
+     */
+    public static void sortNewestFirst(List<Booking> bookings) {
+        Collections.sort(bookings, NEWEST_FIRST);
+    }
+
+    /**
+     * Sort key comparison matching the server order; negative means a is older than b.
+     */
+    public static int compare(Booking a, Booking b) {
+        String dateA = a.getBookingDate() != null ? a.getBookingDate() : "";
+        String dateB = b.getBookingDate() != null ? b.getBookingDate() : "";
+        // "yyyy-MM-dd HH:mm:ss" sorts correctly as text
+        int byDate = dateA.compareTo(dateB);
+        if (byDate != 0) {
+            return byDate;
+        }
+        return Long.compare(parseId(a.getBookingId()), parseId(b.getBookingId()));
+    }
+
+    private static long parseId(String id) {
+        try {
+            return id != null ? Long.parseLong(id.trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.simats.eathmover.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * k-nearest search over points on a fixed lat/lon grid (bounding-box cells of cellDegrees).
+ *
+ * Items are bucketed by cell once. A query scans the query's cell, then rings of cells
+ * around it, and stops as soon as the k best found so far are all closer than anything
+ * the next ring could hold. With operators spread over a country that is a few dozen
+ * cells instead of every operator. Distances are great-circle (haversine) kilometres.
+ *
+ * Immutable after construction, so it can be queried from any thread.
+ */
+public class GeoGridIndex<T> {
+
+    public static final double DEFAULT_CELL_DEGREES = 0.1; // about 11 km north-south
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    public interface Locator<T> {
+        /**
+         * @return {latitude, longitude}, or null if the item has no position
+         */
+        double[] locate(T item);
+    }
+
+    public interface Filter<T> {
+        boolean accept(T item);
+    }
+
+    public static final class Neighbor<T> {
+        public final T item;
+        public final double distanceKm;
+
+        Neighbor(T item, double distanceKm) {
+            this.item = item;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private static final class Point<T> {
+        final T item;
+        final double latitude;
+        final double longitude;
+
+        Point(T item, double latitude, double longitude) {
+            this.item = item;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, List<Point<T>>> cells = new HashMap<>();
+    private final int size;
+
+    public GeoGridIndex(Iterable<T> items, Locator<T> locator) {
+        this(items, locator, DEFAULT_CELL_DEGREES);
+    }
+
+    public GeoGridIndex(Iterable<T> items, Locator<T> locator, double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+
+        int count = 0;
+        for (T item : items) {
+            double[] position = locator.locate(item);
+            if (position == null) continue;
+            Point<T> point = new Point<>(item, position[0], position[1]);
+            long key = key(row(point.latitude), column(point.longitude));
+            List<Point<T>> cell = cells.get(key);
+            if (cell == null) {
+                cell = new ArrayList<>();
+                cells.put(key, cell);
+            }
+            cell.add(point);
+            count++;
+        }
+        this.size = count;
+    }
+
+    /**
+     * Number of items with a position.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Up to k accepted items within maxKm, nearest first.
+     *
+     * @param filter null to accept every item
+     */
+    public List<Neighbor<T>> nearest(double latitude, double longitude, int k, double maxKm, Filter<T> filter) {
+        if (k <= 0 || size == 0) {
+            return Collections.emptyList();
+        }
+        // Max-heap on distance: the head is the worst of the best k
+        PriorityQueue<Neighbor<T>> best = new PriorityQueue<>(k + 1,
+                (a, b) -> Double.compare(b.distanceKm, a.distanceKm));
+
+        int row0 = row(latitude);
+        int column0 = column(longitude);
+        // Past half the columns a ring would wrap onto cells already scanned
+        int maxRing = Math.min(rows, columns / 2);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Everything not scanned yet is at least this far away
+            double reach = ringReachKm(latitude, ring);
+            if (reach > maxKm || (best.size() == k && best.peek().distanceKm <= reach)) {
+                break;
+            }
+            for (int dr = -ring; dr <= ring; dr++) {
+                int r = row0 + dr;
+                if (r < 0 || r >= rows) continue;
+                // Whole top and bottom edges, only the two side cells in between
+                int step = (dr == -ring || dr == ring) ? 1 : Math.max(1, 2 * ring);
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    List<Point<T>> cell = cells.get(key(r, Math.floorMod(column0 + dc, columns)));
+                    if (cell == null) continue;
+                    for (Point<T> point : cell) {
+                        if (filter != null && !filter.accept(point.item)) continue;
+                        double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+                        if (distance > maxKm) continue;
+                        if (best.size() < k) {
+                            best.add(new Neighbor<>(point.item, distance));
+                        } else if (distance < best.peek().distanceKm) {
+                            best.poll();
+                            best.add(new Neighbor<>(point.item, distance));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Neighbor<T>> result = new ArrayList<>(best);
+        Collections.sort(result, (a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+        return result;
+    }
+
+    /**
+     * Great-circle distance in km.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Lower bound for the distance to points in `ring` and beyond. The query may sit on the
+    // edge of its own cell, so the gap is ring - 1 whole cells north-south or east-west;
+    // east-west cells shrink towards the poles, and 0.99 covers a great circle being
+    // slightly shorter than the way along the parallel
+    private double ringReachKm(double latitude, int ring) {
+        if (ring <= 1) return 0;
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        return 0.99 * (ring - 1) * cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+}
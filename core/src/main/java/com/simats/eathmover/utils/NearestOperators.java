@@ -0,0 +1,63 @@
+package com.simats.eathmover.utils;
+
+import com.simats.eathmover.models.OperatorProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Nearest available operators for a machine type, on a GeoGridIndex of operator positions.
+ *
+ * Same rules as operator/search_operators.php: status "available" (or not reported) and
+ * the machine type listed in the operator's machines; within MAX_DISTANCE_KM.
+ */
+public final class NearestOperators {
+
+    public static final int DEFAULT_K = 10;
+    public static final double MAX_DISTANCE_KM = 100;
+
+    private NearestOperators() {}
+
+    /**
+     * Index the operators that have a position.
+     */
+    public static GeoGridIndex<OperatorProfile> index(Iterable<OperatorProfile> operators) {
+        return new GeoGridIndex<>(operators, operator ->
+                operator.getLatitude() != null && operator.getLongitude() != null
+                        ? new double[]{operator.getLatitude(), operator.getLongitude()}
+                        : null);
+    }
+
+    /**
+     * Up to k operators able to serve machineType, nearest first, with distanceKm set.
+     *
+     * @param machineType null or empty for any type
+     */
+    public static List<OperatorProfile> find(GeoGridIndex<OperatorProfile> index, double latitude, double longitude,
+                                             String machineType, int k) {
+        String type = machineType != null ? machineType.trim().toLowerCase(Locale.ROOT) : "";
+        List<GeoGridIndex.Neighbor<OperatorProfile>> neighbors = index.nearest(latitude, longitude, k, MAX_DISTANCE_KM,
+                operator -> canServe(operator, type));
+
+        List<OperatorProfile> operators = new ArrayList<>(neighbors.size());
+        for (GeoGridIndex.Neighbor<OperatorProfile> neighbor : neighbors) {
+            neighbor.item.setDistanceKm(neighbor.distanceKm);
+            operators.add(neighbor.item);
+        }
+        return operators;
+    }
+
+    // type is already lower case
+    static boolean canServe(OperatorProfile operator, String type) {
+        String status = operator.getStatus();
+        if (status != null && !status.isEmpty() && !"available".equalsIgnoreCase(status)) {
+            return false;
+        }
+        if (type.isEmpty()) {
+            return true;
+        }
+        String machines = operator.getMachines();
+        return machines != null && machines.toLowerCase(Locale.ROOT).contains(type);
+    }
+}
@@ -0,0 +1,80 @@
+package com.simats.eathmover.utils;
+
+import java.util.Random;
+
+/**
+ * How long a polled feed waits before its next request. No Android types, so it runs
+ * (and is tested) on a plain JVM; RealTimeDataManager supplies the device conditions.
+ *
+ * - The base interval is stretched on a metered network and in low power (battery low
+ *   or power saver), except in fast mode: an operator with a pending request keeps the
+ *   short interval whatever the conditions.
+ * - Each consecutive failure doubles the delay, up to MAX_BACKOFF_MS.
+ * - The result is jittered, ±20% normally and ±50% while backing off, so devices that
+ *   failed together (e.g. on a backend restart) do not come back in lockstep.
+ */
+public final class PollingPolicy {
+
+    public static final long MAX_BACKOFF_MS = 5 * 60 * 1000L;
+
+    static final int METERED_FACTOR = 2;
+    static final int LOW_POWER_FACTOR = 3;
+    static final double JITTER = 0.2;
+    static final double BACKOFF_JITTER = 0.5;
+
+    /**
+     * What the device is doing right now.
+     */
+    public static final class Conditions {
+        public final boolean metered;
+        public final boolean lowPower;
+
+        public Conditions(boolean metered, boolean lowPower) {
+            this.metered = metered;
+            this.lowPower = lowPower;
+        }
+    }
+
+    private final Random random;
+
+    public PollingPolicy() {
+        this(new Random());
+    }
+
+    public PollingPolicy(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Delay before the next request of a feed.
+     *
+     * @param baseMs   the feed's normal interval
+     * @param failures consecutive failed requests of the feed, 0 after a success
+     * @param fastMode true when a pending request needs the short interval regardless
+     */
+    public long nextDelay(long baseMs, int failures, boolean fastMode, Conditions conditions) {
+        return jitter(plannedDelay(baseMs, failures, fastMode, conditions), failures > 0);
+    }
+
+    /**
+     * nextDelay() without the jitter.
+     */
+    public static long plannedDelay(long baseMs, int failures, boolean fastMode, Conditions conditions) {
+        long delay = baseMs;
+        if (!fastMode) {
+            if (conditions.metered) delay *= METERED_FACTOR;
+            if (conditions.lowPower) delay *= LOW_POWER_FACTOR;
+        }
+        if (failures > 0) {
+            // Shift capped so the doubling cannot overflow
+            delay = Math.min(MAX_BACKOFF_MS, delay << Math.min(failures, 16));
+        }
+        return delay;
+    }
+
+    private long jitter(long delay, boolean backingOff) {
+        double spread = backingOff ? BACKOFF_JITTER : JITTER;
+        double factor = 1 - spread + 2 * spread * random.nextDouble();
+        return Math.round(delay * factor);
+    }
+}
@@ -0,0 +1,128 @@
+package com.simats.eathmover.utils;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Price of a booking from a machine's hourly price and the pricing rules.
+ *
+ * The same arithmetic as pricing_quote() in api/includes/pricing.php, which checks the
+ * total again when the booking is created: the duration is rounded up to the billing
+ * increment and to at least the minimum, then usage, booking fee and tax are each rounded
+ * to whole paise. No allocation besides the returned Estimate, so it can run on every
+ * tick of a duration picker.
+ */
+public final class PriceEstimator {
+
+    private static final Pattern HOURS = Pattern.compile("(\\d+)\\s*hour", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MINUTES = Pattern.compile("(\\d+)\\s*min", Pattern.CASE_INSENSITIVE);
+    private static final Locale RUPEES = new Locale("en", "IN");
+    private static final Pattern CLOCK = Pattern.compile("^\\s*(\\d{1,2}):(\\d{2})\\s*$");
+
+    public static final class Estimate {
+        public final int minutes;        // as asked
+        public final int billedMinutes;  // after minimum and rounding
+        public final long usagePaise;
+        public final long feePaise;
+        public final long taxPaise;
+        public final long totalPaise;
+
+        Estimate(int minutes, int billedMinutes, long usagePaise, long feePaise, long taxPaise) {
+            this.minutes = minutes;
+            this.billedMinutes = billedMinutes;
+            this.usagePaise = usagePaise;
+            this.feePaise = feePaise;
+            this.taxPaise = taxPaise;
+            this.totalPaise = usagePaise + feePaise + taxPaise;
+        }
+
+        /**
+         * Total in rupees.
+         */
+        public double getTotal() {
+            return totalPaise / 100.0;
+        }
+    }
+
+    private final double taxRate;
+    private final int minimumMinutes;
+    private final int incrementMinutes;
+    private final long feePaise;
+
+    public PriceEstimator(double taxRate, int minimumMinutes, int incrementMinutes, double bookingFee) {
+        this.taxRate = taxRate;
+        this.minimumMinutes = Math.max(0, minimumMinutes);
+        this.incrementMinutes = Math.max(1, incrementMinutes);
+        this.feePaise = Math.round(bookingFee * 100);
+    }
+
+    public int billedMinutes(int minutes) {
+        if (minutes <= 0) {
+            return 0;
+        }
+        int rounded = (minutes + incrementMinutes - 1) / incrementMinutes * incrementMinutes;
+        return Math.max(minimumMinutes, rounded);
+    }
+
+    /**
+     * Estimate for minutes of work; a duration of 0 costs nothing.
+     */
+    public Estimate estimate(double pricePerHour, int minutes) {
+        int billed = billedMinutes(minutes);
+        if (billed == 0) {
+            return new Estimate(minutes, 0, 0, 0, 0);
+        }
+        long usage = Math.round(pricePerHour * 100 * billed / 60);
+        long tax = Math.round((usage + feePaise) * taxRate);
+        return new Estimate(minutes, billed, usage, feePaise, tax);
+    }
+
+    /**
+     * Minutes in a duration as the booking screens write it ("2 Hours 30 Min") or as the
+     * picker does ("02:30"); -1 when there is no duration in it.
+     */
+    public static int parseDurationMinutes(String duration) {
+        if (duration == null || duration.isEmpty()) {
+            return -1;
+        }
+        Matcher clock = CLOCK.matcher(duration);
+        if (clock.matches()) {
+            return Integer.parseInt(clock.group(1)) * 60 + Integer.parseInt(clock.group(2));
+        }
+        int total = -1;
+        Matcher hours = HOURS.matcher(duration);
+        if (hours.find()) {
+            total = Integer.parseInt(hours.group(1)) * 60;
+        }
+        Matcher minutes = MINUTES.matcher(duration);
+        if (minutes.find()) {
+            total = Math.max(total, 0) + Integer.parseInt(minutes.group(1));
+        }
+        return total;
+    }
+
+    /**
+     * "₹1,234.50"; always Indian English, the amount is parsed back when booking.
+     */
+    public static String format(long paise) {
+        return String.format(RUPEES, "₹%,.2f", paise / 100.0);
+    }
+
+    /**
+     * "2 hours 30 min", as shown in the breakdown.
+     */
+    public static String formatDuration(int minutes) {
+        int hours = minutes / 60;
+        int rest = minutes % 60;
+        StringBuilder text = new StringBuilder();
+        if (hours > 0) {
+            text.append(hours).append(hours == 1 ? " hour" : " hours");
+        }
+        if (rest > 0 || hours == 0) {
+            if (text.length() > 0) text.append(' ');
+            text.append(rest).append(" min");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package com.simats.eathmover.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.Machine;
+import com.simats.eathmover.models.UserData;
+import com.simats.eathmover.utils.ApiJson;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * The model adapters against Gson's reflective binding: for every model, with every field
+ * set and with every field left empty, both must write the same bytes, and what an adapter
+ * reads must write back the same bytes again. Each field is also checked on its own, so a
+ * field the adapter does not read or write is named in the failure.
+ */
+public class ModelAdaptersTest {
+
+    private static final Gson REFLECTIVE = new GsonBuilder().setLenient().serializeNulls().create();
+    private static final Gson REFLECTIVE_NO_NULLS = new GsonBuilder().create();
+
+    @Test
+    public void everyModelHasAnAdapter() throws Exception {
+        // The models' own output directory; tests in the same package live elsewhere
+        File dir = new File(Booking.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        dir = new File(dir, Booking.class.getPackage().getName().replace('.', File.separatorChar));
+        Set<String> models = new TreeSet<>();
+        for (String name : dir.list()) {
+            if (name.endsWith(".class") && !name.contains("TypeAdapter") && !name.contains("$$")) {
+                models.add(name.substring(0, name.length() - ".class".length()).replace('$', '.'));
+            }
+        }
+        Set<String> covered = new TreeSet<>();
+        covered.add("ApiResponse");
+        for (Class<?> type : ModelAdapterFactory.modelTypes()) {
+            covered.add(type.getName().substring(type.getPackage().getName().length() + 1).replace('$', '.'));
+        }
+        assertEquals(models, covered);
+    }
+
+    @Test
+    public void everyModel_sameJsonAsReflective() throws Exception {
+        for (Class<?> type : ModelAdapterFactory.modelTypes()) {
+            assertSameJson(type, filled(type, new HashMap<>()));
+            assertSameJson(type, REFLECTIVE.fromJson("{}", type));
+        }
+    }
+
+    @Test
+    public void everySerializedField_handledByItsAdapter() throws Exception {
+        for (Class<?> type : ModelAdapterFactory.modelTypes()) {
+            // Resolves the type variables of generic superclasses (ApiResponse<T>)
+            Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+            filled(type, bindings);
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                    SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                    String name = serializedName != null ? serializedName.value() : field.getName();
+                    String message = type.getSimpleName() + "." + field.getName() + " (" + name + ")";
+                    field.setAccessible(true);
+
+                    // Only this field set: the adapter writes its value
+                    Object value = REFLECTIVE.fromJson("{}", type);
+                    field.set(value, sample(field.getGenericType(), 1, bindings));
+                    JsonElement expected = REFLECTIVE.toJsonTree(value, type).getAsJsonObject().get(name);
+                    JsonObject written = ApiJson.gson().toJsonTree(value, type).getAsJsonObject();
+                    assertEquals(message, expected, written.get(name));
+
+                    // Only this key sent: the adapter sets the field
+                    JsonObject json = new JsonObject();
+                    json.add(name, expected);
+                    Object read = ApiJson.gson().fromJson(json, type);
+                    assertEquals(message, REFLECTIVE.toJsonTree(field.get(value)), REFLECTIVE.toJsonTree(field.get(read)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void apiResponse_sameJsonAsReflective() throws Exception {
+        Type bookings = new TypeToken<ApiResponse<List<Booking>>>() {}.getType();
+        Type machine = new TypeToken<ApiResponse<Machine>>() {}.getType();
+        Type userData = new TypeToken<ApiResponse<UserData>>() {}.getType();
+
+        assertSameJson(bookings, filledResponse(new TypeToken<List<Booking>>() {}.getType()));
+        assertSameJson(machine, filledResponse(Machine.class));
+        assertSameJson(userData, filledResponse(UserData.class));
+        assertSameJson(bookings, new ApiResponse<List<Booking>>());
+    }
+
+    @Test
+    public void apiResponse_rawDataAsObject() {
+        String json = "{\"success\":true,\"message\":\"ok\",\"data\":{\"id\":3,\"tags\":[\"a\",null]},\"data_list\":null}";
+        ApiResponse<?> adapted = ApiJson.gson().fromJson(json, ApiResponse.class);
+        ApiResponse<?> reflective = REFLECTIVE.fromJson(json, ApiResponse.class);
+
+        assertEquals(REFLECTIVE.toJson(reflective), ApiJson.gson().toJson(adapted));
+    }
+
+    @Test
+    public void scalarCoercions_matchReflective() {
+        // Strings for numbers and booleans, numbers for strings, nulls for primitives
+        String json = "{\"machine_id\":\"7\",\"category_id\":\"2\",\"model_name\":12,\"price_per_hour\":\"1500.5\","
+                + "\"model_year\":null,\"image\":true,\"operator_id\":\"4\",\"unknown\":{\"x\":[1]}}";
+        assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(json, Machine.class)),
+                ApiJson.gson().toJson(ApiJson.gson().fromJson(json, Machine.class)));
+
+        String response = "{\"success\":\"true\",\"message\":null,\"data\":null}";
+        assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(response, ApiResponse.class)),
+                ApiJson.gson().toJson(ApiJson.gson().fromJson(response, ApiResponse.class)));
+    }
+
+    private static void assertSameJson(Type type, Object value) {
+        String expected = REFLECTIVE.toJson(value, type);
+        String message = type.getTypeName();
+        assertEquals(message, expected, ApiJson.gson().toJson(value, type));
+        assertEquals(message, REFLECTIVE_NO_NULLS.toJson(value, type), ApiJson.storageGson().toJson(value, type));
+        // Read by the adapter, written by reflection
+        Object read = ApiJson.gson().fromJson(expected, type);
+        assertEquals(message, expected, REFLECTIVE.toJson(read, type));
+    }
+
+    private static ApiResponse<Object> filledResponse(Type dataType) throws Exception {
+        ApiResponse<Object> response = new ApiResponse<>();
+        response.setSuccess(true);
+        response.setMessage("Fetched \"all\" ₹ rows");
+        response.setData(sample(dataType, 1, new HashMap<>()));
+        response.setDataList(Arrays.asList(sample(dataType, 2, new HashMap<>()), null));
+        return response;
+    }
+
+    // Every field of type and its superclasses set to a distinct non-default value
+    private static Object filled(Class<?> type, Map<TypeVariable<?>, Type> bindings) throws Exception {
+        Object value = REFLECTIVE.fromJson("{}", type);
+        int seed = 1;
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            if (c.getGenericSuperclass() instanceof ParameterizedType) {
+                ParameterizedType parent = (ParameterizedType) c.getGenericSuperclass();
+                TypeVariable<?>[] variables = c.getSuperclass().getTypeParameters();
+                for (int i = 0; i < variables.length; i++) {
+                    bindings.put(variables[i], parent.getActualTypeArguments()[i]);
+                }
+            }
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                field.setAccessible(true);
+                field.set(value, sample(field.getGenericType(), seed++, bindings));
+            }
+        }
+        return value;
+    }
+
+    private static Object sample(Type type, int seed, Map<TypeVariable<?>, Type> bindings) throws Exception {
+        if (type instanceof TypeVariable) {
+            return sample(bindings.getOrDefault(type, String.class), seed, bindings);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] args = parameterized.getActualTypeArguments();
+            if (parameterized.getRawType() == List.class) {
+                List<Object> list = new ArrayList<>();
+                list.add(sample(args[0], seed, bindings));
+                list.add(sample(args[0], seed + 100, bindings));
+                return list;
+            }
+            if (parameterized.getRawType() == Map.class) {
+                Map<Object, Object> map = new LinkedHashMap<>();
+                map.put("pending", sample(args[1], seed, bindings));
+                map.put("completed", sample(args[1], seed + 1, bindings));
+                return map;
+            }
+            throw new AssertionError("No sample for " + type);
+        }
+        Class<?> c = (Class<?>) type;
+        if (c == String.class) return "v" + seed + " \"quoted\" \\ ₹ <b>";
+        if (c == int.class || c == Integer.class) return seed;
+        if (c == long.class || c == Long.class) return seed * 10_000_000_000L;
+        if (c == double.class || c == Double.class) return seed + 0.125;
+        if (c == boolean.class || c == Boolean.class) return true;
+        if (c.getPackage() == Booking.class.getPackage()) return filled(c, bindings);
+        throw new AssertionError("No sample for " + type);
+    }
+}
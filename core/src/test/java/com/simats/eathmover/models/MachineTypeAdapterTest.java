@@ -0,0 +1,54 @@
+package com.simats.eathmover.models;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.simats.eathmover.utils.ApiJson;
+
+import org.junit.Test;
+
+/**
+ * Machine's getters fill in one field from another (model / model_name, type / specs,
+ * image / machine_image_1). The adapter must write the fields as stored, like reflective
+ * Gson does, or a cached catalog comes back different from what the server sent.
+ */
+public class MachineTypeAdapterTest {
+
+    private static final Gson REFLECTIVE = new GsonBuilder().setLenient().serializeNulls().create();
+    private static final Gson REFLECTIVE_NO_NULLS = new GsonBuilder().create();
+
+    // Each row leaves out the field a getter would fall back from
+    private static final String[] ROWS = {
+            "{\"machine_id\":1,\"model_name\":\"JCB 3DX\"}",
+            "{\"machine_id\":2,\"model\":\"Legacy model\"}",
+            "{\"machine_id\":3,\"machine_model\":\"Tata Hitachi EX200\",\"model\":\"EX200\"}",
+            "{\"machine_id\":4,\"specs\":\"76 HP\"}",
+            "{\"machine_id\":5,\"type\":\"Excavator\"}",
+            "{\"machine_id\":6,\"image\":\"machines/6.jpg\"}",
+            "{\"machine_id\":7,\"image\":\"machines/7.jpg\",\"machine_image_1\":\"\"}",
+            "{\"machine_id\":8,\"image\":\"machines/8.jpg\",\"machine_image_1\":\"uploads/8.jpg\"}",
+    };
+
+    @Test
+    public void fallbackFields_writtenAsStored() {
+        for (String row : ROWS) {
+            Machine reflective = REFLECTIVE.fromJson(row, Machine.class);
+            Machine adapted = ApiJson.gson().fromJson(row, Machine.class);
+
+            assertEquals(row, REFLECTIVE.toJson(reflective), ApiJson.gson().toJson(adapted));
+            assertEquals(row, REFLECTIVE_NO_NULLS.toJson(reflective), ApiJson.storageGson().toJson(adapted));
+        }
+    }
+
+    @Test
+    public void storedCatalog_roundTrips() {
+        for (String row : ROWS) {
+            String stored = ApiJson.storageGson().toJson(ApiJson.gson().fromJson(row, Machine.class));
+            Machine restored = ApiJson.storageGson().fromJson(stored, Machine.class);
+
+            assertEquals(row, stored, ApiJson.storageGson().toJson(restored));
+            assertEquals(row, REFLECTIVE.toJson(REFLECTIVE.fromJson(row, Machine.class)), REFLECTIVE.toJson(restored));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.simats.eathmover.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Booking;
+import com.simats.eathmover.models.BookingSyncResponse;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * ApiJson's booking responses, read like Retrofit's converter reads them.
+ */
+public class ApiJsonTest {
+
+    // Numbers as strings and the other way round, nulls and an unknown field,
+    // as the PHP endpoints send them
+    private static final String BODY = "{\"success\":true,\"message\":\"ok\","
+            + "\"sync_time\":\"2024-05-01 10:00:00\",\"total\":\"2\",\"has_more\":false,"
+            + "\"data\":["
+            + "{\"booking_id\":17,\"user_name\":\"Ravi\",\"total_hours\":\"3\",\"total_amount\":\"4500.50\","
+            + "\"status\":\"pending\",\"duration_minutes\":180,\"extra\":{\"a\":[1,2]}},"
+            + "{\"booking_id\":\"18\",\"user_name\":null,\"total_hours\":null,\"total_amount\":1200,"
+            + "\"status\":\"completed\",\"duration_minutes\":null}"
+            + "]}";
+
+    // Plain reflective binding, the reference the adapters must agree with
+    private static final Gson REFLECTIVE = new GsonBuilder().setLenient().serializeNulls().create();
+
+    @Test
+    public void parseBookingPage_matchesReflectiveBinding() throws IOException {
+        BookingSyncResponse streamed = ApiJson.parseBookingPage(new StringReader(BODY));
+        BookingSyncResponse reflective = REFLECTIVE.fromJson(BODY, BookingSyncResponse.class);
+
+        assertEquals(reflective.isSuccess(), streamed.isSuccess());
+        assertEquals(reflective.getMessage(), streamed.getMessage());
+        assertEquals(reflective.getSyncTime(), streamed.getSyncTime());
+        assertEquals(reflective.getTotal(), streamed.getTotal());
+        assertEquals(reflective.getHasMore(), streamed.getHasMore());
+        // Compare rows through the same reflective writer
+        assertEquals(REFLECTIVE.toJson(reflective.getData()), REFLECTIVE.toJson(streamed.getData()));
+    }
+
+    @Test
+    public void parseBookings_coercesAndKeepsDefaults() throws IOException {
+        ApiResponse<List<Booking>> response = ApiJson.parseBookings(new StringReader(BODY));
+        List<Booking> rows = response.getData();
+
+        assertEquals(2, rows.size());
+        assertEquals("17", rows.get(0).getBookingId());
+        assertEquals(3, rows.get(0).getTotalHours());
+        assertEquals(4500.50, rows.get(0).getTotalAmount(), 0.0001);
+        assertEquals(Integer.valueOf(180), rows.get(0).getDurationMinutes());
+        assertEquals(0, rows.get(1).getTotalHours());
+        assertNull(rows.get(1).getUserName());
+        assertNull(rows.get(1).getDurationMinutes());
+    }
+
+    @Test
+    public void nullData_staysNull() throws IOException {
+        String body = "{\"success\":false,\"message\":\"No bookings\",\"data\":null}";
+        ApiResponse<List<Booking>> response = ApiJson.parseBookings(new StringReader(body));
+
+        assertEquals(false, response.isSuccess());
+        assertEquals("No bookings", response.getMessage());
+        // As with reflective binding; the screens check getData() for null
+        assertNull(response.getData());
+    }
+}
@@ -0,0 +1,87 @@
+package com.simats.eathmover.utils;
+
+import com.simats.eathmover.models.ApiResponse;
+import com.simats.eathmover.models.Booking;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the booking list rules used by the booking screens.
+ */
+public class BookingFiltersTest {
+
+    @Test
+    public void countAndFilter_byStatus() {
+        List<Booking> bookings = Arrays.asList(
+                booking("1", "2024-05-01 10:00:00", "Pending"),
+                booking("2", "2024-05-01 11:00:00", "pending approval"),
+                booking("3", "2024-05-02 09:00:00", "Accepted"),
+                booking("4", "2024-05-02 10:00:00", "Completed"),
+                booking("5", "2024-05-03 10:00:00", "DECLINED"),
+                booking("6", "2024-05-03 11:00:00", null));
+
+        BookingFilters.Counts counts = BookingFilters.count(bookings);
+        assertEquals(6, counts.total);
+        assertEquals(2, counts.pending);
+        assertEquals(3, counts.active);
+
+        assertEquals(6, BookingFilters.filter(bookings, BookingFilters.FILTER_ALL).size());
+        assertEquals(ids("1", "2"), ids(BookingFilters.filter(bookings, BookingFilters.FILTER_PENDING)));
+        assertEquals(ids("1", "2", "3"), ids(BookingFilters.filter(bookings, BookingFilters.FILTER_ACTIVE)));
+    }
+
+    @Test
+    public void sortNewestFirst_byDateThenNumericId() {
+        List<Booking> bookings = new ArrayList<>(Arrays.asList(
+                booking("9", "2024-05-01 10:00:00", "Pending"),
+                booking("10", "2024-05-01 10:00:00", "Pending"),
+                booking("2", "2024-05-02 08:00:00", "Pending"),
+                booking("1", null, "Pending")));
+
+        BookingFilters.sortNewestFirst(bookings);
+        assertEquals(ids("2", "10", "9", "1"), ids(bookings));
+    }
+
+    @Test
+    public void parseBookings_liveBookingsPayload() throws IOException {
+        String json = "{\"success\":true,\"message\":\"Bookings retrieved successfully\",\"data\":["
+                + "{\"booking_id\":12,\"user_id\":3,\"booking_date\":\"2024-05-01 10:00:00\","
+                + "\"total_hours\":4,\"total_amount\":3200.5,\"status\":\"Pending\",\"machine_image\":null}]}";
+
+        ApiResponse<List<Booking>> response = ApiJson.parseBookings(new StringReader(json));
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().size());
+        Booking booking = response.getData().get(0);
+        assertEquals("12", booking.getBookingId());
+        assertEquals(4, booking.getTotalHours());
+        assertEquals(3200.5, booking.getTotalAmount(), 0);
+    }
+
+    private static Booking booking(String id, String date, String status) {
+        Booking booking = new Booking();
+        booking.setBookingId(id);
+        booking.setBookingDate(date);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static List<String> ids(String... ids) {
+        return Arrays.asList(ids);
+    }
+
+    private static List<String> ids(List<Booking> bookings) {
+        List<String> ids = new ArrayList<>();
+        for (Booking booking : bookings) {
+            ids.add(booking.getBookingId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,144 @@
+package com.simats.eathmover.utils;
+
+import com.simats.eathmover.models.OperatorProfile;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the nearest-operator search: ordering, filters and the limit, and the
+ * grid index against a linear scan (timings in :core-jmh NearestOperatorsBenchmark).
+ */
+public class NearestOperatorsTest {
+
+    private static final int K = NearestOperators.DEFAULT_K;
+    private static final String[] TYPES = {"JCB", "Excavator", "Dozer", "JCB, Excavator"};
+    private static final String[] STATUSES = {"available", "available", "available", "busy", "offline"};
+
+    // Roughly mainland India, with half the operators around a few cities
+    private static final double MIN_LAT = 8, MAX_LAT = 32, MIN_LON = 68, MAX_LON = 92;
+    private static final double[][] CITIES = {{13.08, 80.27}, {19.07, 72.88}, {28.61, 77.21}, {12.97, 77.59}};
+
+    @Test
+    public void nearest_ordersByDistanceAndFilters() {
+        List<OperatorProfile> operators = new ArrayList<>();
+        operators.add(operator(1, 13.0827, 80.2707, "JCB", "available"));     // Chennai centre
+        operators.add(operator(2, 13.0500, 80.2500, "JCB, Excavator", null)); // ~4 km
+        operators.add(operator(3, 13.0850, 80.2750, "Dozer", "available"));   // wrong type
+        operators.add(operator(4, 13.0900, 80.2800, "JCB", "busy"));          // not available
+        operators.add(operator(5, 12.9716, 77.5946, "JCB", "available"));     // Bengaluru, ~290 km
+        OperatorProfile noPosition = operator(6, 0, 0, "JCB", "available");
+        noPosition.setLatitude(null);
+        operators.add(noPosition);
+
+        GeoGridIndex<OperatorProfile> index = NearestOperators.index(operators);
+        assertEquals(5, index.size());
+
+        List<OperatorProfile> found = NearestOperators.find(index, 13.0827, 80.2707, "jcb", K);
+        assertEquals(2, found.size());
+        assertEquals("1", found.get(0).getOperatorId());
+        assertEquals("2", found.get(1).getOperatorId());
+        assertEquals(0, found.get(0).getDistanceKm(), 0.01);
+        assertEquals(4.2, found.get(1).getDistanceKm(), 0.5);
+
+        // Beyond MAX_DISTANCE_KM nothing is returned
+        assertTrue(NearestOperators.find(index, 20.0, 85.0, "", K).isEmpty());
+    }
+
+    @Test
+    public void nearest_matchesLinearScan() {
+        List<OperatorProfile> operators = randomOperators(20_000, new Random(7));
+        GeoGridIndex<OperatorProfile> index = NearestOperators.index(operators);
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            double[] point = randomPoint(random);
+            String type = TYPES[random.nextInt(3)];
+            assertSameIds(linearScan(operators, point[0], point[1], type, K),
+                    NearestOperators.find(index, point[0], point[1], type, K));
+        }
+    }
+
+    @Test
+    public void nearest_returnsAtMostKNearestFirst() {
+        List<OperatorProfile> operators = randomOperators(5_000, new Random(3));
+        GeoGridIndex<OperatorProfile> index = NearestOperators.index(operators);
+
+        for (int k : new int[]{1, 3, K}) {
+            List<OperatorProfile> found = NearestOperators.find(index, 13.08, 80.27, "", k);
+            assertEquals(k, found.size());
+            for (int i = 1; i < found.size(); i++) {
+                assertTrue(found.get(i - 1).getDistanceKm() <= found.get(i).getDistanceKm());
+            }
+        }
+    }
+
+    private static List<OperatorProfile> linearScan(List<OperatorProfile> operators, double lat, double lon,
+                                                    String machineType, int k) {
+        String type = machineType.toLowerCase(Locale.ROOT);
+        List<OperatorProfile> candidates = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        for (OperatorProfile operator : operators) {
+            if (operator.getLatitude() == null || !NearestOperators.canServe(operator, type)) continue;
+            double distance = GeoGridIndex.distanceKm(lat, lon, operator.getLatitude(), operator.getLongitude());
+            if (distance > NearestOperators.MAX_DISTANCE_KM) continue;
+            // Insertion into a list of at most k, kept sorted
+            int at = distances.size();
+            while (at > 0 && distances.get(at - 1) > distance) at--;
+            if (at < k) {
+                distances.add(at, distance);
+                candidates.add(at, operator);
+                if (distances.size() > k) {
+                    distances.remove(k);
+                    candidates.remove(k);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static void assertSameIds(List<OperatorProfile> expected, List<OperatorProfile> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getOperatorId(), actual.get(i).getOperatorId());
+        }
+    }
+
+    private static List<OperatorProfile> randomOperators(int count, Random random) {
+        List<OperatorProfile> operators = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double[] point;
+            if (i % 2 == 0) {
+                double[] city = CITIES[random.nextInt(CITIES.length)];
+                point = new double[]{city[0] + random.nextGaussian() * 0.3, city[1] + random.nextGaussian() * 0.3};
+            } else {
+                point = randomPoint(random);
+            }
+            operators.add(operator(i + 1, point[0], point[1],
+                    TYPES[random.nextInt(TYPES.length)], STATUSES[random.nextInt(STATUSES.length)]));
+        }
+        return operators;
+    }
+
+    private static double[] randomPoint(Random random) {
+        return new double[]{
+                MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+                MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON)
+        };
+    }
+
+    private static OperatorProfile operator(int id, double lat, double lon, String machines, String status) {
+        OperatorProfile operator = new OperatorProfile();
+        operator.setOperatorId(String.valueOf(id));
+        operator.setLatitude(lat);
+        operator.setLongitude(lon);
+        operator.setMachines(machines);
+        operator.setStatus(status);
+        return operator;
+    }
+}
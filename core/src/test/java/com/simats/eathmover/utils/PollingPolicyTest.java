@@ -0,0 +1,54 @@
+package com.simats.eathmover.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the polling intervals used by RealTimeDataManager.
+ */
+public class PollingPolicyTest {
+
+    private static final PollingPolicy.Conditions NORMAL = new PollingPolicy.Conditions(false, false);
+    private static final PollingPolicy.Conditions METERED = new PollingPolicy.Conditions(true, false);
+    private static final PollingPolicy.Conditions METERED_LOW_POWER = new PollingPolicy.Conditions(true, true);
+
+    @Test
+    public void plannedDelay_stretchedByConditionsExceptInFastMode() {
+        assertEquals(10_000, PollingPolicy.plannedDelay(10_000, 0, false, NORMAL));
+        assertEquals(20_000, PollingPolicy.plannedDelay(10_000, 0, false, METERED));
+        assertEquals(60_000, PollingPolicy.plannedDelay(10_000, 0, false, METERED_LOW_POWER));
+        assertEquals(5_000, PollingPolicy.plannedDelay(5_000, 0, true, METERED_LOW_POWER));
+    }
+
+    @Test
+    public void plannedDelay_doublesPerFailureUpToTheCap() {
+        assertEquals(20_000, PollingPolicy.plannedDelay(10_000, 1, false, NORMAL));
+        assertEquals(80_000, PollingPolicy.plannedDelay(10_000, 3, false, NORMAL));
+        assertEquals(PollingPolicy.MAX_BACKOFF_MS, PollingPolicy.plannedDelay(10_000, 6, false, NORMAL));
+        // No overflow however long the outage
+        assertEquals(PollingPolicy.MAX_BACKOFF_MS, PollingPolicy.plannedDelay(10_000, 1000, false, NORMAL));
+        // Fast mode backs off too
+        assertEquals(20_000, PollingPolicy.plannedDelay(5_000, 2, true, NORMAL));
+    }
+
+    @Test
+    public void nextDelay_jitteredWithinBounds() {
+        PollingPolicy policy = new PollingPolicy(new Random(7));
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.nextDelay(10_000, 0, false, NORMAL);
+            assertTrue(delay >= 8_000 && delay <= 12_000);
+            seen.add(delay);
+
+            long backoff = policy.nextDelay(10_000, 2, false, NORMAL);
+            assertTrue(backoff >= 20_000 && backoff <= 60_000);
+        }
+        // Spread out, not a handful of values
+        assertTrue(seen.size() > 500);
+    }
+}
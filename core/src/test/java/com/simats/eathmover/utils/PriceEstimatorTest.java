@@ -0,0 +1,64 @@
+package com.simats.eathmover.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for PriceEstimator. The expected figures are what pricing_quote() in
+ * api/includes/pricing.php returns with the default rules, so a change on either side shows here.
+ */
+public class PriceEstimatorTest {
+
+    // Defaults of PricingRules / api/includes/pricing.php
+    private final PriceEstimator estimator = new PriceEstimator(0.18, 60, 15, 0);
+
+    @Test
+    public void estimate_roundsUpToIncrementAndMinimum() {
+        assertEquals(60, estimator.billedMinutes(10));
+        assertEquals(75, estimator.billedMinutes(61));
+        assertEquals(150, estimator.billedMinutes(150));
+        assertEquals(0, estimator.billedMinutes(0));
+    }
+
+    @Test
+    public void estimate_usageFeeAndTaxInPaise() {
+        // 2 h 30 min at ₹1,200/h = ₹3,000 + 18% = ₹3,540
+        PriceEstimator.Estimate estimate = estimator.estimate(1200, 150);
+        assertEquals(300_000, estimate.usagePaise);
+        assertEquals(54_000, estimate.taxPaise);
+        assertEquals(354_000, estimate.totalPaise);
+        assertEquals(3540.0, estimate.getTotal(), 0);
+
+        // 70 min is billed as 75 at ₹999.99/h: 124998.75 -> 124999 paise, tax 22499.82 -> 22500
+        PriceEstimator.Estimate odd = estimator.estimate(999.99, 70);
+        assertEquals(75, odd.billedMinutes);
+        assertEquals(124_999, odd.usagePaise);
+        assertEquals(22_500, odd.taxPaise);
+
+        PriceEstimator withFee = new PriceEstimator(0.18, 60, 15, 50);
+        assertEquals(5000, withFee.estimate(400, 60).feePaise);
+        assertEquals(40_000 + 5000 + 8100, withFee.estimate(400, 60).totalPaise);
+
+        assertEquals(0, estimator.estimate(1200, 0).totalPaise);
+    }
+
+    @Test
+    public void parseDurationMinutes_screenAndPickerFormats() {
+        assertEquals(150, PriceEstimator.parseDurationMinutes("2 Hours 30 Min"));
+        assertEquals(60, PriceEstimator.parseDurationMinutes("1 Hour"));
+        assertEquals(45, PriceEstimator.parseDurationMinutes("45 Min"));
+        assertEquals(150, PriceEstimator.parseDurationMinutes("02:30"));
+        assertEquals(0, PriceEstimator.parseDurationMinutes("0 Hours"));
+        assertEquals(-1, PriceEstimator.parseDurationMinutes("Not Set"));
+        assertEquals(-1, PriceEstimator.parseDurationMinutes(null));
+    }
+
+    @Test
+    public void format_rupees() {
+        assertEquals("₹3,540.00", PriceEstimator.format(354_000));
+        assertEquals("2 hours 30 min", PriceEstimator.formatDuration(150));
+        assertEquals("1 hour", PriceEstimator.formatDuration(60));
+        assertEquals("45 min", PriceEstimator.formatDuration(45));
+    }
+}
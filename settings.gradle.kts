@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "Eathmover"
 include(":app")
+include(":core")
+include(":core-jmh")